@@ -0,0 +1,46 @@
+package edu.vsu.lms;
+
+import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.server.LeagueApiServer;
+
+/**
+ * ServerMain
+ * ----------
+ * Headless entry point: serves the saved leagues over HTTP (see
+ * LeagueApiServer) instead of opening the Swing UI.
+ *
+ *   java edu.vsu.lms.ServerMain [--host 127.0.0.1] [--port 8080] [--threads 16]
+ */
+public class ServerMain {
+  public static void main(String[] args) throws Exception {
+    String host = "127.0.0.1";
+    int port = 8080;
+    int threads = 16;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "--host":    host = args[i + 1]; break;
+        case "--port":    port = Integer.parseInt(args[i + 1]); break;
+        case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+        default:
+          System.err.println("Usage: ServerMain [--host h] [--port p] [--threads n]");
+          System.exit(2);
+      }
+    }
+
+    System.out.println("[ServerMain] start");
+    System.setProperty("java.awt.headless", "true");
+    AppState.getInstance().seedDefaults();
+
+    Thread.setDefaultUncaughtExceptionHandler((t, e) -> {
+      System.err.println("[Uncaught@" + t.getName() + "] " + e);
+      e.printStackTrace();
+    });
+
+    LeagueApiServer server = new LeagueApiServer(host, port, threads);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      System.out.println("[ServerMain] stopping");
+      server.stop(2);
+    }, "lms-http-stop"));
+    server.start();
+  }
+}
@@ -1,6 +1,7 @@
 package edu.vsu.lms.controller;
 
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.JournalRecord;
 import edu.vsu.lms.model.User;
 import edu.vsu.lms.util.Passwords;
 import edu.vsu.lms.model.Role;
@@ -27,6 +28,7 @@ public class AuthController {
         if (!Passwords.hash(oldPlain).equals(currentUser.getPasswordHash())) return false;
         if (!Passwords.isStrong(newPlain)) return false;
         currentUser.setPasswordHash(Passwords.hash(newPlain));
+        state.record(JournalRecord.putUser(currentUser));
         return true;
     }
 
@@ -36,6 +38,7 @@ public class AuthController {
         if (u == null) return false;
         if (!Passwords.isStrong(newPlain)) return false;
         u.setPasswordHash(Passwords.hash(newPlain));
+        state.record(JournalRecord.putUser(u));
         return true;
     }
 
@@ -2,8 +2,12 @@ package edu.vsu.lms.controller;
 
 import edu.vsu.lms.model.*;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * GameStatsController
@@ -19,62 +23,294 @@ import java.util.*;
  *  - recordFouls(...)
  *  - getSortedStatsForTeam(game, "Boston Celtics")
  *
+ * Screens that only show stats use the read-only queries (getPlayerSeasonTotals,
+ * getTeamGameTotals, getGamesPlayed, findPlayerStats): they answer with a shared
+ * zero result when nothing was recorded and never create GameStats or stat lines.
+ *
  * This controller keeps stats in memory; you can later hook it into AppState
  * or persistence (save/load to file) as needed.
+ *
+ * Changes run under the game's league write lock (League.write), so the
+ * saver and the API server, which read under the read lock, never see a
+ * line half recorded. The maps below are concurrent, as changes to two
+ * leagues do not exclude each other.
  */
 public class GameStatsController implements Serializable {
     
     private static final long serialVersionUID = 1L;
-    // You can also move this into AppState if you want stats to be global.
-    private final Map<Game, GameStats> statsByGame = new HashMap<>();
+
+    // League -> its stat lines (by game id). Keyed by the League instance
+    // because ids are only unique within one league, and a reloaded or
+    // replaced league is a new object with its own id space (League keeps
+    // Object's equals, so a concurrent map keys by identity too). Never
+    // written with Java serialization; only old saves are read that way.
+    private transient Map<League, StatsTable> statsByLeague = new ConcurrentHashMap<>();
+
+    // Saves from before ids: Game -> stats, re-keyed by migrateLegacyStats()
+    private transient Map<Game, GameStats> legacyStats;
+
+    // Season totals per league, built on first use and then kept current
+    private transient Map<League, SeasonAggregates> aggregates = new ConcurrentHashMap<>();
+    private transient GameStats.LineListener lineListener;
 
     /** Get existing GameStats or create a new one for this game. */
     public GameStats getOrCreateGameStats(Game game) {
-        return statsByGame.computeIfAbsent(game, GameStats::new);
+        return leagueOf(game).write(() -> createGameStats(game));
+    }
+
+    private GameStats createGameStats(Game game) {
+        League league = game.getLeague();
+        StatsTable table = statsByLeague.computeIfAbsent(league, k -> new StatsTable(k.getSymbols(), 4096));
+        GameStats gs = table.getGameStats(game.getId());
+        if (gs == null) {
+            gs = new GameStats(game, table);
+            gs.setListener(lineListener());
+            table.putGameStats(gs);
+        } else if (gs.getGame() != game) {
+            gs.rebind(game);
+        }
+        return gs;
     }
 
     public GameStats getGameStats(Game game) {
-        return statsByGame.get(game);
+        StatsTable table = (game.getLeague() == null) ? null : statsByLeague.get(game.getLeague());
+        GameStats gs = (table == null) ? null : table.getGameStats(game.getId());
+        if (gs != null && gs.getGame() != game) {
+            gs.rebind(game);
+        }
+        return gs;
+    }
+
+    /** Drops one game's stats (its season was archived). */
+    public void removeGameStats(Game game) {
+        StatsTable table = (game.getLeague() == null) ? null : statsByLeague.get(game.getLeague());
+        if (table == null) return;
+        game.getLeague().write(() -> dropGameStats(game, table));
+    }
+
+    private void dropGameStats(Game game, StatsTable table) {
+        GameStats gs = table.getGameStats(game.getId());
+        SeasonAggregates agg = currentAggregates(game.getLeague());
+        if (gs != null && agg != null) {
+            for (PlayerGameStats line : gs.getAllPlayerStats()) {
+                agg.remove(game, line.getPlayer(), line.getCounters(), gs.getTeamNameForPlayer(line.getPlayer()));
+            }
+        }
+        table.removeGameStats(game.getId());
+        game.getLeague().markChanged();
+        if (table.isEmpty()) {
+            statsByLeague.remove(game.getLeague());
+        }
+    }
+
+    /** Drops every stat line of a league (it was deleted, replaced or unloaded). */
+    public void removeLeague(League league) {
+        statsByLeague.remove(league);
+        aggregates.remove(league);
+    }
+
+    /**
+     * Season totals of the league's regular-season games. Built by one
+     * pass over the stats the first time (and after the schedule changes),
+     * then updated line by line as stats are recorded or edited.
+     */
+    public SeasonAggregates getSeasonAggregates(League league) {
+        SeasonAggregates agg = currentAggregates(league);
+        if (agg == null) {
+            agg = SeasonAggregates.build(statsByLeague.get(league), league.getGames(), league.getScheduleVersion());
+            aggregates.put(league, agg);
+        }
+        return agg;
+    }
+
+    private SeasonAggregates currentAggregates(League league) {
+        SeasonAggregates agg = aggregates.get(league);
+        return (agg != null && agg.getScheduleVersion() == league.getScheduleVersion()) ? agg : null;
+    }
+
+    private GameStats.LineListener lineListener() {
+        if (lineListener == null) {
+            lineListener = (gs, line, before, teamBefore) -> {
+                Game g = gs.getGame();
+                SeasonAggregates agg = (g.getLeague() == null) ? null : currentAggregates(g.getLeague());
+                if (agg != null) {
+                    agg.update(g, line.getPlayer(), before, teamBefore,
+                            line.getCounters(), gs.getTeamNameForPlayer(line.getPlayer()));
+                }
+            };
+        }
+        return lineListener;
+    }
+
+    /** Read-only view of one league's game stats. */
+    public Collection<GameStats> getLeagueGameStats(League league) {
+        StatsTable table = statsByLeague.get(league);
+        return (table == null) ? Collections.emptyList() : Collections.unmodifiableCollection(table.gameStats());
+    }
+
+    /**
+     * Re-keys stats read from a Java-serialized save, which were keyed by
+     * Game instance. Call after every league has run League.registerAll();
+     * stats of games no league refers to any more are dropped.
+     */
+    public void migrateLegacyStats() {
+        if (legacyStats == null) return;
+        int dropped = 0;
+        for (Map.Entry<Game, GameStats> e : legacyStats.entrySet()) {
+            Game g = e.getKey();
+            if (g.getLeague() == null) {
+                dropped++;
+                continue;
+            }
+            StatsTable table = statsByLeague.computeIfAbsent(g.getLeague(), k -> new StatsTable(k.getSymbols(), 4096));
+            GameStats gs = e.getValue();
+            gs.migrateLegacyRows(table);
+            gs.setListener(lineListener());
+            table.putGameStats(gs);
+        }
+        legacyStats = null;
+        if (dropped > 0) {
+            System.out.println("ℹ️ Dropped stats of " + dropped + " games no longer in any league.");
+        }
+        int zeroRows = compactZeroRows();
+        if (zeroRows > 0) {
+            System.out.println("ℹ️ Removed " + zeroRows + " empty stat lines.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        // Only old saves are ever read: Game -> stats
+        ObjectInputStream.GetField fields = in.readFields();
+        Map<Game, GameStats> old = (Map<Game, GameStats>) fields.get("statsByGame", null);
+        legacyStats = (old == null) ? null : new IdentityHashMap<>(old); // keyed by instance
+        statsByLeague = new ConcurrentHashMap<>();
+        aggregates = new ConcurrentHashMap<>();
     }
 
     // ---------- Record events ----------
 
     public void recordFreeThrows(Game game, String teamName, Player player,
                                  int attempted, int made) {
-        GameStats gs = getOrCreateGameStats(game);
-        PlayerGameStats pgs = gs.getOrCreatePlayerStats(player, teamName);
-        pgs.addFreeThrows(attempted, made);
+        record(game, teamName, player, pgs -> pgs.addFreeThrows(attempted, made));
     }
 
     public void recordTwoPointers(Game game, String teamName, Player player,
                                   int attempted, int made) {
-        GameStats gs = getOrCreateGameStats(game);
-        PlayerGameStats pgs = gs.getOrCreatePlayerStats(player, teamName);
-        pgs.addTwoPointers(attempted, made);
+        record(game, teamName, player, pgs -> pgs.addTwoPointers(attempted, made));
     }
 
     public void recordThreePointers(Game game, String teamName, Player player,
                                     int attempted, int made) {
-        GameStats gs = getOrCreateGameStats(game);
-        PlayerGameStats pgs = gs.getOrCreatePlayerStats(player, teamName);
-        pgs.addThreePointers(attempted, made);
+        record(game, teamName, player, pgs -> pgs.addThreePointers(attempted, made));
     }
 
     public void recordAssists(Game game, String teamName, Player player,
                               int assistsToAdd) {
-        GameStats gs = getOrCreateGameStats(game);
-        PlayerGameStats pgs = gs.getOrCreatePlayerStats(player, teamName);
-        pgs.addAssists(assistsToAdd);
+        record(game, teamName, player, pgs -> pgs.addAssists(assistsToAdd));
     }
 
     public void recordFouls(Game game, String teamName, Player player,
                             int foulsToAdd) {
-        GameStats gs = getOrCreateGameStats(game);
-        PlayerGameStats pgs = gs.getOrCreatePlayerStats(player, teamName);
-        pgs.addFouls(foulsToAdd);
+        record(game, teamName, player, pgs -> pgs.addFouls(foulsToAdd));
         // if (pgs.isFouledOut()) -> UI can handle "fouled out" logic
     }
 
+    /** The player's line in this game (made if needed), changed in one step under the league's write lock. */
+    private void record(Game game, String teamName, Player player, Consumer<PlayerGameStats> change) {
+        leagueOf(game).write(() -> {
+            change.accept(getOrCreateGameStats(game).getOrCreatePlayerStats(player, teamName));
+        });
+    }
+
+    private static League leagueOf(Game game) {
+        League league = game.getLeague();
+        if (league == null) {
+            throw new IllegalArgumentException("Game is not registered with a league: " + game);
+        }
+        return league;
+    }
+
+    // ---------- Read-only queries ----------
+
+    /** The player's stat line in this game, or null if none was recorded. */
+    public PlayerGameStats findPlayerStats(Game game, Player player) {
+        GameStats gs = getGameStats(game);
+        return (gs == null) ? null : gs.getStatsForPlayer(player);
+    }
+
+    /** The player's totals over the league's regular season (zero if none). */
+    public SeasonAggregates.Totals getPlayerSeasonTotals(League league, Player player) {
+        return getSeasonAggregates(league).getPlayerTotals(player);
+    }
+
+    /** The player's totals over the games teamName played in (zero if none). */
+    public SeasonAggregates.Totals getPlayerSeasonTotals(League league, String teamName, Player player) {
+        return getSeasonAggregates(league).getPlayerTotals(teamName, player);
+    }
+
+    /** Regular-season games in which the player had any attempt, assist or foul. */
+    public int getGamesPlayed(League league, Player player) {
+        return getPlayerSeasonTotals(league, player).getGamesPlayed();
+    }
+
+    /** Regular-season games in which one of the team's players played. */
+    public int getTeamGamesPlayed(League league, String teamName) {
+        return getSeasonAggregates(league).getTeamGamesWithStats(teamName);
+    }
+
+    /** The team's box-score totals in one game (zero if nothing was recorded). */
+    public SeasonAggregates.Totals getTeamGameTotals(Game game, String teamName) {
+        GameStats gs = getGameStats(game);
+        return (gs == null) ? SeasonAggregates.zero() : SeasonAggregates.ofGame(gs.getStatsForTeamName(teamName));
+    }
+
+    // ---------- Compaction ----------
+
+    /**
+     * Removes the stat lines of this game that record nothing, and the
+     * game's stats altogether if no line is left.
+     *
+     * @return number of lines removed
+     */
+    public int compactZeroRows(Game game) {
+        GameStats gs = getGameStats(game);
+        if (gs == null) return 0;
+        return game.getLeague().write(() -> {
+            int removed = gs.removeEmptyLines();
+            if (gs.isEmpty()) {
+                removeGameStats(game);
+            }
+            return removed;
+        });
+    }
+
+    /**
+     * Removes every all-zero stat line in memory, and every GameStats left
+     * without lines. Older versions of the stats screens created such rows
+     * just by being opened; they change no total.
+     *
+     * @return number of lines removed
+     */
+    public int compactZeroRows() {
+        int removed = 0;
+        for (Map.Entry<League, StatsTable> e : statsByLeague.entrySet()) {
+            StatsTable table = e.getValue();
+            removed += e.getKey().write(() -> {
+                int lines = 0;
+                List<Integer> emptyGames = new ArrayList<>();
+                for (GameStats gs : table.gameStats()) {
+                    lines += gs.removeEmptyLines();
+                    if (gs.isEmpty()) emptyGames.add(gs.getGame().getId());
+                }
+                for (int id : emptyGames) table.removeGameStats(id);
+                return lines;
+            });
+            if (table.isEmpty()) statsByLeague.remove(e.getKey(), table);
+        }
+        return removed;
+    }
+
     // ---------- Queries for View Game Stats ----------
 
     /**
@@ -82,7 +318,7 @@ public class GameStatsController implements Serializable {
      * ascending by last name, then first, then jersey number.
      */
     public List<PlayerGameStats> getSortedStatsForTeam(Game game, String teamName) {
-        GameStats gs = statsByGame.get(game);
+        GameStats gs = getGameStats(game);
         if (gs == null) return Collections.emptyList();
         return gs.getTeamStatsSorted(teamName);
     }
@@ -91,7 +327,7 @@ public class GameStatsController implements Serializable {
      * Returns all stats in this game, sorted by last/first/jersey.
      */
     public List<PlayerGameStats> getAllSortedStats(Game game) {
-        GameStats gs = statsByGame.get(game);
+        GameStats gs = getGameStats(game);
         if (gs == null) return Collections.emptyList();
         return gs.getAllStatsSorted();
     }
@@ -100,13 +336,7 @@ public class GameStatsController implements Serializable {
      * Helper to compute a team's total points in this game.
      */
     public int getTeamTotalPoints(Game game, String teamName) {
-        GameStats gs = statsByGame.get(game);
-        if (gs == null) return 0;
-
-        int sum = 0;
-        for (PlayerGameStats pgs : gs.getStatsForTeamName(teamName)) {
-            sum += pgs.getTotalPoints();
-        }
-        return sum;
+        GameStats gs = getGameStats(game);
+        return (gs == null) ? 0 : gs.getTeamPoints(teamName);
     }
 }
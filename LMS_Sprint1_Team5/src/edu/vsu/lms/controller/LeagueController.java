@@ -3,15 +3,15 @@ package edu.vsu.lms.controller;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.JournalRecord;
 import edu.vsu.lms.model.Game;
 import edu.vsu.lms.model.League;
+import edu.vsu.lms.model.Ranking;
+import edu.vsu.lms.model.Standings;
 import edu.vsu.lms.model.Team;
 
 public class LeagueController {
@@ -24,6 +24,7 @@ public class LeagueController {
         public String teamName;
         public int wins;
         public int losses;
+        public int pointDifferential;
 
         public double getWinPct() {
             int total = wins + losses;
@@ -47,7 +48,7 @@ public class LeagueController {
         if (state.getLeagues().containsKey(name)) return false;
 
         state.getLeagues().put(name, new League(name));
-        state.save(); // persist immediately
+        state.record(JournalRecord.createLeague(name)); // persist immediately
         return true;
     }
 
@@ -56,8 +57,18 @@ public class LeagueController {
         if (lg == null || teamName == null || teamName.isBlank()) return false;
         if (lg.getTeams().containsKey(teamName)) return false;
 
-        lg.getTeams().put(teamName, new Team(teamName));
-        state.save(); // persist immediately
+        lg.addTeam(new Team(teamName));
+        state.record(JournalRecord.addTeam(leagueName, teamName)); // persist immediately
+        return true;
+    }
+
+    /** Sets the order of ranking rules; empty restores wins, then fewer losses. */
+    public boolean setTiebreakers(String leagueName, List<Ranking.Tiebreaker> rules) {
+        League lg = state.getLeagues().get(leagueName);
+        if (lg == null || rules == null) return false;
+
+        lg.setTiebreakers(rules);
+        state.record(JournalRecord.setTiebreakers(leagueName, lg.getTiebreakers())); // persist immediately
         return true;
     }
 
@@ -79,58 +90,33 @@ public class LeagueController {
 
     /**
      * US 16 - View League Standings
-     * Returns a list of Standing objects ordered by:
-     *  - wins (descending)
-     *  - then team name (ascending)
+     * Returns a list of Standing objects in the league's ranking order:
+     * wins, then fewer losses, unless the league set other tiebreakers.
      */
     public List<Standing> getLeagueStandings(String leagueName) {
         League lg = state.getLeagues().get(leagueName);
         if (lg == null) return Collections.emptyList();
 
-        Map<String, Standing> map = new HashMap<>();
-
-        // Iterate over all games in this league
-        for (Game g : lg.getGames()) {
-            if (!g.hasResult()) continue;
-
-            String winner = g.getWinner();
-            String loser  = g.getLoser();
-            if (winner == null || loser == null) continue;
-
-            Standing sw = map.computeIfAbsent(winner, t -> {
-                Standing s = new Standing();
-                s.teamName = t;
-                return s;
-            });
-            sw.wins++;
-
-            Standing sl = map.computeIfAbsent(loser, t -> {
-                Standing s = new Standing();
-                s.teamName = t;
-                return s;
-            });
-            sl.losses++;
-        }
-
-        // Make sure every team appears, even if 0–0
-        for (Team t : lg.getTeams().values()) {
-            map.computeIfAbsent(t.getName(), name -> {
-                Standing s = new Standing();
-                s.teamName = name;
-                return s;
-            });
+        // Cached by the league until a result or the rules change
+        List<Standing> list = new ArrayList<>();
+        for (Standings.Row r : lg.getRanking().getRows()) {
+            Standing s = new Standing();
+            s.teamName = r.getTeamName();
+            s.wins = r.getWins();
+            s.losses = r.getLosses();
+            s.pointDifferential = r.getPointDifferential();
+            list.add(s);
         }
 
-        List<Standing> list = new ArrayList<>(map.values());
-        list.sort(
-            Comparator
-                .comparingInt((Standing s) -> -s.wins) // more wins first
-                .thenComparing(s -> s.teamName)        // then name
-        );
-
         return list;
     }
 
+    /** The league's ranking rules, first rule first (empty if no such league). */
+    public List<Ranking.Tiebreaker> getTiebreakers(String leagueName) {
+        League lg = state.getLeagues().get(leagueName);
+        return (lg == null) ? List.of() : lg.getTiebreakers();
+    }
+
     /**
      * US 17 - View Games Summary Stats
      * Returns all games (or within a date range) ordered by date.
@@ -146,12 +132,11 @@ public class LeagueController {
 
         List<GameSummary> list = new ArrayList<>();
 
-        for (Game g : lg.getGames()) {
+        // Already in date order (order they were played)
+        for (Game g : lg.getGamesBetween(fromDate, toDate)) {
             if (!g.hasResult()) continue;
 
             LocalDate d = g.getDate();
-            if (fromDate != null && d.isBefore(fromDate)) continue;
-            if (toDate   != null && d.isAfter(toDate))    continue;
 
             GameSummary s = new GameSummary();
             s.date        = d;
@@ -163,10 +148,19 @@ public class LeagueController {
             list.add(s);
         }
 
-        list.sort(Comparator.comparing(gs -> gs.date)); // order they were played
         return list;
     }
 
+    /**
+     * Every regular-season game dated fromDate..toDate (null = open side),
+     * played or not, by date and then schedule order.
+     */
+    public List<Game> getSchedule(String leagueName, LocalDate fromDate, LocalDate toDate) {
+        League lg = state.getLeagues().get(leagueName);
+        if (lg == null) return Collections.emptyList();
+        return lg.getGamesBetween(fromDate, toDate);
+    }
+
     /* ---------- DELETE ---------- */
 
     /** Delete a team inside a league. */
@@ -175,8 +169,8 @@ public class LeagueController {
         if (lg == null) return false;
         if (!lg.getTeams().containsKey(teamName)) return false;
 
-        lg.getTeams().remove(teamName);
-        state.save(); // persist immediately
+        lg.removeTeam(teamName);
+        state.record(JournalRecord.deleteTeam(leagueName, teamName)); // persist immediately
         return true;
     }
 
@@ -201,7 +195,7 @@ public class LeagueController {
         }
 
         state.getLeagues().remove(leagueName);
-        state.save(); // persist immediately
+        state.record(JournalRecord.deleteLeague(leagueName)); // persist immediately
         return true;
     }
 }
@@ -1,6 +1,7 @@
 package edu.vsu.lms.controller;
 
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.JournalRecord;
 import edu.vsu.lms.model.*;
 
 import java.util.*;
@@ -10,11 +11,15 @@ public class PlayerController {
 
     // ---------- Helpers ----------
 
-    private League getLeague(String leagueName) {
+    private String resolveLeagueName(String leagueName) {
         if (leagueName == null || leagueName.isBlank()) {
-            leagueName = state.getOrInitDefaultLeague();
+            return state.getOrInitDefaultLeague();
         }
-        return state.getLeagues().get(leagueName);
+        return leagueName;
+    }
+
+    private League getLeague(String leagueName) {
+        return state.getLeagues().get(resolveLeagueName(leagueName));
     }
 
     private Team getTeam(String leagueName, String teamName) {
@@ -39,11 +44,15 @@ public class PlayerController {
             if (p.getNumber() == number) return false;
         }
 
-        boolean ok = team.addPlayer(new Player(firstName.trim(),
-                                               lastName.trim(),
-                                               number,
-                                               position == null ? "" : position.trim()));
-        if (ok) state.save();
+        Player p = new Player(firstName.trim(),
+                              lastName.trim(),
+                              number,
+                              position == null ? "" : position.trim());
+        boolean ok = getLeague(leagueName).write(() -> team.addPlayer(p));
+        if (ok) {
+            state.record(JournalRecord.addPlayer(resolveLeagueName(leagueName), teamName,
+                    p.getFirstName(), p.getLastName(), p.getPosition(), number));
+        }
         return ok;
     }
 
@@ -95,23 +104,33 @@ public class PlayerController {
             for (Player p : team.getPlayers()) {
                 if (p.getNumber() == newNumber) return false;
             }
-            // Re-key correctly: remove old, set new number, add back
-            team.removePlayer(existing);
-            existing.setNumber(newNumber);
-            // If add fails (shouldn't), roll back and return false
-            if (!team.addPlayer(existing)) {
-                // rollback to original
-                existing.setNumber(originalNumber);
-                team.addPlayer(existing);
-                return false;
-            }
         }
 
-        existing.setFirstName(newFirstName == null ? "" : newFirstName.trim());
-        existing.setLastName(newLastName == null ? "" : newLastName.trim());
-        existing.setPosition(newPosition == null ? "" : newPosition.trim());
+        Player player = existing;
+        boolean ok = getLeague(leagueName).write(() -> {
+            if (newNumber != originalNumber) {
+                // Re-key correctly: remove old, set new number, add back
+                team.removePlayer(player);
+                player.setNumber(newNumber);
+                // If add fails (shouldn't), roll back and return false
+                if (!team.addPlayer(player)) {
+                    // rollback to original
+                    player.setNumber(originalNumber);
+                    team.addPlayer(player);
+                    return false;
+                }
+            }
+
+            player.setFirstName(newFirstName == null ? "" : newFirstName.trim());
+            player.setLastName(newLastName == null ? "" : newLastName.trim());
+            player.setPosition(newPosition == null ? "" : newPosition.trim());
+            return true;
+        });
+        if (!ok) return false;
 
-        state.save();
+        state.record(JournalRecord.updatePlayer(resolveLeagueName(leagueName), teamName,
+                originalNumber, existing.getFirstName(), existing.getLastName(),
+                existing.getPosition(), newNumber));
         return true;
     }
 
@@ -125,8 +144,11 @@ public class PlayerController {
         }
         if (target == null) return false;
 
-        boolean removed = team.removePlayer(target);
-        if (removed) state.save();
+        Player gone = target;
+        boolean removed = getLeague(leagueName).write(() -> team.removePlayer(gone));
+        if (removed) {
+            state.record(JournalRecord.removePlayer(resolveLeagueName(leagueName), teamName, number));
+        }
         return removed;
     }
 
@@ -151,15 +173,19 @@ public class PlayerController {
             if (x.getNumber() == p.getNumber()) return false; // collision
         }
 
-        // move atomically via Team API
-        src.removePlayer(p);
-        boolean ok = dst.addPlayer(p);
-        if (!ok) { // rollback if unexpected
-            src.addPlayer(p);
-            return false;
-        }
+        // move atomically via Team API (readers see it on one team or the other)
+        Player moving = p;
+        boolean ok = getLeague(leagueName).write(() -> {
+            src.removePlayer(moving);
+            if (!dst.addPlayer(moving)) { // rollback if unexpected
+                src.addPlayer(moving);
+                return false;
+            }
+            return true;
+        });
+        if (!ok) return false;
 
-        state.save();
+        state.record(JournalRecord.movePlayer(resolveLeagueName(leagueName), sourceTeam, destTeam, number));
         return true;
     }
 
@@ -0,0 +1,478 @@
+package edu.vsu.lms.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import edu.vsu.lms.model.BracketRound;
+import edu.vsu.lms.model.Game;
+import edu.vsu.lms.model.League;
+import edu.vsu.lms.model.Standings;
+import edu.vsu.lms.model.TeamSymbols;
+import edu.vsu.lms.persistence.AppState;
+
+/**
+ * PlayoffOddsEngine
+ * -----------------
+ * Monte Carlo playoff and championship odds: plays out the rest of the
+ * regular season and then the single-elimination bracket many times and
+ * counts how often each team got in, reached the final and won it.
+ *
+ * prepare() turns the league into plain arrays on the league thread:
+ * teams become indexes (in ranking order), the unplayed games pairs of
+ * indexes, and each pairing a win probability. run() then needs nothing
+ * but those arrays. Simulations are split into chunks that run in
+ * parallel; each chunk allocates its arrays once and reuses them for
+ * every simulation, and has its own SplittableRandom drawn from the seed,
+ * so the odds for a given seed do not depend on the thread count.
+ *
+ * Model:
+ *  - a game is won with the log5 probability of the two teams' current
+ *    win % (smoothed as (W+1)/(G+2)), with no home edge, as in a
+ *    simulated score;
+ *  - the field is the top N by wins after the simulated season, ties
+ *    going to the team ranked higher today; seeds pair as in
+ *    Bracket.createSingleEliminationBracket (1 vs last, byes for the top
+ *    seeds);
+ *  - once the league has a bracket its field and seeding are fixed and
+ *    played bracket games keep their winners.
+ */
+public class PlayoffOddsEngine {
+
+    /** Called as chunks finish, from the worker threads. */
+    public interface ProgressListener {
+        void progress(long simulationsDone, long simulationsTotal);
+    }
+
+    private static final int CHUNK = 2_000;
+
+    private final AppState state = AppState.getInstance();
+    private final long seed;
+
+    /** Engine with a fresh random seed. */
+    public PlayoffOddsEngine() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public PlayoffOddsEngine(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** A league frozen into arrays, ready to simulate. */
+    public static final class Setup {
+        private final String[] teams;     // index = place in today's ranking
+        private final int[] wins;
+        private final int[] losses;
+        private final int[] home;         // unplayed regular-season games
+        private final int[] away;
+        private final double[] winProb;   // winProb[a * n + b] = P(a beats b)
+        private final int field;          // teams in the bracket
+        private final int slots;          // bracket size, a power of two
+        private final int[] seedSlots;    // fixed bracket: team per seed, -1 = bye; else null
+        private final int[] fixedWinners; // per bracket game, round by round; -1 = not played
+
+        private Setup(String[] teams, int[] wins, int[] losses, int[] home, int[] away,
+                      double[] winProb, int field, int slots, int[] seedSlots, int[] fixedWinners) {
+            this.teams = teams;
+            this.wins = wins;
+            this.losses = losses;
+            this.home = home;
+            this.away = away;
+            this.winProb = winProb;
+            this.field = field;
+            this.slots = slots;
+            this.seedSlots = seedSlots;
+            this.fixedWinners = fixedWinners;
+        }
+
+        public int getTeamCount()        { return teams.length; }
+        public int getRemainingGames()   { return home.length; }
+        public int getPlayoffTeams()     { return field; }
+        /** True if the league already has a bracket, so the field is fixed. */
+        public boolean isBracketFixed()  { return seedSlots != null; }
+    }
+
+    /** One team's odds. */
+    public static final class TeamOdds {
+        private final String teamName;
+        private final int wins;
+        private final int losses;
+        private final double projectedWins;
+        private final double playoffPercent;
+        private final double finalsPercent;
+        private final double championPercent;
+
+        private TeamOdds(String teamName, int wins, int losses, double projectedWins,
+                         double playoffPercent, double finalsPercent, double championPercent) {
+            this.teamName = teamName;
+            this.wins = wins;
+            this.losses = losses;
+            this.projectedWins = projectedWins;
+            this.playoffPercent = playoffPercent;
+            this.finalsPercent = finalsPercent;
+            this.championPercent = championPercent;
+        }
+
+        public String getTeamName()        { return teamName; }
+        public int getWins()               { return wins; }
+        public int getLosses()             { return losses; }
+        /** Average regular-season wins at the end of the simulated season. */
+        public double getProjectedWins()   { return projectedWins; }
+        public double getPlayoffPercent()  { return playoffPercent; }
+        public double getFinalsPercent()   { return finalsPercent; }
+        public double getChampionPercent() { return championPercent; }
+    }
+
+    /** The odds of every team, best championship odds first. */
+    public static final class Odds {
+        private final List<TeamOdds> teams;
+        private final long simulations;
+        private final long elapsedNanos;
+        private final long seed;
+
+        private Odds(List<TeamOdds> teams, long simulations, long elapsedNanos, long seed) {
+            this.teams = Collections.unmodifiableList(teams);
+            this.simulations = simulations;
+            this.elapsedNanos = elapsedNanos;
+            this.seed = seed;
+        }
+
+        public List<TeamOdds> getTeams()  { return teams; }
+        public long getSimulations()      { return simulations; }
+        public long getSeed()             { return seed; }
+        public double getElapsedMillis()  { return elapsedNanos / 1e6; }
+
+        public double getSimulationsPerSecond() {
+            return (elapsedNanos == 0) ? 0.0 : simulations * 1e9 / elapsedNanos;
+        }
+
+        /** The team's odds, or null if it is not in the league. */
+        public TeamOdds get(String teamName) {
+            for (TeamOdds t : teams) {
+                if (t.getTeamName().equals(teamName)) return t;
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d simulations in %.0f ms (%,.0f per second)",
+                    simulations, getElapsedMillis(), getSimulationsPerSecond());
+        }
+    }
+
+    // ---------- prepare ----------
+
+    /**
+     * Freezes the league for simulation.
+     *
+     * @param playoffTeams size of the bracket; ignored once the league has one
+     */
+    public Setup prepare(String leagueName, int playoffTeams) {
+        League league = state.getLeagues().get(leagueName);
+        if (league == null) {
+            throw new IllegalArgumentException("League not found: " + leagueName);
+        }
+
+        // Teams in today's ranking order; the index doubles as the tiebreak
+        List<String> names = new ArrayList<>();
+        for (Standings.Row r : league.getRanking().getRows()) {
+            if (league.getTeams().containsKey(r.getTeamName())) names.add(r.getTeamName());
+        }
+        int n = names.size();
+        if (n < 2) {
+            throw new IllegalStateException("Need at least 2 teams to simulate playoffs.");
+        }
+        // Team id in the league's symbols -> our index (-1 = not simulated)
+        TeamSymbols symbols = league.getSymbols();
+        // (find, not idOf: only reads, so no name is added to the league's symbols)
+        int[] index = new int[symbols.size()];
+        Arrays.fill(index, -1);
+        String[] teams = names.toArray(new String[0]);
+        int[] wins = new int[n];
+        int[] losses = new int[n];
+        Standings standings = league.getStandings();
+        for (int i = 0; i < n; i++) {
+            int id = symbols.find(teams[i]);
+            if (id >= 0) index[id] = i;
+            Standings.Row r = standings.getRow(teams[i]);
+            wins[i] = r.getWins();
+            losses[i] = r.getLosses();
+        }
+
+        List<int[]> remaining = new ArrayList<>();
+        for (Game g : league.getGames()) {
+            if (g.hasResult()) continue;
+            int h = index[g.getHomeTeamId()];
+            int a = index[g.getAwayTeamId()];
+            if (h >= 0 && a >= 0) remaining.add(new int[]{h, a});
+        }
+        int[] home = new int[remaining.size()];
+        int[] away = new int[remaining.size()];
+        for (int i = 0; i < home.length; i++) {
+            home[i] = remaining.get(i)[0];
+            away[i] = remaining.get(i)[1];
+        }
+
+        // log5 on smoothed win %: P(a beats b) = pa(1-pb) / (pa(1-pb) + pb(1-pa))
+        double[] strength = new double[n];
+        for (int i = 0; i < n; i++) {
+            strength[i] = (wins[i] + 1.0) / (wins[i] + losses[i] + 2.0);
+        }
+        double[] winProb = new double[n * n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                double x = strength[a] * (1 - strength[b]);
+                double y = strength[b] * (1 - strength[a]);
+                winProb[a * n + b] = (a == b) ? 0.5 : x / (x + y);
+            }
+        }
+
+        if (league.hasBracket() && !league.getBracket().getRounds().isEmpty()) {
+            return fixedBracket(league, teams, index, wins, losses, home, away, winProb);
+        }
+
+        int field = Math.max(2, Math.min(playoffTeams, n));
+        int slots = nextPowerOfTwo(field);
+        int[] noneFixed = new int[slots - 1];
+        Arrays.fill(noneFixed, -1);
+        return new Setup(teams, wins, losses, home, away, winProb,
+                field, slots, null, noneFixed);
+    }
+
+    /** Field, seeding and played games taken from the league's bracket. */
+    private Setup fixedBracket(League league, String[] teams, int[] index,
+                               int[] wins, int[] losses, int[] home, int[] away, double[] winProb) {
+        List<BracketRound> rounds = league.getBracket().getRounds();
+        List<Game> first = rounds.get(0).getGames();
+        int slots = nextPowerOfTwo(2 * first.size());
+
+        // Round 1 game g is seed g against seed (slots - 1 - g)
+        int[] seedSlots = new int[slots];
+        Arrays.fill(seedSlots, -1);
+        int field = 0;
+        for (int g = 0; g < first.size(); g++) {
+            seedSlots[g] = index[first.get(g).getHomeTeamId()];
+            seedSlots[slots - 1 - g] = index[first.get(g).getAwayTeamId()];
+        }
+        for (int s : seedSlots) {
+            if (s >= 0) field++;
+        }
+
+        int[] fixedWinners = new int[slots - 1];
+        Arrays.fill(fixedWinners, -1);
+        int offset = 0;
+        int games = slots / 2;
+        for (int r = 0; r < rounds.size() && games >= 1; r++) {
+            List<Game> rg = rounds.get(r).getGames();
+            for (int m = 0; m < games && m < rg.size(); m++) {
+                Game g = rg.get(m);
+                if (g.hasResult()) fixedWinners[offset + m] = index[g.getWinnerId()];
+            }
+            offset += games;
+            games /= 2;
+        }
+        return new Setup(teams, wins, losses, home, away, winProb,
+                field, slots, seedSlots, fixedWinners);
+    }
+
+    private static int nextPowerOfTwo(int n) {
+        int p = 1;
+        while (p < n) {
+            p *= 2;
+        }
+        return p;
+    }
+
+    // ---------- run ----------
+
+    /**
+     * Runs the simulations on the common fork/join pool.
+     *
+     * @param listener may be null
+     */
+    public Odds run(Setup s, int simulations, ProgressListener listener) {
+        if (simulations <= 0) {
+            throw new IllegalArgumentException("simulations must be positive");
+        }
+        long t0 = System.nanoTime();
+        int chunks = (simulations + CHUNK - 1) / CHUNK;
+
+        // One seed per chunk, drawn in order, so the split is reproducible
+        SplittableRandom master = new SplittableRandom(seed);
+        long[] chunkSeeds = new long[chunks];
+        for (int c = 0; c < chunks; c++) chunkSeeds[c] = master.nextLong();
+
+        AtomicLong done = new AtomicLong();
+        Counts total = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> {
+                    int count = Math.min(CHUNK, simulations - c * CHUNK);
+                    Counts counts = new Worker(s, chunkSeeds[c]).simulate(count);
+                    long d = done.addAndGet(count);
+                    if (listener != null) listener.progress(d, simulations);
+                    return counts;
+                })
+                .reduce(Counts::add)
+                .orElseThrow();
+
+        int n = s.teams.length;
+        List<TeamOdds> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(new TeamOdds(s.teams[i], s.wins[i], s.losses[i],
+                    (double) total.sumWins[i] / simulations,
+                    total.playoffs[i] * 100.0 / simulations,
+                    total.finals[i] * 100.0 / simulations,
+                    total.titles[i] * 100.0 / simulations));
+        }
+        // Stable: equal odds keep today's ranking order
+        result.sort(Comparator.comparingDouble(TeamOdds::getChampionPercent).reversed()
+                .thenComparing(Comparator.comparingDouble(TeamOdds::getPlayoffPercent).reversed()));
+        return new Odds(result, simulations, System.nanoTime() - t0, seed);
+    }
+
+    /** prepare + run on the calling thread (the league is only read in prepare). */
+    public Odds computeOdds(String leagueName, int playoffTeams, int simulations) {
+        return run(prepare(leagueName, playoffTeams), simulations, null);
+    }
+
+    /** Tallies of one or more chunks. */
+    private static final class Counts {
+        final long[] sumWins;
+        final int[] playoffs;
+        final int[] finals;
+        final int[] titles;
+
+        Counts(int n) {
+            sumWins = new long[n];
+            playoffs = new int[n];
+            finals = new int[n];
+            titles = new int[n];
+        }
+
+        Counts add(Counts o) {
+            for (int i = 0; i < sumWins.length; i++) {
+                sumWins[i] += o.sumWins[i];
+                playoffs[i] += o.playoffs[i];
+                finals[i] += o.finals[i];
+                titles[i] += o.titles[i];
+            }
+            return this;
+        }
+    }
+
+    /** One chunk: arrays allocated once, reused by every simulation. */
+    private static final class Worker {
+        private final Setup s;
+        private final int n;
+        private final SplittableRandom rnd;
+        private final int[] wins;
+        private final int[] order;   // team indexes, best record first
+        private final int[] bracket; // teams still alive, in bracket order
+
+        Worker(Setup s, long seed) {
+            this.s = s;
+            this.n = s.teams.length;
+            this.rnd = new SplittableRandom(seed);
+            this.wins = new int[n];
+            this.order = new int[n];
+            this.bracket = new int[s.slots];
+            for (int i = 0; i < n; i++) order[i] = i;
+        }
+
+        Counts simulate(int count) {
+            Counts c = new Counts(n);
+            for (int k = 0; k < count; k++) {
+                playSeason();
+                for (int i = 0; i < n; i++) c.sumWins[i] += wins[i];
+                playBracket(c);
+            }
+            return c;
+        }
+
+        private void playSeason() {
+            System.arraycopy(s.wins, 0, wins, 0, n);
+            int[] home = s.home;
+            int[] away = s.away;
+            double[] p = s.winProb;
+            for (int g = 0; g < home.length; g++) {
+                int h = home[g];
+                int a = away[g];
+                if (rnd.nextDouble() < p[h * n + a]) wins[h]++; else wins[a]++;
+            }
+        }
+
+        private void playBracket(Counts c) {
+            int slots = s.slots;
+            int[] seeds = s.seedSlots;
+            if (seeds == null) {
+                seedByWins();
+            }
+
+            // Pairs in bracket order: game g is seed g vs seed (slots - 1 - g)
+            for (int g = 0; g < slots / 2; g++) {
+                int a = seedAt(seeds, g);
+                int b = seedAt(seeds, slots - 1 - g);
+                bracket[2 * g] = a;
+                bracket[2 * g + 1] = b;
+                if (a >= 0) c.playoffs[a]++;
+                if (b >= 0) c.playoffs[b]++;
+            }
+
+            int len = slots;
+            int offset = 0;
+            double[] p = s.winProb;
+            while (len > 1) {
+                if (len == 2) {
+                    if (bracket[0] >= 0) c.finals[bracket[0]]++;
+                    if (bracket[1] >= 0) c.finals[bracket[1]]++;
+                }
+                for (int m = 0; m < len / 2; m++) {
+                    int a = bracket[2 * m];
+                    int b = bracket[2 * m + 1];
+                    int fixed = s.fixedWinners[offset + m];
+                    int w;
+                    if (fixed >= 0)  w = fixed;
+                    else if (a < 0)  w = b;     // bye
+                    else if (b < 0)  w = a;
+                    else             w = (rnd.nextDouble() < p[a * n + b]) ? a : b;
+                    bracket[m] = w;
+                }
+                offset += len / 2;
+                len /= 2;
+            }
+            if (bracket[0] >= 0) c.titles[bracket[0]]++;
+        }
+
+        private int seedAt(int[] seeds, int seed) {
+            if (seeds != null) return seeds[seed];
+            return (seed < s.field) ? order[seed] : -1;
+        }
+
+        /**
+         * Insertion sort of order by wins, ties to the lower index (ranked
+         * higher today). Starts from the last simulation's order, which is
+         * usually close, so it costs little more than a pass.
+         */
+        private void seedByWins() {
+            for (int i = 1; i < n; i++) {
+                int t = order[i];
+                int j = i - 1;
+                while (j >= 0 && (wins[order[j]] < wins[t]
+                        || (wins[order[j]] == wins[t] && order[j] > t))) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = t;
+            }
+        }
+    }
+}
@@ -1,29 +1,21 @@
 package edu.vsu.lms.controller;
 
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.JournalRecord;
+import edu.vsu.lms.persistence.StatsArchive;
 import edu.vsu.lms.model.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class ScheduleController {
 
     private final AppState state = AppState.getInstance();
 
-    // small helper to store home/away before we know the exact date
-    private static class Matchup {
-        final String home;
-        final String away;
-
-        Matchup(String home, String away) {
-            this.home = home;
-            this.away = away;
-        }
-    }
-
     /**
      * Generate a double round-robin schedule:
      *  - Each team plays every other team twice (home + away)
@@ -31,100 +23,96 @@ public class ScheduleController {
      *  - With two playDays (e.g. Tue/Sat), teams play once per day -> 2 games per week
      */
     public boolean generateSchedule(String leagueName, List<DayOfWeek> playDays, LocalDate startDate) {
+        return generateSchedule(leagueName, new ScheduleEngine.Options()
+                .setPlayDays(playDays)
+                .setStartDate(startDate));
+    }
+
+    /**
+     * Generate a schedule with ScheduleEngine: divisions, any number of
+     * round-robins, rest days and venue rules (see ScheduleEngine.Options).
+     */
+    public boolean generateSchedule(String leagueName, ScheduleEngine.Options options) {
         League league = state.getLeagues().get(leagueName);
         if (league == null || league.isScheduleCreated()) return false;
+        if (league.getTeams().size() < 2) return false;
 
-        // Get team names
-        List<String> teamNames = new ArrayList<>(league.getTeams().keySet());
-        if (teamNames.size() < 2) return false;
-
-        // Sort for consistent schedule
-        Collections.sort(teamNames, String.CASE_INSENSITIVE_ORDER);
-
-        // Handle odd number of teams using a BYE
-        final String BYE = "__BYE__";
-        if (teamNames.size() % 2 == 1) {
-            teamNames.add(BYE);
-        }
-
-        int n = teamNames.size();
-        int roundsSingle = n - 1;          // single round-robin
-        int totalRounds = roundsSingle * 2; // double round-robin
-
-        // 1) Build single round-robin with the "circle method"
-        List<List<Matchup>> rounds = new ArrayList<>();
-        List<String> rotated = new ArrayList<>(teamNames);
-
-        for (int round = 0; round < roundsSingle; round++) {
-            List<Matchup> matchups = new ArrayList<>();
-
-            for (int i = 0; i < n / 2; i++) {
-                String home = rotated.get(i);
-                String away = rotated.get(n - 1 - i);
+        ScheduleEngine.Schedule schedule = new ScheduleEngine().generate(league.getTeams().keySet(), options);
 
-                // Skip BYE games
-                if (home.equals(BYE) || away.equals(BYE)) continue;
-
-                matchups.add(new Matchup(home, away));
+        // Games share the engine's team-name and date instances. One write:
+        // the saver and the API see no schedule or all of it
+        league.write(() -> {
+            for (int i = 0; i < schedule.getGameCount(); i++) {
+                league.addGame(new Game(schedule.getDate(i), schedule.getHomeTeam(i), schedule.getAwayTeam(i)));
             }
+            league.setScheduleCreated(true);
+        });
+        System.out.println("✅ Schedule for " + leagueName + ": " + schedule);
 
-            rounds.add(matchups);
+        state.saveStructuralChange();
+        return true;
+    }
 
-            // Rotate everything except the first team
-            String first = rotated.get(0);
-            List<String> rest = rotated.subList(1, rotated.size());
-            Collections.rotate(rest, 1);
-        }
+    // -------------------------------------------------
+    // Reschedule the unplayed part of a season
+    // -------------------------------------------------
 
-        // 2) Mirror for the second half (swap home/away)
-        int originalRounds = rounds.size();
-        for (int r = 0; r < originalRounds; r++) {
-            List<Matchup> base = rounds.get(r);
-            List<Matchup> mirrored = new ArrayList<>();
-            for (Matchup m : base) {
-                mirrored.add(new Matchup(m.away, m.home)); // reverse home/away
-            }
-            rounds.add(mirrored);
+    /**
+     * Replaces every unplayed regular-season game with a new plan from the
+     * options' start date (ScheduleEngine.generateRemaining). This picks up
+     * teams added since the schedule was made, moves rained-out games and
+     * applies new rest or venue rules. Played games, their results and
+     * their stats are left alone.
+     */
+    public String rescheduleUnplayed(String leagueName, ScheduleEngine.Options options) {
+        League league = state.getLeagues().get(leagueName);
+        if (league == null) {
+            return "ERROR: League '" + leagueName + "' not found.";
+        }
+        if (league.getTeams().size() < 2) {
+            return "ERROR: Need at least 2 teams to schedule.";
         }
 
-        // 3) Generate dates for each round on allowed playDays
-        List<LocalDate> roundDates = generateRoundDates(startDate, playDays, totalRounds);
-
-        // 4) Create Game objects and add to league
-        for (int r = 0; r < totalRounds; r++) {
-            LocalDate date = roundDates.get(r);
-            for (Matchup m : rounds.get(r)) {
-                Game g = new Game(date, m.home, m.away);
-                league.addGame(g);
+        GameStatsController stats = state.getGameStatsController();
+        List<Game> played = new ArrayList<>();
+        int unplayedWithStats = 0;
+        for (Game g : league.getGames()) {
+            if (g.hasResult()) {
+                played.add(g);
+            } else {
+                GameStats gs = stats.getGameStats(g);
+                if (gs != null && !gs.isEmpty()) unplayedWithStats++;
             }
         }
+        if (unplayedWithStats > 0) {
+            return "ERROR: " + unplayedWithStats
+                    + " unplayed game(s) already have stats; record their results first.";
+        }
 
-        league.setScheduleCreated(true);
-        state.save();
-        return true;
-    }
-
-    /**
-     * Generate exactly totalRounds dates, each on one of the playDays,
-     * starting at or after startDate, in chronological order.
-     */
-    private List<LocalDate> generateRoundDates(LocalDate startDate,
-                                               List<DayOfWeek> playDays,
-                                               int totalRounds) {
-        List<LocalDate> dates = new ArrayList<>();
-        if (playDays == null || playDays.isEmpty()) {
-            // If no days specified, just use the start date's day of week
-            playDays = List.of(startDate.getDayOfWeek());
+        ScheduleEngine.Schedule schedule = new ScheduleEngine()
+                .generateRemaining(league.getTeams().keySet(), played, options);
+        List<Game> fresh = new ArrayList<>(schedule.getGameCount());
+        for (int i = 0; i < schedule.getGameCount(); i++) {
+            fresh.add(new Game(schedule.getDate(i), schedule.getHomeTeam(i), schedule.getAwayTeam(i)));
         }
 
-        LocalDate current = startDate.minusDays(1);
-        while (dates.size() < totalRounds) {
-            current = current.plusDays(1);
-            if (playDays.contains(current.getDayOfWeek())) {
-                dates.add(current);
+        List<Game> removed = league.write(() -> {
+            List<Game> taken = league.replaceUnplayedGames(fresh);
+            for (Game g : taken) {
+                stats.removeGameStats(g); // at most an empty entry
             }
+            league.setScheduleCreated(true);
+            return taken;
+        });
+        state.saveStructuralChange();
+
+        System.out.println("✅ Rescheduled " + leagueName + ": " + schedule);
+        if (schedule.getGameCount() == 0) {
+            return "Removed " + removed.size() + " unplayed game(s); nothing left to schedule.";
         }
-        return dates;
+        return String.format("Replaced %d unplayed game(s) with %d game(s), %s to %s (%d played game(s) kept).",
+                removed.size(), schedule.getGameCount(),
+                schedule.getDate(0), schedule.getLastDate(), played.size());
     }
 
     // -------------------------------------------------
@@ -137,31 +125,17 @@ public class ScheduleController {
         League league = state.getLeagues().get(leagueName);
         if (league == null) return false;
 
-        for (Game g : league.getGames()) {
-            if (g.getDate().equals(date) &&
-                g.getHomeTeam().equals(home) &&
-                g.getAwayTeam().equals(away)) {
-
-                if (homeScore == awayScore) return false; // no ties
-                String winner = (homeScore > awayScore) ? home : away;
-                g.setResult(winner, homeScore, awayScore);
-
-                Team t1 = league.getTeams().get(home);
-                Team t2 = league.getTeams().get(away);
-
-                if (winner.equals(home)) {
-                    t1.addWin();
-                    t2.addLoss();
-                } else {
-                    t2.addWin();
-                    t1.addLoss();
-                }
+        Game g = league.findGame(date, home, away);
+        if (g == null) return false;
 
-                state.save();
-                return true;
-            }
-        }
-        return false;
+        if (homeScore == awayScore) return false; // no ties
+        // Replaces any earlier result; standings and team W/L follow
+        String winner = (homeScore > awayScore) ? home : away;
+        g.setResult(winner, homeScore, awayScore);
+
+        state.record(JournalRecord.recordResult(leagueName, date, home, away,
+                                                homeScore, awayScore));
+        return true;
     }
 
     // -------------------------------------------------
@@ -175,10 +149,101 @@ public class ScheduleController {
 
         try {
             league.generateBracket(firstRoundDate);
-            state.save();
+            state.saveStructuralChange();
             return "Bracket successfully created!";
         } catch (Exception e) {
             return "ERROR scheduling bracket: " + e.getMessage();
         }
     }
+
+    // -------------------------------------------------
+    // Close a season: move it into a StatsArchive
+    // -------------------------------------------------
+
+    /**
+     * Once every regular-season game has a result, the season (games,
+     * bracket, team records, game stats) is written to a memory-mapped
+     * archive and cleared from the league so a new schedule can start.
+     * Old seasons stay viewable in the Player/Team Stats panels.
+     *
+     * Three steps, so the file I/O stays off the EDT: checkArchivable and
+     * clearArchivedSeason on the EDT, writeSeasonArchive and saveArchived
+     * in a background worker in between and after.
+     */
+    public String checkArchivable(String leagueName) {
+        League league = state.getLeagues().get(leagueName);
+        if (league == null) {
+            return "ERROR: League '" + leagueName + "' not found.";
+        }
+        if (league.getGames().isEmpty()) {
+            return "ERROR: League '" + leagueName + "' has no season to archive.";
+        }
+        long unplayed = league.getGames().stream().filter(g -> !g.hasResult()).count();
+        if (unplayed > 0) {
+            return "ERROR: " + unplayed + " game(s) still have no result.";
+        }
+        return null;
+    }
+
+    /**
+     * Writes the archive file; call off the EDT once checkArchivable passed.
+     * The league is read under its read lock, so a change made meanwhile
+     * waits for the archive; one made afterwards makes
+     * clearArchivedSeason refuse (compare league.getVersion()).
+     */
+    public StatsArchive writeSeasonArchive(League league) throws IOException {
+        league.readLock().lock();
+        try {
+            return state.archiveSeason(league);
+        } finally {
+            league.readLock().unlock();
+        }
+    }
+
+    /**
+     * On the EDT: drops the archived season from the league. If the league
+     * changed since version was read, the change is not in the archive;
+     * the file is deleted and the season stays.
+     */
+    public String clearArchivedSeason(League league, StatsArchive archive, int version) {
+        if (league.getVersion() != version) {
+            try {
+                Files.deleteIfExists(archive.getFile());
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not delete " + archive.getFile() + ": " + e);
+            }
+            return "ERROR: " + league.getName() + " changed while it was archived; archive it again.";
+        }
+
+        // The archive now owns these stats; drop them from the heap
+        GameStatsController stats = state.getGameStatsController();
+        league.write(() -> {
+            for (Game g : league.getGames()) {
+                stats.removeGameStats(g);
+            }
+            if (league.hasBracket()) {
+                for (BracketRound r : league.getBracket().getRounds()) {
+                    for (Game g : r.getGames()) stats.removeGameStats(g);
+                }
+            }
+
+            league.clearSchedule(); // also resets every team to 0–0
+            league.setBracket(null);
+        });
+        state.saveStructuralChange();
+        return null;
+    }
+
+    /**
+     * Off the EDT: waits for the snapshot without the archived season.
+     * Until it is written, a restart would bring the season back next to
+     * its archive.
+     */
+    public String saveArchived(StatsArchive archive) {
+        if (!state.flush()) {
+            return "ERROR: " + archive.getLabel() + " was archived, but the league could not be saved;"
+                    + " it may come back after a restart.";
+        }
+        return archive.getLabel() + " archived (" + archive.getRowCount() + " stat lines).";
+    }
 }
@@ -0,0 +1,543 @@
+package edu.vsu.lms.controller;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.vsu.lms.model.Game;
+
+/**
+ * ScheduleEngine
+ * --------------
+ * Builds regular-season schedules without touching a League: the result
+ * is a Schedule of int team indexes and day offsets, which
+ * ScheduleController turns into Game objects.
+ *
+ * Pairings:
+ *  - Teams in the same division meet "rounds" times (circle method, home
+ *    and away alternating from one round-robin to the next).
+ *  - Teams in different divisions meet "crossDivisionRounds" times. The
+ *    divisions themselves are paired by the circle method, so in every
+ *    block of rounds each division plays exactly one other division.
+ *  - Different counts for the two give unbalanced schedules.
+ *
+ * Dates: round r is due on the r-th play day. Each game goes on the first
+ * play day on or after that where both teams have had their rest days,
+ * the home team's venue is free and open, and the day is not full. With
+ * no constraints every round lands on its own play day, which is what the
+ * generator always did. generateRemaining() plans only what is still owed
+ * around the games already played (late team, rained-out week).
+ *
+ * Everything is int arrays: a team's next free day is one slot, a venue's
+ * taken and closed days are one BitSet, so a game is placed in a few
+ * array reads however large the league is.
+ */
+public class ScheduleEngine {
+
+    /** What to generate. Teams without a division all share one; teams without a venue have their own. */
+    public static final class Options {
+        private List<DayOfWeek> playDays = List.of();
+        private LocalDate startDate = LocalDate.now();
+        private int rounds = 2;
+        private int crossDivisionRounds = 0;
+        private int minRestDays = 0;
+        private int maxGamesPerDay = 0;
+        private final Map<String, String> divisions = new HashMap<>();
+        private final Map<String, String> venues = new HashMap<>();
+        private final Map<String, List<LocalDate>> closedDates = new HashMap<>();
+
+        /** Days of the week games are played on; empty means the start date's weekday. */
+        public Options setPlayDays(Collection<DayOfWeek> days) {
+            this.playDays = (days == null) ? List.of() : List.copyOf(days);
+            return this;
+        }
+
+        /** First possible game date. */
+        public Options setStartDate(LocalDate date) {
+            if (date == null) throw new IllegalArgumentException("startDate cannot be null");
+            this.startDate = date;
+            return this;
+        }
+
+        /** Times two teams of the same division meet (2 = home and away). */
+        public Options setRounds(int rounds) {
+            if (rounds < 0) throw new IllegalArgumentException("rounds cannot be negative");
+            this.rounds = rounds;
+            return this;
+        }
+
+        /** Times two teams of different divisions meet. */
+        public Options setCrossDivisionRounds(int rounds) {
+            if (rounds < 0) throw new IllegalArgumentException("crossDivisionRounds cannot be negative");
+            this.crossDivisionRounds = rounds;
+            return this;
+        }
+
+        /** Full days a team sits out after a game; 1 or more rules out back-to-backs. */
+        public Options setMinRestDays(int days) {
+            if (days < 0) throw new IllegalArgumentException("minRestDays cannot be negative");
+            this.minRestDays = days;
+            return this;
+        }
+
+        /** Most games on one date across the league; 0 = no limit. */
+        public Options setMaxGamesPerDay(int games) {
+            if (games < 0) throw new IllegalArgumentException("maxGamesPerDay cannot be negative");
+            this.maxGamesPerDay = games;
+            return this;
+        }
+
+        public Options setDivision(String team, String division) {
+            divisions.put(team, division);
+            return this;
+        }
+
+        /** Home venue; teams sharing a venue never both host on the same date. */
+        public Options setVenue(String team, String venue) {
+            venues.put(team, venue);
+            return this;
+        }
+
+        /** No home games at this venue (or team, if it has no venue) on that date. */
+        public Options addClosedDate(String venue, LocalDate date) {
+            closedDates.computeIfAbsent(venue, k -> new ArrayList<>()).add(date);
+            return this;
+        }
+
+        public List<DayOfWeek> getPlayDays()  { return playDays; }
+        public LocalDate getStartDate()       { return startDate; }
+        public int getRounds()                { return rounds; }
+        public int getCrossDivisionRounds()   { return crossDivisionRounds; }
+        public int getMinRestDays()           { return minRestDays; }
+        public int getMaxGamesPerDay()        { return maxGamesPerDay; }
+    }
+
+    /** A generated schedule: game i is home(i) vs away(i) on date(i), in date order. */
+    public static final class Schedule {
+        private final String[] teams;
+        private final LocalDate startDate;
+        private final int[] home;
+        private final int[] away;
+        private final int[] day;          // days after startDate
+        private final int rounds;
+        private final long elapsedNanos;
+        private LocalDate[] dates;        // one shared LocalDate per day, built on first use
+
+        private Schedule(String[] teams, LocalDate startDate, int[] home, int[] away, int[] day,
+                         int rounds, long elapsedNanos) {
+            this.teams = teams;
+            this.startDate = startDate;
+            this.home = home;
+            this.away = away;
+            this.day = day;
+            this.rounds = rounds;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getGameCount()   { return home.length; }
+        public int getRoundCount()  { return rounds; }
+        public String getHomeTeam(int i) { return teams[home[i]]; }
+        public String getAwayTeam(int i) { return teams[away[i]]; }
+
+        public LocalDate getDate(int i) {
+            if (dates == null) {
+                int last = (day.length == 0) ? -1 : day[day.length - 1];
+                dates = new LocalDate[last + 1];
+            }
+            LocalDate d = dates[day[i]];
+            if (d == null) {
+                d = startDate.plusDays(day[i]);
+                dates[day[i]] = d;
+            }
+            return d;
+        }
+
+        /** Date of the last game, or null for an empty schedule. */
+        public LocalDate getLastDate() {
+            return (day.length == 0) ? null : getDate(day.length - 1);
+        }
+
+        public double getElapsedMillis() { return elapsedNanos / 1e6; }
+
+        @Override
+        public String toString() {
+            return String.format("%,d game(s) for %d team(s) in %d round(s), %s to %s, in %.0f ms",
+                    home.length, teams.length, rounds,
+                    home.length == 0 ? "-" : getDate(0), home.length == 0 ? "-" : getLastDate(),
+                    getElapsedMillis());
+        }
+    }
+
+    /** Growable int array for the pairings. */
+    private static final class Ints {
+        int[] a = new int[64];
+        int size;
+
+        void add(int v) {
+            if (size == a.length) a = Arrays.copyOf(a, size * 2);
+            a[size++] = v;
+        }
+    }
+
+    // ---------- generate ----------
+
+    /**
+     * Schedules the given teams. Names are sorted case-insensitively first,
+     * so the same teams and options always give the same schedule. Every
+     * game finds a date: closed dates are finite and a full day only pushes
+     * a game to the next one.
+     */
+    public Schedule generate(Collection<String> teamNames, Options o) {
+        return build(teamNames, null, o);
+    }
+
+    /**
+     * The games still owed once the played ones are taken out of the full
+     * schedule the options describe, dated from the options' start date.
+     * A played game uses up one owed meeting of the same home and away
+     * teams if there is one, otherwise one of the reverse.
+     *
+     * The owed games are packed round by round onto the earliest dates the
+     * constraints allow, so a late team or a rained-out week does not move
+     * the games already played. A team's new games come after its played
+     * ones (rest days included), and played games on or after the start
+     * date keep their venue and their place in the day's game count.
+     */
+    public Schedule generateRemaining(Collection<String> teamNames, Collection<Game> played, Options o) {
+        return build(teamNames, played, o);
+    }
+
+    private Schedule build(Collection<String> teamNames, Collection<Game> played, Options o) {
+        long t0 = System.nanoTime();
+        String[] teams = teamNames.toArray(new String[0]);
+        Arrays.sort(teams, String.CASE_INSENSITIVE_ORDER);
+        int n = teams.length;
+
+        Map<String, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) index.put(teams[i], i);
+
+        // Divisions in order of their first (sorted) team
+        Map<String, Ints> byDivision = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            byDivision.computeIfAbsent(o.divisions.getOrDefault(teams[i], ""), k -> new Ints()).add(i);
+        }
+        warnUnknown("division", o.divisions.keySet(), index);
+        int[][] divisions = new int[byDivision.size()][];
+        int di = 0;
+        for (Ints d : byDivision.values()) divisions[di++] = Arrays.copyOf(d.a, d.size);
+
+        // 1) Pairings, each tagged with its round
+        Ints home = new Ints(), away = new Ints(), round = new Ints();
+        int base = 0;
+        for (int leg = 0; leg < Math.max(o.rounds, o.crossDivisionRounds); leg++) {
+            if (leg < o.rounds) {
+                base += sameDivisionLeg(divisions, leg, base, home, away, round);
+            }
+            if (leg < o.crossDivisionRounds) {
+                base += crossDivisionLeg(divisions, leg, base, home, away, round);
+            }
+        }
+        int rounds = base;
+        if (played != null) {
+            rounds = removePlayed(index, played, home, away, round, rounds);
+        }
+        int games = home.size;
+        int[] byRound = countingOrder(round.a, games, rounds);
+
+        // 2) Dates
+        int[] day = new int[games];
+        placeGames(teams, index, o, home.a, away.a, round.a, byRound, rounds, played, day);
+
+        // 3) Date order (within a date, round and pairing order)
+        int lastDay = 0;
+        for (int g = 0; g < games; g++) lastDay = Math.max(lastDay, day[g]);
+        int[] byDay = countingOrder(day, byRound, lastDay + 1);
+        int[] h = new int[games], a = new int[games], d = new int[games];
+        for (int k = 0; k < games; k++) {
+            int g = byDay[k];
+            h[k] = home.a[g];
+            a[k] = away.a[g];
+            d[k] = day[g];
+        }
+        return new Schedule(teams, o.startDate, h, a, d, rounds, System.nanoTime() - t0);
+    }
+
+    /**
+     * Drops the pairings the played games account for, exact home/away
+     * matches first, and renumbers the rounds left with no gaps.
+     *
+     * @return rounds left
+     */
+    private static int removePlayed(Map<String, Integer> index, Collection<Game> played,
+                                    Ints home, Ints away, Ints round, int rounds) {
+        int n = index.size();
+        Map<Long, int[]> unmatched = new HashMap<>();
+        for (Game g : played) {
+            Integer h = index.get(g.getHomeTeam());
+            Integer a = index.get(g.getAwayTeam());
+            if (h == null || a == null) continue; // team no longer in the league
+            unmatched.computeIfAbsent((long) h * n + a, k -> new int[1])[0]++;
+        }
+
+        boolean[] owed = new boolean[home.size];
+        Arrays.fill(owed, true);
+        for (int pass = 0; pass < 2 && !unmatched.isEmpty(); pass++) {
+            for (int k = 0; k < home.size; k++) {
+                if (!owed[k]) continue;
+                long key = (pass == 0) ? (long) home.a[k] * n + away.a[k] : (long) away.a[k] * n + home.a[k];
+                int[] left = unmatched.get(key);
+                if (left != null && left[0] > 0) {
+                    left[0]--;
+                    owed[k] = false;
+                }
+            }
+        }
+
+        int[] newRound = new int[rounds];
+        Arrays.fill(newRound, -1);
+        for (int k = 0; k < home.size; k++) {
+            if (owed[k]) newRound[round.a[k]] = 0;
+        }
+        int kept = 0;
+        for (int r = 0; r < rounds; r++) {
+            if (newRound[r] == 0) newRound[r] = kept++;
+        }
+
+        int size = 0;
+        for (int k = 0; k < home.size; k++) {
+            if (!owed[k]) continue;
+            home.a[size] = home.a[k];
+            away.a[size] = away.a[k];
+            round.a[size] = newRound[round.a[k]];
+            size++;
+        }
+        home.size = away.size = round.size = size;
+        return kept;
+    }
+
+    /**
+     * One round-robin inside every division, all divisions side by side.
+     * Odd legs swap home and away.
+     *
+     * @return rounds used
+     */
+    private static int sameDivisionLeg(int[][] divisions, int leg, int base,
+                                       Ints home, Ints away, Ints round) {
+        int used = 0;
+        for (int[] div : divisions) {
+            int[] circle = circle(div);
+            int m = circle.length;
+            for (int r = 0; r < m - 1; r++) {
+                for (int i = 0; i < m / 2; i++) {
+                    int x = circle[i], y = circle[m - 1 - i];
+                    if (x < 0 || y < 0) continue; // bye
+                    home.add(leg % 2 == 0 ? x : y);
+                    away.add(leg % 2 == 0 ? y : x);
+                    round.add(base + r);
+                }
+                rotate(circle);
+            }
+            used = Math.max(used, m - 1);
+        }
+        return used;
+    }
+
+    /**
+     * Every team meets every team of each other division once. Divisions
+     * are paired by the circle method; a pair of divisions of sizes p <= q
+     * takes q rounds (team i of the smaller meets team (i + s) mod q of the
+     * larger in round s).
+     *
+     * @return rounds used
+     */
+    private static int crossDivisionLeg(int[][] divisions, int leg, int base,
+                                        Ints home, Ints away, Ints round) {
+        int[] ids = new int[divisions.length];
+        for (int i = 0; i < ids.length; i++) ids[i] = i;
+        int[] circle = circle(ids);
+        int m = circle.length;
+        int used = 0;
+        for (int dr = 0; dr < m - 1; dr++) {
+            int block = 0;
+            for (int i = 0; i < m / 2; i++) {
+                if (circle[i] < 0 || circle[m - 1 - i] < 0) continue;
+                int[] small = divisions[circle[i]], large = divisions[circle[m - 1 - i]];
+                if (small.length > large.length) {
+                    int[] t = small; small = large; large = t;
+                }
+                int q = large.length;
+                for (int s = 0; s < q; s++) {
+                    for (int k = 0; k < small.length; k++) {
+                        int x = small[k], y = large[(k + s) % q];
+                        boolean smallHome = ((k + s + leg) % 2 == 0);
+                        home.add(smallHome ? x : y);
+                        away.add(smallHome ? y : x);
+                        round.add(base + used + s);
+                    }
+                }
+                block = Math.max(block, q);
+            }
+            used += block;
+            rotate(circle);
+        }
+        return used;
+    }
+
+    private static void warnUnknown(String what, Collection<String> teams, Map<String, Integer> index) {
+        int unknown = 0;
+        String example = null;
+        for (String t : teams) {
+            if (!index.containsKey(t)) {
+                unknown++;
+                example = t;
+            }
+        }
+        if (unknown > 0) {
+            System.err.println("⚠️ Ignored " + what + " of " + unknown + " team(s) not in the schedule, e.g. " + example);
+        }
+    }
+
+    /** The ids padded with a -1 bye to an even count. */
+    private static int[] circle(int[] ids) {
+        int[] c = Arrays.copyOf(ids, ids.length + (ids.length % 2));
+        if (c.length > ids.length) c[ids.length] = -1;
+        return c;
+    }
+
+    /** Circle method step: everything but the first slot moves one place right. */
+    private static void rotate(int[] c) {
+        if (c.length < 3) return;
+        int last = c[c.length - 1];
+        System.arraycopy(c, 1, c, 2, c.length - 2);
+        c[1] = last;
+    }
+
+    /**
+     * Stable counting sort: the order to visit items so that key[item]
+     * ascends, visiting within a key in the order of items (or of
+     * 0..count-1 if items is a plain count).
+     */
+    private static int[] countingOrder(int[] key, int count, int keys) {
+        int[] items = new int[count];
+        for (int i = 0; i < count; i++) items[i] = i;
+        return countingOrder(key, items, keys);
+    }
+
+    private static int[] countingOrder(int[] key, int[] items, int keys) {
+        int[] start = new int[keys + 1];
+        for (int i : items) start[key[i] + 1]++;
+        for (int k = 0; k < keys; k++) start[k + 1] += start[k];
+        int[] out = new int[items.length];
+        for (int i : items) out[start[key[i]]++] = i;
+        return out;
+    }
+
+    /**
+     * Gives every game (visited round by round) its day offset. A new
+     * schedule keeps each round on its own play day at the earliest; the
+     * rest of a season (played != null) is packed as early as it fits.
+     */
+    private static void placeGames(String[] teams, Map<String, Integer> index, Options o,
+                                   int[] home, int[] away, int[] round, int[] byRound, int rounds,
+                                   Collection<Game> played, int[] day) {
+        int n = teams.length;
+
+        // Days until the next play day, by days since the start date mod 7
+        boolean[] play = new boolean[7];
+        LocalDate start = o.startDate;
+        List<DayOfWeek> playDays = o.playDays.isEmpty() ? List.of(start.getDayOfWeek()) : o.playDays;
+        for (int k = 0; k < 7; k++) play[k] = playDays.contains(start.plusDays(k).getDayOfWeek());
+        int[] toPlayDay = new int[7];
+        for (int k = 0; k < 7; k++) {
+            int s = 0;
+            while (!play[(k + s) % 7]) s++;
+            toPlayDay[k] = s;
+        }
+
+        // Round r's date: the r-th play day
+        int[] roundDay = new int[rounds];
+        int dayCursor = -1;
+        for (int r = 0; r < rounds && played == null; r++) {
+            dayCursor++;
+            dayCursor += toPlayDay[dayCursor % 7];
+            roundDay[r] = dayCursor;
+        }
+
+        // Venues: taken or closed days, one BitSet each
+        Map<String, Integer> venueIndex = new HashMap<>();
+        int[] venueOf = new int[n];
+        for (int t = 0; t < n; t++) {
+            String v = o.venues.getOrDefault(teams[t], teams[t]);
+            venueOf[t] = venueIndex.computeIfAbsent(v, k -> venueIndex.size());
+        }
+        BitSet[] venueDays = new BitSet[venueIndex.size()];
+        for (int v = 0; v < venueDays.length; v++) venueDays[v] = new BitSet();
+        for (Map.Entry<String, List<LocalDate>> e : o.closedDates.entrySet()) {
+            Integer v = venueIndex.get(e.getKey());
+            if (v == null) {
+                System.err.println("⚠️ Closed dates given for unknown venue: " + e.getKey());
+                continue;
+            }
+            for (LocalDate d : e.getValue()) {
+                long off = d.toEpochDay() - start.toEpochDay();
+                if (off >= 0 && off <= Integer.MAX_VALUE) venueDays[v].set((int) off);
+            }
+        }
+        warnUnknown("venue", o.venues.keySet(), index);
+
+        int[] nextFree = new int[n];                // first day the team may play again
+        int[] gamesOnDay = new int[Math.max(16, dayCursor + 1)];
+        int cap = o.maxGamesPerDay;
+        int gap = 1 + o.minRestDays;
+
+        if (played != null) {
+            long startDay = start.toEpochDay();
+            for (Game g : played) {
+                long off = g.getDate().toEpochDay() - startDay;
+                if (off + gap <= 0) continue;            // too long ago to matter
+                int d = (int) Math.min(off, Integer.MAX_VALUE - gap);
+                Integer h = index.get(g.getHomeTeam());
+                Integer a = index.get(g.getAwayTeam());
+                if (h != null) nextFree[h] = Math.max(nextFree[h], d + gap);
+                if (a != null) nextFree[a] = Math.max(nextFree[a], d + gap);
+                if (d >= 0) {
+                    if (h != null) venueDays[venueOf[h]].set(d);
+                    if (d >= gamesOnDay.length) gamesOnDay = Arrays.copyOf(gamesOnDay, Math.max(d + 1, gamesOnDay.length * 2));
+                    gamesOnDay[d]++;
+                }
+            }
+        }
+
+        for (int g : byRound) {
+            int h = home[g], a = away[g];
+            BitSet venue = venueDays[venueOf[h]];
+            int due = roundDay[round[g]];
+            int d = Math.max(due, Math.max(nextFree[h], nextFree[a]));
+            while (true) {
+                d += toPlayDay[d % 7];
+                if (venue.get(d)) {
+                    d = venue.nextClearBit(d);
+                    continue;
+                }
+                if (cap > 0 && d < gamesOnDay.length && gamesOnDay[d] >= cap) {
+                    d++;
+                    continue;
+                }
+                break;
+            }
+            day[g] = d;
+            venue.set(d);
+            nextFree[h] = d + gap;
+            nextFree[a] = d + gap;
+            if (d >= gamesOnDay.length) gamesOnDay = Arrays.copyOf(gamesOnDay, Math.max(d + 1, gamesOnDay.length * 2));
+            gamesOnDay[d]++;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package edu.vsu.lms.controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import edu.vsu.lms.model.Game;
+import edu.vsu.lms.model.GameStats;
+import edu.vsu.lms.model.League;
+import edu.vsu.lms.model.Player;
+import edu.vsu.lms.model.Team;
+import edu.vsu.lms.persistence.AppState;
+
+/**
+ * SimulationEngine
+ * ----------------
+ * Simulates game results and player box scores without any UI, for
+ * "Simulate Up To Date" and single-game simulation.
+ *
+ * Three steps, so a caller can keep the league on one thread:
+ *  - prepare(): picks the games and copies the rosters (league thread)
+ *  - run():     simulates every game; games on the same date run in
+ *               parallel, since a team plays at most once a day (any thread)
+ *  - apply():   writes all results and stat lines, then saves once
+ *               (league thread)
+ *
+ * Every game gets its own SplittableRandom drawn in schedule order from
+ * the engine's seed, so the same seed over the same games gives the same
+ * season no matter how the work was split across threads.
+ */
+public class SimulationEngine {
+
+    /** Called after each date is simulated, on the thread running run(). */
+    public interface ProgressListener {
+        void progress(LocalDate date, int gamesDone, int gamesTotal);
+    }
+
+    // Counter order of PlayerGameStats.getCounters()
+    private static final int COUNTERS = 8;
+    private static final int FT_ATT = 0, FT_MADE = 1, TWO_ATT = 2, TWO_MADE = 3,
+                             THREE_ATT = 4, THREE_MADE = 5, ASSISTS = 6, FOULS = 7;
+
+    private final AppState state = AppState.getInstance();
+    private final long seed;
+
+    /** Engine with a fresh random seed. */
+    public SimulationEngine() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public SimulationEngine(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** The games of one simulation run and, after run(), their outcomes. */
+    public static final class Batch {
+        private final Game[] games;
+        private final long[] seeds;
+        private final Player[][] homeRoster;
+        private final Player[][] awayRoster;
+        private final boolean replaceResults;
+
+        // Outcomes, one slot per game; each slot is written by one task only
+        private final int[] homeScore;
+        private final int[] awayScore;
+        private final int[][] homeLines;   // COUNTERS ints per player
+        private final int[][] awayLines;
+        private boolean ran;
+
+        private Batch(Game[] games, long[] seeds,
+                      Player[][] homeRoster, Player[][] awayRoster, boolean replaceResults) {
+            this.games = games;
+            this.seeds = seeds;
+            this.homeRoster = homeRoster;
+            this.awayRoster = awayRoster;
+            this.replaceResults = replaceResults;
+            this.homeScore = new int[games.length];
+            this.awayScore = new int[games.length];
+            this.homeLines = new int[games.length][];
+            this.awayLines = new int[games.length][];
+        }
+
+        public int getGameCount() { return games.length; }
+
+        /** [home, away] score of the i-th game, once run() is done. */
+        public int[] getScores(int i) {
+            return new int[]{homeScore[i], awayScore[i]};
+        }
+    }
+
+    /** What apply() did. */
+    public static final class Report {
+        private int gamesSimulated;
+        private int gamesSkipped;
+        private int statLines;
+        private long elapsedNanos;
+
+        public int getGamesSimulated() { return gamesSimulated; }
+        /** Games that got a result elsewhere between prepare() and apply(). */
+        public int getGamesSkipped()   { return gamesSkipped; }
+        public int getStatLines()      { return statLines; }
+        public double getElapsedMillis() { return elapsedNanos / 1e6; }
+
+        @Override
+        public String toString() {
+            return String.format("Simulated %d game(s), %d stat line(s) in %.0f ms",
+                    gamesSimulated, statLines, getElapsedMillis())
+                    + (gamesSkipped > 0 ? " (" + gamesSkipped + " already played, skipped)" : "");
+        }
+    }
+
+    // ---------- Step 1: prepare ----------
+
+    /** Every game on or before cutoff that has no result yet. */
+    public Batch prepare(String leagueName, LocalDate cutoff) {
+        League league = league(leagueName);
+        List<Game> games = new ArrayList<>();
+        for (Game g : league.getGamesBetween(null, cutoff)) {
+            if (!g.hasResult()) games.add(g);
+        }
+        return prepare(league, games, false);
+    }
+
+    /** The given games of the league, result or not (a result is replaced). */
+    public Batch prepare(String leagueName, List<Game> games) {
+        List<Game> byDate = new ArrayList<>(games);
+        byDate.sort(Comparator.comparing(Game::getDate)); // stable: keeps schedule order per date
+        return prepare(league(leagueName), byDate, true);
+    }
+
+    private Batch prepare(League league, List<Game> candidates, boolean replaceResults) {
+        List<Game> games = new ArrayList<>(candidates.size());
+        for (Game g : candidates) {
+            // Same rule as a manual result: both teams must be in the league
+            if (league.getTeams().containsKey(g.getHomeTeam())
+                    && league.getTeams().containsKey(g.getAwayTeam())) {
+                games.add(g);
+            } else {
+                System.err.println("⚠️ Not simulated, team not in league: " + g);
+            }
+        }
+
+        int n = games.size();
+        Map<String, Player[]> rosters = new HashMap<>();
+        for (Team t : league.getTeams().values()) {
+            rosters.put(t.getName(), t.getPlayers().toArray(new Player[0]));
+        }
+
+        SplittableRandom master = new SplittableRandom(seed);
+        long[] seeds = new long[n];
+        Player[][] home = new Player[n][];
+        Player[][] away = new Player[n][];
+        for (int i = 0; i < n; i++) {
+            Game g = games.get(i);
+            seeds[i] = master.nextLong();
+            home[i] = rosters.get(g.getHomeTeam());
+            away[i] = rosters.get(g.getAwayTeam());
+        }
+        return new Batch(games.toArray(new Game[0]), seeds, home, away, replaceResults);
+    }
+
+    private League league(String leagueName) {
+        League league = state.getLeagues().get(leagueName);
+        if (league == null) {
+            throw new IllegalArgumentException("League not found: " + leagueName);
+        }
+        return league;
+    }
+
+    // ---------- Step 2: run ----------
+
+    /**
+     * Simulates every game of the batch, one date at a time with that
+     * date's games in parallel. Touches nothing but the batch.
+     *
+     * @param listener may be null
+     */
+    public void run(Batch b, ProgressListener listener) {
+        if (b.ran) {
+            throw new IllegalStateException("Batch has already been simulated");
+        }
+        int n = b.games.length;
+        int start = 0;
+        while (start < n) {
+            LocalDate date = b.games[start].getDate();
+            int end = start + 1;
+            while (end < n && b.games[end].getDate().equals(date)) end++;
+
+            IntStream.range(start, end).parallel().forEach(i -> simulateGame(b, i));
+
+            if (listener != null) listener.progress(date, end, n);
+            start = end;
+        }
+        b.ran = true;
+    }
+
+    private static void simulateGame(Batch b, int i) {
+        SplittableRandom rnd = new SplittableRandom(b.seeds[i]);
+
+        // Simple random scoring: 80–120 per team, no ties
+        int home = rnd.nextInt(80, 121);
+        int away = rnd.nextInt(80, 121);
+        if (home == away) {
+            if (rnd.nextBoolean()) home++; else away++;
+        }
+        b.homeScore[i] = home;
+        b.awayScore[i] = away;
+        b.homeLines[i] = simulateLines(rnd, b.homeRoster[i].length, home);
+        b.awayLines[i] = simulateLines(rnd, b.awayRoster[i].length, away);
+    }
+
+    /**
+     * Box score lines for one side. The players' points roughly follow a
+     * random share of the team's points; they won't add up exactly, which
+     * is fine for a simulation.
+     */
+    private static int[] simulateLines(SplittableRandom rnd, int players, int teamPoints) {
+        int[] lines = new int[players * COUNTERS];
+        if (players == 0) return lines;
+
+        // Random "weights" decide who scores more
+        double[] weights = new double[players];
+        double sum = 0.0;
+        for (int p = 0; p < players; p++) {
+            weights[p] = 0.5 + rnd.nextDouble(); // 0.5–1.5
+            sum += weights[p];
+        }
+
+        for (int p = 0; p < players; p++) {
+            int pointsTarget = (int) Math.round(teamPoints * weights[p] / sum);
+
+            // Random shot profile
+            int threeAtt = rnd.nextInt(0, 8); // 0–7 threes
+            int threeMade = Math.min(threeAtt, (int) Math.round(threeAtt * (0.30 + rnd.nextDouble() * 0.15)));
+
+            int twoAtt = rnd.nextInt(2, 16); // 2–15 twos
+            int twoMade = Math.min(twoAtt, (int) Math.round(twoAtt * (0.40 + rnd.nextDouble() * 0.20)));
+
+            int ftAtt = rnd.nextInt(0, 7); // 0–6 FTs
+            int ftMade = Math.min(ftAtt, (int) Math.round(ftAtt * (0.65 + rnd.nextDouble() * 0.20)));
+
+            int points = 2 * twoMade + 3 * threeMade + ftMade;
+
+            // If far under target, bump with extra FTs a bit
+            if (points < pointsTarget - 4) {
+                int extra = Math.min(pointsTarget - points, 4);
+                ftAtt += extra;
+                ftMade += extra;
+            }
+
+            int assists = rnd.nextInt(0, 8); // 0–7 assists
+            int fouls = rnd.nextInt(0, 6);   // 0–5
+            if (rnd.nextDouble() < 0.05) {   // small chance of foul out
+                fouls = 6;
+            }
+
+            int o = p * COUNTERS;
+            lines[o + FT_ATT] = ftAtt;
+            lines[o + FT_MADE] = ftMade;
+            lines[o + TWO_ATT] = twoAtt;
+            lines[o + TWO_MADE] = twoMade;
+            lines[o + THREE_ATT] = threeAtt;
+            lines[o + THREE_MADE] = threeMade;
+            lines[o + ASSISTS] = assists;
+            lines[o + FOULS] = fouls;
+        }
+        return lines;
+    }
+
+    // ---------- Step 3: apply ----------
+
+    /**
+     * Writes the batch's results (standings follow) and stat lines, then
+     * requests one save; the background saver writes it, so this is safe
+     * to call on the EDT. A game of an "up to date" batch that was given a
+     * result in the meantime is left alone.
+     */
+    public Report apply(Batch b) {
+        if (!b.ran) {
+            throw new IllegalStateException("Batch has not been simulated yet");
+        }
+        long t0 = System.nanoTime();
+        Report report = new Report();
+        GameStatsController stats = state.getGameStatsController();
+        int[] counters = new int[COUNTERS];
+
+        for (int i = 0; i < b.games.length; i++) {
+            Game g = b.games[i];
+            int home = b.homeScore[i];
+            int away = b.awayScore[i];
+            if (g.hasResult() && !b.replaceResults) {
+                report.gamesSkipped++;
+                continue;
+            }
+
+            // One write per game: readers see a game with its result and
+            // box score or without either, and get in between games
+            int k = i;
+            report.statLines += g.getLeague().write(() -> {
+                g.setResult(home > away ? g.getHomeTeam() : g.getAwayTeam(), home, away);
+                GameStats gs = stats.getOrCreateGameStats(g);
+                return applyLines(gs, g.getHomeTeam(), b.homeRoster[k], b.homeLines[k], counters)
+                        + applyLines(gs, g.getAwayTeam(), b.awayRoster[k], b.awayLines[k], counters);
+            });
+            report.gamesSimulated++;
+        }
+
+        if (report.gamesSimulated > 0) {
+            state.save();
+        }
+        report.elapsedNanos = System.nanoTime() - t0;
+        return report;
+    }
+
+    private static int applyLines(GameStats gs, String team, Player[] roster, int[] lines, int[] counters) {
+        for (int p = 0; p < roster.length; p++) {
+            System.arraycopy(lines, p * COUNTERS, counters, 0, COUNTERS);
+            gs.getOrCreatePlayerStats(roster[p], team).setCounters(counters);
+        }
+        return roster.length;
+    }
+
+    // ---------- Headless ----------
+
+    /**
+     * prepare + run + apply on the calling thread, which also waits for
+     * the save (never call it on the EDT).
+     */
+    public Report simulateUpTo(String leagueName, LocalDate cutoff, ProgressListener listener) {
+        long t0 = System.nanoTime();
+        Batch b = prepare(leagueName, cutoff);
+        run(b, listener);
+        Report report = apply(b);
+        if (report.gamesSimulated > 0 && !state.flush()) {
+            System.err.println("❌ Could not save the simulated results.");
+        }
+        report.elapsedNanos = System.nanoTime() - t0;
+        return report;
+    }
+}
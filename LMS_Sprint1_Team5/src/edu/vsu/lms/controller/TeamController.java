@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 import edu.vsu.lms.model.League;
 import edu.vsu.lms.model.Team;
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.JournalRecord;
 /**
  * TeamController
  * --------------
@@ -51,8 +52,8 @@ public class TeamController {
                 .anyMatch(n -> n.equalsIgnoreCase(teamName));
         if (exists) return false;
 
-        teams.put(teamName, new Team(teamName));
-        state.save();
+        league.addTeam(new Team(teamName));
+        state.record(JournalRecord.addTeam(leagueName, teamName));
         return true;
     }
 
@@ -61,13 +62,39 @@ public class TeamController {
         League league = getLeague(leagueName);
         if (league == null) return false;
 
-        boolean removed = (league.getTeams().remove(teamName) != null);
+        boolean removed = league.removeTeam(teamName);
         if (removed) {
-            state.save();
+            state.record(JournalRecord.deleteTeam(leagueName, teamName));
         }
         return removed;
     }
 
+    /**
+     * Rename a team. Its games, bracket games and stat lines follow, since
+     * they refer to the team by id. Returns false if the league or team is
+     * missing, or the new name is invalid or taken (case-insensitive).
+     */
+    public boolean renameTeam(String leagueName, String oldName, String newName) {
+        if (!isValidTeamName(newName)) return false;
+
+        League league = getLeague(leagueName);
+        if (league == null || !league.getTeams().containsKey(oldName)) return false;
+        if (newName.equals(oldName)) return true;
+
+        boolean taken = league.getTeams().keySet().stream()
+                .anyMatch(n -> !n.equals(oldName) && n.equalsIgnoreCase(newName));
+        if (taken) return false;
+
+        try {
+            league.renameTeam(oldName, newName);
+        } catch (IllegalArgumentException ex) {
+            System.err.println("⚠️ Rename failed: " + ex.getMessage());
+            return false;
+        }
+        state.record(JournalRecord.renameTeam(leagueName, oldName, newName));
+        return true;
+    }
+
     // ----- optional compatibility aliases -----
 
     public List<Team> getTeams(String leagueName) {  // alias for other UIs
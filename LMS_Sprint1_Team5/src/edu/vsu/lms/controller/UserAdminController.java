@@ -3,6 +3,7 @@ package edu.vsu.lms.controller;
 import java.util.*;
 import java.util.stream.Collectors;
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.JournalRecord;
 import edu.vsu.lms.model.Role;
 import edu.vsu.lms.model.User;
 import edu.vsu.lms.util.Passwords;
@@ -17,7 +18,7 @@ public class UserAdminController {
         String hash = Passwords.hash(passwordPlain);
         User u = new User(id, first, last, role, hash, false);
         state.getUsers().put(id, u);
-        state.save();
+        state.record(JournalRecord.putUser(u));
         return true;
     }
 
@@ -33,7 +34,7 @@ public class UserAdminController {
         User u = state.getUsers().get(id);
         if (u == null) return false;
         u.setSuspended(true);
-        state.save();
+        state.record(JournalRecord.putUser(u));
         return true;
     }
 
@@ -41,7 +42,7 @@ public class UserAdminController {
         User u = state.getUsers().get(id);
         if (u == null) return false;
         u.setSuspended(false);
-        state.save();
+        state.record(JournalRecord.putUser(u));
         return true;
     }
     public boolean deleteUser(String userId) {
@@ -62,7 +63,7 @@ public class UserAdminController {
         }
     
         users.remove(userId);
-        state.save();
+        state.record(JournalRecord.deleteUser(userId));
         return true;
     }
     public void clearAllUsersForTesting() {
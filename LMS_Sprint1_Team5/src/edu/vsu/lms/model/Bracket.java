@@ -13,6 +13,14 @@ import java.util.*;
  * - Later rounds are scheduled as "TBD vs TBD" games and will be
  *   filled in as results become known.
  *
+ * The rounds are what gets saved. On top of them the bracket keeps a flat
+ * tree: every game is a node numbered round by round, and each node knows
+ * the node its winner moves on to (game m of a round feeds game m / 2 of
+ * the next, as home if m is even and away if odd). Advancing a winner is
+ * one array lookup, and the next game's teams are filled in on the same
+ * Game object, so references and stats keyed by it stay valid. Any size
+ * works; byes fill the first round up to a power of two.
+ *
  * User Story coverage:
  * - US 25: schedule the bracket from league standings
  * - US 26: view the bracket (all rounds, games, dates)
@@ -24,6 +32,9 @@ public class Bracket implements Serializable {
 
     private final List<BracketRound> rounds = new ArrayList<>();
 
+    // Built from the rounds on first use; rebuilt if a game or round is added
+    private transient Tree tree;
+
     public Bracket() {}
 
     /** All rounds in this bracket (read-only view). */
@@ -35,9 +46,76 @@ public class Bracket implements Serializable {
      public void addRound(BracketRound round) {
         if (round != null) {
             rounds.add(round);
+            tree = null;
         }
     }
 
+    /** Every game as a node, round by round, with the node each winner moves on to. */
+    private static final class Tree {
+        final Game[] nodes;
+        final int[] parent;        // node the winner plays next, -1 for the final
+        final boolean[] feedsHome; // winner becomes the parent's home team
+        final int[] roundStart;    // first node of each round, then nodes.length
+        final Map<Game, Integer> nodeOf = new IdentityHashMap<>();
+
+        Tree(List<BracketRound> rounds, int gameCount) {
+            nodes = new Game[gameCount];
+            parent = new int[gameCount];
+            feedsHome = new boolean[gameCount];
+            roundStart = new int[rounds.size() + 1];
+
+            int k = 0;
+            for (int r = 0; r < rounds.size(); r++) {
+                roundStart[r] = k;
+                for (Game g : rounds.get(r).getGames()) {
+                    nodes[k] = g;
+                    nodeOf.putIfAbsent(g, k);
+                    k++;
+                }
+            }
+            roundStart[rounds.size()] = k;
+
+            for (int r = 0; r < rounds.size(); r++) {
+                int size = roundStart[r + 1] - roundStart[r];
+                int nextSize = (r + 1 < rounds.size()) ? roundStart[r + 2] - roundStart[r + 1] : 0;
+                for (int m = 0; m < size; m++) {
+                    int node = roundStart[r] + m;
+                    parent[node] = (m / 2 < nextSize) ? roundStart[r + 1] + m / 2 : -1;
+                    feedsHome[node] = (m % 2 == 0);
+                }
+            }
+        }
+    }
+
+    // Synchronized: threads reading the league together may get here together
+    private synchronized Tree tree() {
+        int count = 0;
+        for (BracketRound r : rounds) count += r.getGames().size();
+        if (tree == null || tree.nodes.length != count) {
+            tree = new Tree(rounds, count);
+        }
+        return tree;
+    }
+
+    /** True if g is one of this bracket's games. */
+    public boolean contains(Game g) {
+        return g != null && tree().nodeOf.containsKey(g);
+    }
+
+    /** The game g's winner plays next, or null for the final (or a game not in the bracket). */
+    public Game getNextGame(Game g) {
+        Tree t = tree();
+        Integer node = t.nodeOf.get(g);
+        if (node == null || t.parent[node] < 0) return null;
+        return t.nodes[t.parent[node]];
+    }
+
+    /** The last round's game, or null if there are no games. */
+    private Game finalGame() {
+        Tree t = tree();
+        return (t.nodes.length == 0) ? null : t.nodes[t.nodes.length - 1];
+    }
+
     // ----------------------------------------------------------------------
     // US 25: Create a single-elimination bracket from the league standings
     // ----------------------------------------------------------------------
@@ -49,7 +127,7 @@ public class Bracket implements Serializable {
      *  - Regular-season games have been played so standings are meaningful.
      *
      * Seeding logic:
-     *  - Teams are sorted by wins DESC, losses ASC, then name.
+     *  - Teams are seeded in league ranking order (League.getRanking()).
      *  - We find the smallest power-of-two >= number of teams.
      *  - Any "extra" slots become byes for the top seeds.
      *
@@ -67,16 +145,29 @@ public class Bracket implements Serializable {
             throw new IllegalArgumentException("firstRoundDate cannot be null");
         }
 
-        // 1. Collect all teams and sort by standings (wins DESC, losses ASC, name ASC)
-        List<Team> seeds = new ArrayList<>(league.getTeams().values());
+        // 1. Teams in league ranking order, best first
+        List<Team> seeds = league.getTeamsInStandingsOrder();
         if (seeds.size() < 2) {
             throw new IllegalStateException("Need at least 2 teams to create a bracket.");
         }
+        return createFromSeeds(league, seeds, firstRoundDate);
+    }
 
-        seeds.sort(Comparator
-                .comparingInt(Team::getWins).reversed()
-                .thenComparingInt(Team::getLosses)
-                .thenComparing(Team::getName, String.CASE_INSENSITIVE_ORDER));
+    /**
+     * Creates a single-elimination bracket from seeds already sorted best
+     * to worst (e.g. only the top N teams). Games are registered with the
+     * league; seeding and byes are the same as above.
+     */
+    public static Bracket createFromSeeds(League league, List<Team> seeds, LocalDate firstRoundDate) {
+        if (league == null) {
+            throw new IllegalArgumentException("League cannot be null");
+        }
+        if (seeds == null || seeds.size() < 2) {
+            throw new IllegalArgumentException("Need at least 2 teams to create a bracket.");
+        }
+        if (firstRoundDate == null) {
+            throw new IllegalArgumentException("firstRoundDate cannot be null");
+        }
 
         int n = seeds.size();
         int totalSlots = nextPowerOfTwo(n); // ex: 6 teams -> 8 slots
@@ -103,13 +194,13 @@ public class Bracket implements Serializable {
 
             if (t1 != null && t2 != null) {
                 // Real game: t1 vs t2
-                Game g = new Game(firstRoundDate, t1.getName(), t2.getName());
+                Game g = league.register(new Game(firstRoundDate, t1.getName(), t2.getName()));
                 round1.addGame(g);
                 nextRoundSlots.add(1);
             } else if (t1 != null || t2 != null) {
                 // One team + one null = bye; schedule a "virtual" BYE game
                 Team adv = (t1 != null) ? t1 : t2;
-                Game g = new Game(firstRoundDate, adv.getName(), "BYE");
+                Game g = league.register(new Game(firstRoundDate, adv.getName(), "BYE"));
                 round1.addGame(g);
                 byeGames.add(g);   // we will auto-advance this team
                 nextRoundSlots.add(1);
@@ -134,7 +225,7 @@ public class Bracket implements Serializable {
 
             BracketRound r = new BracketRound(roundNumber, roundDate);
             for (int i = 0; i < gamesThisRound; i++) {
-                Game g = new Game(roundDate, "TBD", "TBD");
+                Game g = league.register(new Game(roundDate, "TBD", "TBD"));
                 r.addGame(g);      // placeholder
             }
             bracket.addRound(r);
@@ -146,14 +237,11 @@ public class Bracket implements Serializable {
 
         // ---------- Auto-advance BYE teams into Round 2 ----------
         for (Game byeGame : byeGames) {
-            String home = byeGame.getHomeTeam();
-            String away = byeGame.getAwayTeam();
-
             String winner;
-            if (!"BYE".equals(home)) {
-                winner = home;
-            } else if (!"BYE".equals(away)) {
-                winner = away;
+            if (byeGame.getHomeTeamId() != TeamSymbols.BYE) {
+                winner = byeGame.getHomeTeam();
+            } else if (byeGame.getAwayTeamId() != TeamSymbols.BYE) {
+                winner = byeGame.getAwayTeam();
             } else {
                 continue; // weird edge, both BYE
             }
@@ -182,55 +270,49 @@ public class Bracket implements Serializable {
 
     /**
      * After a game in an earlier round has a result, this will automatically
-     * place the winner into the appropriate "TBD" slot in the next round.
+     * place the winner into its slot of the next round's game (home for an
+     * even game of the round, away for an odd one). A corrected result
+     * swaps the new winner in for the old one as long as the next game is
+     * unplayed.
+     *
+     * @return the game the winner moved into, or null if nothing changed
      */
-    public void advanceWinner(Game completedGame) {
-        if (completedGame == null || !completedGame.hasResult()) return;
-
-        // Iterate over all rounds except the last
-        for (int i = 0; i < rounds.size() - 1; i++) {
-            BracketRound current = rounds.get(i);
-
-            int idx = current.getGames().indexOf(completedGame);
-            if (idx == -1) {
-                // This round doesn't contain the game
-                continue;
-            }
-
-            // This game's winner feeds into the next round
-            BracketRound next = rounds.get(i + 1);
-            int nextGameIndex = idx / 2; // every 2 games feed into 1 next-round game
-
-            if (nextGameIndex >= next.getGames().size()) {
-                return; // nothing to feed into
-            }
-
-            Game nextGame = next.getGames().get(nextGameIndex);
-
-            String winner = completedGame.getWinner();
-            String home   = nextGame.getHomeTeam();
-            String away   = nextGame.getAwayTeam();
-
-            // We don't have setters, so we replace the Game instance entirely
-            if ("TBD".equals(home)) {
-                Game replacement = new Game(
-                        nextGame.getDate(),
-                        winner,
-                        away
-                );
-                next.getGames().set(nextGameIndex, replacement);
-
-            } else if ("TBD".equals(away)) {
-                Game replacement = new Game(
-                        nextGame.getDate(),
-                        home,
-                        winner
-                );
-                next.getGames().set(nextGameIndex, replacement);
-            }
-
-            return; // once advanced, we’re done
+    public Game advanceWinner(Game completedGame) {
+        if (completedGame == null || !completedGame.hasResult()) return null;
+
+        Tree t = tree();
+        Integer node = t.nodeOf.get(completedGame);
+        if (node == null || t.parent[node] < 0) return null;   // not ours, or the final
+        Game next = t.nodes[t.parent[node]];
+        if (next.hasResult()) return null;
+
+        // Both games are registered with the league, so the ids compare
+        int winner = completedGame.getWinnerId();
+        int loser  = winner == completedGame.getHomeTeamId()
+                ? completedGame.getAwayTeamId() : completedGame.getHomeTeamId();
+        int home   = next.getHomeTeamId();
+        int away   = next.getAwayTeamId();
+        boolean toHome = t.feedsHome[node];
+
+        if (winner == home || winner == away) {
+            return null;                        // already advanced
+        } else if (loser == home) {
+            home = winner;                      // result was corrected
+        } else if (loser == away) {
+            away = winner;
+        } else if (toHome && home == TeamSymbols.TBD) {
+            home = winner;
+        } else if (!toHome && away == TeamSymbols.TBD) {
+            away = winner;
+        } else if (home == TeamSymbols.TBD) {
+            home = winner;                      // older saves filled the first free slot
+        } else if (away == TeamSymbols.TBD) {
+            away = winner;
+        } else {
+            return null;
         }
+        next.fillTeams(home, away);
+        return next;
     }
 
     // ----------------------------------------------------------------------
@@ -265,11 +347,14 @@ public class Bracket implements Serializable {
         if (rounds.isEmpty()) {
             return "No bracket has been scheduled.";
         }
-        StringBuilder sb = new StringBuilder();
-        for (BracketRound r : rounds) {
-            sb.append(getRoundLabel(r.getRoundNumber()))
-              .append(" (").append(r.getDate()).append(")\n");
-            for (Game g : r.getGames()) {
+        Tree t = tree();
+        StringBuilder sb = new StringBuilder(64 * (t.nodes.length + rounds.size()));
+        for (int r = 0; r < rounds.size(); r++) {
+            BracketRound round = rounds.get(r);
+            sb.append(getRoundLabel(round.getRoundNumber()))
+              .append(" (").append(round.getDate()).append(")\n");
+            for (int k = t.roundStart[r]; k < t.roundStart[r + 1]; k++) {
+                Game g = t.nodes[k];
                 sb.append("  ")
                   .append(g.getHomeTeam())
                   .append(" vs ")
@@ -300,39 +385,25 @@ public class Bracket implements Serializable {
 
     /**
      * @return true if the bracket has a completed final round
-     * (all games in the last round have results).
+     * (the final has a result).
      */
     public boolean isComplete() {
-        if (rounds.isEmpty()) return false;
-        BracketRound last = rounds.get(rounds.size() - 1);
-        for (Game g : last.getGames()) {
-            if (!g.hasResult()) {
-                return false;
-            }
-        }
-        return true;
+        Game finalGame = finalGame();
+        return finalGame != null && finalGame.hasResult();
     }
 
     /**
      * @return the name of the champion team, or null if bracket not complete.
      */
     public String getChampionTeamName() {
-        if (!isComplete()) return null;
-        BracketRound last = rounds.get(rounds.size() - 1);
-        if (last.getGames().isEmpty()) return null;
-        Game finalGame = last.getGames().get(0);
-        return finalGame.getWinner();
+        return isComplete() ? finalGame().getWinner() : null;
     }
 
     /**
      * @return the name of the runner-up team, or null if bracket not complete.
      */
     public String getRunnerUpTeamName() {
-        if (!isComplete()) return null;
-        BracketRound last = rounds.get(rounds.size() - 1);
-        if (last.getGames().isEmpty()) return null;
-        Game finalGame = last.getGames().get(0);
-        return finalGame.getLoser();
+        return isComplete() ? finalGame().getLoser() : null;
     }
 
     /**
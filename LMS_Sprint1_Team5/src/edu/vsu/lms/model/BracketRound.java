@@ -33,12 +33,9 @@ public class BracketRound implements Serializable {
         return date;
     }
 
-    /**
-     * IMPORTANT: return the actual list so Bracket can modify it
-     * when advancing winners.
-     */
+    /** The round's games in bracket order (read-only; use addGame). */
     public List<Game> getGames() {
-        return games;   // ✅ was Collections.unmodifiableList(games)
+        return Collections.unmodifiableList(games);
     }
 
     /** Optional: read-only view if you ever need it elsewhere. */
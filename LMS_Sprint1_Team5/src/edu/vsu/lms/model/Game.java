@@ -1,61 +1,197 @@
 package edu.vsu.lms.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
 
 public class Game implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    private final LocalDate date;
-    private final String homeTeam;
-    private final String awayTeam;
-    private String winner;
+    // Saves keep the team names (as before symbols), not the ids
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("date", LocalDate.class),
+            new ObjectStreamField("homeTeam", String.class),
+            new ObjectStreamField("awayTeam", String.class),
+            new ObjectStreamField("winner", String.class),
+            new ObjectStreamField("homeScore", int.class),
+            new ObjectStreamField("awayScore", int.class),
+            new ObjectStreamField("id", int.class),
+    };
+
+    private LocalDate date;
+    // Team ids in symbols (TeamSymbols.NONE = no winner yet). Only a bracket
+    // placeholder's teams change (fillTeams)
+    private int home;
+    private int away;
+    private int winner;
     private int homeScore;
     private int awayScore;
 
+    // Surrogate id, unique within the owning League; 0 until registered.
+    // Not part of equals/hashCode (identity): it is handed out after the
+    // object may already be a hash key, so key by id explicitly (IntMap)
+    private int id;
+    private transient League league;
+    // The league's symbols once registered, a table of its own before
+    private transient TeamSymbols symbols = TeamSymbols.forUnregisteredGame();
+
     public Game(LocalDate date, String homeTeam, String awayTeam) {
         this.date = date;
-        this.homeTeam = homeTeam;
-        this.awayTeam = awayTeam;
+        this.home = symbols.idOf(homeTeam);
+        this.away = symbols.idOf(awayTeam);
+    }
+
+
+    public int getId() { return id; }
+    /** League this game is registered with, or null. */
+    public League getLeague() { return league; }
+
+    /** Sets the id directly; used when restoring a saved snapshot (before League.register). */
+    public void restoreId(int id) {
+        if (league != null) {
+            throw new IllegalStateException("Game is already registered with " + league.getName());
+        }
+        this.id = id;
+    }
+
+    void attach(League league, int id) {
+        TeamSymbols to = league.getSymbols();
+        if (to != symbols) {
+            home = to.idOf(symbols.nameOf(home));
+            away = to.idOf(symbols.nameOf(away));
+            winner = to.idOf(symbols.nameOf(winner));
+            symbols = to;
+        }
+        this.league = league;
+        this.id = id;
+    }
+
+    /**
+     * Fills in the teams of an unplayed bracket game as winners advance
+     * (see Bracket.advanceWinner). Ids are in getSymbols(). Regular-season
+     * games are indexed by their teams and never change.
+     */
+    void fillTeams(int homeTeamId, int awayTeamId) {
+        if (winner != TeamSymbols.NONE) {
+            throw new IllegalStateException("Game already has a result: " + this);
+        }
+        change(() -> {
+            this.home = homeTeamId;
+            this.away = awayTeamId;
+            if (league != null) league.markChanged();
+        });
     }
 
     public LocalDate getDate() { return date; }
-    public String getHomeTeam() { return homeTeam; }
-    public String getAwayTeam() { return awayTeam; }
-    public String getWinner() { return winner; }
+    public String getHomeTeam() { return symbols.nameOf(home); }
+    public String getAwayTeam() { return symbols.nameOf(away); }
+    public String getWinner() { return symbols.nameOf(winner); }
     public int getHomeScore() { return homeScore; }
     public int getAwayScore() { return awayScore; }
 
+    // Ids in the league's TeamSymbols (see getSymbols); compare these
+    // rather than the names when both games are in the same league
+    public int getHomeTeamId() { return home; }
+    public int getAwayTeamId() { return away; }
+    /** TeamSymbols.NONE while the game has no result. */
+    public int getWinnerId() { return winner; }
+    public TeamSymbols getSymbols() { return symbols; }
+
+    /** True if the team (an id in getSymbols()) plays in this game. */
+    public boolean involves(int teamId) {
+        return home == teamId || away == teamId;
+    }
+
+    /** Records (or corrects) the result; the league's standings follow along. */
     public void setResult(String winner, int homeScore, int awayScore) {
-        this.winner = winner;
-        this.homeScore = homeScore;
-        this.awayScore = awayScore;
+        change(() -> {
+            String oldWinner = getWinner();
+            int oldHome = this.homeScore, oldAway = this.awayScore;
+            this.winner = symbols.idOf(winner);
+            this.homeScore = homeScore;
+            this.awayScore = awayScore;
+            if (league != null) league.resultChanged(this, oldWinner, oldHome, oldAway);
+        });
+    }
+
+    /** Takes the result back out (game not played after all). */
+    public void clearResult() {
+        if (winner == TeamSymbols.NONE) return;
+        change(() -> {
+            String oldWinner = getWinner();
+            int oldHome = this.homeScore, oldAway = this.awayScore;
+            this.winner = TeamSymbols.NONE;
+            this.homeScore = 0;
+            this.awayScore = 0;
+            if (league != null) league.resultChanged(this, oldWinner, oldHome, oldAway);
+        });
+    }
+
+    /** A registered game changes under its league's write lock (see League.write). */
+    private void change(Runnable body) {
+        if (league == null) {
+            body.run();
+        } else {
+            league.write(body);
+        }
     }
     public boolean hasResult() {
-    return winner != null;
+    return winner != TeamSymbols.NONE;
 }
 public String getLoser() {
-    if (winner == null) return null;
-    return winner.equals(homeTeam) ? awayTeam : homeTeam;
+    if (winner == TeamSymbols.NONE) return null;
+    return winner == home ? getAwayTeam() : getHomeTeam();
+}
+
+/** Id of the loser in getSymbols(), TeamSymbols.NONE while the game has no result. */
+public int getLoserId() {
+    if (winner == TeamSymbols.NONE) return TeamSymbols.NONE;
+    return winner == home ? away : home;
 }
 
 public int getWinningScore() {
-    if (winner == null) return 0;
-    return winner.equals(homeTeam) ? homeScore : awayScore;
+    if (winner == TeamSymbols.NONE) return 0;
+    return winner == home ? homeScore : awayScore;
 }
 
 public int getLosingScore() {
-    if (winner == null) return 0;
-    return winner.equals(homeTeam) ? awayScore : homeScore;
+    if (winner == TeamSymbols.NONE) return 0;
+    return winner == home ? awayScore : homeScore;
 }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("date", date);
+        fields.put("homeTeam", getHomeTeam());
+        fields.put("awayTeam", getAwayTeam());
+        fields.put("winner", getWinner());
+        fields.put("homeScore", homeScore);
+        fields.put("awayScore", awayScore);
+        fields.put("id", id);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        symbols = TeamSymbols.forUnregisteredGame(); // League.registerAll moves the game over
+        date = (LocalDate) fields.get("date", null);
+        home = symbols.idOf((String) fields.get("homeTeam", null));
+        away = symbols.idOf((String) fields.get("awayTeam", null));
+        winner = symbols.idOf((String) fields.get("winner", null));
+        homeScore = fields.get("homeScore", 0);
+        awayScore = fields.get("awayScore", 0);
+        id = fields.get("id", 0);
+    }
+
 
     @Override
     public String toString() {
-        String result = (winner == null) ? "Not played yet"
-            : String.format("%s def %s (%d-%d)", winner, 
-                            winner.equals(homeTeam) ? awayTeam : homeTeam,
+        String result = (winner == TeamSymbols.NONE) ? "Not played yet"
+            : String.format("%s def %s (%d-%d)", getWinner(), getLoser(),
                             Math.max(homeScore, awayScore), Math.min(homeScore, awayScore));
-        return String.format("%s: %s vs %s — %s", date, homeTeam, awayTeam, result);
+        return String.format("%s: %s vs %s — %s", date, getHomeTeam(), getAwayTeam(), result);
     }
 }
@@ -1,7 +1,10 @@
 package edu.vsu.lms.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * GameStats
@@ -10,90 +13,383 @@ import java.util.*;
  *
  * Does NOT know about quarters, only full-game totals.
  */
-public class GameStats implements Serializable {
+public class GameStats implements GameStatsView, Serializable {
     private static final long serialVersionUID = 1L;
 
-    private final Game game;
+    /** Told whenever a stat line's counters or team change. */
+    public interface LineListener {
+        /**
+         * @param before     the line's counters before the change (PlayerGameStats.getCounters order)
+         * @param teamBefore the team recorded for the player before the change
+         */
+        void lineChanged(GameStats stats, PlayerGameStats line, int[] before, String teamBefore);
+    }
+
+    private Game game;
+
+    // Where this game's lines live, and which rows are ours. Never written
+    // with Java serialization; old saves are re-read by migrateLegacyRows()
+    private transient StatsTable table;
+    private transient int[] rows = new int[16];
+    private transient int lineCount;
+
+    // Our rows grouped by team id, with running totals. Lookups by name
+    // still ignore case, as they always did
+    private transient List<TeamLines> teams = new ArrayList<>(2);
+
+    // Saves from before players had ids (Player-keyed maps), re-keyed by migrateLegacyRows()
+    private transient Map<Player, PlayerGameStats> legacyStats;
+    private transient Map<Player, String> legacyTeams;
+
+    private transient LineListener listener;
 
-    // Map: Player -> stats for this game
-    private final Map<Player, PlayerGameStats> statsByPlayer = new HashMap<>();
+    /** One team's rows in this game, their summed counters and a sorted box score. */
+    private static final class TeamLines {
+        final int team;     // id in the table's TeamSymbols
+        int[] rows = new int[16];
+        int count;
+        final int[] sums = new int[StatsTable.COUNTERS];
+        // Views read live counters, so only a change of who is on the team drops
+        // this. Built by readers (several may hold the read lock at once), so
+        // only ever assigned a finished list
+        volatile List<PlayerGameStats> sorted;
 
-    // Optional: track which team each player was on (by Team name)
-    private final Map<Player, String> teamNameByPlayer = new HashMap<>();
+        TeamLines(int team) {
+            this.team = team;
+        }
+    }
 
+    /** Stats kept in a table of their own (not shared with other games). */
     public GameStats(Game game) {
+        this(game, new StatsTable(16));
+    }
+
+    /** Stats whose lines are rows of the league's table. */
+    public GameStats(Game game, StatsTable table) {
         if (game == null) {
             throw new IllegalArgumentException("Game cannot be null");
         }
         this.game = game;
+        this.table = table;
     }
 
     public Game getGame() {
         return game;
     }
 
+    StatsTable getTable() {
+        return table;
+    }
+
+    public void setListener(LineListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Points these stats at the Game instance that now stands for the same
+     * game (same league and id).
+     */
+    public void rebind(Game replacement) {
+        if (replacement.getLeague() != game.getLeague() || replacement.getId() != game.getId()) {
+            throw new IllegalArgumentException("Not the same game: " + replacement);
+        }
+        this.game = replacement;
+    }
+
     /**
      * Get or create stats for a player.
      * Optionally provide the team name (e.g., "Boston Celtics").
+     * The player gets an id in the game's league if they had none.
      */
     public PlayerGameStats getOrCreatePlayerStats(Player player, String teamName) {
-        PlayerGameStats stats = statsByPlayer.get(player);
-        if (stats == null) {
-            stats = new PlayerGameStats(player);
-            statsByPlayer.put(player, stats);
-            if (teamName != null) {
-                teamNameByPlayer.put(player, teamName);
+        League league = game.getLeague();
+        if (league == null) {
+            throw new IllegalStateException("Game is not registered with a league: " + game);
+        }
+        return league.write(() -> createPlayerStats(player, teamName));
+    }
+
+    private PlayerGameStats createPlayerStats(Player player, String teamName) {
+        int id = idOf(player);
+        int row = rowOf(id);
+        if (row < 0) {
+            row = addRow(player);
+        }
+        PlayerGameStats stats = new PlayerGameStats(this, row);
+        if (teamName != null) {
+            int oldTeam = table.teamIdAt(row);
+            if (table.symbols().find(teamName) != oldTeam) {
+                String old = table.teamAt(row);
+                unindex(row);
+                table.setTeam(row, teamName);
+                index(row);
+                changed();
+                if (listener != null) {
+                    listener.lineChanged(this, stats, stats.getCounters(), old);
+                }
             }
-        } else if (teamName != null) {
-            teamNameByPlayer.put(player, teamName);
         }
         return stats;
     }
 
     public PlayerGameStats getStatsForPlayer(Player player) {
-        return statsByPlayer.get(player);
+        int row = rowOf(player.getId());
+        return row < 0 ? null : new PlayerGameStats(this, row);
+    }
+
+    /** Team name recorded for this player in this game, or null. */
+    public String getTeamNameForPlayer(Player player) {
+        int row = rowOf(player.getId());
+        return row < 0 ? null : table.teamAt(row);
     }
 
     public Collection<PlayerGameStats> getAllPlayerStats() {
-        return statsByPlayer.values();
+        List<PlayerGameStats> result = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            result.add(new PlayerGameStats(this, rows[i]));
+        }
+        return result;
     }
 
     /**
      * Returns all stats for players belonging to the given team name.
      */
     public List<PlayerGameStats> getStatsForTeamName(String teamName) {
-        List<PlayerGameStats> result = new ArrayList<>();
-        for (Map.Entry<Player, PlayerGameStats> e : statsByPlayer.entrySet()) {
-            Player p = e.getKey();
-            String tn = teamNameByPlayer.get(p);
-            if (tn != null && tn.equalsIgnoreCase(teamName)) {
-                result.add(e.getValue());
-            }
+        TeamLines t = teamLines(teamName);
+        List<PlayerGameStats> result = new ArrayList<>(t == null ? 0 : t.count);
+        if (t != null) {
+            for (int i = 0; i < t.count; i++) result.add(new PlayerGameStats(this, t.rows[i]));
         }
         return result;
     }
 
     /**
-     * Returns all stats sorted ascending by last name, then first, then jersey number.
+     * The team's stats sorted by last, first, jersey number. The list is
+     * kept until a player joins or leaves the team's lines, so do not
+     * change it.
      */
-    public List<PlayerGameStats> getAllStatsSorted() {
-        List<PlayerGameStats> list = new ArrayList<>(statsByPlayer.values());
-        list.sort(Comparator
-                .comparing((PlayerGameStats s) -> s.getPlayer().getLastName(), String.CASE_INSENSITIVE_ORDER)
-                .thenComparing(s -> s.getPlayer().getFirstName(), String.CASE_INSENSITIVE_ORDER)
-                .thenComparingInt(s -> s.getPlayer().getNumber()));
-        return list;
+    @Override
+    public List<PlayerGameStats> getTeamStatsSorted(String teamName) {
+        TeamLines t = teamLines(teamName);
+        if (t == null) return Collections.emptyList();
+        List<PlayerGameStats> sorted = t.sorted;
+        if (sorted == null) {
+            List<PlayerGameStats> list = getStatsForTeamName(teamName);
+            list.sort(BY_PLAYER_NAME);
+            sorted = Collections.unmodifiableList(list);
+            t.sorted = sorted;  // a racing reader built the same list
+        }
+        return sorted;
+    }
+
+    /** Points scored by the team's players in this game. */
+    public int getTeamPoints(String teamName) {
+        TeamLines t = teamLines(teamName);
+        return (t == null) ? 0 : t.sums[SeasonAggregates.FT_MADE]
+                + 2 * t.sums[SeasonAggregates.TWO_MADE] + 3 * t.sums[SeasonAggregates.THREE_MADE];
+    }
+
+    public int getTeamAssists(String teamName) {
+        TeamLines t = teamLines(teamName);
+        return (t == null) ? 0 : t.sums[SeasonAggregates.ASSISTS];
+    }
+
+    public int getTeamFouls(String teamName) {
+        TeamLines t = teamLines(teamName);
+        return (t == null) ? 0 : t.sums[SeasonAggregates.FOULS];
     }
 
     /**
-     * Returns stats for a team, sorted by last, first, jersey num.
+     * Removes the lines that record nothing (all counters zero), together
+     * with their team labels. Such a line adds nothing to any total, so
+     * nobody needs to be told.
+     *
+     * @return number of lines removed
      */
-    public List<PlayerGameStats> getTeamStatsSorted(String teamName) {
-        List<PlayerGameStats> list = getStatsForTeamName(teamName);
-        list.sort(Comparator
-                .comparing((PlayerGameStats s) -> s.getPlayer().getLastName(), String.CASE_INSENSITIVE_ORDER)
-                .thenComparing(s -> s.getPlayer().getFirstName(), String.CASE_INSENSITIVE_ORDER)
-                .thenComparingInt(s -> s.getPlayer().getNumber()));
-        return list;
+    public int removeEmptyLines() {
+        return write(this::dropEmptyLines);
+    }
+
+    private int dropEmptyLines() {
+        int kept = 0;
+        for (int i = 0; i < lineCount; i++) {
+            if (table.isEmptyRow(rows[i])) {
+                unindex(rows[i]);
+                table.removeRow(rows[i]);
+            } else {
+                rows[kept++] = rows[i];
+            }
+        }
+        int removed = lineCount - kept;
+        lineCount = kept;
+        if (removed > 0) changed();
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return lineCount == 0;
+    }
+
+    /** Hands every row back to the table (the game's stats are being dropped). */
+    void releaseRows() {
+        for (int i = 0; i < lineCount; i++) table.removeRow(rows[i]);
+        lineCount = 0;
+        teams.clear();
+    }
+
+    void lineChanged(PlayerGameStats line, int[] before) {
+        TeamLines t = linesOf(line.row());
+        if (t != null) {
+            for (int c = 0; c < StatsTable.COUNTERS; c++) {
+                t.sums[c] += table.get(c, line.row()) - before[c];
+            }
+        }
+        changed();
+        if (listener != null) {
+            listener.lineChanged(this, line, before, table.teamAt(line.row()));
+        }
+    }
+
+    /** Runs a change to these lines under the league's write lock (League.write). */
+    void write(Runnable change) {
+        League league = game.getLeague();
+        if (league == null) {
+            change.run();
+        } else {
+            league.write(change);
+        }
+    }
+
+    private <T> T write(Supplier<T> change) {
+        League league = game.getLeague();
+        return (league == null) ? change.get() : league.write(change);
+    }
+
+    /** Tells the game's league (League.getVersion) that a line changed. */
+    private void changed() {
+        League league = game.getLeague();
+        if (league != null) league.markChanged();
+    }
+
+    private TeamLines teamLines(String teamName) {
+        if (teamName == null) return null;
+        TeamLines t = teamLines(table.symbols().find(teamName));
+        if (t != null) return t;
+        for (TeamLines other : teams) {
+            if (teamName.equalsIgnoreCase(table.symbols().nameOf(other.team))) return other;
+        }
+        return null;
+    }
+
+    /** The team lines holding a row (a game has two or three). */
+    private TeamLines linesOf(int row) {
+        for (TeamLines t : teams) {
+            for (int i = 0; i < t.count; i++) {
+                if (t.rows[i] == row) return t;
+            }
+        }
+        return null;
+    }
+
+    private TeamLines teamLines(int team) {
+        for (TeamLines t : teams) {
+            if (t.team == team) return t;
+        }
+        return null;
+    }
+
+    /** Adds a row to its team's lines and totals. */
+    private void index(int row) {
+        int team = table.teamIdAt(row);
+        if (team == TeamSymbols.NONE) return;
+        // Names that differ only in case share one group
+        TeamLines t = teamLines(table.teamAt(row));
+        if (t == null) {
+            t = new TeamLines(team);
+            teams.add(t);
+        }
+        if (t.count == t.rows.length) t.rows = Arrays.copyOf(t.rows, t.count * 2);
+        t.rows[t.count++] = row;
+        for (int c = 0; c < StatsTable.COUNTERS; c++) t.sums[c] += table.get(c, row);
+        t.sorted = null;
+    }
+
+    private void unindex(int row) {
+        TeamLines t = linesOf(row);
+        if (t == null) return;
+        for (int i = 0; i < t.count; i++) {
+            if (t.rows[i] != row) continue;
+            t.rows[i] = t.rows[--t.count];
+            for (int c = 0; c < StatsTable.COUNTERS; c++) t.sums[c] -= table.get(c, row);
+            t.sorted = null;
+            if (t.count == 0) teams.remove(t);
+            return;
+        }
+    }
+
+    private int rowOf(int playerId) {
+        if (playerId == 0) return -1;
+        for (int i = 0; i < lineCount; i++) {
+            if (table.playerIdAt(rows[i]) == playerId) return rows[i];
+        }
+        return -1;
+    }
+
+    private int addRow(Player player) {
+        int row = table.addRow(game.getId(), player);
+        if (lineCount == rows.length) rows = Arrays.copyOf(rows, lineCount * 2);
+        rows[lineCount++] = row;
+        return row;
+    }
+
+    private int idOf(Player player) {
+        if (player.getId() == 0 || player.getLeague() == null) {
+            League league = game.getLeague();
+            if (league == null) {
+                throw new IllegalStateException("Game is not registered with a league: " + game);
+            }
+            league.register(player);
+        }
+        return player.getId();
+    }
+
+    /**
+     * Moves stat lines read from an old save into rows of the league's
+     * table. Call once the game's league has been registered (League.registerAll).
+     */
+    public void migrateLegacyRows(StatsTable leagueTable) {
+        this.table = leagueTable;
+        if (legacyStats == null) return;
+        for (Map.Entry<Player, PlayerGameStats> e : legacyStats.entrySet()) {
+            idOf(e.getKey());
+            int row = addRow(e.getKey());
+            int[] c = e.getValue().getCounters();
+            for (int k = 0; k < c.length; k++) table.set(k, row, c[k]);
+        }
+        if (legacyTeams != null) {
+            for (Map.Entry<Player, String> e : legacyTeams.entrySet()) {
+                int row = rowOf(idOf(e.getKey()));
+                if (row >= 0 && e.getValue() != null) table.setTeam(row, e.getValue());
+            }
+        }
+        for (int i = 0; i < lineCount; i++) index(rows[i]);
+        legacyStats = null;
+        legacyTeams = null;
+    }
+
+    /** The old maps re-keyed by instance, as the players are looked up by. */
+    private static <V> Map<Player, V> identityCopy(Map<Player, V> m) {
+        return (m == null) ? null : new IdentityHashMap<>(m);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        // Only old saves are ever read: Player -> stats maps
+        ObjectInputStream.GetField fields = in.readFields();
+        game = (Game) fields.get("game", null);
+        legacyStats = identityCopy((Map<Player, PlayerGameStats>) fields.get("statsByPlayer", null));
+        legacyTeams = identityCopy((Map<Player, String>) fields.get("teamNameByPlayer", null));
+        rows = new int[16];
+        teams = new ArrayList<>(2);
     }
 }
@@ -0,0 +1,44 @@
+package edu.vsu.lms.model;
+
+import java.util.*;
+
+/**
+ * GameStatsView
+ * -------------
+ * Read side of one game's stats. Implemented by GameStats (live, editable)
+ * and by archived seasons, which build PlayerGameStats rows on demand
+ * instead of keeping them on the heap.
+ */
+public interface GameStatsView {
+
+    Game getGame();
+
+    /** Stats for this player in this game, or null if they have none. */
+    PlayerGameStats getStatsForPlayer(Player player);
+
+    /** Team name recorded for this player in this game, or null. */
+    String getTeamNameForPlayer(Player player);
+
+    Collection<PlayerGameStats> getAllPlayerStats();
+
+    List<PlayerGameStats> getStatsForTeamName(String teamName);
+
+    /** All stats sorted ascending by last name, then first, then jersey number. */
+    default List<PlayerGameStats> getAllStatsSorted() {
+        List<PlayerGameStats> list = new ArrayList<>(getAllPlayerStats());
+        list.sort(BY_PLAYER_NAME);
+        return list;
+    }
+
+    /** Stats for a team, sorted by last, first, jersey number. */
+    default List<PlayerGameStats> getTeamStatsSorted(String teamName) {
+        List<PlayerGameStats> list = getStatsForTeamName(teamName);
+        list.sort(BY_PLAYER_NAME);
+        return list;
+    }
+
+    Comparator<PlayerGameStats> BY_PLAYER_NAME = Comparator
+            .comparing((PlayerGameStats s) -> s.getPlayer().getLastName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(s -> s.getPlayer().getFirstName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(s -> s.getPlayer().getNumber());
+}
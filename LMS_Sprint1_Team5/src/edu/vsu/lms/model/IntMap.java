@@ -0,0 +1,159 @@
+package edu.vsu.lms.model;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * IntMap
+ * ------
+ * Open-addressing hash map from int keys to objects, used for the
+ * id-keyed stats tables (game id -> GameStats, player id -> stat line).
+ *
+ * Keys live in an int[] and values in an Object[], so lookups do not box
+ * and there is no entry object per mapping. Null values are not allowed:
+ * an empty slot is a null value.
+ */
+public class IntMap<V> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    public IntMap() {
+        this(8);
+    }
+
+    public IntMap(int expectedSize) {
+        int cap = 8;
+        while (cap < expectedSize * 2) cap <<= 1;
+        keys = new int[cap];
+        values = new Object[cap];
+    }
+
+    public int size()        { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return (V) values[i];
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /** @return the previous value, or null */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("IntMap does not hold null values");
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /** @return the removed value, or null */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) break;
+        }
+        if (values[i] == null) return null;
+
+        V old = (V) values[i];
+        // Backward-shift: pull later entries of the probe run into the hole
+        int hole = i;
+        for (int j = (hole + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = null;
+        size--;
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /** Live view of the values, in table order. */
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < values.length && values[from] == null) from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < values.length;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public V next() {
+                        if (next >= values.length) throw new NoSuchElementException();
+                        V v = (V) values[next];
+                        next = advance(next + 1);
+                        return v;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == null) continue;
+            int i = slot(oldKeys[j], mask);
+            while (values[i] != null) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9; // Fibonacci hashing spreads sequential ids
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
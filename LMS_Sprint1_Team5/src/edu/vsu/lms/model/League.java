@@ -1,16 +1,26 @@
 package edu.vsu.lms.model;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 /**
  * League
  * ------
  * Holds all teams in the league plus the regular-season games and
  * (for Sprint 3) an optional playoff Bracket.
+ *
+ * Threads: every league has a read/write lock of its own (see read /
+ * write), so work on one league never waits for another. Changes take
+ * the write lock; League, Game, Bracket and stat-line methods that
+ * change something take it themselves, and controllers wrap changes of
+ * several steps (or of the team and player maps, which are plain maps)
+ * in write(). The thread that makes the changes (the EDT) reads without
+ * locking; any other thread (saver, API server) reads under read(), and
+ * should only copy what it needs out (encode, render) while it holds it.
  */
 public class League implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -25,6 +35,39 @@ public class League implements Serializable {
     // ✅ NEW: Single-elimination playoff bracket
     private Bracket bracket;
 
+    // Bumped whenever the regular-season game list changes (SeasonAggregates)
+    private transient int scheduleVersion;
+
+    // Bumped by every change to what the league shows: games, results,
+    // bracket, teams, stat lines (see getVersion)
+    private transient volatile int version;
+
+    // Lookups over the regular-season games, built on first use and then
+    // kept in step by addGame / clearSchedule / replaceUnplayedGames. Game
+    // date and teams never change, so a game never moves between buckets.
+    private transient GameIndex index;
+
+    // Regular-season standings, built on first use and then updated by
+    // every result change (see Game.setResult)
+    private transient Standings standings;
+
+    // Tiebreaker rules in order (null = Ranking.DEFAULT_RULES), and the
+    // ranking last worked out from them
+    private List<Ranking.Tiebreaker> tiebreakers;
+    private transient Ranking ranking;
+
+    // Team names as ids, shared by every game and stat row of the league.
+    // Filled again by register() after a load
+    private transient TeamSymbols symbols;
+
+    // Highest Game / Player id handed out so far (ids start at 1)
+    private int lastGameId;
+    private int lastPlayerId;
+
+    // Guards everything above (see read / write). Made on first use, as
+    // a loaded league comes without one
+    private transient volatile ReentrantReadWriteLock lock;
+
     public League(String name) {
         this.name = name;
     }
@@ -41,8 +84,82 @@ public class League implements Serializable {
 
     public void addTeam(Team team) {
         if (team != null && team.getName() != null && !team.getName().isBlank()) {
-            teams.put(team.getName(), team);
+            write(() -> { teams.put(team.getName(), team); });
+        }
+    }
+
+    /** Takes the team out of the league; its games keep their results. */
+    public boolean removeTeam(String teamName) {
+        return write(() -> teams.remove(teamName) != null);
+    }
+
+    /** The league's team-name ids (see Game.getHomeTeamId). */
+    public synchronized TeamSymbols getSymbols() {
+        if (symbols == null) {
+            symbols = new TeamSymbols();
+        }
+        return symbols;
+    }
+
+    /**
+     * Renames a team. Games, bracket games and stat lines hold the team's
+     * id, so they show the new name at once; only the team map and the
+     * cached standings follow by hand.
+     *
+     * @throws IllegalArgumentException if oldName is not a team, or newName
+     *         is a current team or a removed one that still has games
+     */
+    public void renameTeam(String oldName, String newName) {
+        write(() -> applyRename(oldName, newName));
+    }
+
+    private void applyRename(String oldName, String newName) {
+        Team t = teams.get(oldName);
+        if (t == null) {
+            throw new IllegalArgumentException("Team not found: " + oldName);
+        }
+        if (newName == null || newName.isBlank()) {
+            throw new IllegalArgumentException("Team name cannot be empty");
+        }
+        if (newName.equals(oldName)) return;
+        if (teams.containsKey(newName)) {
+            throw new IllegalArgumentException("Team already exists: " + newName);
+        }
+        // A removed team's name keeps its id while its games do
+        int old = getSymbols().find(newName);
+        if (old > TeamSymbols.BYE) {
+            int games = gamesOf(old);
+            if (games > 0) {
+                throw new IllegalArgumentException("\"" + newName + "\" is still the name of a removed team in "
+                        + games + " game(s)");
+            }
+            getSymbols().release(newName);
+        }
+        getSymbols().rename(getSymbols().idOf(oldName), newName);
+        teams.remove(oldName);
+        t.rename(newName);
+        teams.put(newName, t);
+        // Keyed by name: rebuilt from the (renamed) games on next use
+        standings = null;
+        ranking = null;
+        scheduleVersion++;  // season stat totals too
+        version++;
+    }
+
+    /** Regular-season and bracket games the team (an id in getSymbols()) plays in. */
+    private int gamesOf(int teamId) {
+        int n = 0;
+        for (Game g : games) {
+            if (g.involves(teamId)) n++;
         }
+        if (bracket != null) {
+            for (BracketRound r : bracket.getRounds()) {
+                for (Game g : r.getGames()) {
+                    if (g.involves(teamId)) n++;
+                }
+            }
+        }
+        return n;
     }
 
     // ---------- Regular-season schedule ----------
@@ -51,25 +168,429 @@ public class League implements Serializable {
         return scheduleCreated;
     }
 
+    /** The regular-season games in schedule order (read-only; use addGame / clearSchedule). */
     public List<Game> getGames() {
-        return games;
+        return Collections.unmodifiableList(games);
     }
 
     public void addGame(Game g) {
         if (g != null) {
-            games.add(g);
+            write(() -> addRegistered(g));
         }
     }
 
+    private void addRegistered(Game g) {
+        register(g);
+        games.add(g);
+        if (index != null) index.add(g);
+        if (standings != null) standings.gameAdded(g);
+        scheduleVersion++;
+        version++;
+    }
+
     public void clearSchedule() {
+        write(this::clearGames);
+    }
+
+    private void clearGames() {
         games.clear();
+        index = null;
         scheduleCreated = false;
+        scheduleVersion++;
+        version++;
+        // No games, no record: every team goes back to 0–0
+        for (Team t : teams.values()) t.restoreRecord(0, 0);
+        standings = Standings.build(this);
+    }
+
+    /**
+     * Swaps every regular-season game that has no result for newGames
+     * (rescheduling). Games with a result stay as they are, with their
+     * ids and stats; standings only count results, so they are unchanged.
+     *
+     * @return the games taken out
+     */
+    public List<Game> replaceUnplayedGames(Collection<Game> newGames) {
+        return write(() -> replaceUnplayed(newGames));
+    }
+
+    private List<Game> replaceUnplayed(Collection<Game> newGames) {
+        List<Game> removed = new ArrayList<>();
+        for (Game g : games) {
+            if (!g.hasResult()) removed.add(g);
+        }
+        if (!removed.isEmpty()) {
+            Set<Game> gone = new HashSet<>(removed);
+            games.removeIf(gone::contains);
+            if (index != null) index.removeAll(removed, gone);
+            scheduleVersion++;
+            version++;
+        }
+        for (Game g : newGames) {
+            if (g.hasResult()) {
+                throw new IllegalArgumentException("New game already has a result: " + g);
+            }
+            addGame(g);
+        }
+        return removed;
+    }
+
+    /** The regular-season standings; also the source of every Team's W/L. */
+    public synchronized Standings getStandings() {
+        if (standings == null) {
+            standings = Standings.build(this);
+        }
+        return standings;
+    }
+
+    /**
+     * The standings ranked by the league's tiebreakers. Cached until a
+     * result, a team or the rules change, so every screen and the bracket
+     * seeding share one sort.
+     */
+    public synchronized Ranking getRanking() {
+        Standings s = getStandings();
+        List<Ranking.Tiebreaker> rules = getTiebreakers();
+        if (ranking == null || !ranking.isCurrent(s, rules)) {
+            ranking = Ranking.compute(this, s, rules);
+        }
+        return ranking;
+    }
+
+    public List<Ranking.Tiebreaker> getTiebreakers() {
+        return (tiebreakers == null) ? Ranking.DEFAULT_RULES : Collections.unmodifiableList(tiebreakers);
+    }
+
+    /** Sets the ranking rules, first rule first; null or empty restores the default. */
+    public void setTiebreakers(List<Ranking.Tiebreaker> rules) {
+        List<Ranking.Tiebreaker> kept =
+                (rules == null || rules.isEmpty() || rules.equals(Ranking.DEFAULT_RULES))
+                        ? null
+                        : new ArrayList<>(new LinkedHashSet<>(rules)); // each rule once
+        write(() -> {
+            tiebreakers = kept;
+            version++;
+        });
+    }
+
+    /** The league's teams, best first, in ranking order (bracket seeding). */
+    public List<Team> getTeamsInStandingsOrder() {
+        List<Team> result = new ArrayList<>(teams.size());
+        for (Standings.Row r : getRanking().getRows()) {
+            Team t = teams.get(r.getTeamName());
+            if (t != null) result.add(t);
+        }
+        return result;
+    }
+
+    /** True if g is one of this league's regular-season games (not a playoff game). */
+    public boolean isRegularSeasonGame(Game g) {
+        return g.getLeague() == this && index().byId.get(g.getId()) == g;
+    }
+
+    /** Called by Game when a registered game's result is set, corrected or cleared. */
+    void resultChanged(Game g, String oldWinner, int oldHomeScore, int oldAwayScore) {
+        version++;  // playoff results too
+        if (!isRegularSeasonGame(g)) return;
+        if (standings == null) {
+            // First result since load or creation: build (this result included),
+            // so the teams' W/L never lags behind
+            standings = Standings.build(this, false);
+        } else {
+            standings.resultChanged(g, oldWinner, oldHomeScore, oldAwayScore);
+        }
+    }
+
+    /**
+     * The regular-season game on this date between these teams, or null.
+     * If the schedule has the same matchup twice on one day, the first.
+     */
+    public Game findGame(LocalDate date, String homeTeam, String awayTeam) {
+        int home = getSymbols().find(homeTeam);
+        int away = getSymbols().find(awayTeam);
+        if (home < 0 || away < 0) return null;
+        return index().byKey.get(new MatchKey(date, home, away));
+    }
+
+    /**
+     * Regular-season games dated from..to (both inclusive; null leaves that
+     * side open), by date and then schedule order.
+     */
+    public List<Game> getGamesBetween(LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, List<Game>> byDate = index().byDate;
+        if (from != null && to != null && from.isAfter(to)) return Collections.emptyList();
+        if (from != null && to != null) byDate = byDate.subMap(from, true, to, true);
+        else if (from != null)          byDate = byDate.tailMap(from, true);
+        else if (to != null)            byDate = byDate.headMap(to, true);
+
+        List<Game> result = new ArrayList<>();
+        for (List<Game> day : byDate.values()) result.addAll(day);
+        return result;
+    }
+
+    /** The regular-season or playoff game with this id, or null. */
+    public Game getGame(int id) {
+        Game g = index().byId.get(id);
+        if (g == null && bracket != null) {
+            for (BracketRound r : bracket.getRounds()) {
+                for (Game bg : r.getGames()) {
+                    if (bg.getId() == id) return bg;
+                }
+            }
+        }
+        return g;
+    }
+
+    /**
+     * The playoff game on this date between these teams, or null. A bracket
+     * has a few dozen games at most, so they are simply scanned; a game whose
+     * teams are not decided yet matches nothing.
+     */
+    public Game findPlayoffGame(LocalDate date, String homeTeam, String awayTeam) {
+        if (bracket == null) return null;
+        for (BracketRound r : bracket.getRounds()) {
+            for (Game g : r.getGames()) {
+                if (g.getDate().equals(date) && Objects.equals(g.getHomeTeam(), homeTeam)
+                        && Objects.equals(g.getAwayTeam(), awayTeam)) {
+                    return g;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Regular-season games the team plays in (home or away), in schedule order. */
+    public List<Game> getGamesForTeam(String teamName) {
+        int team = getSymbols().find(teamName);
+        List<Game> list = (team <= 0) ? null : index().byTeam.get(team);
+        return (list == null) ? Collections.emptyList() : Collections.unmodifiableList(list);
+    }
+
+    // Synchronized: readers holding the read lock may get here together
+    private synchronized GameIndex index() {
+        if (index == null) {
+            GameIndex idx = new GameIndex();
+            for (Game g : games) idx.add(g);
+            index = idx;
+        }
+        return index;
+    }
+
+    /** Date, team and matchup lookups over the regular-season games. */
+    private static final class GameIndex {
+        final NavigableMap<LocalDate, List<Game>> byDate = new TreeMap<>();
+        final IntMap<List<Game>> byTeam = new IntMap<>(64);   // by team id
+        final Map<MatchKey, Game> byKey = new HashMap<>();
+        final IntMap<Game> byId = new IntMap<>(1024);
+
+        void add(Game g) {
+            byDate.computeIfAbsent(g.getDate(), k -> new ArrayList<>(8)).add(g);
+            teamList(g.getHomeTeamId()).add(g);
+            if (g.getAwayTeamId() != g.getHomeTeamId()) {
+                teamList(g.getAwayTeamId()).add(g);
+            }
+            byKey.putIfAbsent(MatchKey.of(g), g);
+            byId.put(g.getId(), g);
+        }
+
+        private List<Game> teamList(int team) {
+            List<Game> list = byTeam.get(team);
+            if (list == null) {
+                list = new ArrayList<>();
+                byTeam.put(team, list);
+            }
+            return list;
+        }
+
+        /** Takes the games out; gone holds the same games, for the list filters. */
+        void removeAll(List<Game> removed, Set<Game> gone) {
+            Set<LocalDate> dates = new HashSet<>();
+            Set<Integer> teams = new HashSet<>();
+            for (Game g : removed) {
+                dates.add(g.getDate());
+                teams.add(g.getHomeTeamId());
+                teams.add(g.getAwayTeamId());
+                byId.remove(g.getId());
+                byKey.remove(MatchKey.of(g), g);
+            }
+            for (LocalDate d : dates) {
+                List<Game> day = byDate.get(d);
+                day.removeIf(gone::contains);
+                if (day.isEmpty()) {
+                    byDate.remove(d);
+                } else {
+                    // A kept game on the same day and matchup takes over the key
+                    for (Game g : day) byKey.putIfAbsent(MatchKey.of(g), g);
+                }
+            }
+            for (int t : teams) {
+                List<Game> list = byTeam.get(t);
+                list.removeIf(gone::contains);
+                if (list.isEmpty()) byTeam.remove(t);
+            }
+        }
+    }
+
+    /** Date and team ids of a game, the findGame() key. */
+    private static final class MatchKey {
+        final LocalDate date;
+        final int home;
+        final int away;
+
+        MatchKey(LocalDate date, int home, int away) {
+            this.date = date;
+            this.home = home;
+            this.away = away;
+        }
+
+        static MatchKey of(Game g) {
+            return new MatchKey(g.getDate(), g.getHomeTeamId(), g.getAwayTeamId());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MatchKey)) return false;
+            MatchKey k = (MatchKey) o;
+            return home == k.home && away == k.away && Objects.equals(date, k.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * Objects.hashCode(date) + home) * 31 + away;
+        }
+    }
+
+    /**
+     * Changes on every change to the league's games, results, bracket,
+     * teams or stat lines, so a reader can tell whether what it built from
+     * the league is still current. Starts over at 0 when the league is
+     * loaded.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Counts a change League does not see itself: stat lines (GameStats),
+     * and team or player edits made through the controllers (AppState.record).
+     */
+    public void markChanged() {
+        version++;
+    }
+
+    /** Changes whenever games are added, the schedule is cleared or a team is renamed. */
+    public int getScheduleVersion() {
+        return scheduleVersion;
     }
 
     public void setScheduleCreated(boolean val) {
         scheduleCreated = val;
     }
 
+    // ---------- Locking ----------
+
+    private ReentrantReadWriteLock lock() {
+        ReentrantReadWriteLock l = lock;
+        if (l == null) {
+            synchronized (this) {
+                if (lock == null) lock = new ReentrantReadWriteLock();
+                l = lock;
+            }
+        }
+        return l;
+    }
+
+    /**
+     * Lock for reading the league from a thread that does not change it.
+     * Held by many readers at once; a writer waits until they are done,
+     * so copy out and let go (never do I/O while holding it). The write
+     * lock cannot be taken while holding this one.
+     */
+    public Lock readLock() {
+        return lock().readLock();
+    }
+
+    /** Lock for changing the league; reentrant, and it may take the read lock too. */
+    public Lock writeLock() {
+        return lock().writeLock();
+    }
+
+    /** Runs body under the read lock and returns what it returns. */
+    public <T> T read(Supplier<T> body) {
+        Lock l = readLock();
+        l.lock();
+        try {
+            return body.get();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /** Runs a change (or several, seen by readers as one) under the write lock. */
+    public void write(Runnable change) {
+        Lock l = writeLock();
+        l.lock();
+        try {
+            change.run();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /** Same as write(Runnable), for a change with a result. */
+    public <T> T write(Supplier<T> change) {
+        Lock l = writeLock();
+        l.lock();
+        try {
+            return change.get();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    // ---------- Surrogate ids ----------
+
+    /**
+     * Ties a game to this league and gives it an id if it has none.
+     * A game restored with an id keeps it. Stats are keyed by this id,
+     * so it must happen before any stats are recorded for the game.
+     */
+    public Game register(Game g) {
+        if (g.getLeague() == this) return g;
+        if (g.getLeague() != null) {
+            throw new IllegalArgumentException("Game already belongs to league " + g.getLeague().getName());
+        }
+        int id = (g.getId() != 0) ? g.getId() : ++lastGameId;
+        lastGameId = Math.max(lastGameId, id);
+        g.attach(this, id);
+        return g;
+    }
+
+    /** Same as register(Game), for players. */
+    public Player register(Player p) {
+        if (p.getLeague() == this) return p;
+        if (p.getLeague() != null) {
+            throw new IllegalArgumentException("Player already belongs to league " + p.getLeague().getName());
+        }
+        int id = (p.getId() != 0) ? p.getId() : ++lastPlayerId;
+        lastPlayerId = Math.max(lastPlayerId, id);
+        p.attach(this, id);
+        return p;
+    }
+
+    /** Registers every game, bracket game and rostered player (after loading an old save). */
+    public void registerAll() {
+        for (Team t : teams.values()) {
+            for (Player p : t.getPlayers()) register(p);
+        }
+        for (Game g : games) register(g);
+        if (bracket != null) {
+            for (BracketRound r : bracket.getRounds()) {
+                for (Game g : r.getGames()) register(g);
+            }
+        }
+    }
+
     // ---------- NEW: Bracket support (US 25–27) ----------
 
     /**
@@ -83,7 +604,15 @@ public class League implements Serializable {
      * Sets the playoff bracket (used by Bracket scheduling logic).
      */
     public void setBracket(Bracket bracket) {
-        this.bracket = bracket;
+        write(() -> {
+            this.bracket = bracket;
+            version++;
+            if (bracket != null) {
+                for (BracketRound r : bracket.getRounds()) {
+                    for (Game g : r.getGames()) register(g);
+                }
+            }
+        });
     }
 
     /**
@@ -103,6 +632,9 @@ public class League implements Serializable {
         if (teams.size() < 2) {
             throw new IllegalStateException("Need at least 2 teams to create a bracket.");
         }
-        this.bracket = Bracket.createSingleEliminationBracket(this, firstRoundDate);
+        write(() -> {
+            this.bracket = Bracket.createSingleEliminationBracket(this, firstRoundDate);
+            version++;
+        });
     }
 }
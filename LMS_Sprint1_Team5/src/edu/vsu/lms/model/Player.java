@@ -9,7 +9,12 @@ public class Player implements Serializable {
     private String lastName;
     private String position;
     private int number;
-    
+
+    // Surrogate id, unique within the owning League; 0 until registered.
+    // Not part of equals/hashCode (identity): it is handed out after the
+    // object may already be a hash key, so key by id explicitly (IntMap)
+    private int id;
+    private transient League league;
 
     public Player(String firstName, String lastName, int number, String position) {
         this.firstName = firstName;
@@ -23,6 +28,22 @@ public class Player implements Serializable {
     public String getLastName() { return lastName; }
     public int getNumber() { return number; }
     public String getPosition() { return position; }
+    public int getId() { return id; }
+    /** League this player is registered with, or null. */
+    public League getLeague() { return league; }
+
+    /** Sets the id directly; used when restoring a saved snapshot (before League.register). */
+    public void restoreId(int id) {
+        if (league != null) {
+            throw new IllegalStateException("Player is already registered with " + league.getName());
+        }
+        this.id = id;
+    }
+
+    void attach(League league, int id) {
+        this.league = league;
+        this.id = id;
+    }
 
    // Setters
     public void setFirstName(String firstName) { this.firstName = firstName; }
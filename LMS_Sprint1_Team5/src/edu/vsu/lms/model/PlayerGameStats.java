@@ -1,5 +1,7 @@
 package edu.vsu.lms.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
@@ -15,67 +17,149 @@ import java.io.Serializable;
  *  - assists
  *  - fouls (max 6, then fouled out)
  *
+ * A line handed out by GameStats is a view onto a row of the league's
+ * StatsTable: reads and writes go straight to the table's columns, so the
+ * object itself is just a few references and can be thrown away. A line
+ * made with the public constructor (archived seasons, old saves) keeps its
+ * own counters.
+ *
  * NOTE: No quarter-by-quarter tracking, only full-game totals.
  */
 public class PlayerGameStats implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    private final Player player;
-
-    private int freeThrowsAttempted;
-    private int freeThrowsMade;
+    // Counter indexes, same order as getCounters()
+    private static final int FT_ATT = 0, FT_MADE = 1, TWO_ATT = 2, TWO_MADE = 3,
+                             THREE_ATT = 4, THREE_MADE = 5, ASSISTS = 6, FOULS = 7;
 
-    private int twoPointersAttempted;
-    private int twoPointersMade;
+    private Player player;
 
-    private int threePointersAttempted;
-    private int threePointersMade;
+    // Standalone line: its own counters (null for a view)
+    private transient int[] values;
 
-    private int assists;
-    private int fouls;  // 0–6, at 6 = fouled out
+    // View: the GameStats whose table holds the row
+    private transient GameStats owner;
+    private transient int row;
 
     public PlayerGameStats(Player player) {
         if (player == null) {
             throw new IllegalArgumentException("Player cannot be null");
         }
         this.player = player;
+        this.values = new int[StatsTable.COUNTERS];
+    }
+
+    /** View onto a row of owner's StatsTable. */
+    PlayerGameStats(GameStats owner, int row) {
+        this.player = owner.getTable().playerAt(row);
+        this.owner = owner;
+        this.row = row;
     }
 
     public Player getPlayer() {
         return player;
     }
 
+    /** Row in the owner's StatsTable (views only). */
+    int row() {
+        return row;
+    }
+
+    /**
+     * The eight counters in a fixed order: FT att/made, 2P att/made,
+     * 3P att/made, assists, fouls (see SeasonAggregates).
+     */
+    public int[] getCounters() {
+        int[] c = new int[StatsTable.COUNTERS];
+        if (owner == null) {
+            System.arraycopy(values, 0, c, 0, c.length);
+        } else {
+            owner.getTable().read(row, c);
+        }
+        return c;
+    }
+
+    private int get(int counter) {
+        return (owner == null) ? values[counter] : owner.getTable().get(counter, row);
+    }
+
+    private void set(int counter, int value) {
+        if (owner == null) {
+            values[counter] = value;
+        } else {
+            owner.getTable().set(counter, row, value);
+        }
+    }
+
+    /** Counters before a change, or null if nobody is listening. */
+    private int[] beforeChange() {
+        if (owner == null) return null;
+        // Rows are reused once a line is removed; a stale view must not write
+        if (owner.getTable().playerIdAt(row) != player.getId()
+                || owner.getTable().gameIdAt(row) != owner.getGame().getId()) {
+            throw new IllegalStateException("Stat line was removed: " + player);
+        }
+        return getCounters();
+    }
+
+    private void changed(int[] before) {
+        if (before != null) {
+            owner.lineChanged(this, before);
+        }
+    }
+
+    /** Makes a change; a view does it under its league's write lock (League.write). */
+    private void update(Runnable change) {
+        if (owner == null) {
+            change.run();
+            return;
+        }
+        owner.write(() -> {
+            int[] before = beforeChange();
+            change.run();
+            changed(before);
+        });
+    }
+
     // ---------- Increment methods ----------
 
     public void addFreeThrows(int attempted, int made) {
         if (attempted < 0 || made < 0 || made > attempted) {
             throw new IllegalArgumentException("Invalid free throw numbers");
         }
-        this.freeThrowsAttempted += attempted;
-        this.freeThrowsMade += made;
+        update(() -> {
+            set(FT_ATT, get(FT_ATT) + attempted);
+            set(FT_MADE, get(FT_MADE) + made);
+        });
     }
 
     public void addTwoPointers(int attempted, int made) {
         if (attempted < 0 || made < 0 || made > attempted) {
             throw new IllegalArgumentException("Invalid 2-point numbers");
         }
-        this.twoPointersAttempted += attempted;
-        this.twoPointersMade += made;
+        update(() -> {
+            set(TWO_ATT, get(TWO_ATT) + attempted);
+            set(TWO_MADE, get(TWO_MADE) + made);
+        });
     }
 
     public void addThreePointers(int attempted, int made) {
         if (attempted < 0 || made < 0 || made > attempted) {
             throw new IllegalArgumentException("Invalid 3-point numbers");
         }
-        this.threePointersAttempted += attempted;
-        this.threePointersMade += made;
+        update(() -> {
+            set(THREE_ATT, get(THREE_ATT) + attempted);
+            set(THREE_MADE, get(THREE_MADE) + made);
+        });
     }
 
     public void addAssists(int assistsToAdd) {
         if (assistsToAdd < 0) {
             throw new IllegalArgumentException("Assists cannot be negative");
         }
-        this.assists += assistsToAdd;
+        update(() -> {
+            set(ASSISTS, get(ASSISTS) + assistsToAdd);
+        });
     }
 
     /**
@@ -85,48 +169,56 @@ public class PlayerGameStats implements Serializable {
         if (foulsToAdd < 0) {
             throw new IllegalArgumentException("Fouls to add cannot be negative");
         }
-        this.fouls += foulsToAdd;
-        if (this.fouls > 6) {
-            this.fouls = 6;
-        }
+        update(() -> {
+            set(FOULS, Math.min(get(FOULS) + foulsToAdd, 6));
+        });
     }
 
     // ---------- Raw getters ----------
 
-    public int getFreeThrowsAttempted() { return freeThrowsAttempted; }
-    public int getFreeThrowsMade()      { return freeThrowsMade; }
+    public int getFreeThrowsAttempted() { return get(FT_ATT); }
+    public int getFreeThrowsMade()      { return get(FT_MADE); }
 
-    public int getTwoPointersAttempted() { return twoPointersAttempted; }
-    public int getTwoPointersMade()      { return twoPointersMade; }
+    public int getTwoPointersAttempted() { return get(TWO_ATT); }
+    public int getTwoPointersMade()      { return get(TWO_MADE); }
 
-    public int getThreePointersAttempted() { return threePointersAttempted; }
-    public int getThreePointersMade()      { return threePointersMade; }
+    public int getThreePointersAttempted() { return get(THREE_ATT); }
+    public int getThreePointersMade()      { return get(THREE_MADE); }
 
-    public int getAssists() { return assists; }
-    public int getFouls()   { return fouls; }
+    public int getAssists() { return get(ASSISTS); }
+    public int getFouls()   { return get(FOULS); }
 
     // ---------- Derived stats ----------
 
     public int getTotalPoints() {
-        return freeThrowsMade * 1
-             + twoPointersMade * 2
-             + threePointersMade * 3;
+        return get(FT_MADE) * 1
+             + get(TWO_MADE) * 2
+             + get(THREE_MADE) * 3;
     }
 
     public double getFreeThrowPercent() {
-        return calcPercent(freeThrowsMade, freeThrowsAttempted);
+        return calcPercent(get(FT_MADE), get(FT_ATT));
     }
 
     public double getTwoPointPercent() {
-        return calcPercent(twoPointersMade, twoPointersAttempted);
+        return calcPercent(get(TWO_MADE), get(TWO_ATT));
     }
 
     public double getThreePointPercent() {
-        return calcPercent(threePointersMade, threePointersAttempted);
+        return calcPercent(get(THREE_MADE), get(THREE_ATT));
     }
 
     public boolean isFouledOut() {
-        return fouls >= 6;
+        return get(FOULS) >= 6;
+    }
+
+    /** True if every counter is zero (the line records nothing). */
+    public boolean isEmpty() {
+        if (owner != null) return owner.getTable().isEmptyRow(row);
+        for (int v : values) {
+            if (v != 0) return false;
+        }
+        return true;
     }
 
     private double calcPercent(int made, int attempted) {
@@ -138,46 +230,86 @@ public void setFreeThrowStats(int attempted, int made) {
     if (attempted < 0 || made < 0 || made > attempted) {
         throw new IllegalArgumentException("Invalid free throw numbers");
     }
-    this.freeThrowsAttempted = attempted;
-    this.freeThrowsMade = made;
+    update(() -> {
+        set(FT_ATT, attempted);
+        set(FT_MADE, made);
+    });
 }
 
 public void setTwoPointStats(int attempted, int made) {
     if (attempted < 0 || made < 0 || made > attempted) {
         throw new IllegalArgumentException("Invalid 2P numbers");
     }
-    this.twoPointersAttempted = attempted;
-    this.twoPointersMade = made;
+    update(() -> {
+        set(TWO_ATT, attempted);
+        set(TWO_MADE, made);
+    });
 }
 
 public void setThreePointStats(int attempted, int made) {
     if (attempted < 0 || made < 0 || made > attempted) {
         throw new IllegalArgumentException("Invalid 3P numbers");
     }
-    this.threePointersAttempted = attempted;
-    this.threePointersMade = made;
+    update(() -> {
+        set(THREE_ATT, attempted);
+        set(THREE_MADE, made);
+    });
 }
 
 public void setAssists(int assists) {
     if (assists < 0) throw new IllegalArgumentException("Assists cannot be negative");
-    this.assists = assists;
+    update(() -> {
+        set(ASSISTS, assists);
+    });
 }
 
 public void setFouls(int fouls) {
-    if (fouls < 0) fouls = 0;
-    if (fouls > 6) fouls = 6;
-    this.fouls = fouls;
+    int capped = Math.max(0, Math.min(fouls, 6));
+    update(() -> {
+        set(FOULS, capped);
+    });
 }
 
+    /**
+     * Replaces all eight counters at once (getCounters() order), with one
+     * change notification instead of one per setter. Fouls are capped at 6.
+     */
+    public void setCounters(int[] c) {
+        if (c.length != StatsTable.COUNTERS) {
+            throw new IllegalArgumentException("Expected " + StatsTable.COUNTERS + " counters");
+        }
+        for (int v : c) {
+            if (v < 0) throw new IllegalArgumentException("Counters cannot be negative");
+        }
+        if (c[FT_MADE] > c[FT_ATT] || c[TWO_MADE] > c[TWO_ATT] || c[THREE_MADE] > c[THREE_ATT]) {
+            throw new IllegalArgumentException("More shots made than attempted");
+        }
+        update(() -> {
+            for (int i = 0; i < FOULS; i++) set(i, c[i]);
+            set(FOULS, Math.min(c[FOULS], 6));
+        });
+    }
+
+    /** Old saves wrote the eight counters as int fields; they become a standalone line. */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        player = (Player) fields.get("player", null);
+        values = new int[]{
+                fields.get("freeThrowsAttempted", 0), fields.get("freeThrowsMade", 0),
+                fields.get("twoPointersAttempted", 0), fields.get("twoPointersMade", 0),
+                fields.get("threePointersAttempted", 0), fields.get("threePointersMade", 0),
+                fields.get("assists", 0), fields.get("fouls", 0)};
+    }
+
     @Override
     public String toString() {
         return String.format("%s: %d pts, %d ast, %d fouls (FT %d/%d, 2P %d/%d, 3P %d/%d)",
                 player.toString(),
                 getTotalPoints(),
-                assists,
-                fouls,
-                freeThrowsMade, freeThrowsAttempted,
-                twoPointersMade, twoPointersAttempted,
-                threePointersMade, threePointersAttempted);
+                get(ASSISTS),
+                get(FOULS),
+                get(FT_MADE), get(FT_ATT),
+                get(TWO_MADE), get(TWO_ATT),
+                get(THREE_MADE), get(THREE_ATT));
     }
 }
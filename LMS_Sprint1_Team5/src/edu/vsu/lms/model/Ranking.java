@@ -0,0 +1,241 @@
+package edu.vsu.lms.model;
+
+import java.util.*;
+
+/**
+ * Ranking
+ * -------
+ * A league's final team order: the standings put through the league's
+ * tiebreaker rules, in the order the rules are listed. Standings screens,
+ * power rankings and bracket seeding all read this one order.
+ *
+ * Every rule except head-to-head is a per-team number worked out once into
+ * a primitive array (higher is better), so sorting only compares array
+ * slots. Rules apply group by group: teams still level after one rule are
+ * separated by the next, and head-to-head counts only games between the
+ * teams of that group. Teams level on every rule keep their standings
+ * order (wins, losses, name).
+ *
+ * A Ranking never changes; League.getRanking() builds a new one when the
+ * standings version or the rules change and hands out the cached one
+ * otherwise.
+ */
+public final class Ranking {
+
+    /** One way of ordering teams; the enum name is what gets saved. */
+    public enum Tiebreaker {
+        WINS("Wins"),
+        FEWER_LOSSES("Fewer losses"),
+        WIN_PERCENT("Win %"),
+        HEAD_TO_HEAD("Head-to-head"),
+        POINT_DIFFERENTIAL("Point differential"),
+        STRENGTH_OF_SCHEDULE("Strength of schedule");
+
+        private final String label;
+
+        Tiebreaker(String label) { this.label = label; }
+
+        @Override
+        public String toString() { return label; }
+    }
+
+    /** Wins, then fewer losses: the order the league has always used. */
+    public static final List<Tiebreaker> DEFAULT_RULES =
+            List.of(Tiebreaker.WINS, Tiebreaker.FEWER_LOSSES);
+
+    private final Standings standings;
+    private final int standingsVersion;
+    private final List<Tiebreaker> rules;
+
+    private final List<Standings.Row> rows;          // rank order
+    private final Map<String, Integer> rankByTeam;   // 1 = first
+    private final Map<String, Double> scheduleStrength;
+
+    private Ranking(Standings standings, int standingsVersion, List<Tiebreaker> rules,
+                    List<Standings.Row> rows, Map<String, Double> scheduleStrength) {
+        this.standings = standings;
+        this.standingsVersion = standingsVersion;
+        this.rules = rules;
+        this.rows = Collections.unmodifiableList(rows);
+        this.scheduleStrength = scheduleStrength;
+        this.rankByTeam = new HashMap<>(rows.size() * 2);
+        for (int i = 0; i < rows.size(); i++) {
+            rankByTeam.put(rows.get(i).getTeamName(), i + 1);
+        }
+    }
+
+    /** Ranks the league's current standings by the given rules. */
+    static Ranking compute(League league, Standings standings, List<Tiebreaker> rules) {
+        List<Standings.Row> byRecord = standings.getRows();
+        int version = standings.getVersion();
+        int n = byRecord.size();
+
+        // Per-team inputs, indexed by position in the standings; games
+        // are matched to it by team id (-1 = not in the standings)
+        TeamSymbols symbols = league.getSymbols();
+        // (find, not idOf: a ranking only reads, so no name is added to the symbols)
+        int[] teamIndex = new int[symbols.size()];
+        Arrays.fill(teamIndex, -1);
+        for (int i = 0; i < n; i++) {
+            int id = symbols.find(byRecord.get(i).getTeamName());
+            if (id >= 0) teamIndex[id] = i;
+        }
+
+        int[] h2h = null;             // h2h[i * n + j] = wins of i over j
+        double[] sos = null;
+        if (rules.contains(Tiebreaker.HEAD_TO_HEAD) || rules.contains(Tiebreaker.STRENGTH_OF_SCHEDULE)) {
+            h2h = new int[n * n];
+            long[] oppWins = new long[n];
+            long[] oppGames = new long[n];
+            for (Game g : league.getGames()) {
+                if (!g.hasResult()) continue;
+                int w = teamIndex[g.getWinnerId()];
+                int l = teamIndex[g.getLoserId()];
+                if (w < 0 || l < 0) continue;
+                h2h[w * n + l]++;
+                Standings.Row wr = byRecord.get(w), lr = byRecord.get(l);
+                oppWins[w] += lr.getWins();
+                oppGames[w] += lr.getGamesPlayed();
+                oppWins[l] += wr.getWins();
+                oppGames[l] += wr.getGamesPlayed();
+            }
+            sos = new double[n];
+            for (int i = 0; i < n; i++) {
+                sos[i] = (oppGames[i] == 0) ? 0.0 : (double) oppWins[i] / oppGames[i];
+            }
+        }
+
+        double[][] keys = new double[rules.size()][];
+        for (int k = 0; k < rules.size(); k++) {
+            keys[k] = key(rules.get(k), byRecord, sos);
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        new Sorter(rules, keys, h2h, n, order).rank(0, n, 0);
+
+        List<Standings.Row> ranked = new ArrayList<>(n);
+        for (int i : order) ranked.add(byRecord.get(i));
+
+        Map<String, Double> strength = new HashMap<>(n * 2);
+        if (sos != null) {
+            for (int i = 0; i < n; i++) strength.put(byRecord.get(i).getTeamName(), sos[i]);
+        }
+        return new Ranking(standings, version, List.copyOf(rules), ranked, strength);
+    }
+
+    /** One value per team for a rule, higher is better; null for head-to-head. */
+    private static double[] key(Tiebreaker rule, List<Standings.Row> rows, double[] sos) {
+        if (rule == Tiebreaker.HEAD_TO_HEAD) return null;
+        if (rule == Tiebreaker.STRENGTH_OF_SCHEDULE) return sos;
+        double[] key = new double[rows.size()];
+        for (int i = 0; i < key.length; i++) {
+            Standings.Row r = rows.get(i);
+            switch (rule) {
+                case WINS:               key[i] = r.getWins(); break;
+                case FEWER_LOSSES:       key[i] = -r.getLosses(); break;
+                case WIN_PERCENT:        key[i] = r.getWinPercent(); break;
+                case POINT_DIFFERENTIAL: key[i] = r.getPointsFor() - r.getPointsAgainst(); break;
+                default: break;
+            }
+        }
+        return key;
+    }
+
+    /** Sorts team indexes group by group, one rule per level. */
+    private static final class Sorter {
+        private final List<Tiebreaker> rules;
+        private final double[][] keys;
+        private final int[] h2h;
+        private final int n;
+        private final int[] order;
+        private final double[] groupKey;
+
+        Sorter(List<Tiebreaker> rules, double[][] keys, int[] h2h, int n, int[] order) {
+            this.rules = rules;
+            this.keys = keys;
+            this.h2h = h2h;
+            this.n = n;
+            this.order = order;
+            this.groupKey = new double[n];
+        }
+
+        /** Orders order[from, to) by rule level, then each tie by the rules after it. */
+        void rank(int from, int to, int level) {
+            if (to - from < 2 || level == rules.size()) return;
+
+            double[] key = keys[level];
+            if (key == null) {
+                // Head-to-head: win % in games among this group only;
+                // a team that met none of the others stays neutral
+                key = groupKey;
+                for (int a = from; a < to; a++) {
+                    int i = order[a], won = 0, lost = 0;
+                    for (int b = from; b < to; b++) {
+                        int j = order[b];
+                        won += h2h[i * n + j];
+                        lost += h2h[j * n + i];
+                    }
+                    key[i] = (won + lost == 0) ? 0.5 : (double) won / (won + lost);
+                }
+            }
+
+            // Insertion sort: stable, and a league has tens of teams
+            for (int a = from + 1; a < to; a++) {
+                int t = order[a];
+                int b = a - 1;
+                while (b >= from && key[order[b]] < key[t]) {
+                    order[b + 1] = order[b];
+                    b--;
+                }
+                order[b + 1] = t;
+            }
+
+            // Next rule inside each run of equal values; key is copied out
+            // first because a deeper head-to-head reuses groupKey
+            double[] sorted = new double[to - from];
+            for (int a = from; a < to; a++) sorted[a - from] = key[order[a]];
+            int start = from;
+            for (int a = from + 1; a <= to; a++) {
+                if (a == to || sorted[a - from] != sorted[start - from]) {
+                    rank(start, a, level + 1);
+                    start = a;
+                }
+            }
+        }
+    }
+
+    // ---------- Reads ----------
+
+    /** True if this is still the ranking of those standings under those rules. */
+    boolean isCurrent(Standings s, List<Tiebreaker> rules) {
+        return s == standings && s.getVersion() == standingsVersion && this.rules.equals(rules);
+    }
+
+    public List<Tiebreaker> getRules() {
+        return rules;
+    }
+
+    /** Every team's standings row, first place first. */
+    public List<Standings.Row> getRows() {
+        return rows;
+    }
+
+    /** The first n rows (fewer if the league is smaller). */
+    public List<Standings.Row> getTop(int n) {
+        return rows.subList(0, Math.min(n, rows.size()));
+    }
+
+    /** The team's place (1 = first), or 0 if it is not ranked. */
+    public int getRank(String teamName) {
+        return rankByTeam.getOrDefault(teamName, 0);
+    }
+
+    /**
+     * Combined win % (0–1) of the opponents the team has played, counted
+     * once per game; null if no rule needed it.
+     */
+    public Double getStrengthOfSchedule(String teamName) {
+        return scheduleStrength.get(teamName);
+    }
+}
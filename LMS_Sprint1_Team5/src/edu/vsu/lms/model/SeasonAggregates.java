@@ -0,0 +1,221 @@
+package edu.vsu.lms.model;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * SeasonAggregates
+ * ----------------
+ * Running season totals for one league's regular-season games, so the
+ * stats screens read a few map entries instead of walking every game and
+ * every player.
+ *
+ * Kept per player (all games), per player within a team's games (the
+ * team stats and power rankings views), and per team as the set of games
+ * in which one of its players did something. A line "played" if it has
+ * any attempt, assist or foul, same rule the stats screens always used.
+ *
+ * GameStatsController builds one per league on first use and then feeds
+ * it every stat line change; an archived season builds one once from its
+ * StatsArchive.
+ */
+public class SeasonAggregates {
+
+    // Counter order, same as PlayerGameStats.getCounters()
+    static final int FT_ATT = 0, FT_MADE = 1, TWO_ATT = 2, TWO_MADE = 3,
+                     THREE_ATT = 4, THREE_MADE = 5, ASSISTS = 6, FOULS = 7;
+    private static final int COUNTERS = 8;
+
+    /** Totals over some set of stat lines. */
+    public static final class Totals {
+        private final int[] c = new int[COUNTERS];
+        private int games;
+
+        /** Games in which the player (or one of the team's players) played. */
+        public int getGamesPlayed()        { return games; }
+        public int getFreeThrowsAttempted(){ return c[FT_ATT]; }
+        public int getFreeThrowsMade()     { return c[FT_MADE]; }
+        public int getTwoPointersAttempted() { return c[TWO_ATT]; }
+        public int getTwoPointersMade()    { return c[TWO_MADE]; }
+        public int getThreePointersAttempted() { return c[THREE_ATT]; }
+        public int getThreePointersMade()  { return c[THREE_MADE]; }
+        public int getAssists()            { return c[ASSISTS]; }
+        public int getFouls()              { return c[FOULS]; }
+
+        public int getTotalPoints() {
+            return c[FT_MADE] + 2 * c[TWO_MADE] + 3 * c[THREE_MADE];
+        }
+
+        /** Adds other's counters (not its games) to these totals. */
+        public void addCounters(Totals other) {
+            if (this == NONE) {
+                throw new UnsupportedOperationException("The shared zero totals cannot be changed");
+            }
+            for (int i = 0; i < COUNTERS; i++) c[i] += other.c[i];
+        }
+
+        private void add(int[] counters, int sign) {
+            for (int i = 0; i < COUNTERS; i++) c[i] += sign * counters[i];
+            if (played(counters)) games += sign;
+        }
+    }
+
+    // Shared answer for "nothing recorded"; never changed
+    private static final Totals NONE = new Totals();
+
+    private final int scheduleVersion;
+    private final Set<Game> season;
+
+    // Identity maps: a player or game gets its id (and could compare equal
+    // by it) only once registered, which may happen after it is put here
+    private final Map<Player, Totals> byPlayer = new IdentityHashMap<>();
+    private final Map<String, Map<Player, Totals>> byTeamPlayer = new HashMap<>();
+    // team -> game -> number of played lines credited to that team
+    private final Map<String, Map<Game, int[]>> teamGames = new HashMap<>();
+
+    private SeasonAggregates(Collection<Game> games, int scheduleVersion) {
+        this.scheduleVersion = scheduleVersion;
+        this.season = Collections.newSetFromMap(new IdentityHashMap<>(games.size()));
+        season.addAll(games);
+    }
+
+    /**
+     * Totals for every line of the given games.
+     *
+     * @param scheduleVersion League.getScheduleVersion() the games were taken at
+     */
+    public static SeasonAggregates build(Collection<Game> games,
+                                         Function<Game, ? extends GameStatsView> stats,
+                                         int scheduleVersion) {
+        SeasonAggregates agg = new SeasonAggregates(games, scheduleVersion);
+        for (Game g : games) {
+            GameStatsView gs = stats.apply(g);
+            if (gs == null) continue;
+            for (PlayerGameStats line : gs.getAllPlayerStats()) {
+                agg.apply(g, line.getPlayer(), line.getCounters(),
+                        gs.getTeamNameForPlayer(line.getPlayer()), 1);
+            }
+        }
+        return agg;
+    }
+
+    /**
+     * Totals for every line of the given games, read straight out of the
+     * league's StatsTable in one pass over its rows.
+     *
+     * @param table           the league's lines; null if it has none yet
+     * @param scheduleVersion League.getScheduleVersion() the games were taken at
+     */
+    public static SeasonAggregates build(StatsTable table, Collection<Game> games, int scheduleVersion) {
+        SeasonAggregates agg = new SeasonAggregates(games, scheduleVersion);
+        if (table == null) return agg;
+
+        IntMap<Game> byId = new IntMap<>(games.size());
+        for (Game g : games) byId.put(g.getId(), g);
+
+        int[] counters = new int[COUNTERS];
+        for (int row = 0, n = table.highWater(); row < n; row++) {
+            int gameId = table.gameIdAt(row);
+            if (gameId == 0) continue; // free row
+            Game g = byId.get(gameId);
+            if (g == null) continue;   // playoff game, or not in this season
+            table.read(row, counters);
+            agg.apply(g, table.playerAt(row), counters, table.teamAt(row), 1);
+        }
+        return agg;
+    }
+
+    /** The shared, unchangeable all-zero Totals. */
+    public static Totals zero() {
+        return NONE;
+    }
+
+    /**
+     * Totals of some stat lines of one game (e.g. one team's box score);
+     * games played is 1 if any of them played. No lines gives zero().
+     */
+    public static Totals ofGame(Collection<PlayerGameStats> lines) {
+        if (lines.isEmpty()) return NONE;
+        Totals t = new Totals();
+        for (PlayerGameStats line : lines) {
+            int[] c = line.getCounters();
+            for (int i = 0; i < COUNTERS; i++) t.c[i] += c[i];
+        }
+        t.games = played(t.c) ? 1 : 0;
+        return t;
+    }
+
+    public int getScheduleVersion() {
+        return scheduleVersion;
+    }
+
+    /** True if lines of this game are part of these totals. */
+    public boolean covers(Game g) {
+        return season.contains(g);
+    }
+
+    /** A line of game g changed from (before, teamBefore) to (after, teamAfter). */
+    public void update(Game g, Player player, int[] before, String teamBefore,
+                       int[] after, String teamAfter) {
+        if (!covers(g)) return;
+        apply(g, player, before, teamBefore, -1);
+        apply(g, player, after, teamAfter, 1);
+    }
+
+    /** A line of game g is gone. */
+    public void remove(Game g, Player player, int[] counters, String team) {
+        if (covers(g)) {
+            apply(g, player, counters, team, -1);
+        }
+    }
+
+    // ---------- Reads ----------
+
+    /** The player's totals over all season games. */
+    public Totals getPlayerTotals(Player player) {
+        return byPlayer.getOrDefault(player, NONE);
+    }
+
+    /** The player's totals over the games the team played in. */
+    public Totals getPlayerTotals(String teamName, Player player) {
+        Map<Player, Totals> m = byTeamPlayer.get(teamName);
+        return (m == null) ? NONE : m.getOrDefault(player, NONE);
+    }
+
+    /** Games of this team in which at least one of its players played. */
+    public int getTeamGamesWithStats(String teamName) {
+        Map<Game, int[]> m = teamGames.get(teamName);
+        return (m == null) ? 0 : m.size();
+    }
+
+    // ---------- Internals ----------
+
+    private void apply(Game g, Player player, int[] counters, String team, int sign) {
+        byPlayer.computeIfAbsent(player, k -> new Totals()).add(counters, sign);
+
+        // A line counts toward both sides' "player within team games" totals,
+        // so a player's row does not depend on which side they were listed for
+        String home = g.getHomeTeam();
+        String away = g.getAwayTeam();
+        teamTotals(home, player).add(counters, sign);
+        if (!away.equals(home)) {
+            teamTotals(away, player).add(counters, sign);
+        }
+
+        if (team != null && played(counters) && (team.equals(home) || team.equals(away))) {
+            Map<Game, int[]> games = teamGames.computeIfAbsent(team, k -> new IdentityHashMap<>());
+            int[] n = games.computeIfAbsent(g, k -> new int[1]);
+            n[0] += sign;
+            if (n[0] <= 0) games.remove(g);
+        }
+    }
+
+    private Totals teamTotals(String team, Player player) {
+        return byTeamPlayer.computeIfAbsent(team, k -> new IdentityHashMap<>())
+                .computeIfAbsent(player, k -> new Totals());
+    }
+
+    private static boolean played(int[] c) {
+        return c[FT_ATT] + c[TWO_ATT] + c[THREE_ATT] + c[ASSISTS] + c[FOULS] > 0;
+    }
+}
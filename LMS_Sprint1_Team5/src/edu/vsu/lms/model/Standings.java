@@ -0,0 +1,273 @@
+package edu.vsu.lms.model;
+
+import java.util.*;
+
+/**
+ * Standings
+ * ---------
+ * A league's regular-season standings, kept up to date one result at a
+ * time instead of being rebuilt from every game on each read.
+ *
+ * Game.setResult / clearResult report each change (first result,
+ * correction or reversal) through League to resultChanged(), which takes
+ * the old result back out and puts the new one in. Playoff games are not
+ * part of the standings.
+ *
+ * Rows stay sorted by record (wins DESC, losses ASC, name ASC ignoring
+ * case), so the top N and a team's place are read without sorting. The
+ * league's tiebreaker rules are applied on top of this order by Ranking
+ * (see League.getRanking()). Every change is also
+ * written through to the Team's W/L, which is therefore always the
+ * regular-season record.
+ */
+public class Standings {
+
+    /** One team's line in the standings. */
+    public static final class Row {
+        private final String teamName;
+        private int wins;
+        private int losses;
+        private int pointsFor;
+        private int pointsAgainst;
+        private int index; // position in the sorted list
+
+        private Row(String teamName) {
+            this.teamName = teamName;
+        }
+
+        public String getTeamName()   { return teamName; }
+        public int getWins()          { return wins; }
+        public int getLosses()        { return losses; }
+        public int getGamesPlayed()   { return wins + losses; }
+        public int getPointsFor()     { return pointsFor; }
+        public int getPointsAgainst() { return pointsAgainst; }
+
+        /** Place by record alone, 1 for the leader (see Ranking for the league's order). */
+        public int getRank()          { return index + 1; }
+
+        public int getPointDifferential() { return pointsFor - pointsAgainst; }
+
+        /** Win percentage, 0–100 (0 with no games played). */
+        public double getWinPercent() {
+            int games = wins + losses;
+            return (games == 0) ? 0.0 : wins * 100.0 / games;
+        }
+    }
+
+    static final Comparator<Row> ORDER = Comparator
+            .comparingInt((Row r) -> -r.wins)
+            .thenComparingInt(r -> r.losses)
+            .thenComparing(r -> r.teamName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(r -> r.teamName);
+
+    private final League league;
+    private final Map<String, Row> byTeam = new HashMap<>();
+    private final List<Row> order = new ArrayList<>();
+    private boolean sorted;     // false while build() is filling the rows
+    private int version;
+
+    private Standings(League league) {
+        this.league = league;
+    }
+
+    /** Standings of the league's current regular-season results. */
+    static Standings build(League league) {
+        return build(league, true);
+    }
+
+    /**
+     * @param reportCorrections log when a Team's stored W/L did not match
+     *                          (off when a new result is the reason)
+     */
+    static Standings build(League league, boolean reportCorrections) {
+        Standings s = new Standings(league);
+        for (String name : league.getTeams().keySet()) s.row(name);
+        for (Game g : league.getGames()) {
+            if (g.hasResult()) s.apply(g.getWinner(), g.getLoser(), g.getWinningScore(), g.getLosingScore(), 1);
+        }
+        s.order.addAll(s.byTeam.values());
+        s.order.sort(ORDER);
+        for (int i = 0; i < s.order.size(); i++) s.order.get(i).index = i;
+        s.sorted = true;
+
+        int corrected = 0;
+        for (Row r : s.order) {
+            if (s.writeThrough(r)) corrected++;
+        }
+        if (corrected > 0 && reportCorrections) {
+            System.out.println("ℹ️ " + league.getName() + ": W/L of " + corrected
+                    + " team(s) recomputed from regular-season results.");
+        }
+        return s;
+    }
+
+    // ---------- Updates ----------
+
+    /**
+     * A regular-season game's result changed.
+     *
+     * @param oldWinner winner before the change, null if it had no result
+     */
+    void resultChanged(Game g, String oldWinner, int oldHomeScore, int oldAwayScore) {
+        // Net change per team: {wins, losses, points for, points against}
+        Map<String, int[]> delta = new LinkedHashMap<>(4);
+        if (oldWinner != null) {
+            boolean homeWon = oldWinner.equals(g.getHomeTeam());
+            String oldLoser = homeWon ? g.getAwayTeam() : g.getHomeTeam();
+            int oldWin = homeWon ? oldHomeScore : oldAwayScore;
+            int oldLose = homeWon ? oldAwayScore : oldHomeScore;
+            add(delta, oldWinner, oldLoser, oldWin, oldLose, -1);
+        }
+        if (g.hasResult()) {
+            add(delta, g.getWinner(), g.getLoser(), g.getWinningScore(), g.getLosingScore(), 1);
+        }
+
+        // One row at a time, so each reposition starts from a sorted list
+        for (Map.Entry<String, int[]> e : delta.entrySet()) {
+            int[] d = e.getValue();
+            if (d[0] == 0 && d[1] == 0 && d[2] == 0 && d[3] == 0) continue;
+            Row r = row(e.getKey());
+            r.wins += d[0];
+            r.losses += d[1];
+            r.pointsFor += d[2];
+            r.pointsAgainst += d[3];
+            reposition(r);
+            writeThrough(r);
+        }
+        version++;
+    }
+
+    private static void add(Map<String, int[]> delta, String winner, String loser,
+                            int winScore, int loseScore, int sign) {
+        int[] w = delta.computeIfAbsent(winner, k -> new int[4]);
+        w[0] += sign;
+        w[2] += sign * winScore;
+        w[3] += sign * loseScore;
+        int[] l = delta.computeIfAbsent(loser, k -> new int[4]);
+        l[1] += sign;
+        l[2] += sign * loseScore;
+        l[3] += sign * winScore;
+    }
+
+    /** A game with a result joined the schedule. */
+    void gameAdded(Game g) {
+        if (g.hasResult()) resultChanged(g, null, 0, 0);
+    }
+
+    // ---------- Reads ----------
+
+    /** All rows, leader first. Teams with no games are listed at 0–0. */
+    public List<Row> getRows() {
+        syncTeams();
+        return Collections.unmodifiableList(order);
+    }
+
+    /** The first n rows (fewer if the league is smaller). */
+    public List<Row> getTop(int n) {
+        List<Row> rows = getRows();
+        return rows.subList(0, Math.min(n, rows.size()));
+    }
+
+    /** The team's row, or null if it is neither in the league nor in any result. */
+    public Row getRow(String teamName) {
+        syncTeams();
+        return byTeam.get(teamName);
+    }
+
+    /** The team's place by record (1 = leader), or 0 if unknown. */
+    public int getRank(String teamName) {
+        Row r = getRow(teamName);
+        return (r == null) ? 0 : r.getRank();
+    }
+
+    /** Changes on every result or team change; lets readers cache derived orderings. */
+    public int getVersion() {
+        syncTeams();
+        return version;
+    }
+
+    // ---------- Internals ----------
+
+    private void apply(String winner, String loser, int winScore, int loseScore, int sign) {
+        Row w = row(winner);
+        Row l = row(loser);
+        w.wins += sign;
+        w.pointsFor += sign * winScore;
+        w.pointsAgainst += sign * loseScore;
+        l.losses += sign;
+        l.pointsFor += sign * loseScore;
+        l.pointsAgainst += sign * winScore;
+    }
+
+    private Row row(String teamName) {
+        Row r = byTeam.get(teamName);
+        if (r == null) {
+            r = new Row(teamName);
+            byTeam.put(teamName, r);
+            if (sorted) {
+                // Joining an already sorted list: start at the bottom and move up
+                r.index = order.size();
+                order.add(r);
+                reposition(r);
+            }
+        }
+        return r;
+    }
+
+    /** Moves a row to its place after its record changed; ranks between are renumbered. */
+    private void reposition(Row r) {
+        if (r == null || order.isEmpty()) return;
+        int i = r.index;
+        while (i > 0 && ORDER.compare(r, order.get(i - 1)) < 0) {
+            Row prev = order.get(i - 1);
+            order.set(i, prev);
+            prev.index = i;
+            i--;
+        }
+        while (i < order.size() - 1 && ORDER.compare(r, order.get(i + 1)) > 0) {
+            Row next = order.get(i + 1);
+            order.set(i, next);
+            next.index = i;
+            i++;
+        }
+        order.set(i, r);
+        r.index = i;
+    }
+
+    /**
+     * Teams can be added to or removed from the league map directly; bring
+     * the rows in line before a read (new teams at 0–0, removed teams
+     * dropped unless they still have results). Synchronized, as threads
+     * reading the league together (League.read) may get here together.
+     */
+    private synchronized void syncTeams() {
+        Map<String, Team> teams = league.getTeams();
+        boolean changed = false;
+        for (String name : teams.keySet()) {
+            if (!byTeam.containsKey(name)) {
+                row(name);
+                writeThrough(byTeam.get(name));
+                changed = true;
+            }
+        }
+        if (byTeam.size() > teams.size() || changed) {
+            for (Iterator<Row> it = order.iterator(); it.hasNext(); ) {
+                Row r = it.next();
+                if (!teams.containsKey(r.teamName) && r.getGamesPlayed() == 0) {
+                    it.remove();
+                    byTeam.remove(r.teamName);
+                }
+            }
+            for (int i = 0; i < order.size(); i++) order.get(i).index = i;
+            version++;
+        }
+    }
+
+    /** Copies the row's record to its Team; true if that changed the Team. */
+    private boolean writeThrough(Row r) {
+        Team t = league.getTeams().get(r.teamName);
+        if (t == null || (t.getWins() == r.wins && t.getLosses() == r.losses)) return false;
+        t.restoreRecord(r.wins, r.losses);
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+package edu.vsu.lms.model;
+
+import java.util.*;
+
+/**
+ * StatsTable
+ * ----------
+ * One league's live stat lines, stored by column: one int[] per counter,
+ * indexed by a row id that stands for one player in one game. Same layout
+ * as a StatsArchive file, but growable and editable.
+ *
+ * A row costs a few array slots instead of a PlayerGameStats object plus
+ * map entries, and a season scan is a loop over a handful of int arrays.
+ * GameStats remembers which rows belong to its game; the PlayerGameStats
+ * it hands out are views onto a row.
+ *
+ * Rows of removed lines are reused by later lines. A row's team is an id
+ * in the league's TeamSymbols, so a renamed team needs no change here.
+ */
+public final class StatsTable {
+
+    // Counter columns, in PlayerGameStats.getCounters() order
+    static final int COUNTERS = 8;
+
+    private final int[][] counters = new int[COUNTERS][];
+    private int[] gameId;       // 0 = free row
+    private int[] playerId;
+    private Player[] players;
+    private int[] team;         // id in symbols, TeamSymbols.NONE = none
+
+    private final TeamSymbols symbols;
+
+    private int highWater;      // rows [0, highWater) have been handed out
+    private int[] free = new int[16];
+    private int freeCount;
+
+    // Game id -> stats of that game
+    private final IntMap<GameStats> games = new IntMap<>(256);
+
+    /** A table with team ids of its own (not tied to a league). */
+    public StatsTable() {
+        this(new TeamSymbols(), 64);
+    }
+
+    public StatsTable(int expectedRows) {
+        this(new TeamSymbols(), expectedRows);
+    }
+
+    /** A league's table; rows share the league's team ids. */
+    public StatsTable(TeamSymbols symbols, int expectedRows) {
+        this.symbols = symbols;
+        int cap = Math.max(16, expectedRows);
+        for (int c = 0; c < COUNTERS; c++) counters[c] = new int[cap];
+        gameId = new int[cap];
+        playerId = new int[cap];
+        players = new Player[cap];
+        team = new int[cap];
+    }
+
+    // ---------- Games ----------
+
+    public GameStats getGameStats(int gameId) {
+        return games.get(gameId);
+    }
+
+    public void putGameStats(GameStats gs) {
+        games.put(gs.getGame().getId(), gs);
+    }
+
+    /** Drops a game's stats and frees its rows. */
+    public GameStats removeGameStats(int gameId) {
+        GameStats gs = games.remove(gameId);
+        if (gs != null) gs.releaseRows();
+        return gs;
+    }
+
+    /** Live view of the stats of every game with stats. */
+    public Collection<GameStats> gameStats() {
+        return games.values();
+    }
+
+    public boolean isEmpty() {
+        return games.isEmpty();
+    }
+
+    /** Number of stat lines stored. */
+    public int getRowCount() {
+        return highWater - freeCount;
+    }
+
+    // ---------- Rows ----------
+
+    int addRow(int game, Player player) {
+        int row;
+        if (freeCount > 0) {
+            row = free[--freeCount];
+        } else {
+            if (highWater == gameId.length) grow();
+            row = highWater++;
+        }
+        for (int c = 0; c < COUNTERS; c++) counters[c][row] = 0;
+        gameId[row] = game;
+        playerId[row] = player.getId();
+        players[row] = player;
+        team[row] = TeamSymbols.NONE;
+        return row;
+    }
+
+    void removeRow(int row) {
+        gameId[row] = 0;
+        players[row] = null;
+        if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = row;
+    }
+
+    int get(int counter, int row) {
+        return counters[counter][row];
+    }
+
+    void set(int counter, int row, int value) {
+        counters[counter][row] = value;
+    }
+
+    /** Copies a row's counters into out (length COUNTERS). */
+    void read(int row, int[] out) {
+        for (int c = 0; c < COUNTERS; c++) out[c] = counters[c][row];
+    }
+
+    boolean isEmptyRow(int row) {
+        for (int c = 0; c < COUNTERS; c++) {
+            if (counters[c][row] != 0) return false;
+        }
+        return true;
+    }
+
+    int gameIdAt(int row)     { return gameId[row]; }
+    int playerIdAt(int row)   { return playerId[row]; }
+    Player playerAt(int row)  { return players[row]; }
+
+    TeamSymbols symbols()     { return symbols; }
+    int teamIdAt(int row)     { return team[row]; }
+
+    String teamAt(int row) {
+        return symbols.nameOf(team[row]);
+    }
+
+    void setTeam(int row, String teamName) {
+        team[row] = symbols.idOf(teamName);
+    }
+
+    int highWater() {
+        return highWater;
+    }
+
+    private void grow() {
+        int cap = gameId.length + (gameId.length >> 1);
+        for (int c = 0; c < COUNTERS; c++) counters[c] = Arrays.copyOf(counters[c], cap);
+        gameId = Arrays.copyOf(gameId, cap);
+        playerId = Arrays.copyOf(playerId, cap);
+        players = Arrays.copyOf(players, cap);
+        team = Arrays.copyOf(team, cap);
+    }
+}
@@ -6,7 +6,7 @@ import java.util.*;
 public class Team implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    private final String name;
+    private String name;   // changed only by League.renameTeam
     private int wins = 0;
     private int losses = 0;
     private final Map<Integer, Player> players = new HashMap<>();
@@ -16,12 +16,22 @@ public class Team implements Serializable {
     }
 
     public String getName() { return name; }
+
+    void rename(String newName) {
+        this.name = newName;
+    }
     public int getWins() { return wins; }
     public int getLosses() { return losses; }
 
     public void addWin() { wins++; }
     public void addLoss() { losses++; }
 
+    /** Sets the W/L record directly; used when restoring a saved snapshot. */
+    public void restoreRecord(int wins, int losses) {
+        this.wins = wins;
+        this.losses = losses;
+    }
+
     // ✅ Add player safely (prevents duplicate numbers)
     public boolean addPlayer(Player p) {
         if (p == null || players.containsKey(p.getNumber())) {
@@ -0,0 +1,114 @@
+package edu.vsu.lms.model;
+
+import java.util.*;
+
+/**
+ * TeamSymbols
+ * -----------
+ * One league's team names as small int ids. Games and stat rows hold the
+ * id, so comparing two teams is an int compare, every game of a team
+ * shares one String, and renaming a team is one update here.
+ *
+ * Ids 1 and 2 are the bracket placeholders "TBD" and "BYE" in every
+ * table; 0 stands for no team (null). Ids are never reused.
+ *
+ * Never serialized: saves keep the names, and the table is filled again
+ * as games are registered with their league. A game not registered yet
+ * has a small table of its own (forUnregisteredGame).
+ */
+public final class TeamSymbols {
+
+    public static final int NONE = 0;
+    public static final int TBD = 1;
+    public static final int BYE = 2;
+
+    // Written under the lock and republished after every change, so
+    // nameOf() (the hot path: every Game getter) reads without locking
+    private volatile String[] names;
+    private int size = NONE + 1;
+    private final Map<String, Integer> ids;
+
+    public TeamSymbols() {
+        this(16);
+    }
+
+    private TeamSymbols(int capacity) {
+        names = new String[capacity];
+        ids = new HashMap<>(capacity * 2);
+        add("TBD");
+        add("BYE");
+    }
+
+    /**
+     * A table for one game not yet registered with a league (at most its
+     * three names). League.register moves the game over to the league's
+     * own table and this one goes with the garbage, so names of games that
+     * are never registered do not pile up anywhere.
+     */
+    static TeamSymbols forUnregisteredGame() {
+        return new TeamSymbols(6);
+    }
+
+    private void add(String name) {
+        String[] n = (size == names.length) ? Arrays.copyOf(names, size * 2) : names;
+        n[size] = name;
+        ids.put(name, size);
+        size++;
+        names = n;
+    }
+
+    /** The name's id, handing out a new one for a name not seen before. 0 for null. */
+    public synchronized int idOf(String name) {
+        if (name == null) return NONE;
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        add(name);
+        return size - 1;
+    }
+
+    /** The name's id, or -1 if it has none (nothing is added). 0 for null. */
+    public synchronized int find(String name) {
+        if (name == null) return NONE;
+        Integer id = ids.get(name);
+        return (id == null) ? -1 : id;
+    }
+
+    /** The name behind an id; null for NONE. */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Gives an id a new name. Fails if the id is a placeholder or the new
+     * name already has an id of its own; release() that one first if
+     * nothing refers to it any more.
+     */
+    public synchronized void rename(int id, String newName) {
+        if (id <= BYE || id >= size) {
+            throw new IllegalArgumentException("Not a team id: " + id);
+        }
+        if (newName == null || ids.containsKey(newName)) {
+            throw new IllegalArgumentException("Team name already in use: " + newName);
+        }
+        String[] n = names;
+        ids.remove(n[id]);
+        n[id] = newName;
+        ids.put(newName, id);
+        names = n;
+    }
+
+    /**
+     * Unbinds a name from its id, so the name can be given to another id
+     * (e.g. a deleted team's name, once none of its games are left). The
+     * id keeps showing the old name and is not handed out again.
+     */
+    public synchronized void release(String name) {
+        Integer id = ids.get(name);
+        if (id != null && id > BYE) ids.remove(name);
+    }
+
+    /** Number of ids handed out, NONE and the placeholders included. */
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -1,7 +1,12 @@
 package edu.vsu.lms.persistence;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import edu.vsu.lms.model.*;
 import edu.vsu.lms.util.Passwords;
 import edu.vsu.lms.controller.GameStatsController;
@@ -10,25 +15,76 @@ public class AppState implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // Segmented store: manifest + one segment per league (see LeagueStore)
+    private static final String STORE_DIR =
+            System.getProperty("user.dir") + File.separator + "appstate.d";
+
+    // Completed seasons, one memory-mapped StatsArchive file each
+    private static final String ARCHIVE_DIR = STORE_DIR + File.separator + "archive";
+
+    // Single-file snapshot used before the store was segmented; migrated on load
     private static final String SAVE_FILE =
             System.getProperty("user.dir") + File.separator + "appstate.ser";
 
+    // Write-ahead journal of small mutations, folded into the store by save()
+    private static final String JOURNAL_FILE =
+            System.getProperty("user.dir") + File.separator + "appstate.journal";
+
+    // Compact (full save + truncate journal) once this many records pile up
+    private static final int COMPACT_EVERY = 500;
+
+    // Background saver: coalesce bursts, but never sit on a change for long
+    private static final long SAVE_DEBOUNCE_MS = 300;
+    private static final long SAVE_MAX_LATENCY_MS = 2000;
+
     private static final AppState INSTANCE = load();
     public static AppState getInstance() { return INSTANCE; }
 
-    private final Map<String, User> users = new HashMap<>();
+    // Concurrent: the saver writes users out while the EDT edits them.
+    // Leagues have locks of their own (League.read / write)
+    private Map<String, User> users = new ConcurrentHashMap<>();
     public Map<String, User> getUsers() { return users; }
 
-    private final Map<String, League> leagues = new HashMap<>();
+    // A LeagueStore at runtime; a plain HashMap only inside old Java-serialized saves
+    private Map<String, League> leagues;
+    private transient LeagueStore store;
     public Map<String, League> getLeagues() { return leagues; }
 
+    /** Changes whenever a league is added, replaced or removed (LeagueStore.getListVersion). */
+    public long getLeagueListVersion() { return store.getListVersion(); }
+
     // ⚠️ CHANGED: remove 'final' so we can repair it after deserialization
     private GameStatsController gameStatsController = new GameStatsController();
     public GameStatsController getGameStatsController() { return gameStatsController; }
 
-    private AppState() {
+    // Highest journal sequence number already folded into this snapshot
+    private volatile long journalSeq;
+
+    private transient Journal journal;
+    // A change only a snapshot holds (see saveStructuralChange) is not on disk yet
+    private transient boolean structureUnsaved;
+    private transient SaveScheduler saver;
+    private transient Map<Path, StatsArchive> openArchives;
+
+    // package-private: SnapshotReader builds instances when loading
+    AppState() {
+        store = new LeagueStore(this, Paths.get(STORE_DIR));
+        leagues = store;
     }
 
+    /** Old Java-serialized saves bring their leagues as a HashMap; move them into a store. */
+    private void adoptLegacyLeagues() {
+        Map<String, League> legacy = leagues;
+        store = new LeagueStore(this, Paths.get(STORE_DIR));
+        leagues = store;
+        if (legacy != null) {
+            store.putAll(legacy);
+        }
+    }
+
+    long getJournalSeq() { return journalSeq; }
+    void setJournalSeq(long seq) { this.journalSeq = seq; }
+
     public void seedDefaults() {
         if (users.isEmpty()) {
             // Default admin: id=admin, password=Admin!1 (meets policy)
@@ -44,40 +100,500 @@ public class AppState implements Serializable {
     }
 
     public String getOrInitDefaultLeague() {
-        leagues.putIfAbsent("Default League", new League("Default League"));
+        if (!leagues.containsKey("Default League")) {
+            leagues.put("Default League", new League("Default League"));
+            record(JournalRecord.createLeague("Default League"));
+        }
         return "Default League";
     }
 
-    public void save() {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(SAVE_FILE))) {
-            out.writeObject(this);
-            System.out.println("✅ Saved " + users.size() + " users and " + leagues.size() + " leagues to " + SAVE_FILE);
+    // ---------- Season archives ----------
+
+    /**
+     * Archived seasons of a league, oldest first. Each archive is mapped on
+     * first use; only its dictionary (teams, players, games) is on the heap.
+     */
+    public synchronized List<StatsArchive> getArchivedSeasons(String leagueName) {
+        if (openArchives == null) openArchives = new HashMap<>();
+        List<StatsArchive> seasons = new ArrayList<>();
+        for (Path file : StatsArchive.filesFor(Paths.get(ARCHIVE_DIR), leagueName)) {
+            StatsArchive archive = openArchives.get(file);
+            if (archive == null) {
+                try {
+                    archive = StatsArchive.open(file);
+                    openArchives.put(file, archive);
+                } catch (IOException e) {
+                    System.err.println("⚠️ Skipping season archive " + file + ": " + e);
+                    continue;
+                }
+            }
+            seasons.add(archive);
+        }
+        return seasons;
+    }
+
+    /**
+     * Writes the league's current season (games, bracket, records, stats)
+     * to a new archive file. The live league is left untouched; see
+     * ScheduleController.archiveSeason for clearing it.
+     */
+    public synchronized StatsArchive archiveSeason(League lg) throws IOException {
+        Path dir = Paths.get(ARCHIVE_DIR);
+        int season = 1;
+        while (Files.exists(StatsArchive.fileFor(dir, lg.getName(), season))) {
+            season++;
+        }
+
+        LocalDate first = null, last = null;
+        for (Game g : lg.getGames()) {
+            if (first == null || g.getDate().isBefore(first)) first = g.getDate();
+            if (last == null || g.getDate().isAfter(last)) last = g.getDate();
+        }
+        String label = "Season " + season + (first == null ? "" : " (" + first + " – " + last + ")");
+
+        Path file = StatsArchive.fileFor(dir, lg.getName(), season);
+        StatsArchive.write(file, lg, label, gameStatsController);
+        System.out.println("✅ Archived " + label + " of " + lg.getName() + " to " + file);
+        return StatsArchive.open(file);
+    }
+
+    private Journal journal() {
+        if (journal == null) {
+            journal = new Journal(new File(JOURNAL_FILE));
+        }
+        return journal;
+    }
+
+    /**
+     * Persists a single mutation by appending it to the journal instead of
+     * rewriting the whole snapshot. The caller has already applied the
+     * change in memory. Every COMPACT_EVERY records the journal is folded
+     * into a fresh snapshot. Never called while holding a league lock: it
+     * may wait for a pending snapshot (see saveStructuralChange).
+     */
+    public void record(JournalRecord r) {
+        leagueChanged(r);
+        // Replay applies records to the last snapshot, so it must already
+        // hold any schedule, bracket or league this record builds on
+        if (isStructureUnsaved() && !flush()) {
+            System.err.println("⚠️ Snapshot before journal record failed; " + r.getOp()
+                    + " may not replay after a crash.");
+        }
+        try {
+            journal().append(++journalSeq, r);
         } catch (IOException e) {
-            System.err.println("❌ Error saving AppState:");
+            System.err.println("❌ Could not append to journal; falling back to a full save.");
             e.printStackTrace();
+            save();
+            return;
+        }
+        if (journal().getRecordCount() >= COMPACT_EVERY) {
+            save();
         }
     }
 
+    /** Every league-scoped record is a change the league's version must show. */
+    private void leagueChanged(JournalRecord r) {
+        switch (r.getOp()) {
+            case PUT_USER:
+            case DELETE_USER:
+            case CREATE_LEAGUE:
+            case DELETE_LEAGUE:
+                return;
+            default:
+                // Resident already: the caller just changed it
+                League lg = leagues.get(r.text(0));
+                if (lg != null) lg.markChanged();
+        }
+    }
+
+    private synchronized SaveScheduler saver() {
+        if (saver == null) {
+            saver = new SaveScheduler(this::writeSnapshot, SAVE_DEBOUNCE_MS, SAVE_MAX_LATENCY_MS);
+            Runtime.getRuntime().addShutdownHook(new Thread(saver::flush, "appstate-flush"));
+        }
+        return saver;
+    }
+
+    /**
+     * Requests a full snapshot (compaction). Returns immediately; the write
+     * is coalesced with other requests and done on the background saver.
+     */
+    public void save() {
+        saver().requestSave();
+    }
+
+    /**
+     * Requests a snapshot for a change the journal cannot express: a new
+     * or rescheduled schedule, a bracket, an archived season, a replaced
+     * league. Until that snapshot is written, record() waits for it before
+     * appending, so no later record replays onto a snapshot without it.
+     */
+    public void saveStructuralChange() {
+        synchronized (this) {
+            structureUnsaved = true;
+        }
+        save();
+    }
+
+    private synchronized boolean isStructureUnsaved() {
+        return structureUnsaved;
+    }
+
+    /**
+     * Blocks until every requested save is on disk (exit, logout).
+     *
+     * @return false if the last write failed
+     */
+    public boolean flush() {
+        return saver().flush();
+    }
+
+    /**
+     * Writes everything out and drops all loaded leagues from memory; each
+     * is read back from its segment the next time getLeagues().get() asks
+     * for it. Only call this when no screen still holds a League object
+     * (MainFrame does it on logout).
+     */
+    public void evictLeagues() {
+        save();
+        if (!flush()) {
+            System.err.println("⚠️ Save failed; keeping leagues in memory.");
+            return;
+        }
+        int evicted = store.evictAll();
+        if (evicted > 0) {
+            System.out.println("✅ Unloaded " + evicted + " league(s) from memory.");
+        }
+    }
+
+    public SaveScheduler.Metrics getSaveMetrics() {
+        return saver().getMetrics();
+    }
+
+    /**
+     * Writes the loaded leagues and the manifest to the store (see
+     * LeagueStore). Once that is safely on disk the journal records it
+     * covers are dropped.
+     *
+     * @return number of bytes written
+     */
+    private long writeSnapshot() throws IOException {
+        long coveredSeq = journalSeq;
+        boolean structural;
+        synchronized (this) {
+            // Changes made from here on request a save (and set it) again
+            structural = structureUnsaved;
+            structureUnsaved = false;
+        }
+
+        long written;
+        try {
+            written = store.writeSnapshot(coveredSeq, users.values());
+        } catch (IOException | RuntimeException e) {
+            if (structural) {
+                synchronized (this) {
+                    structureUnsaved = true;
+                }
+            }
+            throw e;
+        }
+        System.out.println("✅ Saved " + users.size() + " users and " + store.getResidentCount()
+                + " of " + store.size() + " leagues to " + STORE_DIR);
+
+        try {
+            journal().truncateUpTo(coveredSeq);
+        } catch (IOException e) {
+            // Harmless: replay skips records at or below journalSeq
+            System.err.println("⚠️ Could not truncate journal: " + e);
+        }
+        return written;
+    }
+
     private static AppState load() {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(SAVE_FILE))) {
+        Path manifest = LeagueStore.manifestPath(Paths.get(STORE_DIR));
+        boolean segmented = SnapshotFiles.candidates(manifest).stream().anyMatch(Files::exists);
+
+        AppState state = segmented ? loadStore(manifest) : loadSnapshot();
+        int replayed = state.replayJournal();
+
+        // Fold replayed records in, and write the store for the first time after a migration
+        if (replayed > 0 || !segmented) {
+            try {
+                state.writeSnapshot();
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not write the league store after loading: " + e);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Reads only the manifest (users, league names); leagues are loaded on
+     * first access. If no copy of the manifest is readable the league list
+     * is rebuilt from the segment files, which name their own league.
+     */
+    private static AppState loadStore(Path manifest) {
+        for (Path candidate : SnapshotFiles.candidates(manifest)) {
+            if (!Files.exists(candidate)) continue;
+            try {
+                AppState loaded = new AppState();
+                Map<String, Integer> segments =
+                        new SnapshotReader().readManifest(SnapshotFiles.readVerified(candidate), loaded);
+                segments.forEach(loaded.store::register);
+                if (!candidate.equals(manifest)) {
+                    System.err.println("⚠️ Newest manifest unusable; recovered from " + candidate);
+                } else {
+                    System.out.println("✅ AppState loaded from file (" + segments.size() + " leagues on demand).");
+                }
+                return loaded;
+            } catch (IOException e) {
+                System.err.println("⚠️ Skipping manifest " + candidate + ": " + e);
+            }
+        }
+
+        System.err.println("❌ Every store manifest is corrupt. Rebuilding the league list from segments.");
+        SnapshotFiles.quarantine(manifest);
+        AppState rebuilt = new AppState();
+        int found = rebuilt.store.recoverFromSegments();
+        System.err.println("⚠️ Recovered " + found + " league(s); users were reset.");
+        rebuilt.seedDefaults();
+        return rebuilt;
+    }
+
+    /**
+     * Migration path: loads the newest pre-segmentation snapshot that
+     * passes its checksum, falling back to the rotated backups. Only starts
+     * fresh when there is nothing on disk at all, or (loudly) when every
+     * copy is unreadable.
+     */
+    private static AppState loadSnapshot() {
+        Path target = Paths.get(SAVE_FILE);
+        boolean anyFound = false;
+
+        for (Path candidate : SnapshotFiles.candidates(target)) {
+            if (!Files.exists(candidate)) continue;
+            anyFound = true;
+            try {
+                AppState loaded = readSnapshot(SnapshotFiles.readVerified(candidate));
+                if (!candidate.equals(target)) {
+                    System.err.println("⚠️ Newest snapshot unusable; recovered from " + candidate);
+                } else {
+                    System.out.println("✅ AppState loaded from file.");
+                }
+                return loaded;
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                System.err.println("⚠️ Skipping snapshot " + candidate + ": " + e);
+            }
+        }
+
+        if (anyFound) {
+            System.err.println("❌ Every saved snapshot is corrupt. Moving them aside and starting fresh.");
+            SnapshotFiles.quarantine(target);
+        } else {
+            System.out.println("⚠️ No saved AppState found. Starting fresh...");
+        }
+        AppState fresh = new AppState();
+        fresh.seedDefaults(); // only seed on first run
+        return fresh;
+    }
+
+    private static AppState readSnapshot(byte[] payload) throws IOException, ClassNotFoundException {
+        if (SnapshotReader.isBinarySnapshot(payload)) {
+            return new SnapshotReader().read(payload);
+        }
+
+        // Migration path: snapshots written with Java serialization
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
             AppState loaded = (AppState) in.readObject();
-            System.out.println("✅ AppState loaded from file.");
 
             // 🔧 Backward-compat: older saves won't have this field
             if (loaded.gameStatsController == null) {
                 System.out.println("⚠️ gameStatsController missing in save; creating new one.");
                 loaded.gameStatsController = new GameStatsController();
             }
-
+            // Old saves predate surrogate ids: hand them out, then re-key the stats
+            if (loaded.leagues != null) {
+                for (League lg : loaded.leagues.values()) {
+                    lg.registerAll();
+                    lg.getStandings(); // W/L from the regular-season results
+                }
+            }
+            loaded.gameStatsController.migrateLegacyStats();
+            loaded.adoptLegacyLeagues();
+            loaded.users = new ConcurrentHashMap<>(loaded.users);
             return loaded;
-        } catch (IOException | ClassNotFoundException e) {
-            System.out.println("⚠️ No saved AppState found. Starting fresh...");
-            AppState fresh = new AppState();
-            fresh.seedDefaults(); // only seed on first run
-            return fresh;
         }
     }
 
+    /**
+     * Recovery: re-applies journal records newer than the snapshot. Only the
+     * leagues those records touch get loaded.
+     *
+     * @return number of records applied
+     */
+    private int replayJournal() {
+        int replayed = 0;
+        for (Journal.Entry e : journal().readAll()) {
+            if (e.seq <= journalSeq) continue; // already in the snapshot
+            apply(e.record);
+            journalSeq = e.seq;
+            replayed++;
+        }
+        // New records go right after the last good one, not behind a torn tail
+        try {
+            long dropped = journal().dropBadTail();
+            if (dropped > 0) {
+                System.err.println("⚠️ Cut " + dropped + " unreadable byte(s) off the end of the journal.");
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Could not repair the journal: " + e);
+        }
+        if (replayed > 0) {
+            System.out.println("✅ Replayed " + replayed + " journal record(s).");
+        }
+        return replayed;
+    }
+
+    /**
+     * Applies one journal record to the in-memory graph. Mirrors what the
+     * controllers do, but is written to be idempotent so replaying a record
+     * that already made it into the snapshot is harmless.
+     */
+    void apply(JournalRecord r) {
+        League lg;
+        Team team;
+        Player p;
+
+        switch (r.getOp()) {
+            case CREATE_LEAGUE:
+                // containsKey() doesn't load the league from its segment
+                if (!leagues.containsKey(r.text(0))) leagues.put(r.text(0), new League(r.text(0)));
+                break;
+
+            case DELETE_LEAGUE:
+                leagues.remove(r.text(0));
+                break;
+
+            case ADD_TEAM:
+                lg = leagues.get(r.text(0));
+                if (lg != null) lg.getTeams().putIfAbsent(r.text(1), new Team(r.text(1)));
+                break;
+
+            case DELETE_TEAM:
+                lg = leagues.get(r.text(0));
+                if (lg != null) lg.getTeams().remove(r.text(1));
+                break;
+
+            case RENAME_TEAM:
+                lg = leagues.get(r.text(0));
+                // Already applied if the old name is gone
+                if (lg != null && lg.getTeams().containsKey(r.text(1))
+                        && !lg.getTeams().containsKey(r.text(2))) {
+                    lg.renameTeam(r.text(1), r.text(2));
+                }
+                break;
+
+            case ADD_PLAYER:
+                team = findTeam(r.text(0), r.text(1));
+                if (team != null) {
+                    team.addPlayer(new Player(r.text(2), r.text(3), r.num(0), r.text(4)));
+                }
+                break;
+
+            case UPDATE_PLAYER: {
+                team = findTeam(r.text(0), r.text(1));
+                if (team == null) break;
+                int oldNum = r.num(0);
+                int newNum = r.num(1);
+                p = team.findPlayerByNumber(oldNum);
+                if (p != null && oldNum != newNum) {
+                    if (team.findPlayerByNumber(newNum) != null) break;
+                    team.removePlayer(p);
+                    p.setNumber(newNum);
+                    team.addPlayer(p);
+                } else if (p == null) {
+                    p = team.findPlayerByNumber(newNum); // re-key already applied
+                }
+                if (p != null) {
+                    p.setFirstName(r.text(2));
+                    p.setLastName(r.text(3));
+                    p.setPosition(r.text(4));
+                }
+                break;
+            }
+
+            case REMOVE_PLAYER:
+                team = findTeam(r.text(0), r.text(1));
+                if (team != null) team.removePlayer(team.findPlayerByNumber(r.num(0)));
+                break;
+
+            case MOVE_PLAYER: {
+                Team src = findTeam(r.text(0), r.text(1));
+                Team dst = findTeam(r.text(0), r.text(2));
+                if (src == null || dst == null) break;
+                p = src.findPlayerByNumber(r.num(0));
+                if (p != null && dst.findPlayerByNumber(p.getNumber()) == null) {
+                    src.removePlayer(p);
+                    dst.addPlayer(p);
+                }
+                break;
+            }
+
+            case RECORD_RESULT:
+                applyResult(r);
+                break;
+
+            case PUT_USER:
+                users.put(r.text(0), new User(r.text(0), r.text(1), r.text(2),
+                        Role.valueOf(r.text(3)), r.text(4), r.num(0) != 0));
+                break;
+
+            case DELETE_USER:
+                users.remove(r.text(0));
+                break;
+
+            case SET_TIEBREAKERS: {
+                lg = leagues.get(r.text(0));
+                if (lg == null) break;
+                List<Ranking.Tiebreaker> rules = new ArrayList<>();
+                for (int i = 1; i < r.getText().length; i++) {
+                    rules.add(Ranking.Tiebreaker.valueOf(r.text(i)));
+                }
+                lg.setTiebreakers(rules);
+                break;
+            }
+        }
+    }
+
+    private void applyResult(JournalRecord r) {
+        League lg = leagues.get(r.text(0));
+        if (lg == null) return;
+
+        LocalDate date = LocalDate.parse(r.text(1));
+        String home = r.text(2);
+        String away = r.text(3);
+        int homeScore = r.num(0);
+        int awayScore = r.num(1);
+        if (homeScore == awayScore) return;
+
+        Game g = lg.findGame(date, home, away);
+        if (g == null) return;
+
+        if (g.hasResult() && g.getHomeScore() == homeScore && g.getAwayScore() == awayScore) {
+            return; // already applied
+        }
+
+        // Standings (and the teams' W/L) follow the game's result
+        String winner = (homeScore > awayScore) ? home : away;
+        g.setResult(winner, homeScore, awayScore);
+    }
+
+    private Team findTeam(String leagueName, String teamName) {
+        League lg = leagues.get(leagueName);
+        return (lg == null) ? null : lg.getTeams().get(teamName);
+    }
+
     public boolean deleteLeague(String leagueKey) {
         League lg = leagues.get(leagueKey);
         if (lg == null) return false;
@@ -96,6 +612,6 @@ public class AppState implements Serializable {
         League lg = leagues.get(leagueKey);
         if (lg == null) return false;
         if (lg.getTeams() == null) return false;
-        return lg.getTeams().remove(teamName) != null;
+        return lg.removeTeam(teamName);
     }
 }
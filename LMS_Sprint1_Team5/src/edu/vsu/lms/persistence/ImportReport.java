@@ -0,0 +1,58 @@
+package edu.vsu.lms.persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ImportReport
+ * ------------
+ * What a merge import (LeagueXmlLoader.mergeInto) changed in a league.
+ */
+public class ImportReport {
+
+    private final String leagueName;
+    private final List<String> changes = new ArrayList<>();
+
+    int teamsAdded;
+    int teamsRemoved;
+    int teamsKept;
+    int playersAdded;
+    int playersRemoved;
+    int playersUpdated;
+    long elapsedNanos;
+
+    ImportReport(String leagueName) {
+        this.leagueName = leagueName;
+    }
+
+    void change(String line) {
+        changes.add(line);
+    }
+
+    public String getLeagueName()   { return leagueName; }
+    public int getTeamsAdded()      { return teamsAdded; }
+    public int getTeamsRemoved()    { return teamsRemoved; }
+    /** Teams missing from the feed but kept because games refer to them. */
+    public int getTeamsKept()       { return teamsKept; }
+    public int getPlayersAdded()    { return playersAdded; }
+    public int getPlayersRemoved()  { return playersRemoved; }
+    public int getPlayersUpdated()  { return playersUpdated; }
+    public double getElapsedMillis() { return elapsedNanos / 1e6; }
+
+    /** One human-readable line per change, in the order they were applied. */
+    public List<String> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: teams +%d -%d (%d kept), players +%d -%d ~%d in %.1f ms",
+                leagueName, teamsAdded, teamsRemoved, teamsKept,
+                playersAdded, playersRemoved, playersUpdated, getElapsedMillis());
+    }
+}
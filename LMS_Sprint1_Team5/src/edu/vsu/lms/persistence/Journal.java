@@ -0,0 +1,207 @@
+package edu.vsu.lms.persistence;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Journal
+ * -------
+ * Append-only write-ahead log that sits next to the AppState snapshot.
+ *
+ * Every record is framed as:
+ *   int    payload length
+ *   byte[] payload  (seq, op code, text args, int args)
+ *   int    CRC32 of the payload
+ *
+ * A crash can only ever tear the last record, so reading stops quietly at
+ * the first frame that is short or fails its checksum. readAll() remembers
+ * where the last good frame ends; dropBadTail() cuts the file there, so
+ * records appended afterwards are not written behind the garbage (where
+ * the next read would never reach them).
+ */
+public class Journal implements Closeable {
+
+    private final File file;
+    private DataOutputStream out;
+    private int recordCount;
+    private long lastSeq;
+    private long validLength = -1;   // end of the last good frame, -1 until readAll()
+
+    public Journal(File file) {
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /** Number of records appended since the journal was last truncated. */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /** A record together with the sequence number it was written under. */
+    public static final class Entry {
+        public final long seq;
+        public final JournalRecord record;
+
+        Entry(long seq, JournalRecord record) {
+            this.seq = seq;
+            this.record = record;
+        }
+    }
+
+    // ---------- Write ----------
+
+    public synchronized void append(long seq, JournalRecord r) throws IOException {
+        byte[] payload = encode(seq, r);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        if (out == null) {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        }
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        recordCount++;
+        lastSeq = seq;
+        if (validLength >= 0) validLength += 4 + payload.length + 4;
+    }
+
+    /**
+     * Truncates only if nothing newer than {@code seq} has been appended.
+     * A background snapshot taken at seq must not drop records written
+     * while it was being serialized; those are kept and skipped on replay
+     * if the snapshot already contains them.
+     */
+    public synchronized boolean truncateUpTo(long seq) throws IOException {
+        if (lastSeq > seq) return false;
+        close();
+        new FileOutputStream(file, false).close(); // opening without append empties the file
+        recordCount = 0;
+        validLength = 0;
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    // ---------- Read ----------
+
+    /** Reads every intact record, oldest first. Missing file = empty journal. */
+    public synchronized List<Entry> readAll() {
+        List<Entry> entries = new ArrayList<>();
+        validLength = 0;
+        if (!file.exists()) return entries;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int len;
+                try {
+                    len = in.readInt();
+                } catch (EOFException eof) {
+                    break; // clean end
+                }
+                if (len <= 0 || len > (1 << 20)) {
+                    System.err.println("⚠ Journal frame has bad length " + len + "; ignoring the rest.");
+                    break;
+                }
+                byte[] payload = new byte[len];
+                in.readFully(payload);
+                int stored = in.readInt();
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != stored) {
+                    System.err.println("⚠ Journal record failed checksum; ignoring the rest.");
+                    break;
+                }
+                Entry e = decode(payload);
+                entries.add(e);
+                lastSeq = Math.max(lastSeq, e.seq);
+                validLength += 4 + len + 4;
+            }
+        } catch (EOFException torn) {
+            System.err.println("⚠ Journal ends with a partial record; ignoring it.");
+        } catch (IllegalArgumentException corrupt) {
+            System.err.println("⚠ Journal record could not be decoded; ignoring the rest: " + corrupt);
+        } catch (IOException e) {
+            System.err.println("⚠ Could not read journal: " + e);
+            validLength = -1;   // not known to be bad, so dropBadTail() leaves it alone
+        }
+        recordCount = entries.size();
+        return entries;
+    }
+
+    /** Where the last intact frame ends; -1 before readAll() or if it could not read the file. */
+    public synchronized long getValidLength() {
+        return validLength;
+    }
+
+    /**
+     * Cuts off whatever follows the last intact frame readAll() found (a
+     * torn or corrupt tail). Call it before the first append after a read.
+     *
+     * @return number of bytes dropped
+     */
+    public synchronized long dropBadTail() throws IOException {
+        if (validLength < 0) return 0;   // not read, or the read itself failed
+        long length = file.length();
+        if (length <= validLength) return 0;
+        close();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(validLength);
+        }
+        return length - validLength;
+    }
+
+    // ---------- Encoding ----------
+
+    private static byte[] encode(long seq, JournalRecord r) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream d = new DataOutputStream(bytes);
+        d.writeLong(seq);
+        d.writeByte(r.getOp().getCode());
+
+        String[] text = r.getText();
+        d.writeByte(text.length);
+        for (String s : text) {
+            d.writeBoolean(s != null);
+            if (s != null) d.writeUTF(s);
+        }
+
+        int[] nums = r.getNums();
+        d.writeByte(nums.length);
+        for (int n : nums) {
+            d.writeInt(n);
+        }
+        d.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream d = new DataInputStream(new ByteArrayInputStream(payload));
+        long seq = d.readLong();
+        JournalRecord.Op op = JournalRecord.Op.fromCode(d.readUnsignedByte());
+
+        String[] text = new String[d.readUnsignedByte()];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = d.readBoolean() ? d.readUTF() : null;
+        }
+
+        int[] nums = new int[d.readUnsignedByte()];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = d.readInt();
+        }
+        return new Entry(seq, new JournalRecord(op, text, nums));
+    }
+}
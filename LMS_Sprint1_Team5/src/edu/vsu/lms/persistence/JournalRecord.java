@@ -0,0 +1,151 @@
+package edu.vsu.lms.persistence;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import edu.vsu.lms.model.Ranking;
+import edu.vsu.lms.model.User;
+
+/**
+ * JournalRecord
+ * -------------
+ * One small, typed entry in the AppState write-ahead journal.
+ *
+ * Each record describes a single controller mutation (create league,
+ * add player, record a result, ...). Text arguments and int arguments are
+ * kept in two separate arrays so the on-disk encoding stays trivial.
+ *
+ * Use the static factories below instead of the constructor so every
+ * call site writes the arguments in the order AppState.apply() expects.
+ */
+public final class JournalRecord {
+
+    /** Record types. The code is written to disk, so never renumber. */
+    public enum Op {
+        CREATE_LEAGUE(1),
+        DELETE_LEAGUE(2),
+        ADD_TEAM(3),
+        DELETE_TEAM(4),
+        ADD_PLAYER(5),
+        UPDATE_PLAYER(6),
+        REMOVE_PLAYER(7),
+        MOVE_PLAYER(8),
+        RECORD_RESULT(9),
+        PUT_USER(10),
+        DELETE_USER(11),
+        SET_TIEBREAKERS(12),
+        RENAME_TEAM(13);
+
+        private final int code;
+
+        Op(int code) { this.code = code; }
+
+        public int getCode() { return code; }
+
+        public static Op fromCode(int code) {
+            for (Op op : values()) {
+                if (op.code == code) return op;
+            }
+            throw new IllegalArgumentException("Unknown journal op: " + code);
+        }
+    }
+
+    private final Op op;
+    private final String[] text;
+    private final int[] nums;
+
+    JournalRecord(Op op, String[] text, int[] nums) {
+        this.op = op;
+        this.text = text;
+        this.nums = nums;
+    }
+
+    public Op getOp() { return op; }
+
+    String text(int i) { return text[i]; }
+    int num(int i) { return nums[i]; }
+
+    String[] getText() { return text; }
+    int[] getNums() { return nums; }
+
+    // ---------- Factories ----------
+
+    public static JournalRecord createLeague(String league) {
+        return new JournalRecord(Op.CREATE_LEAGUE, new String[]{league}, new int[0]);
+    }
+
+    public static JournalRecord deleteLeague(String league) {
+        return new JournalRecord(Op.DELETE_LEAGUE, new String[]{league}, new int[0]);
+    }
+
+    public static JournalRecord addTeam(String league, String team) {
+        return new JournalRecord(Op.ADD_TEAM, new String[]{league, team}, new int[0]);
+    }
+
+    public static JournalRecord deleteTeam(String league, String team) {
+        return new JournalRecord(Op.DELETE_TEAM, new String[]{league, team}, new int[0]);
+    }
+
+    public static JournalRecord renameTeam(String league, String oldName, String newName) {
+        return new JournalRecord(Op.RENAME_TEAM, new String[]{league, oldName, newName}, new int[0]);
+    }
+
+    public static JournalRecord addPlayer(String league, String team,
+                                          String first, String last, String position,
+                                          int number) {
+        return new JournalRecord(Op.ADD_PLAYER,
+                new String[]{league, team, first, last, position},
+                new int[]{number});
+    }
+
+    public static JournalRecord updatePlayer(String league, String team, int originalNumber,
+                                             String first, String last, String position,
+                                             int newNumber) {
+        return new JournalRecord(Op.UPDATE_PLAYER,
+                new String[]{league, team, first, last, position},
+                new int[]{originalNumber, newNumber});
+    }
+
+    public static JournalRecord removePlayer(String league, String team, int number) {
+        return new JournalRecord(Op.REMOVE_PLAYER, new String[]{league, team}, new int[]{number});
+    }
+
+    public static JournalRecord movePlayer(String league, String sourceTeam, String destTeam, int number) {
+        return new JournalRecord(Op.MOVE_PLAYER,
+                new String[]{league, sourceTeam, destTeam},
+                new int[]{number});
+    }
+
+    public static JournalRecord recordResult(String league, LocalDate date,
+                                             String home, String away,
+                                             int homeScore, int awayScore) {
+        return new JournalRecord(Op.RECORD_RESULT,
+                new String[]{league, date.toString(), home, away},
+                new int[]{homeScore, awayScore});
+    }
+
+    /** The league's ranking rules, by enum name, first rule first. */
+    public static JournalRecord setTiebreakers(String league, List<Ranking.Tiebreaker> rules) {
+        String[] text = new String[rules.size() + 1];
+        text[0] = league;
+        for (int i = 0; i < rules.size(); i++) text[i + 1] = rules.get(i).name();
+        return new JournalRecord(Op.SET_TIEBREAKERS, text, new int[0]);
+    }
+
+    /** Full upsert of a user; covers add, suspend/reinstate and password changes. */
+    public static JournalRecord putUser(User u) {
+        return new JournalRecord(Op.PUT_USER,
+                new String[]{u.getId(), u.getFirstName(), u.getLastName(),
+                             u.getRole().name(), u.getPasswordHash()},
+                new int[]{u.isSuspended() ? 1 : 0});
+    }
+
+    public static JournalRecord deleteUser(String id) {
+        return new JournalRecord(Op.DELETE_USER, new String[]{id}, new int[0]);
+    }
+
+    @Override
+    public String toString() {
+        return op + java.util.Arrays.toString(text) + java.util.Arrays.toString(nums);
+    }
+}
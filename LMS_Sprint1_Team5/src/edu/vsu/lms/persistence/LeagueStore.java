@@ -0,0 +1,314 @@
+package edu.vsu.lms.persistence;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import edu.vsu.lms.controller.GameStatsController;
+import edu.vsu.lms.model.*;
+
+/**
+ * LeagueStore
+ * -----------
+ * The map behind AppState.getLeagues(), backed by a segmented store:
+ *
+ *   <dir>/manifest.lms     users, journal position, league name -> segment id
+ *   <dir>/league-<id>.lms  one league: teams, players, games, bracket, stats
+ *
+ * Only the manifest is read at startup. A league is read from its segment
+ * the first time get() asks for it and then stays resident until evicted.
+ * containsKey(), keySet() and size() never touch the disk, so listing
+ * league names stays cheap; iterating values() or entrySet() loads every
+ * league.
+ *
+ * Saving rewrites only the resident leagues (the others are unchanged on
+ * disk), then the manifest.
+ */
+public class LeagueStore extends AbstractMap<String, League> {
+
+    static final String MANIFEST_FILE = "manifest.lms";
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("league-(\\d+)\\.lms(\\..*)?");
+
+    private static final class Slot {
+        final int segment;
+        League league; // null while the league is only on disk
+
+        Slot(int segment, League league) {
+            this.segment = segment;
+            this.league = league;
+        }
+    }
+
+    private final AppState state;
+    private final Path dir;
+
+    // guarded by this
+    private final Map<String, Slot> slots = new HashMap<>();
+    private int nextSegment = 1;
+    // Bumped whenever a league is added, replaced or removed (see getListVersion)
+    private long listVersion;
+
+    // Serializes file writes (background saver vs. recovery on load)
+    private final Object writeLock = new Object();
+
+    LeagueStore(AppState state, Path dir) {
+        this.state = state;
+        this.dir = dir;
+    }
+
+    static Path manifestPath(Path dir) {
+        return dir.resolve(MANIFEST_FILE);
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve("league-" + segment + ".lms");
+    }
+
+    /** Adds a league that is on disk but not loaded (used when reading the manifest). */
+    synchronized void register(String name, int segment) {
+        slots.put(name, new Slot(segment, null));
+        nextSegment = Math.max(nextSegment, segment + 1);
+        listVersion++;
+    }
+
+    /** Number of leagues currently held in memory. */
+    public synchronized int getResidentCount() {
+        int n = 0;
+        for (Slot s : slots.values()) {
+            if (s.league != null) n++;
+        }
+        return n;
+    }
+
+    public synchronized boolean isResident(String name) {
+        Slot s = slots.get(name);
+        return s != null && s.league != null;
+    }
+
+    /**
+     * Changes whenever a league is added, replaced or removed, so it can
+     * stand for the league list (e.g. as an ETag). Loading and evicting
+     * leagues leave it alone.
+     */
+    public synchronized long getListVersion() {
+        return listVersion;
+    }
+
+    // ---------- Map ----------
+
+    @Override
+    public synchronized League get(Object key) {
+        Slot slot = slots.get(key);
+        if (slot == null) return null;
+        if (slot.league == null) {
+            slot.league = load(slot.segment, (String) key);
+        }
+        return slot.league;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        return slots.containsKey(key);
+    }
+
+    @Override
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    @Override
+    public synchronized League put(String name, League league) {
+        Slot old = slots.get(name);
+        if (old != null && old.league == league) {
+            return league;
+        }
+        // A replaced league gets a fresh segment; the old one is deleted on the next save
+        slots.put(name, new Slot(nextSegment++, league));
+        listVersion++;
+        return release(old);
+    }
+
+    @Override
+    public synchronized League remove(Object key) {
+        Slot old = slots.remove(key);
+        if (old != null) listVersion++;
+        return release(old);
+    }
+
+    /** League names only; nothing is loaded. */
+    @Override
+    public synchronized Set<String> keySet() {
+        return Collections.unmodifiableSet(new HashSet<>(slots.keySet()));
+    }
+
+    /** Loads every league that is not resident yet. */
+    @Override
+    public synchronized Set<Entry<String, League>> entrySet() {
+        Map<String, League> all = new HashMap<>();
+        for (String name : slots.keySet()) {
+            all.put(name, get(name));
+        }
+        return Collections.unmodifiableMap(all).entrySet();
+    }
+
+    /** Forgets a league's stats along with the league; returns it if it was loaded. */
+    private League release(Slot slot) {
+        if (slot == null || slot.league == null) return null;
+        state.getGameStatsController().removeLeague(slot.league);
+        return slot.league;
+    }
+
+    // ---------- Load ----------
+
+    /** Reads a segment (falling back to its backups); its stats go to the stats controller. */
+    private League load(int segment, String name) {
+        Path target = segmentPath(segment);
+        for (Path candidate : SnapshotFiles.candidates(target)) {
+            if (!Files.exists(candidate)) continue;
+            try {
+                League lg = new SnapshotReader().readLeagueSegment(
+                        SnapshotFiles.readVerified(candidate), state.getGameStatsController());
+                if (!candidate.equals(target)) {
+                    System.err.println("⚠️ League \"" + name + "\" recovered from " + candidate);
+                }
+                return lg;
+            } catch (IOException e) {
+                System.err.println("⚠️ Skipping segment " + candidate + ": " + e);
+            }
+        }
+
+        System.err.println("❌ No readable segment for league \"" + name + "\"; it starts out empty.");
+        SnapshotFiles.quarantine(target);
+        return new League(name);
+    }
+
+    /**
+     * Rebuilds the league list from the segment files themselves; used when
+     * every copy of the manifest is unreadable. Loads every league it finds.
+     */
+    synchronized int recoverFromSegments() {
+        int found = 0;
+        for (int segment : segmentIdsOnDisk()) {
+            try {
+                League lg = new SnapshotReader().readLeagueSegment(
+                        SnapshotFiles.readVerified(segmentPath(segment)), state.getGameStatsController());
+                slots.put(lg.getName(), new Slot(segment, lg));
+                nextSegment = Math.max(nextSegment, segment + 1);
+                listVersion++;
+                found++;
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not recover segment " + segment + ": " + e);
+            }
+        }
+        return found;
+    }
+
+    // ---------- Save / evict ----------
+
+    /**
+     * Writes every resident league to its segment, then the manifest, then
+     * deletes segments that no league refers to anymore. Each league is
+     * encoded under its read lock, so it is written as it was between two
+     * changes; the lock is let go before the next league and before any
+     * file is touched, so the EDT waits at most one league's encoding.
+     * Everything is encoded before the first file is touched, so a failure
+     * leaves the store as it was.
+     *
+     * @return total bytes written
+     */
+    long writeSnapshot(long journalSeq, Collection<User> users) throws IOException {
+        Map<String, Integer> manifest = new LinkedHashMap<>();
+        Map<Integer, League> resident = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, Slot> e : slots.entrySet()) {
+                Slot s = e.getValue();
+                manifest.put(e.getKey(), s.segment);
+                if (s.league != null) resident.put(s.segment, s.league);
+            }
+        }
+
+        GameStatsController stats = state.getGameStatsController();
+        Map<Integer, byte[]> segments = new LinkedHashMap<>();
+        for (Map.Entry<Integer, League> e : resident.entrySet()) {
+            Lock read = e.getValue().readLock();
+            read.lock();
+            try {
+                segments.put(e.getKey(), new SnapshotWriter().writeLeague(e.getValue(), stats));
+            } finally {
+                read.unlock();
+            }
+        }
+        byte[] manifestBytes = new SnapshotWriter().writeManifest(journalSeq, users, manifest);
+
+        synchronized (writeLock) {
+            Files.createDirectories(dir);
+            long written = 0;
+            for (Map.Entry<Integer, byte[]> e : segments.entrySet()) {
+                written += SnapshotFiles.writeAtomically(segmentPath(e.getKey()), e.getValue());
+            }
+            // Manifest last: until it lands, the old one still describes a complete store
+            written += SnapshotFiles.writeAtomically(manifestPath(dir), manifestBytes);
+            deleteUnusedSegments();
+            return written;
+        }
+    }
+
+    private void deleteUnusedSegments() {
+        Set<Integer> live = new HashSet<>();
+        synchronized (this) {
+            for (Slot s : slots.values()) live.add(s.segment);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "league-*")) {
+            for (Path p : files) {
+                Matcher m = SEGMENT_FILE.matcher(p.getFileName().toString());
+                if (m.matches() && !live.contains(Integer.parseInt(m.group(1)))) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not clean up old league segments: " + e);
+        }
+    }
+
+    /** Ids of the current segment files (backups excluded). */
+    private List<Integer> segmentIdsOnDisk() {
+        List<Integer> ids = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return ids;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "league-*")) {
+            for (Path p : files) {
+                Matcher m = SEGMENT_FILE.matcher(p.getFileName().toString());
+                if (m.matches() && m.group(2) == null) {
+                    ids.add(Integer.parseInt(m.group(1)));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not list league segments: " + e);
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Drops every resident league (and its game stats) from memory. The
+     * caller must have written them out first; see AppState.evictLeagues().
+     *
+     * @return number of leagues evicted
+     */
+    synchronized int evictAll() {
+        int n = 0;
+        for (Slot s : slots.values()) {
+            if (s.league != null) {
+                release(s);
+                s.league = null;
+                n++;
+            }
+        }
+        return n;
+    }
+}
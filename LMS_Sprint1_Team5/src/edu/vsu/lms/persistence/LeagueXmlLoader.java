@@ -1,13 +1,18 @@
 package edu.vsu.lms.persistence;
 
+import edu.vsu.lms.model.BracketRound;
+import edu.vsu.lms.model.Game;
 import edu.vsu.lms.model.League;
 import edu.vsu.lms.model.Team;
 import edu.vsu.lms.model.Player;
 
-import org.w3c.dom.*;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Loads a League from an XML file with structure:
@@ -26,103 +31,288 @@ import java.io.File;
  *     </team>
  *   </teams>
  * </league>
+ *
+ * The file is read with a StAX pull parser in a single pass: each Team and
+ * Player is built as its end tag goes by, so memory use does not depend on
+ * the size of the file (apart from the League being built).
+ *
+ * mergeInto() applies a loaded file to an existing league as a roster diff
+ * instead of replacing it, so schedule, results, bracket and stats survive.
  */
 public class LeagueXmlLoader {
 
+    /** Receives import progress; called on the thread doing the load. */
+    public interface ProgressListener {
+        void progress(long bytesRead, long totalBytes, int teamsLoaded);
+    }
+
+    // Child elements of <player>, indexed by the constants below
+    private static final String[] PLAYER_FIELDS = {"firstName", "lastName", "position", "number"};
+    private static final int FIRST = 0, LAST = 1, POSITION = 2, NUMBER = 3;
+
     /**
      * Loads the League from a file.
      */
     public League loadLeagueFromFile(File xmlFile) throws Exception {
-        // Build DOM
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setIgnoringComments(true);
-        factory.setIgnoringElementContentWhitespace(true);
-
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.parse(xmlFile);
-        doc.getDocumentElement().normalize();
+        return loadLeagueFromFile(xmlFile, null);
+    }
 
-        // Root <league>
-        Element leagueElement = doc.getDocumentElement();
-        if (!"league".equals(leagueElement.getTagName())) {
-            throw new IllegalArgumentException("Root element must be <league>");
+    /**
+     * Loads the League from a file, reporting progress after every team.
+     */
+    public League loadLeagueFromFile(File xmlFile, ProgressListener listener) throws Exception {
+        long totalBytes = xmlFile.length();
+        try (CountingInputStream in = new CountingInputStream(
+                new BufferedInputStream(new FileInputStream(xmlFile), 64 * 1024))) {
+            XMLStreamReader reader = newInputFactory().createXMLStreamReader(in);
+            try {
+                League league = parseLeague(reader, in, totalBytes, listener);
+                if (listener != null) {
+                    listener.progress(totalBytes, totalBytes, league.getTeams().size());
+                }
+                return league;
+            } finally {
+                reader.close();
+            }
         }
+    }
 
-        String leagueName = leagueElement.getAttribute("name");
-        if (leagueName == null || leagueName.isBlank()) {
-            leagueName = "Unnamed League";
+    /**
+     * Loads a file and merges it into target; see mergeInto.
+     */
+    public ImportReport mergeLeagueFromFile(File xmlFile, League target,
+                                            Consumer<JournalRecord> journal,
+                                            ProgressListener listener) throws Exception {
+        return mergeInto(target, loadLeagueFromFile(xmlFile, listener), journal);
+    }
+
+    /**
+     * Applies incoming's roster to target as a diff: teams are matched by
+     * name and players by jersey number. New teams and players are added,
+     * changed names/positions are updated in place (so existing stat lines
+     * stay attached to the same Player), and anything missing from the
+     * feed is removed. A missing team that still appears in the schedule
+     * or bracket is kept and reported instead.
+     *
+     * Every change is handed to journal (normally AppState::record) so the
+     * caller does not need a full save. The records are handed over after
+     * the write lock is let go: record() may wait for the saver, which
+     * needs the league's read lock.
+     */
+    public ImportReport mergeInto(League target, League incoming, Consumer<JournalRecord> journal) {
+        // One write: the saver and the API see the league before or after the merge
+        List<JournalRecord> changes = new ArrayList<>();
+        try {
+            return target.write(() -> merge(target, incoming, changes::add));
+        } finally {
+            changes.forEach(journal);   // also what a failed merge already changed
         }
+    }
 
-        League league = new League(leagueName);
+    private ImportReport merge(League target, League incoming, Consumer<JournalRecord> journal) {
+        long t0 = System.nanoTime();
+        String league = target.getName();
+        ImportReport report = new ImportReport(league);
 
-        // <teams>
-        NodeList teamsList = leagueElement.getElementsByTagName("teams");
-        if (teamsList.getLength() == 0) {
-            return league; // empty league
+        for (Team in : incoming.getTeams().values()) {
+            Team team = target.getTeams().get(in.getName());
+            if (team == null) {
+                team = new Team(in.getName());
+                target.getTeams().put(team.getName(), team);
+                journal.accept(JournalRecord.addTeam(league, team.getName()));
+                report.teamsAdded++;
+                report.change("+ team " + team.getName());
+            }
+            mergePlayers(league, team, in, journal, report);
         }
 
-        Element teamsElement = (Element) teamsList.item(0);
-        NodeList teamNodes = teamsElement.getElementsByTagName("team");
+        Set<String> scheduled = scheduledTeams(target);
+        for (String name : new ArrayList<>(target.getTeams().keySet())) {
+            if (incoming.getTeams().containsKey(name)) continue;
+            if (scheduled.contains(name)) {
+                report.teamsKept++;
+                report.change("! team " + name + " is not in the file but has games; kept");
+                continue;
+            }
+            target.getTeams().remove(name);
+            journal.accept(JournalRecord.deleteTeam(league, name));
+            report.teamsRemoved++;
+            report.change("- team " + name);
+        }
 
-        for (int i = 0; i < teamNodes.getLength(); i++) {
-            Node tNode = teamNodes.item(i);
-            if (tNode.getNodeType() != Node.ELEMENT_NODE) continue;
+        report.elapsedNanos = System.nanoTime() - t0;
+        return report;
+    }
 
-            Element teamElement = (Element) tNode;
-            Team team = parseTeam(teamElement);
+    private void mergePlayers(String league, Team team, Team in,
+                              Consumer<JournalRecord> journal, ImportReport report) {
+        for (Player p : in.getPlayers()) {
+            Player existing = team.findPlayerByNumber(p.getNumber());
+            if (existing == null) {
+                team.addPlayer(p);
+                journal.accept(JournalRecord.addPlayer(league, team.getName(),
+                        p.getFirstName(), p.getLastName(), p.getPosition(), p.getNumber()));
+                report.playersAdded++;
+                report.change("+ " + team.getName() + " " + p);
+            } else if (!Objects.equals(existing.getFirstName(), p.getFirstName())
+                    || !Objects.equals(existing.getLastName(), p.getLastName())
+                    || !Objects.equals(existing.getPosition(), p.getPosition())) {
+                existing.setFirstName(p.getFirstName());
+                existing.setLastName(p.getLastName());
+                existing.setPosition(p.getPosition());
+                journal.accept(JournalRecord.updatePlayer(league, team.getName(), p.getNumber(),
+                        p.getFirstName(), p.getLastName(), p.getPosition(), p.getNumber()));
+                report.playersUpdated++;
+                report.change("~ " + team.getName() + " " + existing);
+            }
+        }
 
-            // League stores teams by name
-            league.getTeams().put(team.getName(), team);
+        for (Player p : new ArrayList<>(team.getPlayers())) {
+            if (in.findPlayerByNumber(p.getNumber()) != null) continue;
+            team.removePlayer(p);
+            journal.accept(JournalRecord.removePlayer(league, team.getName(), p.getNumber()));
+            report.playersRemoved++;
+            report.change("- " + team.getName() + " " + p);
         }
+    }
 
-        return league;
+    private static Set<String> scheduledTeams(League lg) {
+        Set<String> names = new HashSet<>();
+        for (Game g : lg.getGames()) {
+            names.add(g.getHomeTeam());
+            names.add(g.getAwayTeam());
+        }
+        if (lg.hasBracket()) {
+            for (BracketRound r : lg.getBracket().getRounds()) {
+                for (Game g : r.getGames()) {
+                    names.add(g.getHomeTeam());
+                    names.add(g.getAwayTeam());
+                }
+            }
+        }
+        return names;
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // League files are plain data; never resolve DTDs or external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
     }
 
     /**
-     * Parse a <team> element into a Team object.
+     * Walks the event stream once. Depth counters stand in for the DOM
+     * lookups: a <team> counts inside any <teams>, a <player> inside its
+     * team's <players>, and the first of each player field wins.
      */
-    private Team parseTeam(Element teamElement) {
-        String teamName = teamElement.getAttribute("name");
-        if (teamName == null || teamName.isBlank()) {
-            teamName = "Unnamed Team";
+    private League parseLeague(XMLStreamReader r, CountingInputStream in,
+                               long totalBytes, ProgressListener listener) throws XMLStreamException {
+        // Root <league>
+        if (r.nextTag() != XMLStreamConstants.START_ELEMENT || !"league".equals(r.getLocalName())) {
+            throw new IllegalArgumentException("Root element must be <league>");
         }
 
-        Team team = new Team(teamName);
-
-        NodeList playersList = teamElement.getElementsByTagName("players");
-        if (playersList.getLength() == 0) {
-            return team; // no players
+        String leagueName = r.getAttributeValue(null, "name");
+        if (leagueName == null || leagueName.isBlank()) {
+            leagueName = "Unnamed League";
         }
 
-        Element playersElement = (Element) playersList.item(0);
-        NodeList playerNodes = playersElement.getElementsByTagName("player");
+        League league = new League(leagueName);
+
+        int depth = 1;
+        int teamsOpen = 0;          // nesting count of <teams>
+        Team team = null;
+        int teamDepth = -1;
+        int playersDepth = -1;      // depth of the team's <players>, -1 if outside
+        String[] player = null;     // fields of the <player> being read
+        int playerDepth = -1;
+        int field = -1;             // PLAYER_FIELDS index being read, -1 if none
+        int fieldDepth = -1;
+        StringBuilder text = new StringBuilder();
+        int teamsLoaded = 0;
 
-        for (int i = 0; i < playerNodes.getLength(); i++) {
-            Node pNode = playerNodes.item(i);
-            if (pNode.getNodeType() != Node.ELEMENT_NODE) continue;
+        while (r.hasNext()) {
+            int event = r.next();
 
-            Element playerElement = (Element) pNode;
-            Player p = parsePlayer(playerElement);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String tag = r.getLocalName();
 
-            // Uses Team.addPlayer() correctly
-            boolean added = team.addPlayer(p);
-            if (!added) {
-                System.err.println("⚠ Duplicate jersey number " + p.getNumber()
-                        + " on team " + teamName + ". Player skipped.");
+                if (field >= 0) {
+                    continue; // markup inside a field: only its text counts
+                }
+                if (player != null) {
+                    int f = fieldIndex(tag);
+                    if (f >= 0 && player[f] == null) {
+                        field = f;
+                        fieldDepth = depth;
+                        text.setLength(0);
+                    }
+                } else if (team != null) {
+                    if ("players".equals(tag) && playersDepth < 0) {
+                        playersDepth = depth;
+                    } else if ("player".equals(tag) && playersDepth >= 0) {
+                        player = new String[PLAYER_FIELDS.length];
+                        playerDepth = depth;
+                    }
+                } else if ("teams".equals(tag)) {
+                    teamsOpen++;
+                } else if ("team".equals(tag) && teamsOpen > 0) {
+                    String teamName = r.getAttributeValue(null, "name");
+                    if (teamName == null || teamName.isBlank()) {
+                        teamName = "Unnamed Team";
+                    }
+                    team = new Team(teamName);
+                    teamDepth = depth;
+                }
+
+            } else if (event == XMLStreamConstants.CHARACTERS
+                    || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                if (field >= 0) {
+                    text.append(r.getText());
+                }
+
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (field >= 0 && depth == fieldDepth) {
+                    player[field] = text.toString().trim();
+                    field = -1;
+                } else if (player != null && depth == playerDepth) {
+                    addPlayer(team, player);
+                    player = null;
+                } else if (team != null && depth == playersDepth) {
+                    playersDepth = -1;
+                } else if (team != null && depth == teamDepth) {
+                    // League stores teams by name
+                    league.getTeams().put(team.getName(), team);
+                    team = null;
+                    teamsLoaded++;
+                    if (listener != null) {
+                        listener.progress(in.getCount(), totalBytes, teamsLoaded);
+                    }
+                } else if (team == null && "teams".equals(r.getLocalName()) && teamsOpen > 0) {
+                    teamsOpen--;
+                }
+                depth--;
             }
         }
 
-        return team;
+        return league;
+    }
+
+    private static int fieldIndex(String tag) {
+        for (int i = 0; i < PLAYER_FIELDS.length; i++) {
+            if (PLAYER_FIELDS[i].equals(tag)) return i;
+        }
+        return -1;
     }
 
     /**
-     * Parse a <player> element into a Player object.
+     * Builds a Player from its <player> fields and adds it to the team.
      */
-    private Player parsePlayer(Element playerElement) {
-        String firstName = getChildText(playerElement, "firstName");
-        String lastName  = getChildText(playerElement, "lastName");
-        String position  = getChildText(playerElement, "position");
-        String numText   = getChildText(playerElement, "number");
+    private void addPlayer(Team team, String[] fields) {
+        String numText = fields[NUMBER];
 
         int number = 0;
         if (numText != null && !numText.isBlank()) {
@@ -133,16 +323,47 @@ public class LeagueXmlLoader {
             }
         }
 
-        return new Player(firstName, lastName, number, position);
+        Player p = new Player(fields[FIRST], fields[LAST], number, fields[POSITION]);
+
+        // Uses Team.addPlayer() correctly
+        boolean added = team.addPlayer(p);
+        if (!added) {
+            System.err.println("⚠ Duplicate jersey number " + p.getNumber()
+                    + " on team " + team.getName() + ". Player skipped.");
+        }
     }
 
-    /**
-     * Helper: safely get text from child element.
-     */
-    private String getChildText(Element parent, String tagName) {
-        NodeList list = parent.getElementsByTagName(tagName);
-        if (list.getLength() == 0) return null;
-        Node node = list.item(0);
-        return node.getTextContent().trim();
+    /** Counts bytes handed to the parser, for progress reporting. */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
     }
 }
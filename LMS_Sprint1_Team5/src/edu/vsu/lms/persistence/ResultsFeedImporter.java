@@ -0,0 +1,414 @@
+package edu.vsu.lms.persistence;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import edu.vsu.lms.controller.GameStatsController;
+import edu.vsu.lms.model.*;
+
+/**
+ * ResultsFeedImporter
+ * -------------------
+ * Batch ingestion of game results and per-player box scores for one league.
+ *
+ * CSV (one record per line; blank lines and lines starting with # are skipped):
+ *   result,2025-12-13,Boston Celtics,Atlanta Hawks,101,99
+ *   stat,2025-12-13,Boston Celtics,Atlanta Hawks,Boston Celtics,0,4,3,10,6,5,2,7,3
+ *        (date, home, away, team, jersey, FT att/made, 2P att/made, 3P att/made, assists, fouls)
+ *
+ * XML:
+ *   <results>
+ *     <game date="2025-12-13" home="Boston Celtics" away="Atlanta Hawks"
+ *           homeScore="101" awayScore="99">
+ *       <line team="Boston Celtics" number="0" ftAtt="4" ftMade="3" twoAtt="10"
+ *             twoMade="6" threeAtt="5" threeMade="2" assists="7" fouls="3"/>
+ *     </game>
+ *   </results>
+ *   (a <game> without scores only carries stat lines)
+ *
+ * Two phases: read() streams the file into compact rows without touching
+ * the league, so a malformed file changes nothing. apply() then resolves
+ * each row through League.findGame (or the bracket) and the teams' jersey
+ * maps and applies the whole batch under one write lock, so readers see
+ * all of the feed or none of it; it ends by requesting one save. Rows
+ * that do not resolve or fail validation are rejected individually and
+ * reported.
+ */
+public class ResultsFeedImporter {
+
+    private static final int RESULT_FIELDS = 2;  // homeScore, awayScore
+    private static final int STAT_FIELDS = 9;    // number + 8 counters
+
+    private static final String[] LINE_ATTRS = {
+            "number", "ftAtt", "ftMade", "twoAtt", "twoMade",
+            "threeAtt", "threeMade", "assists", "fouls"};
+
+    private final AppState state = AppState.getInstance();
+
+    /** One parsed record. For stat rows team is set and nums holds number + 8 counters. */
+    private static final class Row {
+        final int line;
+        final LocalDate date;
+        final String home;
+        final String away;
+        final String team;
+        final int[] nums;
+
+        Row(int line, LocalDate date, String home, String away, String team, int[] nums) {
+            this.line = line;
+            this.date = date;
+            this.home = home;
+            this.away = away;
+            this.team = team;
+            this.nums = nums;
+        }
+
+        boolean isResult() {
+            return team == null;
+        }
+    }
+
+    /** The rows of one file, ready to apply. */
+    public static final class Batch {
+        private final List<Row> rows = new ArrayList<>();
+        private final List<String> rejected = new ArrayList<>();
+        private long readNanos;
+
+        public int getRowCount()   { return rows.size(); }
+        public int getRejectedCount() { return rejected.size(); }
+    }
+
+    /** Outcome of apply(). */
+    public static final class Report {
+        int resultsApplied;
+        int resultsUnchanged;
+        int statLinesApplied;
+        int rows;
+        long elapsedNanos;
+        final List<String> rejected = new ArrayList<>();
+
+        public int getResultsApplied()   { return resultsApplied; }
+        public int getResultsUnchanged() { return resultsUnchanged; }
+        public int getStatLinesApplied() { return statLinesApplied; }
+        public List<String> getRejected() { return Collections.unmodifiableList(rejected); }
+
+        /** Rows (accepted and rejected) processed per second, reading + applying. */
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rows * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d results (%d unchanged), %d stat lines, %d rejected — %d rows in %.1f ms (%.0f rows/s)",
+                    resultsApplied, resultsUnchanged, statLinesApplied, rejected.size(),
+                    rows, elapsedNanos / 1e6, getRowsPerSecond());
+        }
+    }
+
+    /**
+     * read() + apply() in one call, which also waits for the save (never
+     * call it on the EDT).
+     */
+    public Report importFile(String leagueName, File file) throws IOException {
+        Report report = apply(leagueName, read(file));
+        if ((report.resultsApplied > 0 || report.statLinesApplied > 0) && !state.flush()) {
+            System.err.println("❌ Could not save the imported results.");
+        }
+        return report;
+    }
+
+    // ---------- Phase 1: read ----------
+
+    /**
+     * Streams a .xml or .csv feed into a Batch. Rows with bad values are
+     * rejected here; an unreadable file throws and nothing is applied.
+     */
+    public Batch read(File file) throws IOException {
+        long t0 = System.nanoTime();
+        Batch batch = new Batch();
+        if (file.getName().toLowerCase(Locale.ROOT).endsWith(".xml")) {
+            readXml(file, batch);
+        } else {
+            readCsv(file, batch);
+        }
+        batch.readNanos = System.nanoTime() - t0;
+        return batch;
+    }
+
+    private void readCsv(File file, Batch batch) throws IOException {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8), 64 * 1024)) {
+            String text;
+            int line = 0;
+            while ((text = in.readLine()) != null) {
+                line++;
+                if (text.isBlank() || text.startsWith("#")) continue;
+
+                List<String> f = splitCsv(text);
+                String type = f.get(0).trim().toLowerCase(Locale.ROOT);
+                try {
+                    if (type.equals("result")) {
+                        expectFields(f, 4 + RESULT_FIELDS);
+                        batch.rows.add(new Row(line, parseDate(f.get(1)), f.get(2).trim(), f.get(3).trim(),
+                                null, parseInts(f, 4, RESULT_FIELDS)));
+                    } else if (type.equals("stat")) {
+                        expectFields(f, 5 + STAT_FIELDS);
+                        batch.rows.add(new Row(line, parseDate(f.get(1)), f.get(2).trim(), f.get(3).trim(),
+                                f.get(4).trim(), parseInts(f, 5, STAT_FIELDS)));
+                    } else if (!type.equals("type")) { // "type,..." header row
+                        batch.rejected.add("line " + line + ": unknown record type '" + f.get(0) + "'");
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    batch.rejected.add("line " + line + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void readXml(File file, Batch batch) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 64 * 1024)) {
+            XMLStreamReader r = factory.createXMLStreamReader(in);
+            try {
+                LocalDate date = null;
+                String home = null, away = null;
+                boolean gameOk = false;
+
+                while (r.hasNext()) {
+                    if (r.next() != XMLStreamConstants.START_ELEMENT) continue;
+                    int line = r.getLocation().getLineNumber();
+
+                    try {
+                        if ("game".equals(r.getLocalName())) {
+                            gameOk = false;
+                            date = parseDate(attr(r, "date"));
+                            home = attr(r, "home");
+                            away = attr(r, "away");
+                            gameOk = true;
+                            if (r.getAttributeValue(null, "homeScore") != null) {
+                                batch.rows.add(new Row(line, date, home, away, null, new int[]{
+                                        parseInt(attr(r, "homeScore")), parseInt(attr(r, "awayScore"))}));
+                            }
+                        } else if ("line".equals(r.getLocalName())) {
+                            if (!gameOk) {
+                                throw new IllegalArgumentException("<line> outside a valid <game>");
+                            }
+                            int[] nums = new int[STAT_FIELDS];
+                            for (int i = 0; i < STAT_FIELDS; i++) {
+                                String v = r.getAttributeValue(null, LINE_ATTRS[i]);
+                                nums[i] = (v == null || v.isBlank()) ? 0 : parseInt(v);
+                            }
+                            if (r.getAttributeValue(null, "number") == null) {
+                                throw new IllegalArgumentException("missing attribute 'number'");
+                            }
+                            batch.rows.add(new Row(line, date, home, away, attr(r, "team"), nums));
+                        }
+                    } catch (IllegalArgumentException | DateTimeParseException e) {
+                        batch.rejected.add("line " + line + ": " + e.getMessage());
+                    }
+                }
+            } finally {
+                r.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed results XML: " + e.getMessage(), e);
+        }
+    }
+
+    // ---------- Phase 2: apply ----------
+
+    /**
+     * Applies a batch to the league and requests one save at the end; the
+     * background saver writes it, so this is safe to call on the EDT. Results
+     * follow ScheduleController.recordResult (no ties, W/L updated);
+     * re-importing a game with different scores corrects the records
+     * instead of counting the game twice. Playoff results also advance
+     * the winner. Stat lines overwrite the player's line for that game,
+     * so importing the same feed twice is harmless.
+     */
+    public Report apply(String leagueName, Batch batch) {
+        League league = state.getLeagues().get(leagueName);
+        if (league == null) {
+            throw new IllegalArgumentException("League not found: " + leagueName);
+        }
+
+        long t0 = System.nanoTime();
+        Report report = new Report();
+        report.rows = batch.rows.size() + batch.rejected.size();
+        report.rejected.addAll(batch.rejected);
+
+        GameStatsController stats = state.getGameStatsController();
+        int[] counters = new int[STAT_FIELDS - 1];
+
+        // One write for the whole feed: readers see all of it or none of it
+        league.write(() -> {
+            for (Row row : batch.rows) {
+                Game g = findGame(league, row);
+                if (g == null) {
+                    reject(report, row, "no game " + row.home + " vs " + row.away + " on " + row.date);
+                    continue;
+                }
+                String problem = row.isResult()
+                        ? applyResult(league, g, row, report)
+                        : applyStatLine(league, g, row, stats, counters, report);
+                if (problem != null) {
+                    reject(report, row, problem);
+                }
+            }
+        });
+
+        if (report.resultsApplied > 0 || report.statLinesApplied > 0) {
+            state.save();
+        }
+        report.elapsedNanos = batch.readNanos + (System.nanoTime() - t0);
+        return report;
+    }
+
+    /** @return null if applied, otherwise why the row was rejected */
+    private String applyResult(League league, Game g, Row row, Report report) {
+        int homeScore = row.nums[0];
+        int awayScore = row.nums[1];
+        if (homeScore < 0 || awayScore < 0) return "negative score";
+        if (homeScore == awayScore) return "ties are not allowed";
+
+        Team home = league.getTeams().get(g.getHomeTeam());
+        Team away = league.getTeams().get(g.getAwayTeam());
+        if (home == null || away == null) return "team not in league";
+
+        boolean playoff = isBracketGame(league, g);
+        String winner = (homeScore > awayScore) ? g.getHomeTeam() : g.getAwayTeam();
+
+        if (g.hasResult()) {
+            if (g.getHomeScore() == homeScore && g.getAwayScore() == awayScore) {
+                report.resultsUnchanged++;
+                return null;
+            }
+            if (playoff) return "playoff result already recorded";
+        }
+
+        // A corrected score replaces the old one in the standings as well
+        g.setResult(winner, homeScore, awayScore);
+
+        if (playoff) {
+            league.getBracket().advanceWinner(g);
+        }
+        report.resultsApplied++;
+        return null;
+    }
+
+    /** @return null if applied, otherwise why the row was rejected */
+    private String applyStatLine(League league, Game g, Row row, GameStatsController stats,
+                                 int[] counters, Report report) {
+        if (!row.team.equals(g.getHomeTeam()) && !row.team.equals(g.getAwayTeam())) {
+            return row.team + " did not play in this game";
+        }
+        Team team = league.getTeams().get(row.team);
+        if (team == null) return "team not in league: " + row.team;
+
+        int[] n = row.nums;
+        Player player = team.findPlayerByNumber(n[0]);
+        if (player == null) return "no #" + n[0] + " on " + row.team;
+
+        for (int i = 1; i < n.length; i++) {
+            if (n[i] < 0) return "negative " + LINE_ATTRS[i];
+        }
+        if (n[2] > n[1] || n[4] > n[3] || n[6] > n[5]) return "more shots made than attempted";
+
+        // Row order after the jersey number is getCounters() order; one
+        // setCounters() is one season-aggregate update for the line
+        System.arraycopy(n, 1, counters, 0, counters.length);
+        stats.getOrCreateGameStats(g).getOrCreatePlayerStats(player, row.team).setCounters(counters);
+        report.statLinesApplied++;
+        return null;
+    }
+
+    /** The regular-season game the row names, else the playoff game. */
+    private static Game findGame(League league, Row row) {
+        Game g = league.findGame(row.date, row.home, row.away);
+        return (g != null) ? g : league.findPlayoffGame(row.date, row.home, row.away);
+    }
+
+    private static boolean isBracketGame(League league, Game g) {
+        return league.hasBracket() && league.getBracket().contains(g);
+    }
+
+    private static void reject(Report report, Row row, String why) {
+        report.rejected.add("line " + row.line + ": " + why);
+    }
+
+    // ---------- Parsing helpers ----------
+
+    /** Splits one CSV line; double quotes protect commas, "" is a literal quote. */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cur.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        fields.add(cur.toString());
+        return fields;
+    }
+
+    private static void expectFields(List<String> f, int count) {
+        if (f.size() != count) {
+            throw new IllegalArgumentException("expected " + count + " fields but found " + f.size());
+        }
+    }
+
+    private static int[] parseInts(List<String> f, int from, int count) {
+        int[] out = new int[count];
+        for (int i = 0; i < count; i++) {
+            out[i] = parseInt(f.get(from + i));
+        }
+        return out;
+    }
+
+    private static int parseInt(String s) {
+        try {
+            return Integer.parseInt(s.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a number: '" + s.trim() + "'");
+        }
+    }
+
+    private static LocalDate parseDate(String s) {
+        return LocalDate.parse(s.trim());
+    }
+
+    private static String attr(XMLStreamReader r, String name) {
+        String v = r.getAttributeValue(null, name);
+        if (v == null || v.isBlank()) {
+            throw new IllegalArgumentException("missing attribute '" + name + "'");
+        }
+        return v.trim();
+    }
+}
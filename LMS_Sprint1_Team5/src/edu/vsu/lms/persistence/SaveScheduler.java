@@ -0,0 +1,169 @@
+package edu.vsu.lms.persistence;
+
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.*;
+
+/**
+ * SaveScheduler
+ * -------------
+ * Dirty-tracking, coalescing saver for AppState.
+ *
+ * requestSave() only marks the state dirty. The actual snapshot write runs
+ * on one dedicated background thread:
+ *  - a burst of requests collapses into a single write once things have
+ *    been quiet for the debounce delay, and
+ *  - no change waits longer than maxLatency, even if requests never stop.
+ *
+ * flush() blocks until everything requested so far is on disk; MainFrame
+ * calls it on exit and logout.
+ */
+public class SaveScheduler {
+
+    /** Performs one snapshot write and returns the number of bytes written. */
+    public interface SnapshotWriter {
+        long write() throws Exception;
+    }
+
+    private final SnapshotWriter writer;
+    private final long debounceNanos;
+    private final long maxLatencyNanos;
+    private final ScheduledExecutorService exec;
+
+    // guarded by this
+    private ScheduledFuture<?> pending;
+    private long firstDirtyNanos = -1;
+
+    // metrics, guarded by this
+    private long saveCount;
+    private long failedCount;
+    private long bytesWritten;
+    private long totalWriteNanos;
+    private long lastWriteNanos;
+    private long maxWriteNanos;
+
+    public SaveScheduler(SnapshotWriter writer, long debounceMillis, long maxLatencyMillis) {
+        this.writer = writer;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.exec = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "appstate-saver");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Marks the state dirty and (re)arms the coalesced write. Never blocks. */
+    public synchronized void requestSave() {
+        long now = System.nanoTime();
+        if (firstDirtyNanos < 0) {
+            firstDirtyNanos = now;
+        }
+        long due = Math.min(now + debounceNanos, firstDirtyNanos + maxLatencyNanos);
+
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = exec.schedule(() -> runSave(), Math.max(0, due - now), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Blocks until every save requested so far has been written.
+     *
+     * @return false if that write failed or could not run
+     */
+    public boolean flush() {
+        synchronized (this) {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+        try {
+            // Runs after any in-flight write, since the executor has one thread
+            return exec.submit(() -> runSave()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("❌ Flush failed: " + e.getCause());
+        }
+        return false;
+    }
+
+    public synchronized boolean isDirty() {
+        return firstDirtyNanos >= 0;
+    }
+
+    /** @return true if the state is on disk afterwards */
+    private boolean runSave() {
+        synchronized (this) {
+            if (firstDirtyNanos < 0) return true; // nothing to do
+            firstDirtyNanos = -1;
+            pending = null;
+        }
+
+        long t0 = System.nanoTime();
+        try {
+            long bytes = writer.write();
+            long elapsed = System.nanoTime() - t0;
+            synchronized (this) {
+                saveCount++;
+                bytesWritten += bytes;
+                totalWriteNanos += elapsed;
+                lastWriteNanos = elapsed;
+                maxWriteNanos = Math.max(maxWriteNanos, elapsed);
+            }
+            return true;
+        } catch (ConcurrentModificationException e) {
+            // The graph changed while we were serializing it; try again shortly
+            requestSave();
+        } catch (Exception e) {
+            synchronized (this) {
+                failedCount++;
+            }
+            System.err.println("❌ Background save failed:");
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    // ---------- Metrics ----------
+
+    public synchronized Metrics getMetrics() {
+        return new Metrics(saveCount, failedCount, bytesWritten,
+                totalWriteNanos, lastWriteNanos, maxWriteNanos);
+    }
+
+    /** Immutable snapshot of the saver's counters. */
+    public static final class Metrics {
+        public final long saveCount;
+        public final long failedCount;
+        public final long bytesWritten;
+        private final long totalWriteNanos;
+        private final long lastWriteNanos;
+        private final long maxWriteNanos;
+
+        Metrics(long saveCount, long failedCount, long bytesWritten,
+                long totalWriteNanos, long lastWriteNanos, long maxWriteNanos) {
+            this.saveCount = saveCount;
+            this.failedCount = failedCount;
+            this.bytesWritten = bytesWritten;
+            this.totalWriteNanos = totalWriteNanos;
+            this.lastWriteNanos = lastWriteNanos;
+            this.maxWriteNanos = maxWriteNanos;
+        }
+
+        public double getLastWriteMillis() { return lastWriteNanos / 1e6; }
+        public double getMaxWriteMillis()  { return maxWriteNanos / 1e6; }
+
+        public double getAvgWriteMillis() {
+            return saveCount == 0 ? 0.0 : totalWriteNanos / 1e6 / saveCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d saves (%d failed), %d bytes, write ms last/avg/max = %.1f/%.1f/%.1f",
+                    saveCount, failedCount, bytesWritten,
+                    getLastWriteMillis(), getAvgWriteMillis(), getMaxWriteMillis());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package edu.vsu.lms.persistence;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * SnapshotFiles
+ * -------------
+ * Crash-safe storage for AppState snapshots.
+ *
+ * File layout:
+ *   int    MAGIC
+ *   int    payload length
+ *   byte[] payload
+ *   long   CRC32 of the payload (trailer)
+ *
+ * Writes go to a temp file that is fsync'ed and then atomically renamed over
+ * the target, so a crash leaves either the old or the new file, never a
+ * half-written one. The previous KEEP snapshots are kept as target.1 ..
+ * target.KEEP so a snapshot that later fails its checksum can fall back.
+ */
+public final class SnapshotFiles {
+
+    private static final int MAGIC = 0x4C4D5353; // "LMSS"
+
+    /** How many older snapshots to keep next to the current one. */
+    public static final int KEEP = 3;
+
+    // Java serialization stream header: files written before checksums existed
+    private static final int LEGACY_STREAM_MAGIC = 0xACED0005;
+
+    private SnapshotFiles() {}
+
+    /** Thrown when a snapshot is truncated or fails its checksum. */
+    public static class CorruptSnapshotException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public CorruptSnapshotException(String msg) {
+            super(msg);
+        }
+    }
+
+    // ---------- Write ----------
+
+    /**
+     * Writes payload to target: temp file + fsync + rotate + atomic rename.
+     *
+     * @return total bytes written, including header and trailer
+     */
+    public static long writeAtomically(Path target, byte[] payload) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(payload.length);
+        ByteBuffer trailer = ByteBuffer.allocate(8).putLong(crc.getValue());
+        header.flip();
+        trailer.flip();
+
+        try (FileChannel ch = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] parts = {header, ByteBuffer.wrap(payload), trailer};
+            while (trailer.hasRemaining()) {
+                ch.write(parts); // may write only part of them
+            }
+            ch.force(true);
+        }
+
+        rotate(target);
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(dir);
+
+        return 16L + payload.length;
+    }
+
+    /**
+     * target.1 -> ... -> target.KEEP (oldest dropped), then target.1 becomes
+     * a hard link to (or a copy of) target. target itself stays in place
+     * until the atomic move replaces it, so a crash never leaves it missing.
+     */
+    private static void rotate(Path target) throws IOException {
+        if (!Files.exists(target)) return;
+        for (int i = KEEP - 1; i >= 1; i--) {
+            Path from = backup(target, i);
+            if (Files.exists(from)) {
+                Files.move(from, backup(target, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Path newest = backup(target, 1);
+        Files.deleteIfExists(newest);
+        try {
+            Files.createLink(newest, target);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(target, newest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void syncDirectory(Path dir) {
+        // Makes the rename itself durable; not supported everywhere (e.g. Windows)
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException | UnsupportedOperationException ignored) {
+        }
+    }
+
+    // ---------- Read ----------
+
+    /** The current snapshot followed by its backups, newest first. */
+    public static List<Path> candidates(Path target) {
+        List<Path> list = new ArrayList<>();
+        list.add(target);
+        for (int i = 1; i <= KEEP; i++) {
+            list.add(backup(target, i));
+        }
+        return list;
+    }
+
+    /**
+     * Reads and verifies one snapshot file and returns its payload.
+     * A pre-checksum file (plain Java serialization) is returned whole so
+     * old saves can still be migrated.
+     */
+    public static byte[] readVerified(Path file) throws IOException {
+        byte[] all = Files.readAllBytes(file);
+        if (all.length < 4) {
+            throw new CorruptSnapshotException(file + " is truncated");
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(all);
+        int magic = buf.getInt();
+        if (magic == LEGACY_STREAM_MAGIC) {
+            return all;
+        }
+        if (magic != MAGIC || all.length < 16) {
+            throw new CorruptSnapshotException(file + " has no valid header");
+        }
+
+        int len = buf.getInt();
+        if (len < 0 || len != all.length - 16) {
+            throw new CorruptSnapshotException(file + " is truncated (expected " + len + " payload bytes)");
+        }
+        byte[] payload = new byte[len];
+        buf.get(payload);
+        long stored = buf.getLong();
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (crc.getValue() != stored) {
+            throw new CorruptSnapshotException(file + " failed its checksum");
+        }
+        return payload;
+    }
+
+    /**
+     * Fills buf from ch starting at position; a single read may stop short.
+     * Running out of file first means the file is truncated.
+     */
+    static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, position);
+            if (n < 0) {
+                throw new CorruptSnapshotException("Unexpected end of file at byte " + position);
+            }
+            position += n;
+        }
+    }
+
+    /**
+     * Moves unreadable snapshots out of the rotation so a fresh start can't
+     * overwrite the only copies someone might still want to recover by hand.
+     */
+    public static void quarantine(Path target) {
+        String stamp = String.valueOf(System.currentTimeMillis());
+        for (Path p : candidates(target)) {
+            if (!Files.exists(p)) continue;
+            try {
+                Files.move(p, p.resolveSibling(p.getFileName() + ".corrupt-" + stamp));
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not move aside " + p + ": " + e);
+            }
+        }
+    }
+
+    private static Path backup(Path target, int i) {
+        return target.resolveSibling(target.getFileName() + "." + i);
+    }
+}
@@ -0,0 +1,278 @@
+package edu.vsu.lms.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.vsu.lms.controller.GameStatsController;
+import edu.vsu.lms.model.*;
+
+/**
+ * SnapshotReader
+ * --------------
+ * Decodes payloads produced by SnapshotWriter. See SnapshotWriter for the
+ * layout. Version 1 payloads (the whole AppState in one file, before the
+ * store was split per league) are still read so old saves can migrate.
+ * Games and players from payloads before version 3 carry no ids; they
+ * get new ones as the league registers them.
+ */
+public class SnapshotReader {
+
+    private int version;
+    private String[] strings;
+    private Player[] players;
+    private Game[] games;
+
+    /** True if the payload was written by SnapshotWriter (vs. legacy Java serialization). */
+    public static boolean isBinarySnapshot(byte[] payload) {
+        return payload.length >= 4
+                && ((payload[0] & 0xFF) << 24 | (payload[1] & 0xFF) << 16
+                    | (payload[2] & 0xFF) << 8 | (payload[3] & 0xFF)) == SnapshotWriter.MAGIC;
+    }
+
+    /** Reads a version 1 payload: the complete state in one snapshot. */
+    public AppState read(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        version = readHeader(in);
+        if (version != 1) {
+            throw new IOException("Not a single-file AppState snapshot");
+        }
+
+        AppState state = new AppState();
+        state.setJournalSeq(readVarLong(in));
+        readStringTable(in);
+        readUsers(in, state);
+        readPlayers(in);
+        readGames(in);
+        int n = readVarInt(in);
+        for (int i = 0; i < n; i++) {
+            League lg = readLeague(in);
+            state.getLeagues().put(lg.getName(), lg);
+        }
+        readStats(in, state.getGameStatsController());
+        return state;
+    }
+
+    /**
+     * Reads a manifest into state (journal position and users) and returns
+     * the league name -> segment id mapping.
+     */
+    public Map<String, Integer> readManifest(byte[] payload, AppState state) throws IOException {
+        DataInputStream in = open(payload, SnapshotWriter.KIND_MANIFEST);
+        state.setJournalSeq(readVarLong(in));
+        readUsers(in, state);
+
+        int n = readVarInt(in);
+        Map<String, Integer> segments = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            String name = readString(in);
+            segments.put(name, readVarInt(in));
+        }
+        return segments;
+    }
+
+    /** Reads one league segment; its game stats are registered with stats. */
+    public League readLeagueSegment(byte[] payload, GameStatsController stats) throws IOException {
+        DataInputStream in = open(payload, SnapshotWriter.KIND_LEAGUE);
+        readPlayers(in);
+        readGames(in);
+        League lg = readLeague(in);
+        readStats(in, stats);
+        return lg;
+    }
+
+    private DataInputStream open(byte[] payload, int expectedKind) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        version = readHeader(in);
+        if (version < 2) {
+            throw new IOException("Snapshot predates the segmented store");
+        }
+        int kind = in.readUnsignedByte();
+        if (kind != expectedKind) {
+            throw new IOException("Expected snapshot kind " + expectedKind + " but found " + kind);
+        }
+        readStringTable(in);
+        return in;
+    }
+
+    /** Checks the magic and returns the format version. */
+    private static int readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != SnapshotWriter.MAGIC) {
+            throw new IOException("Not a binary AppState snapshot");
+        }
+        int version = readVarInt(in);
+        if (version > SnapshotWriter.FORMAT_VERSION) {
+            throw new IOException("Snapshot format v" + version + " is newer than this build supports");
+        }
+        return version;
+    }
+
+    private void readStringTable(DataInputStream in) throws IOException {
+        strings = new String[readVarInt(in)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+    }
+
+    private void readUsers(DataInputStream in, AppState state) throws IOException {
+        Role[] roles = Role.values();
+        int n = readVarInt(in);
+        for (int i = 0; i < n; i++) {
+            String id = readString(in);
+            String first = readString(in);
+            String last = readString(in);
+            Role role = roles[in.readUnsignedByte()];
+            String hash = readString(in);
+            boolean suspended = in.readBoolean();
+            state.getUsers().put(id, new User(id, first, last, role, hash, suspended));
+        }
+    }
+
+    private void readPlayers(DataInputStream in) throws IOException {
+        players = new Player[readVarInt(in)];
+        for (int i = 0; i < players.length; i++) {
+            String first = readString(in);
+            String last = readString(in);
+            String position = readString(in);
+            int number = readZigZag(in);
+            players[i] = new Player(first, last, number, position);
+            if (version >= 3) {
+                players[i].restoreId(readVarInt(in));
+            }
+        }
+    }
+
+    private void readGames(DataInputStream in) throws IOException {
+        games = new Game[readVarInt(in)];
+        for (int i = 0; i < games.length; i++) {
+            LocalDate date = readDate(in);
+            Game g = new Game(date, readString(in), readString(in));
+            String winner = readString(in);
+            int homeScore = readVarInt(in);
+            int awayScore = readVarInt(in);
+            if (winner != null) {
+                g.setResult(winner, homeScore, awayScore);
+            }
+            if (version >= 3) {
+                g.restoreId(readVarInt(in));
+            }
+            games[i] = g;
+        }
+    }
+
+    private League readLeague(DataInputStream in) throws IOException {
+        League lg = new League(readString(in));
+        lg.setScheduleCreated(in.readBoolean());
+
+        int teamCount = readVarInt(in);
+        for (int t = 0; t < teamCount; t++) {
+            Team team = new Team(readString(in));
+            team.restoreRecord(readVarInt(in), readVarInt(in));
+            int playerCount = readVarInt(in);
+            for (int p = 0; p < playerCount; p++) {
+                team.addPlayer(lg.register(players[readVarInt(in)]));
+            }
+            lg.getTeams().put(team.getName(), team);
+        }
+
+        int gameCount = readVarInt(in);
+        for (int g = 0; g < gameCount; g++) {
+            lg.addGame(games[readVarInt(in)]);
+        }
+
+        if (in.readBoolean()) {
+            Bracket bracket = new Bracket();
+            int roundCount = readVarInt(in);
+            for (int r = 0; r < roundCount; r++) {
+                BracketRound round = new BracketRound(readVarInt(in), readDate(in));
+                int roundGames = readVarInt(in);
+                for (int g = 0; g < roundGames; g++) {
+                    round.addGame(lg.register(games[readVarInt(in)]));
+                }
+                bracket.addRound(round);
+            }
+            lg.setBracket(bracket);
+        }
+
+        if (version >= 4) {
+            List<Ranking.Tiebreaker> rules = new ArrayList<>();
+            int ruleCount = readVarInt(in);
+            for (int i = 0; i < ruleCount; i++) {
+                String rule = readString(in);
+                try {
+                    rules.add(Ranking.Tiebreaker.valueOf(rule));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("⚠️ " + lg.getName() + ": unknown tiebreaker " + rule + " ignored.");
+                }
+            }
+            lg.setTiebreakers(rules);
+        }
+        // Team W/L comes from the regular-season results; older snapshots
+        // also counted playoff games, and records could drift
+        lg.getStandings();
+        return lg;
+    }
+
+    private void readStats(DataInputStream in, GameStatsController stats) throws IOException {
+        int n = readVarInt(in);
+        for (int i = 0; i < n; i++) {
+            Game g = games[readVarInt(in)];
+            int lines = readVarInt(in);
+            for (int l = 0; l < lines; l++) {
+                Player p = players[readVarInt(in)];
+                String team = readString(in);
+                int ftAtt = readVarInt(in), ftMade = readVarInt(in);
+                int twoAtt = readVarInt(in), twoMade = readVarInt(in);
+                int threeAtt = readVarInt(in), threeMade = readVarInt(in);
+                int assists = readVarInt(in), fouls = readVarInt(in);
+                if (ftAtt + ftMade + twoAtt + twoMade + threeAtt + threeMade + assists + fouls == 0) {
+                    continue; // empty row from an older snapshot; not worth keeping
+                }
+                PlayerGameStats s = stats.getOrCreateGameStats(g).getOrCreatePlayerStats(p, team);
+                s.setFreeThrowStats(ftAtt, ftMade);
+                s.setTwoPointStats(twoAtt, twoMade);
+                s.setThreePointStats(threeAtt, threeMade);
+                s.setAssists(assists);
+                s.setFouls(fouls);
+            }
+        }
+    }
+
+    // ---------- Primitives ----------
+
+    private String readString(DataInputStream in) throws IOException {
+        int ref = readVarInt(in);
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        long v = readVarLong(in);
+        if (v == 0) return null;
+        long zz = v - 1;
+        return LocalDate.ofEpochDay((zz >>> 1) ^ -(zz & 1));
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    static int readZigZag(DataInputStream in) throws IOException {
+        int v = readVarInt(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,295 @@
+package edu.vsu.lms.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+
+import edu.vsu.lms.controller.GameStatsController;
+import edu.vsu.lms.model.*;
+
+/**
+ * SnapshotWriter
+ * --------------
+ * Hand-rolled binary encoding of AppState for the segmented store (see
+ * LeagueStore). Each payload is wrapped by SnapshotFiles with a header and
+ * checksum.
+ *
+ * Every payload (version 4) starts with:
+ *   int     MAGIC ("LMSB"), varint FORMAT_VERSION, byte kind
+ *   string table      every distinct String once; refs are varint index+1, 0 = null
+ *
+ * KIND_MANIFEST (one per store):
+ *   varlong journalSeq
+ *   users
+ *   leagues           (name ref, varint segment id)
+ *
+ * KIND_LEAGUE (one per league):
+ *   player table      every Player once, with its id; roster and stat lines refer to it by index
+ *   game table        every Game once, with its id (schedule, bracket, stats keys); dates as epoch-day
+ *   league            teams -> player indexes, games/bracket -> game indexes,
+ *                     tiebreaker rule names
+ *   game stats        game index, then (player index, team ref, 8 varint counters)
+ *
+ * Player and Game objects are written once and referenced by index, so the
+ * reader rebuilds the same sharing the in-memory graph has. Version 2 (no
+ * ids; the reader hands out new ones), version 3 (no tiebreakers) and
+ * version 1 (one payload holding
+ * everything) are still readable by SnapshotReader.
+ */
+public class SnapshotWriter {
+
+    static final int MAGIC = 0x4C4D5342; // "LMSB"
+    static final int FORMAT_VERSION = 4;
+
+    static final int KIND_MANIFEST = 1;
+    static final int KIND_LEAGUE = 2;
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final Map<Player, Integer> players = new IdentityHashMap<>();
+    private final Map<Game, Integer> games = new IdentityHashMap<>();
+    private final List<Player> playerList = new ArrayList<>();
+    private final List<Game> gameList = new ArrayList<>();
+
+    /**
+     * Encodes the store manifest: users plus the league -> segment mapping.
+     * Not thread-safe, use one writer per payload.
+     */
+    public byte[] writeManifest(long journalSeq, Collection<User> users,
+                                Map<String, Integer> segments) throws IOException {
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(4 * 1024);
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+        writeVarLong(body, journalSeq);
+        writeUsers(body, users);
+        writeVarInt(body, segments.size());
+        for (Map.Entry<String, Integer> e : segments.entrySet()) {
+            writeString(body, e.getKey());
+            writeVarInt(body, e.getValue());
+        }
+        return finish(KIND_MANIFEST, bodyBytes);
+    }
+
+    /**
+     * Encodes one league together with the stats of its games.
+     * Not thread-safe, use one writer per payload.
+     */
+    public byte[] writeLeague(League lg, GameStatsController stats) throws IOException {
+        Map<Game, GameStats> leagueStats = collect(lg, stats);
+
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(16 * 1024);
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+        writePlayers(body);
+        writeGames(body);
+        writeLeague(body, lg);
+        writeStats(body, leagueStats);
+        return finish(KIND_LEAGUE, bodyBytes);
+    }
+
+    private byte[] finish(int kind, ByteArrayOutputStream bodyBytes) throws IOException {
+        // Body is written first, so the string table is complete at this point
+        ByteArrayOutputStream all = new ByteArrayOutputStream(bodyBytes.size() + 16 * strings.size());
+        DataOutputStream out = new DataOutputStream(all);
+        out.writeInt(MAGIC);
+        writeVarInt(out, FORMAT_VERSION);
+        out.writeByte(kind);
+        writeVarInt(out, strings.size());
+        for (String s : strings.keySet()) {
+            out.writeUTF(s);
+        }
+        bodyBytes.writeTo(out);
+        out.flush();
+        return all.toByteArray();
+    }
+
+    // ---------- Pass 1: assign indexes ----------
+
+    /** Indexes the league's players and games; returns the stats of its games. */
+    private Map<Game, GameStats> collect(League lg, GameStatsController stats) {
+        for (Team t : lg.getTeams().values()) {
+            for (Player p : t.getPlayers()) addPlayer(p);
+        }
+        for (Game g : lg.getGames()) addGame(g);
+        if (lg.hasBracket()) {
+            for (BracketRound r : lg.getBracket().getRounds()) {
+                for (Game g : r.getGames()) addGame(g);
+            }
+        }
+
+        Map<Game, GameStats> leagueStats = new LinkedHashMap<>();
+        for (Game g : gameList) {
+            GameStats gs = stats.getGameStats(g);
+            if (gs == null || countLines(gs) == 0) continue;
+            leagueStats.put(g, gs);
+            // players who have since left the roster still own their stat lines
+            for (PlayerGameStats s : gs.getAllPlayerStats()) {
+                if (!s.isEmpty()) addPlayer(s.getPlayer());
+            }
+        }
+        return leagueStats;
+    }
+
+    private void addPlayer(Player p) {
+        if (!players.containsKey(p)) {
+            players.put(p, playerList.size());
+            playerList.add(p);
+        }
+    }
+
+    private void addGame(Game g) {
+        if (!games.containsKey(g)) {
+            games.put(g, gameList.size());
+            gameList.add(g);
+        }
+    }
+
+    // ---------- Pass 2: sections ----------
+
+    private void writeUsers(DataOutputStream out, Collection<User> users) throws IOException {
+        writeVarInt(out, users.size());
+        for (User u : users) {
+            writeString(out, u.getId());
+            writeString(out, u.getFirstName());
+            writeString(out, u.getLastName());
+            out.writeByte(u.getRole().ordinal());
+            writeString(out, u.getPasswordHash());
+            out.writeBoolean(u.isSuspended());
+        }
+    }
+
+    private void writePlayers(DataOutputStream out) throws IOException {
+        writeVarInt(out, playerList.size());
+        for (Player p : playerList) {
+            writeString(out, p.getFirstName());
+            writeString(out, p.getLastName());
+            writeString(out, p.getPosition());
+            writeZigZag(out, p.getNumber());
+            writeVarInt(out, p.getId());
+        }
+    }
+
+    private void writeGames(DataOutputStream out) throws IOException {
+        writeVarInt(out, gameList.size());
+        for (Game g : gameList) {
+            writeDate(out, g.getDate());
+            writeString(out, g.getHomeTeam());
+            writeString(out, g.getAwayTeam());
+            writeString(out, g.getWinner());
+            writeVarInt(out, g.getHomeScore());
+            writeVarInt(out, g.getAwayScore());
+            writeVarInt(out, g.getId());
+        }
+    }
+
+    private void writeLeague(DataOutputStream out, League lg) throws IOException {
+        writeString(out, lg.getName());
+        out.writeBoolean(lg.isScheduleCreated());
+
+        writeVarInt(out, lg.getTeams().size());
+        for (Team t : lg.getTeams().values()) {
+            writeString(out, t.getName());
+            writeVarInt(out, t.getWins());
+            writeVarInt(out, t.getLosses());
+            writeVarInt(out, t.getPlayers().size());
+            for (Player p : t.getPlayers()) {
+                writeVarInt(out, players.get(p));
+            }
+        }
+
+        writeVarInt(out, lg.getGames().size());
+        for (Game g : lg.getGames()) {
+            writeVarInt(out, games.get(g));
+        }
+
+        out.writeBoolean(lg.hasBracket());
+        if (lg.hasBracket()) {
+            List<BracketRound> rounds = lg.getBracket().getRounds();
+            writeVarInt(out, rounds.size());
+            for (BracketRound r : rounds) {
+                writeVarInt(out, r.getRoundNumber());
+                writeDate(out, r.getDate());
+                writeVarInt(out, r.getGames().size());
+                for (Game g : r.getGames()) {
+                    writeVarInt(out, games.get(g));
+                }
+            }
+        }
+
+        List<Ranking.Tiebreaker> rules = lg.getTiebreakers();
+        writeVarInt(out, rules.size());
+        for (Ranking.Tiebreaker t : rules) {
+            writeString(out, t.name());
+        }
+    }
+
+    /** Lines worth writing: all-zero lines are left out of the snapshot. */
+    private static int countLines(GameStats gs) {
+        int n = 0;
+        for (PlayerGameStats s : gs.getAllPlayerStats()) {
+            if (!s.isEmpty()) n++;
+        }
+        return n;
+    }
+
+    private void writeStats(DataOutputStream out, Map<Game, GameStats> all) throws IOException {
+        writeVarInt(out, all.size());
+        for (Map.Entry<Game, GameStats> e : all.entrySet()) {
+            GameStats gs = e.getValue();
+            writeVarInt(out, games.get(e.getKey()));
+            writeVarInt(out, countLines(gs));
+            for (PlayerGameStats s : gs.getAllPlayerStats()) {
+                if (s.isEmpty()) continue;
+                writeVarInt(out, players.get(s.getPlayer()));
+                writeString(out, gs.getTeamNameForPlayer(s.getPlayer()));
+                writeVarInt(out, s.getFreeThrowsAttempted());
+                writeVarInt(out, s.getFreeThrowsMade());
+                writeVarInt(out, s.getTwoPointersAttempted());
+                writeVarInt(out, s.getTwoPointersMade());
+                writeVarInt(out, s.getThreePointersAttempted());
+                writeVarInt(out, s.getThreePointersMade());
+                writeVarInt(out, s.getAssists());
+                writeVarInt(out, s.getFouls());
+            }
+        }
+    }
+
+    // ---------- Primitives ----------
+
+    private void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        Integer idx = strings.get(s);
+        if (idx == null) {
+            idx = strings.size();
+            strings.put(s, idx);
+        }
+        writeVarInt(out, idx + 1);
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate d) throws IOException {
+        // epoch-day + 1 so that 0 can stand for "no date"
+        writeVarLong(out, d == null ? 0 : zigZag(d.toEpochDay()) + 1);
+    }
+
+    static void writeVarInt(DataOutputStream out, int v) throws IOException {
+        writeVarLong(out, v & 0xFFFFFFFFL);
+    }
+
+    static void writeZigZag(DataOutputStream out, int v) throws IOException {
+        writeVarInt(out, (v << 1) ^ (v >> 31));
+    }
+
+    static long zigZag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    static void writeVarLong(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+}
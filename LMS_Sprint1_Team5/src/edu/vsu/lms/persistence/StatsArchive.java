@@ -0,0 +1,469 @@
+package edu.vsu.lms.persistence;
+
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.CRC32;
+
+import edu.vsu.lms.controller.GameStatsController;
+import edu.vsu.lms.model.*;
+
+/**
+ * StatsArchive
+ * ------------
+ * One completed season of a league, stored as a fixed-width columnar file
+ * and memory-mapped read-only, so old seasons can be queried without
+ * putting their PlayerGameStats on the heap.
+ *
+ * The file is written through SnapshotFiles (8-byte header, CRC trailer).
+ * Its payload is:
+ *   int    ARCHIVE_MAGIC ("LMSA"), int FORMAT_VERSION
+ *   int    row count, int dictionary length
+ *   dictionary   league name, label, teams (name, W, L), players (first,
+ *                last, number, position, team id), games (epoch-day, home,
+ *                away and winner team ids, scores, first row)
+ *   columns      COLUMNS int columns of row-count entries each, in COL_
+ *                order; one row per player-game, rows grouped by game
+ *
+ * Only the dictionary is read onto the heap when an archive is opened.
+ * Stat rows are read straight out of the mapping and turned into
+ * PlayerGameStats one game at a time (see getGameStats).
+ */
+public final class StatsArchive {
+
+    static final int ARCHIVE_MAGIC = 0x4C4D5341; // "LMSA"
+    static final int FORMAT_VERSION = 1;
+
+    static final String EXTENSION = ".lmsa";
+
+    private static final int COL_GAME = 0;
+    private static final int COL_PLAYER = 1;
+    private static final int COL_TEAM = 2;
+    private static final int COL_FT_ATT = 3;
+    private static final int COL_FT_MADE = 4;
+    private static final int COL_TWO_ATT = 5;
+    private static final int COL_TWO_MADE = 6;
+    private static final int COL_THREE_ATT = 7;
+    private static final int COL_THREE_MADE = 8;
+    private static final int COL_ASSISTS = 9;
+    private static final int COL_FOULS = 10;
+    private static final int COLUMNS = 11;
+
+    // SnapshotFiles header in front of the payload: magic + length
+    private static final int FILE_HEADER = 8;
+    // ARCHIVE_MAGIC, FORMAT_VERSION, row count, dictionary length
+    private static final int PAYLOAD_HEADER = 16;
+
+    private final Path file;
+    private final String leagueName;
+    private final String label;
+
+    private final String[] teams;
+    private final int[] wins;
+    private final int[] losses;
+    private final Player[] players;
+    private final int[] playerTeam;
+    private final Game[] games;
+    private final int[] firstRow; // games.length + 1 entries
+
+    private final Map<Player, Integer> playerIds = new IdentityHashMap<>();
+    private final Map<Game, Integer> gameIds = new IdentityHashMap<>();
+
+    private final int rows;
+    private final IntBuffer columns; // mapped, read-only
+
+    private SeasonAggregates aggregates; // built on first use
+
+    private StatsArchive(Path file, DataInputStream dict, int rows, IntBuffer columns) throws IOException {
+        this.file = file;
+        this.rows = rows;
+        this.columns = columns;
+
+        leagueName = dict.readUTF();
+        label = dict.readUTF();
+
+        int teamCount = dict.readInt();
+        teams = new String[teamCount];
+        wins = new int[teamCount];
+        losses = new int[teamCount];
+        for (int t = 0; t < teamCount; t++) {
+            teams[t] = dict.readUTF();
+            wins[t] = dict.readInt();
+            losses[t] = dict.readInt();
+        }
+
+        int playerCount = dict.readInt();
+        players = new Player[playerCount];
+        playerTeam = new int[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            String first = dict.readUTF();
+            String last = dict.readUTF();
+            int number = dict.readInt();
+            String position = dict.readBoolean() ? dict.readUTF() : null;
+            players[p] = new Player(first, last, number, position);
+            playerTeam[p] = dict.readInt();
+            playerIds.put(players[p], p);
+        }
+
+        int gameCount = dict.readInt();
+        games = new Game[gameCount];
+        firstRow = new int[gameCount + 1];
+        for (int g = 0; g < gameCount; g++) {
+            LocalDate date = LocalDate.ofEpochDay(dict.readLong());
+            Game game = new Game(date, teams[dict.readInt()], teams[dict.readInt()]);
+            int winner = dict.readInt();
+            int homeScore = dict.readInt();
+            int awayScore = dict.readInt();
+            if (winner >= 0) {
+                game.setResult(teams[winner], homeScore, awayScore);
+            }
+            firstRow[g] = dict.readInt();
+            games[g] = game;
+            gameIds.put(game, g);
+        }
+        firstRow[gameCount] = rows;
+    }
+
+    // ---------- Queries ----------
+
+    public String getLeagueName() { return leagueName; }
+    public String getLabel()      { return label; }
+    public int getRowCount()      { return rows; }
+    public Path getFile()         { return file; }
+
+    /** Regular-season and playoff games of the season, in schedule order. */
+    public List<Game> getGames() {
+        return Collections.unmodifiableList(Arrays.asList(games));
+    }
+
+    public List<String> getTeamNames() {
+        List<String> names = new ArrayList<>(Arrays.asList(teams));
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        return names;
+    }
+
+    /** Players who were on (or last played for) the team when the season was archived. */
+    public List<Player> getPlayersForTeam(String teamName) {
+        int t = teamId(teamName);
+        List<Player> result = new ArrayList<>();
+        for (int p = 0; p < players.length; p++) {
+            if (playerTeam[p] == t) result.add(players[p]);
+        }
+        return result;
+    }
+
+    public int getWins(String teamName) {
+        int t = teamId(teamName);
+        return t < 0 ? 0 : wins[t];
+    }
+
+    public int getLosses(String teamName) {
+        int t = teamId(teamName);
+        return t < 0 ? 0 : losses[t];
+    }
+
+    /** Read-only stats of one of this archive's games, or null if none were recorded. */
+    public GameStatsView getGameStats(Game game) {
+        Integer g = gameIds.get(game);
+        if (g == null || firstRow[g] == firstRow[g + 1]) return null;
+        return new ArchivedGameStats(g);
+    }
+
+    /** Season totals over all of the archive's games; computed once, the archive never changes. */
+    public synchronized SeasonAggregates getAggregates() {
+        if (aggregates == null) {
+            aggregates = SeasonAggregates.build(getGames(), this::getGameStats, 0);
+        }
+        return aggregates;
+    }
+
+    private int teamId(String teamName) {
+        for (int t = 0; t < teams.length; t++) {
+            if (teams[t].equals(teamName)) return t;
+        }
+        return -1;
+    }
+
+    private int col(int column, int row) {
+        return columns.get(column * rows + row);
+    }
+
+    /** GameStats-compatible view over one game's rows of the mapping. */
+    private final class ArchivedGameStats implements GameStatsView {
+        private final int game;
+
+        ArchivedGameStats(int game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return games[game];
+        }
+
+        @Override
+        public PlayerGameStats getStatsForPlayer(Player player) {
+            int row = rowOf(player);
+            return row < 0 ? null : toStats(row);
+        }
+
+        @Override
+        public String getTeamNameForPlayer(Player player) {
+            int row = rowOf(player);
+            return row < 0 ? null : teams[col(COL_TEAM, row)];
+        }
+
+        @Override
+        public Collection<PlayerGameStats> getAllPlayerStats() {
+            List<PlayerGameStats> list = new ArrayList<>();
+            for (int r = firstRow[game]; r < firstRow[game + 1]; r++) {
+                list.add(toStats(r));
+            }
+            return list;
+        }
+
+        @Override
+        public List<PlayerGameStats> getStatsForTeamName(String teamName) {
+            List<PlayerGameStats> list = new ArrayList<>();
+            for (int r = firstRow[game]; r < firstRow[game + 1]; r++) {
+                if (teams[col(COL_TEAM, r)].equalsIgnoreCase(teamName)) {
+                    list.add(toStats(r));
+                }
+            }
+            return list;
+        }
+
+        private int rowOf(Player player) {
+            Integer p = playerIds.get(player);
+            if (p == null) return -1;
+            for (int r = firstRow[game]; r < firstRow[game + 1]; r++) {
+                if (col(COL_PLAYER, r) == p) return r;
+            }
+            return -1;
+        }
+
+        private PlayerGameStats toStats(int r) {
+            PlayerGameStats s = new PlayerGameStats(players[col(COL_PLAYER, r)]);
+            s.setFreeThrowStats(col(COL_FT_ATT, r), col(COL_FT_MADE, r));
+            s.setTwoPointStats(col(COL_TWO_ATT, r), col(COL_TWO_MADE, r));
+            s.setThreePointStats(col(COL_THREE_ATT, r), col(COL_THREE_MADE, r));
+            s.setAssists(col(COL_ASSISTS, r));
+            s.setFouls(col(COL_FOULS, r));
+            return s;
+        }
+    }
+
+    // ---------- Open ----------
+
+    /**
+     * Maps an archive file; only its dictionary is read onto the heap. The
+     * checksum is verified once here, so a damaged file is refused before
+     * any of its rows are read.
+     */
+    public static StatsArchive open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            ByteBuffer head = ByteBuffer.allocate(FILE_HEADER + PAYLOAD_HEADER);
+            if (size < head.capacity()) {
+                throw new SnapshotFiles.CorruptSnapshotException(file + " is truncated");
+            }
+            SnapshotFiles.readFully(ch, head, 0);
+            head.flip();
+            head.getInt(); // SnapshotFiles magic
+            int payloadLength = head.getInt();
+            if (head.getInt() != ARCHIVE_MAGIC) {
+                throw new SnapshotFiles.CorruptSnapshotException(file + " is not a stats archive");
+            }
+            int version = head.getInt();
+            if (version > FORMAT_VERSION) {
+                throw new IOException("Archive format v" + version + " is newer than this build supports");
+            }
+            int rows = head.getInt();
+            int dictLength = head.getInt();
+
+            long columnsStart = FILE_HEADER + PAYLOAD_HEADER + (long) dictLength;
+            long columnsLength = (long) rows * COLUMNS * Integer.BYTES;
+            if (rows < 0 || dictLength < 0
+                    || payloadLength != PAYLOAD_HEADER + dictLength + columnsLength
+                    || size != FILE_HEADER + payloadLength + 8L) {
+                throw new SnapshotFiles.CorruptSnapshotException(file + " has the wrong length");
+            }
+
+            ByteBuffer dict = ByteBuffer.allocate(dictLength);
+            SnapshotFiles.readFully(ch, dict, FILE_HEADER + PAYLOAD_HEADER);
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, columnsStart, columnsLength);
+            ByteBuffer trailer = ByteBuffer.allocate(8);
+            SnapshotFiles.readFully(ch, trailer, columnsStart + columnsLength);
+
+            // Same CRC32 SnapshotFiles wrote: payload header, dictionary, columns
+            CRC32 crc = new CRC32();
+            crc.update(head.array(), FILE_HEADER, PAYLOAD_HEADER);
+            crc.update(dict.array());
+            crc.update(mapped.duplicate());
+            if (crc.getValue() != trailer.getLong(0)) {
+                throw new SnapshotFiles.CorruptSnapshotException(file + " failed its checksum");
+            }
+
+            return new StatsArchive(file,
+                    new DataInputStream(new ByteArrayInputStream(dict.array())), rows, mapped.asIntBuffer());
+        }
+    }
+
+    // ---------- Write ----------
+
+    /**
+     * Writes a league's current season (regular-season and bracket games,
+     * team records, and the stats of those games) to file.
+     */
+    public static void write(Path file, League lg, String label, GameStatsController stats) throws IOException {
+        // Dictionaries
+        Map<String, Integer> teamIds = new LinkedHashMap<>();
+        List<Team> teamList = new ArrayList<>(lg.getTeams().values());
+        for (Team t : teamList) teamIds.put(t.getName(), teamIds.size());
+
+        List<Game> gameList = new ArrayList<>(lg.getGames());
+        if (lg.hasBracket()) {
+            for (BracketRound r : lg.getBracket().getRounds()) gameList.addAll(r.getGames());
+        }
+        for (Game g : gameList) {
+            teamIds.putIfAbsent(g.getHomeTeam(), teamIds.size());
+            teamIds.putIfAbsent(g.getAwayTeam(), teamIds.size());
+        }
+
+        Map<Player, Integer> playerIds = new IdentityHashMap<>();
+        List<Player> playerList = new ArrayList<>();
+        List<Integer> playerTeam = new ArrayList<>();
+        for (Team t : teamList) {
+            for (Player p : t.getPlayers()) {
+                if (playerIds.putIfAbsent(p, playerList.size()) == null) {
+                    playerList.add(p);
+                    playerTeam.add(teamIds.get(t.getName()));
+                }
+            }
+        }
+
+        // Rows, grouped by game
+        List<int[]> rowList = new ArrayList<>();
+        int[] firstRow = new int[gameList.size()];
+        for (int g = 0; g < gameList.size(); g++) {
+            firstRow[g] = rowList.size();
+            GameStats gs = stats.getGameStats(gameList.get(g));
+            if (gs == null) continue;
+            for (PlayerGameStats s : gs.getAllPlayerStats()) {
+                Player p = s.getPlayer();
+                String teamName = gs.getTeamNameForPlayer(p);
+                if (teamName == null) teamName = "";
+                Integer team = teamIds.get(teamName);
+                if (team == null) {
+                    team = teamIds.size();
+                    teamIds.put(teamName, team);
+                }
+                if (playerIds.putIfAbsent(p, playerList.size()) == null) {
+                    playerList.add(p); // no longer on a roster
+                    playerTeam.add(team);
+                }
+                rowList.add(new int[]{
+                        g, playerIds.get(p), team,
+                        s.getFreeThrowsAttempted(), s.getFreeThrowsMade(),
+                        s.getTwoPointersAttempted(), s.getTwoPointersMade(),
+                        s.getThreePointersAttempted(), s.getThreePointersMade(),
+                        s.getAssists(), s.getFouls()});
+            }
+        }
+
+        ByteArrayOutputStream dictBytes = new ByteArrayOutputStream(8 * 1024);
+        DataOutputStream dict = new DataOutputStream(dictBytes);
+        dict.writeUTF(lg.getName());
+        dict.writeUTF(label);
+
+        dict.writeInt(teamIds.size());
+        for (String name : teamIds.keySet()) {
+            Team t = lg.getTeams().get(name);
+            dict.writeUTF(name);
+            dict.writeInt(t == null ? 0 : t.getWins());
+            dict.writeInt(t == null ? 0 : t.getLosses());
+        }
+
+        dict.writeInt(playerList.size());
+        for (int p = 0; p < playerList.size(); p++) {
+            Player pl = playerList.get(p);
+            dict.writeUTF(pl.getFirstName() == null ? "" : pl.getFirstName());
+            dict.writeUTF(pl.getLastName() == null ? "" : pl.getLastName());
+            dict.writeInt(pl.getNumber());
+            dict.writeBoolean(pl.getPosition() != null);
+            if (pl.getPosition() != null) dict.writeUTF(pl.getPosition());
+            dict.writeInt(playerTeam.get(p));
+        }
+
+        dict.writeInt(gameList.size());
+        for (int g = 0; g < gameList.size(); g++) {
+            Game game = gameList.get(g);
+            dict.writeLong(game.getDate().toEpochDay());
+            dict.writeInt(teamIds.get(game.getHomeTeam()));
+            dict.writeInt(teamIds.get(game.getAwayTeam()));
+            dict.writeInt(game.hasResult() ? teamIds.get(game.getWinner()) : -1);
+            dict.writeInt(game.getHomeScore());
+            dict.writeInt(game.getAwayScore());
+            dict.writeInt(firstRow[g]);
+        }
+        dict.flush();
+
+        int rows = rowList.size();
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_HEADER + dictBytes.size() + rows * COLUMNS * Integer.BYTES);
+        payload.putInt(ARCHIVE_MAGIC).putInt(FORMAT_VERSION).putInt(rows).putInt(dictBytes.size());
+        payload.put(dictBytes.toByteArray());
+        for (int c = 0; c < COLUMNS; c++) {
+            for (int[] row : rowList) {
+                payload.putInt(row[c]);
+            }
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        SnapshotFiles.writeAtomically(file, payload.array());
+    }
+
+    // ---------- File naming ----------
+
+    /** Archive files of one league in dir, oldest season first. */
+    static List<Path> filesFor(Path dir, String leagueName) {
+        String prefix = fileKey(leagueName) + "-s";
+        TreeMap<Integer, Path> bySeason = new TreeMap<>();
+        if (!Files.isDirectory(dir)) return new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                if (!name.startsWith(prefix)) continue;
+                String num = name.substring(prefix.length(), name.length() - EXTENSION.length());
+                try {
+                    bySeason.put(Integer.parseInt(num), p);
+                } catch (NumberFormatException ignored) {
+                    // another league whose name shares our prefix
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not list season archives: " + e);
+        }
+        return new ArrayList<>(bySeason.values());
+    }
+
+    static Path fileFor(Path dir, String leagueName, int season) {
+        return dir.resolve(fileKey(leagueName) + "-s" + season + EXTENSION);
+    }
+
+    /** League name made safe for a file name. */
+    private static String fileKey(String leagueName) {
+        return URLEncoder.encode(leagueName, StandardCharsets.UTF_8).replace("*", "%2A");
+    }
+}
@@ -0,0 +1,92 @@
+package edu.vsu.lms.server;
+
+/**
+ * Json
+ * ----
+ * Just enough of a JSON writer for the API's responses: objects, arrays,
+ * strings, numbers, booleans and null, appended to one StringBuilder.
+ * Commas are put in by the writer, so callers only say what comes next.
+ */
+final class Json {
+
+    private final StringBuilder sb = new StringBuilder(1024);
+    private boolean needComma;
+
+    Json beginObject() { value(); sb.append('{'); needComma = false; return this; }
+    Json endObject()   { sb.append('}'); needComma = true; return this; }
+    Json beginArray()  { value(); sb.append('['); needComma = false; return this; }
+    Json endArray()    { sb.append(']'); needComma = true; return this; }
+
+    /** Starts a member of the current object; the next call writes its value. */
+    Json name(String name) {
+        value();
+        string(name);
+        sb.append(':');
+        needComma = false;
+        return this;
+    }
+
+    Json value(String s) {
+        value();
+        if (s == null) sb.append("null"); else string(s);
+        needComma = true;
+        return this;
+    }
+
+    Json value(long n) {
+        value();
+        sb.append(n);
+        needComma = true;
+        return this;
+    }
+
+    /** Rounded to three decimals (win percentages). */
+    Json value(double d) {
+        value();
+        sb.append(Math.round(d * 1000.0) / 1000.0);
+        needComma = true;
+        return this;
+    }
+
+    Json value(boolean b) {
+        value();
+        sb.append(b);
+        needComma = true;
+        return this;
+    }
+
+    Json field(String name, String s)   { return name(name).value(s); }
+    Json field(String name, long n)     { return name(name).value(n); }
+    Json field(String name, double d)   { return name(name).value(d); }
+    Json field(String name, boolean b)  { return name(name).value(b); }
+
+    private void value() {
+        if (needComma) sb.append(',');
+    }
+
+    private void string(String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':  sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+}
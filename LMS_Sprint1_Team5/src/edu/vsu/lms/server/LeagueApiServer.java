@@ -0,0 +1,452 @@
+package edu.vsu.lms.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+import edu.vsu.lms.controller.GameStatsController;
+import edu.vsu.lms.controller.LeagueController;
+import edu.vsu.lms.model.Bracket;
+import edu.vsu.lms.model.BracketRound;
+import edu.vsu.lms.model.Game;
+import edu.vsu.lms.model.League;
+import edu.vsu.lms.model.PlayerGameStats;
+import edu.vsu.lms.model.SeasonAggregates;
+import edu.vsu.lms.persistence.AppState;
+
+/**
+ * LeagueApiServer
+ * ---------------
+ * Read-only JSON over HTTP for the website and scoreboard displays, on the
+ * JDK's built-in HttpServer:
+ *
+ *   GET /api/leagues                              league names
+ *   GET /api/leagues/{league}/standings           ranking order
+ *   GET /api/leagues/{league}/schedule?from=&to=  games, played or not
+ *   GET /api/leagues/{league}/games/{id}          one game's box score
+ *   GET /api/leagues/{league}/bracket             playoff rounds
+ *
+ * Every response carries an ETag made of the league's version
+ * (League.getVersion) and a tag of this server run; a request whose
+ * If-None-Match still matches gets 304 with no body. Rendered bodies are
+ * kept per URL until the league's version moves, so a busy scoreboard
+ * costs a map lookup per poll.
+ *
+ * A body is rendered under its league's read lock (League.read), so it
+ * shows the league between two changes and matches its ETag; renders of
+ * different leagues, and of the same one, run side by side. Requests
+ * answered from the cache (or with 304) take no lock at all.
+ */
+public class LeagueApiServer {
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final int MAX_CACHED = 1024;
+
+    private final AppState state = AppState.getInstance();
+    private final LeagueController leagues = new LeagueController();
+    private final GameStatsController stats = state.getGameStatsController();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // Tells ETags of this run from those of an earlier one (versions restart at 0)
+    private final String runTag = Long.toHexString(System.currentTimeMillis());
+
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    /** A rendered body and the ETag it was rendered for. */
+    private static final class Cached {
+        final String etag;
+        final byte[] body;
+
+        Cached(String etag, byte[] body) {
+            this.etag = etag;
+            this.body = body;
+        }
+    }
+
+    /** Thrown by a renderer for a 4xx answer. */
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * @param threads handler threads; requests beyond that queue up
+     */
+    public LeagueApiServer(String host, int port, int threads) throws IOException {
+        AtomicInteger n = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "lms-http-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public void start() {
+        // Load every league now: a lazy load from a handler thread would
+        // touch the shared stats maps while other requests read them.
+        // get() per name, as size() (and values().size()) loads nothing
+        Map<String, League> all = state.getLeagues();
+        int count = 0;
+        for (String name : all.keySet()) {
+            if (all.get(name) != null) count++;
+        }
+        server.start();
+        System.out.println("✅ League API listening on http://" + server.getAddress().getHostString()
+                + ":" + getPort() + "/api/leagues (" + count + " league(s))");
+    }
+
+    /** Stops taking requests, waits up to delaySeconds for those in progress. */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** The port bound (useful with port 0). */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ---------- Request handling ----------
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            String method = ex.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                ex.getResponseHeaders().set("Allow", "GET, HEAD");
+                sendError(ex, 405, "Method not allowed: " + method);
+                return;
+            }
+
+            URI uri = ex.getRequestURI();
+            String[] parts = split(uri.getPath());
+            if (parts.length < 2 || !"api".equals(parts[0]) || !"leagues".equals(parts[1])) {
+                sendError(ex, 404, "Not found: " + uri.getPath());
+                return;
+            }
+
+            // Which league the URL reads decides the ETag
+            League league = null;
+            String etag;
+            if (parts.length == 2) {
+                etag = listTag();
+            } else {
+                league = state.getLeagues().get(parts[2]);
+                if (league == null) {
+                    sendError(ex, 404, "League not found: " + parts[2]);
+                    return;
+                }
+                etag = tag(league);
+            }
+
+            // A 304 only for something that exists: an unknown path, game
+            // or bad date is answered before the ETag is compared
+            checkRoute(parts, uri.getRawQuery(), league);
+            if (matches(ex.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                ex.getResponseHeaders().set("ETag", etag);
+                ex.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            String key = uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+            Cached c = cache.get(key);
+            if (c == null || !c.etag.equals(etag)) {
+                c = render(key, parts, uri.getRawQuery(), league);
+            }
+            send(ex, 200, c.etag, c.body);
+
+        } catch (ApiException e) {
+            sendError(ex, e.status, e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("❌ API request failed: " + ex.getRequestURI());
+            e.printStackTrace();
+            sendError(ex, 500, "Internal error");
+        } finally {
+            ex.close();
+        }
+    }
+
+    /** Throws the 404 (or 400) the request gets when it names nothing render() can show. */
+    private void checkRoute(String[] parts, String query, League league) {
+        if (parts.length == 2) return;
+        String what = (parts.length >= 4) ? parts[3] : "";
+        if (parts.length == 4 && ("standings".equals(what) || "bracket".equals(what))) return;
+        if (parts.length == 4 && "schedule".equals(what)) {
+            dateParam(query, "from");
+            dateParam(query, "to");
+            return;
+        }
+        if (parts.length == 5 && "games".equals(what)) {
+            league.read(() -> findGame(league, parts[4]));
+            return;
+        }
+        throw new ApiException(404, "Not found: " + String.join("/", parts));
+    }
+
+    private Cached render(String key, String[] parts, String query, League league) {
+        if (league == null) {
+            return render(key, parts, query, null, listTag());
+        }
+        // Nothing changes the league while we hold its read lock, so the
+        // version read here is the one the body shows
+        Lock read = league.readLock();
+        read.lock();
+        try {
+            return render(key, parts, query, league, tag(league));
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private Cached render(String key, String[] parts, String query, League league, String etag) {
+        Cached c = cache.get(key);
+        if (c != null && c.etag.equals(etag)) return c; // rendered meanwhile
+
+        Json json = new Json();
+        if (parts.length == 2) {
+            writeLeagues(json);
+        } else if (parts.length == 4 && "standings".equals(parts[3])) {
+            writeStandings(json, league);
+        } else if (parts.length == 4 && "schedule".equals(parts[3])) {
+            writeSchedule(json, league, query);
+        } else if (parts.length == 5 && "games".equals(parts[3])) {
+            writeBoxScore(json, league, parts[4]);
+        } else if (parts.length == 4 && "bracket".equals(parts[3])) {
+            writeBracket(json, league);
+        } else {
+            throw new ApiException(404, "Not found: " + String.join("/", parts));
+        }
+
+        if (cache.size() >= MAX_CACHED) cache.clear(); // odd query strings
+        c = new Cached(etag, json.toString().getBytes(StandardCharsets.UTF_8));
+        cache.put(key, c);
+        return c;
+    }
+
+    // ---------- Bodies ----------
+
+    private void writeLeagues(Json json) {
+        json.beginObject().name("leagues").beginArray();
+        for (String name : leagues.listLeagues()) json.value(name);
+        json.endArray().endObject();
+    }
+
+    private void writeStandings(Json json, League league) {
+        json.beginObject()
+            .field("league", league.getName())
+            .name("standings").beginArray();
+        int rank = 1;
+        for (LeagueController.Standing s : leagues.getLeagueStandings(league.getName())) {
+            json.beginObject()
+                .field("rank", rank++)
+                .field("team", s.teamName)
+                .field("wins", s.wins)
+                .field("losses", s.losses)
+                .field("winPct", s.getWinPct())
+                .field("pointDifferential", s.pointDifferential)
+                .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    private void writeSchedule(Json json, League league, String query) {
+        LocalDate from = dateParam(query, "from");
+        LocalDate to = dateParam(query, "to");
+        json.beginObject()
+            .field("league", league.getName())
+            .name("games").beginArray();
+        for (Game g : leagues.getSchedule(league.getName(), from, to)) writeGame(json, g);
+        json.endArray().endObject();
+    }
+
+    /** The league's game with this id; 404 if there is none. */
+    private static Game findGame(League league, String idText) {
+        Game g;
+        try {
+            g = league.getGame(Integer.parseInt(idText));
+        } catch (NumberFormatException e) {
+            g = null;
+        }
+        if (g == null) {
+            throw new ApiException(404, "Game not found: " + idText);
+        }
+        return g;
+    }
+
+    private void writeBoxScore(Json json, League league, String idText) {
+        Game g = findGame(league, idText);
+        json.beginObject()
+            .field("league", league.getName())
+            .name("game");
+        writeGame(json, g);
+        json.name("home");
+        writeTeamLines(json, g, g.getHomeTeam());
+        json.name("away");
+        writeTeamLines(json, g, g.getAwayTeam());
+        json.endObject();
+    }
+
+    private void writeTeamLines(Json json, Game g, String team) {
+        SeasonAggregates.Totals t = stats.getTeamGameTotals(g, team);
+        json.beginObject()
+            .field("team", team)
+            .field("points", t.getTotalPoints())
+            .field("assists", t.getAssists())
+            .field("fouls", t.getFouls())
+            .name("players").beginArray();
+        for (PlayerGameStats s : stats.getSortedStatsForTeam(g, team)) {
+            json.beginObject()
+                .field("number", s.getPlayer().getNumber())
+                .field("firstName", s.getPlayer().getFirstName())
+                .field("lastName", s.getPlayer().getLastName())
+                .field("points", s.getTotalPoints())
+                .field("freeThrowsMade", s.getFreeThrowsMade())
+                .field("freeThrowsAttempted", s.getFreeThrowsAttempted())
+                .field("twoPointersMade", s.getTwoPointersMade())
+                .field("twoPointersAttempted", s.getTwoPointersAttempted())
+                .field("threePointersMade", s.getThreePointersMade())
+                .field("threePointersAttempted", s.getThreePointersAttempted())
+                .field("assists", s.getAssists())
+                .field("fouls", s.getFouls())
+                .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    private void writeBracket(Json json, League league) {
+        Bracket b = league.getBracket();
+        json.beginObject().field("league", league.getName());
+        if (b == null) {
+            json.field("complete", false).name("rounds").beginArray().endArray().endObject();
+            return;
+        }
+        json.field("complete", b.isComplete())
+            .field("champion", b.getChampionTeamName())
+            .field("runnerUp", b.getRunnerUpTeamName())
+            .name("rounds").beginArray();
+        for (BracketRound r : b.getRounds()) {
+            json.beginObject()
+                .field("round", r.getRoundNumber())
+                .field("label", b.getRoundLabel(r.getRoundNumber()))
+                .field("date", String.valueOf(r.getDate()))
+                .name("games").beginArray();
+            for (Game g : r.getGames()) writeGame(json, g);
+            json.endArray().endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    private static void writeGame(Json json, Game g) {
+        json.beginObject()
+            .field("id", g.getId())
+            .field("date", String.valueOf(g.getDate()))
+            .field("home", g.getHomeTeam())
+            .field("away", g.getAwayTeam());
+        if (g.hasResult()) {
+            json.field("homeScore", g.getHomeScore())
+                .field("awayScore", g.getAwayScore())
+                .field("winner", g.getWinner());
+        } else {
+            json.field("winner", null);
+        }
+        json.endObject();
+    }
+
+    // ---------- Helpers ----------
+
+    /** A league's tag; a league deleted and made again under the same name starts a new one. */
+    private String tag(League league) {
+        return tag(Integer.toHexString(System.identityHashCode(league)) + "v" + league.getVersion());
+    }
+
+    /** The league list's tag; the store's counter, so two lists never share one. */
+    private String listTag() {
+        return tag("l" + state.getLeagueListVersion());
+    }
+
+    private String tag(String version) {
+        return "\"" + runTag + "-" + version + "\"";
+    }
+
+    /** If-None-Match holds etag (or "*"); weak tags match too, as for a GET they should. */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String t = candidate.trim();
+            if (t.startsWith("W/")) t = t.substring(2);
+            if (t.equals("*") || t.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /** Decoded, non-empty path segments. */
+    private static String[] split(String path) {
+        return (path == null) ? new String[0] : path.replaceAll("^/+|/+$", "").split("/+");
+    }
+
+    private static LocalDate dateParam(String query, String name) {
+        if (query == null) return null;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name) && eq < pair.length() - 1) {
+                try {
+                    return LocalDate.parse(pair.substring(eq + 1));
+                } catch (DateTimeParseException e) {
+                    throw new ApiException(400, "Bad date for " + name + ": " + pair.substring(eq + 1));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void send(HttpExchange ex, int status, String etag, byte[] body) throws IOException {
+        Headers h = ex.getResponseHeaders();
+        h.set("Content-Type", JSON);
+        h.set("Cache-Control", "no-cache"); // clients keep the body but ask again
+        if (etag != null) h.set("ETag", etag);
+        if ("HEAD".equals(ex.getRequestMethod())) {
+            h.set("Content-Length", String.valueOf(body.length));
+            ex.sendResponseHeaders(status, -1);
+            return;
+        }
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange ex, int status, String message) throws IOException {
+        String body = new Json().beginObject().field("error", message).endObject().toString();
+        send(ex, status, null, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -13,7 +13,9 @@ import edu.vsu.lms.model.User;
 import edu.vsu.lms.model.League;
 import edu.vsu.lms.model.Game;
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.ImportReport;
 import edu.vsu.lms.persistence.LeagueXmlLoader;
+import edu.vsu.lms.persistence.ResultsFeedImporter;
 
 public class AdminDashboardPanel extends JPanel {
     private static final long serialVersionUID = 1L;
@@ -49,11 +51,13 @@ public class AdminDashboardPanel extends JPanel {
         JButton btnUpcoming      = new JButton("Upcoming Games");
         JButton btnViewStats     = new JButton("View Game Stats");
         JButton btnLoadLeagueXml = new JButton("Load League XML");
+        JButton btnImportResults = new JButton("Import Results…");
         JButton btnEditStats     = new JButton("Edit Game Stats");
         JButton btnStandings     = new JButton("Standings…");
         JButton btnPlayerStats   = new JButton("Player Stats…");
         JButton btnTeamStats     = new JButton("Team Stats…");
         JButton btnPower         = new JButton("Power Rankings");
+        JButton btnOdds          = new JButton("Playoff Odds");
         JButton btnBracketMgr    = new JButton("Bracket Manager…"); // now used in bottom-left
 
         top.add(hello);
@@ -69,6 +73,7 @@ public class AdminDashboardPanel extends JPanel {
         top.add(btnPlayerStats);
         top.add(btnTeamStats);
         top.add(btnPower);
+        top.add(btnOdds);
         // NOTE: btnBracketMgr is NOT added here anymore
         add(top, BorderLayout.NORTH);
 
@@ -85,6 +90,7 @@ public class AdminDashboardPanel extends JPanel {
         // LEFT side: Load XML + Edit Stats + Bracket Manager
         JPanel leftBottom = new JPanel(new FlowLayout(FlowLayout.LEFT));
         leftBottom.add(btnLoadLeagueXml);
+        leftBottom.add(btnImportResults);
         leftBottom.add(btnEditStats);
         leftBottom.add(btnBracketMgr); // ✅ bottom-left next to Edit Game Stats
 
@@ -108,6 +114,7 @@ public class AdminDashboardPanel extends JPanel {
         btnResults.addActionListener(e -> showRecordResultDialog());
         btnUpcoming.addActionListener(e -> showUpcomingGamesDialog());
         btnLoadLeagueXml.addActionListener(e -> loadLeagueFromXml());
+        btnImportResults.addActionListener(e -> importResultsFeed());
         btnViewStats.addActionListener(e -> showGameStatsReportDialog());
         btnEditStats.addActionListener(e -> showGameStatsEditorDialog());
 
@@ -184,6 +191,27 @@ public class AdminDashboardPanel extends JPanel {
             d.setVisible(true);
         });
 
+        btnOdds.addActionListener(e -> {
+            String leagueName = JOptionPane.showInputDialog(this, "Enter League Name:");
+            if (leagueName == null || leagueName.isBlank()) return;
+
+            if (AppState.getInstance().getLeagues().get(leagueName) == null) {
+                JOptionPane.showMessageDialog(this,
+                        "League \"" + leagueName + "\" not found.",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            JDialog d = new JDialog(SwingUtilities.getWindowAncestor(this),
+                    "Playoff Odds", Dialog.ModalityType.APPLICATION_MODAL);
+            d.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+            d.setContentPane(new PlayoffOddsPanel(leagueName));
+            d.setSize(800, 600);
+            d.setLocationRelativeTo(this);
+            d.setVisible(true);
+        });
+
         btnStandings.addActionListener(e -> {
             String leagueName = JOptionPane.showInputDialog(this, "Enter League Name:");
             if (leagueName == null || leagueName.isBlank()) return;
@@ -364,28 +392,158 @@ public class AdminDashboardPanel extends JPanel {
         }
 
         File xmlFile = chooser.getSelectedFile();
-        try {
-            LeagueXmlLoader loader = new LeagueXmlLoader();
-            League league = loader.loadLeagueFromFile(xmlFile);
 
-            AppState appState = AppState.getInstance();
-            appState.getLeagues().put(league.getName(), league);
+        // Parse off the EDT so big files don't freeze the window
+        ProgressMonitor monitor = new ProgressMonitor(this,
+                "Loading " + xmlFile.getName(), "", 0, 1000);
+        monitor.setMillisToDecideToPopup(200);
+
+        SwingWorker<League, Void> worker = new SwingWorker<>() {
+            @Override
+            protected League doInBackground() throws Exception {
+                LeagueXmlLoader loader = new LeagueXmlLoader();
+                return loader.loadLeagueFromFile(xmlFile, (bytesRead, totalBytes, teams) -> {
+                    int permille = totalBytes <= 0 ? 0 : (int) Math.min(1000, bytesRead * 1000 / totalBytes);
+                    SwingUtilities.invokeLater(() -> {
+                        monitor.setProgress(permille);
+                        monitor.setNote(teams + " teams read");
+                    });
+                });
+            }
 
-            // persist loaded league + its bracket if any
-            appState.save();
+            @Override
+            protected void done() {
+                monitor.close();
+                try {
+                    League league = get();
+
+                    AppState appState = AppState.getInstance();
+                    if (appState.getLeagues().containsKey(league.getName())) {
+                        Object[] options = {"Merge", "Replace", "Cancel"};
+                        int choice = JOptionPane.showOptionDialog(AdminDashboardPanel.this,
+                                "League \"" + league.getName() + "\" already exists.\n" +
+                                        "Merge applies only the roster changes and keeps the schedule,\n" +
+                                        "results, bracket and stats. Replace starts the league over.",
+                                "League Exists",
+                                JOptionPane.YES_NO_CANCEL_OPTION,
+                                JOptionPane.QUESTION_MESSAGE,
+                                null, options, options[0]);
+                        if (choice == 0) {
+                            showMergeReport(new LeagueXmlLoader().mergeInto(
+                                    appState.getLeagues().get(league.getName()), league, appState::record));
+                            return;
+                        }
+                        if (choice != 1) return;
+                    }
+                    appState.getLeagues().put(league.getName(), league);
+
+                    // persist loaded league + its bracket if any
+                    appState.saveStructuralChange();
+
+                    JOptionPane.showMessageDialog(AdminDashboardPanel.this,
+                            "Loaded league \"" + league.getName() + "\" with " +
+                                    league.getTeams().size() + " teams.",
+                            "League Loaded",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    Throwable cause = (ex instanceof java.util.concurrent.ExecutionException && ex.getCause() != null)
+                            ? ex.getCause() : ex;
+                    cause.printStackTrace();
+                    JOptionPane.showMessageDialog(AdminDashboardPanel.this,
+                            "Error loading XML:\n" + cause.getMessage(),
+                            "Load Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
 
+    private void showMergeReport(ImportReport report) {
+        StringBuilder sb = new StringBuilder(report.toString()).append("\n\n");
+        if (report.isEmpty()) {
+            sb.append("Roster already up to date.");
+        }
+        List<String> changes = report.getChanges();
+        int shown = Math.min(changes.size(), 200);
+        for (int i = 0; i < shown; i++) {
+            sb.append(changes.get(i)).append("\n");
+        }
+        if (changes.size() > shown) {
+            sb.append("… and ").append(changes.size() - shown).append(" more\n");
+        }
+
+        JTextArea area = new JTextArea(sb.toString(), 20, 60);
+        area.setEditable(false);
+        area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(this, new JScrollPane(area),
+                "League Merged", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private void importResultsFeed() {
+        String leagueName = JOptionPane.showInputDialog(this, "Enter League Name:");
+        if (leagueName == null || leagueName.isBlank()) return;
+
+        if (!AppState.getInstance().getLeagues().containsKey(leagueName)) {
             JOptionPane.showMessageDialog(this,
-                    "Loaded league \"" + league.getName() + "\" with " +
-                            league.getTeams().size() + " teams.",
-                    "League Loaded",
-                    JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading XML:\n" + ex.getMessage(),
-                    "Load Error",
+                    "League \"" + leagueName + "\" not found.",
+                    "Error",
                     JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File feed = chooser.getSelectedFile();
+        ResultsFeedImporter importer = new ResultsFeedImporter();
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        // Read off the EDT; the league itself is only changed in done()
+        SwingWorker<ResultsFeedImporter.Batch, Void> worker = new SwingWorker<>() {
+            @Override
+            protected ResultsFeedImporter.Batch doInBackground() throws Exception {
+                return importer.read(feed);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showResultsReport(importer.apply(leagueName, get()));
+                } catch (Exception ex) {
+                    Throwable cause = (ex instanceof java.util.concurrent.ExecutionException && ex.getCause() != null)
+                            ? ex.getCause() : ex;
+                    cause.printStackTrace();
+                    JOptionPane.showMessageDialog(AdminDashboardPanel.this,
+                            "Error importing results:\n" + cause.getMessage(),
+                            "Import Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void showResultsReport(ResultsFeedImporter.Report report) {
+        StringBuilder sb = new StringBuilder(report.toString()).append("\n\n");
+        List<String> rejected = report.getRejected();
+        int shown = Math.min(rejected.size(), 200);
+        for (int i = 0; i < shown; i++) {
+            sb.append(rejected.get(i)).append("\n");
+        }
+        if (rejected.size() > shown) {
+            sb.append("… and ").append(rejected.size() - shown).append(" more\n");
+        }
+
+        JTextArea area = new JTextArea(sb.toString(), 20, 60);
+        area.setEditable(false);
+        area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(this, new JScrollPane(area),
+                "Results Imported",
+                rejected.isEmpty() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
     }
 
     private void showGameStatsEditorDialog() {
@@ -10,7 +10,6 @@ import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -24,7 +23,8 @@ import java.util.List;
  *  - Generate a Bracket and attach it to the League
  *
  * Bracket seeding:
- *  - Sorts teams by wins DESC, losses ASC, then name.
+ *  - Uses the league ranking (its tiebreaker rules in order, then name;
+ *    wins DESC, losses ASC by default).
  *  - Takes the top N teams for the bracket.
  *  - Uses a single-elimination bracket (power-of-two slots with byes).
  */
@@ -170,7 +170,8 @@ public class BracketGeneratorPanel extends JPanel {
         }
 
         sb.append("\nNote:\n");
-        sb.append("- Teams are sorted by wins DESC, losses ASC, then name.\n");
+        sb.append("- Teams are in league ranking order: ")
+          .append(league.getTiebreakers()).append(", then name.\n");
         sb.append("- If the number of teams is not a power of two,\n");
         sb.append("  top seeds will effectively receive BYEs in Round 1.\n");
 
@@ -178,15 +179,10 @@ public class BracketGeneratorPanel extends JPanel {
     }
 
     /**
-     * Sorts league teams and returns the top N as the seeds list.
+     * Returns the top N teams of the league standings as the seeds list.
      */
     private List<Team> computeTopSeeds(int count) {
-        List<Team> all = new ArrayList<>(league.getTeams().values());
-
-        all.sort(Comparator
-                .comparingInt(Team::getWins).reversed()
-                .thenComparingInt(Team::getLosses)
-                .thenComparing(Team::getName, String.CASE_INSENSITIVE_ORDER));
+        List<Team> all = league.getTeamsInStandingsOrder();
 
         if (count > all.size()) {
             count = all.size();
@@ -230,13 +226,13 @@ public class BracketGeneratorPanel extends JPanel {
         List<Team> seeds = computeTopSeeds(n);
 
         // Build a bracket from just these seeds
-        Bracket bracket = createBracketFromSeeds(seeds, firstRoundDate);
+        Bracket bracket = Bracket.createFromSeeds(league, seeds, firstRoundDate);
 
         // 🔥 Attach to league (adjust if your setter has a different name)
         league.setBracket(bracket);
 
         // Optional: persist via AppState if you like
-        AppState.getInstance().save();
+        AppState.getInstance().saveStructuralChange();
 
         JOptionPane.showMessageDialog(this,
                 "Bracket generated for league \"" + league.getName() + "\"\n" +
@@ -245,121 +241,4 @@ public class BracketGeneratorPanel extends JPanel {
                 "Bracket Created",
                 JOptionPane.INFORMATION_MESSAGE);
     }
-
-    /**
-     * Creates a single-elimination bracket from an explicitly provided
-     * seed list (already sorted best to worst).
-     *
-     * This mirrors the logic in Bracket.createSingleEliminationBracket,
-     * but works from a List<Team> instead of reading from the full league.
-     */
-    private Bracket createBracketFromSeeds(List<Team> seeds, LocalDate firstRoundDate) {
-        if (seeds == null || seeds.size() < 2) {
-            throw new IllegalArgumentException("Need at least 2 teams to create a bracket.");
-        }
-        if (firstRoundDate == null) {
-            throw new IllegalArgumentException("firstRoundDate cannot be null");
-        }
-
-        // We assume seeds are already sorted correctly.
-        int n = seeds.size();
-        int totalSlots = nextPowerOfTwo(n);
-        int numByes = totalSlots - n;
-
-        // Copy into slot list and add nulls as BYEs
-        List<Team> slotList = new ArrayList<>(seeds);
-        for (int i = 0; i < numByes; i++) {
-            slotList.add(null); // BYE
-        }
-
-        Bracket bracket = new Bracket();
-
-        // Round 1
-        var round1 = new edu.vsu.lms.model.BracketRound(1, firstRoundDate);
-        List<Integer> nextRoundSlots = new ArrayList<>();
-        List<edu.vsu.lms.model.Game> byeGames = new ArrayList<>();
-
-        int left = 0;
-        int right = slotList.size() - 1;
-        while (left < right) {
-            Team t1 = slotList.get(left);
-            Team t2 = slotList.get(right);
-
-            if (t1 != null && t2 != null) {
-                // real game
-                edu.vsu.lms.model.Game g =
-                        new edu.vsu.lms.model.Game(firstRoundDate, t1.getName(), t2.getName());
-                round1.addGame(g);
-                nextRoundSlots.add(1);
-            } else if (t1 != null || t2 != null) {
-                // bye case – auto-advance this team
-                Team adv = (t1 != null) ? t1 : t2;
-                edu.vsu.lms.model.Game g =
-                        new edu.vsu.lms.model.Game(firstRoundDate, adv.getName(), "BYE");
-                round1.addGame(g);
-                byeGames.add(g);
-                nextRoundSlots.add(1);
-            }
-            left++;
-            right--;
-        }
-
-        bracket.addRound(round1);
-
-        // Subsequent rounds: TBD vs TBD skeleton
-        int teamsNextRound = nextRoundSlots.size();
-        int roundNumber = 2;
-        LocalDate roundDate = firstRoundDate.plusDays(7);
-
-        while (teamsNextRound > 1) {
-            int gamesThisRound = teamsNextRound / 2;
-
-            edu.vsu.lms.model.BracketRound r =
-                    new edu.vsu.lms.model.BracketRound(roundNumber, roundDate);
-
-            for (int i = 0; i < gamesThisRound; i++) {
-                edu.vsu.lms.model.Game g =
-                        new edu.vsu.lms.model.Game(roundDate, "TBD", "TBD");
-                r.addGame(g);
-            }
-
-            bracket.addRound(r);
-
-            teamsNextRound = gamesThisRound;
-            roundNumber++;
-            roundDate = roundDate.plusDays(7);
-        }
-
-        // Auto-advance BYE winners into next round
-        for (edu.vsu.lms.model.Game byeGame : byeGames) {
-            String home = byeGame.getHomeTeam();
-            String away = byeGame.getAwayTeam();
-
-            String winner;
-            if (!"BYE".equals(home)) {
-                winner = home;
-            } else if (!"BYE".equals(away)) {
-                winner = away;
-            } else {
-                continue;
-            }
-
-            // Mark the game as completed (0–0, doesn't matter)
-            byeGame.setResult(winner, 0, 0);
-
-            // Let Bracket's auto-advance fill in next round slot
-            bracket.advanceWinner(byeGame);
-        }
-
-        return bracket;
-    }
-
-    /** Helper for bracket math: next power of two >= n. */
-    private static int nextPowerOfTwo(int n) {
-        int p = 1;
-        while (p < n) {
-            p *= 2;
-        }
-        return p;
-    }
 }
@@ -189,9 +189,9 @@ public class BracketRecordResultPanel extends JPanel {
             return;
         }
 
-        applyResultToLeague(g, homeScore, awayScore);
+        if (!applyResultToLeague(g, homeScore, awayScore)) return;
         JOptionPane.showMessageDialog(this, "Bracket result saved.");
-        refreshAfterSave();
+        refreshAfterSave(g);
     }
 
     // ==================== SIMULATE RESULT ====================
@@ -221,19 +221,20 @@ public class BracketRecordResultPanel extends JPanel {
         homeScoreField.setText(String.valueOf(homeScore));
         awayScoreField.setText(String.valueOf(awayScore));
 
-        applyResultToLeague(g, homeScore, awayScore);
+        if (!applyResultToLeague(g, homeScore, awayScore)) return;
 
         JOptionPane.showMessageDialog(this,
                 "Simulated bracket game:\n" +
                         g.getHomeTeam() + " " + homeScore +
                         " - " + awayScore + " " + g.getAwayTeam());
 
-        refreshAfterSave();
+        refreshAfterSave(g);
     }
 
     // ==================== APPLY RESULT + AUTO-ADVANCE ====================
 
-    private void applyResultToLeague(Game g, int homeScore, int awayScore) {
+    /** @return false if the result was rejected (a message has been shown) */
+    private boolean applyResultToLeague(Game g, int homeScore, int awayScore) {
         String homeName = g.getHomeTeam();
         String awayName = g.getAwayTeam();
 
@@ -245,7 +246,7 @@ public class BracketRecordResultPanel extends JPanel {
                     "One or both teams not found in league.",
                     "Error",
                     JOptionPane.ERROR_MESSAGE);
-            return;
+            return false;
         }
 
         if (homeScore == awayScore) {
@@ -253,34 +254,31 @@ public class BracketRecordResultPanel extends JPanel {
                     "Tie games are not allowed in playoff games.",
                     "Invalid Result",
                     JOptionPane.ERROR_MESSAGE);
-            return;
+            return false;
         }
 
         String winner = (homeScore > awayScore) ? homeName : awayName;
 
-        // Update Game model
-        g.setResult(winner, homeScore, awayScore);
-
-        // Update team records
-        if (winner.equals(homeName)) {
-            homeTeam.addWin();
-            awayTeam.addLoss();
-        } else {
-            awayTeam.addWin();
-            homeTeam.addLoss();
-        }
-
-        // 🔥 AUTO-ADVANCE WINNER INTO NEXT ROUND
-        league.getBracket().advanceWinner(g);
+        // Update Game model (playoff results are not part of the
+        // regular-season W/L; the bracket keeps them)
+        // 🔥 AUTO-ADVANCE WINNER INTO NEXT ROUND (fills in the next game in place),
+        // in the same write as the result so no reader sees one without the other
+        league.write(() -> {
+            g.setResult(winner, homeScore, awayScore);
+            league.getBracket().advanceWinner(g);
+        });
           // 🔥 SAVE updated league + bracket to disk
-        AppState.getInstance().save();
-
-        // 🔄 refresh UI (game list + labels)
-        refreshAfterSave();
+        AppState.getInstance().saveStructuralChange();
+        return true;
     }
 
-    private void refreshAfterSave() {
-        loadBracketGames();
+    /**
+     * The played game leaves the list; the game its winner moved into is
+     * the same object with its teams filled in, so a repaint shows it.
+     */
+    private void refreshAfterSave(Game played) {
+        gameBox.removeItem(played);
+        gameBox.repaint();
         updateTeamLabels();
     }
 }
@@ -250,17 +250,18 @@ public class GameStatsEditorPanel extends JPanel {
         lblSelectedTeam.setText("Team: " + teamName);
         lblSelectedPlayer.setText("Player: " + p.toString());
 
-        GameStats gs = statsController.getOrCreateGameStats(game);
-        PlayerGameStats s = gs.getOrCreatePlayerStats(p, teamName);
-
-        spFtAtt.setValue(s.getFreeThrowsAttempted());
-        spFtMade.setValue(s.getFreeThrowsMade());
-        sp2Att.setValue(s.getTwoPointersAttempted());
-        sp2Made.setValue(s.getTwoPointersMade());
-        sp3Att.setValue(s.getThreePointersAttempted());
-        sp3Made.setValue(s.getThreePointersMade());
-        spAssists.setValue(s.getAssists());
-        spFouls.setValue(s.getFouls());
+        // Read only: a player with no line yet just shows zeros
+        PlayerGameStats s = statsController.findPlayerStats(game, p);
+        int[] c = (s == null) ? new int[8] : s.getCounters();
+
+        spFtAtt.setValue(c[0]);
+        spFtMade.setValue(c[1]);
+        sp2Att.setValue(c[2]);
+        sp2Made.setValue(c[3]);
+        sp3Att.setValue(c[4]);
+        sp3Made.setValue(c[5]);
+        spAssists.setValue(c[6]);
+        spFouls.setValue(c[7]);
 
         updateFoulLabel();
     }
@@ -309,22 +310,30 @@ public class GameStatsEditorPanel extends JPanel {
             return;
         }
 
-        // Save into stats model
-        GameStats gs = statsController.getOrCreateGameStats(game);
-        PlayerGameStats s = gs.getOrCreatePlayerStats(p, teamName);
-
-        try {
-            s.setFreeThrowStats(ftAtt, ftMade);
-            s.setTwoPointStats(twoAtt, twoMade);
-            s.setThreePointStats(threeAtt, threeMade);
-            s.setAssists(assists);
-            s.setFouls(fouls);
-        } catch (IllegalArgumentException ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Error saving stats: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-            return;
+        boolean allZero = ftAtt + ftMade + twoAtt + twoMade + threeAtt + threeMade + assists + fouls == 0;
+
+        // Save into stats model; an all-zero entry for a player without a
+        // line does not create one
+        if (!allZero || statsController.findPlayerStats(game, p) != null) {
+            GameStats gs = statsController.getOrCreateGameStats(game);
+            PlayerGameStats s = gs.getOrCreatePlayerStats(p, teamName);
+
+            try {
+                s.setFreeThrowStats(ftAtt, ftMade);
+                s.setTwoPointStats(twoAtt, twoMade);
+                s.setThreePointStats(threeAtt, threeMade);
+                s.setAssists(assists);
+                s.setFouls(fouls);
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this,
+                        "Error saving stats: " + ex.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (allZero) {
+                statsController.compactZeroRows(game);
+            }
         }
 
         updateFoulLabel();
@@ -11,6 +11,7 @@ import edu.vsu.lms.controller.ScheduleController;
 import edu.vsu.lms.model.League;
 import edu.vsu.lms.model.Game;
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.StatsArchive;
 
 public class LeagueOfficialPanel extends JPanel {
     private final LeagueController ctrl = new LeagueController();
@@ -52,6 +53,7 @@ public class LeagueOfficialPanel extends JPanel {
         JButton btnViewBracket      = new JButton("View Bracket");
         JButton btnBracketResults   = new JButton("Bracket Results");
         JButton btnBracketManager   = new JButton("Bracket Manager…"); // NEW
+        JButton btnArchiveSeason    = new JButton("Archive Season");
 
         // =======================
         // TOP: league + bracket
@@ -70,6 +72,7 @@ public class LeagueOfficialPanel extends JPanel {
         row2.add(btnViewBracket);
         row2.add(btnBracketResults);
         row2.add(btnBracketManager); // NEW
+        row2.add(btnArchiveSeason);
 
         top.add(row1);
         top.add(row2);
@@ -178,6 +181,25 @@ public class LeagueOfficialPanel extends JPanel {
         // NEW: Bracket Manager dialog with tabs (View / Record / Generate)
         btnBracketManager.addActionListener(e -> showBracketManagerDialog());
 
+        // Close the season: games + stats move to a read-only archive
+        btnArchiveSeason.addActionListener(e -> {
+            String currentLeague = (String) leagueCombo.getSelectedItem();
+            if (currentLeague == null) {
+                JOptionPane.showMessageDialog(this, "Select a league first.");
+                return;
+            }
+
+            int confirm = JOptionPane.showConfirmDialog(this,
+                    "Archive the current season of " + currentLeague + "?\n" +
+                    "Its games, bracket and records are cleared for a new schedule;\n" +
+                    "stats stay viewable under Player Stats / Team Stats.",
+                    "Archive Season",
+                    JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) return;
+
+            archiveSeason(currentLeague, btnArchiveSeason);
+        });
+
         leagueCombo.addActionListener(e -> refresh());
 
         // Load all leagues
@@ -185,6 +207,74 @@ public class LeagueOfficialPanel extends JPanel {
         refresh();
     }
 
+    /**
+     * Writes the archive and then waits for the save in the background;
+     * the league itself is only changed here on the EDT, in between.
+     */
+    private void archiveSeason(String leagueName, JButton button) {
+        String problem = scheduleController.checkArchivable(leagueName);
+        if (problem != null) {
+            JOptionPane.showMessageDialog(this, problem);
+            return;
+        }
+        League league = AppState.getInstance().getLeagues().get(leagueName);
+        int version = league.getVersion();
+
+        button.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        SwingWorker<StatsArchive, Void> write = new SwingWorker<>() {
+            @Override
+            protected StatsArchive doInBackground() throws Exception {
+                return scheduleController.writeSeasonArchive(league);
+            }
+
+            @Override
+            protected void done() {
+                StatsArchive archive;
+                try {
+                    archive = get();
+                } catch (Exception ex) {
+                    Throwable cause = (ex instanceof java.util.concurrent.ExecutionException && ex.getCause() != null)
+                            ? ex.getCause() : ex;
+                    cause.printStackTrace();
+                    archiveDone(button, "ERROR writing season archive: " + cause.getMessage());
+                    return;
+                }
+                String cleared = scheduleController.clearArchivedSeason(league, archive, version);
+                refresh();
+                if (cleared != null) {
+                    archiveDone(button, cleared);
+                    return;
+                }
+
+                SwingWorker<String, Void> save = new SwingWorker<>() {
+                    @Override
+                    protected String doInBackground() {
+                        return scheduleController.saveArchived(archive);
+                    }
+
+                    @Override
+                    protected void done() {
+                        try {
+                            archiveDone(button, get());
+                        } catch (Exception ex) {
+                            ex.printStackTrace();
+                            archiveDone(button, "ERROR saving the league: " + ex.getMessage());
+                        }
+                    }
+                };
+                save.execute();
+            }
+        };
+        write.execute();
+    }
+
+    private void archiveDone(JButton button, String msg) {
+        setCursor(Cursor.getDefaultCursor());
+        button.setEnabled(true);
+        JOptionPane.showMessageDialog(this, msg);
+    }
+
     private void refreshLeagueList() {
         leagueCombo.removeAllItems();
         var leagues = AppState.getInstance().getLeagues().keySet().stream()
@@ -2,20 +2,24 @@ package edu.vsu.lms.view;
 
 import edu.vsu.lms.controller.LeagueController;
 import edu.vsu.lms.controller.LeagueController.Standing;
+import edu.vsu.lms.model.Ranking;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Simple panel to display league standings (US 16).
+ * Simple panel to display league standings (US 16), in the league's
+ * ranking order. "Tiebreakers…" sets the ranking rules for the league.
  */
 public class LeagueStandingsPanel extends JPanel {
 
     private final String leagueName;
     private final LeagueController leagueController = new LeagueController();
     private final DefaultTableModel model;
+    private final JLabel rulesLabel = new JLabel();
 
     public LeagueStandingsPanel(String leagueName) {
         this.leagueName = leagueName;
@@ -30,7 +34,7 @@ public class LeagueStandingsPanel extends JPanel {
 
         // Table
         model = new DefaultTableModel(
-                new Object[]{"Team", "Wins", "Losses", "Win %"},
+                new Object[]{"#", "Team", "Wins", "Losses", "Win %", "Diff"},
                 0
         ) {
             @Override
@@ -44,11 +48,19 @@ public class LeagueStandingsPanel extends JPanel {
         add(new JScrollPane(table), BorderLayout.CENTER);
 
         // Bottom buttons
+        JButton rulesBtn = new JButton("Tiebreakers…");
+        rulesBtn.addActionListener(e -> editTiebreakers());
+
         JButton refreshBtn = new JButton("Refresh");
         refreshBtn.addActionListener(e -> loadStandings());
 
-        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        bottom.add(refreshBtn);
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(rulesBtn);
+        buttons.add(refreshBtn);
+
+        JPanel bottom = new JPanel(new BorderLayout());
+        bottom.add(rulesLabel, BorderLayout.WEST);
+        bottom.add(buttons, BorderLayout.EAST);
         add(bottom, BorderLayout.SOUTH);
 
         // Initial load
@@ -58,13 +70,55 @@ public class LeagueStandingsPanel extends JPanel {
     private void loadStandings() {
         model.setRowCount(0);
         List<Standing> standings = leagueController.getLeagueStandings(leagueName);
+        int rank = 1;
         for (Standing s : standings) {
             model.addRow(new Object[]{
+                    rank++,
                     s.teamName,
                     s.wins,
                     s.losses,
-                    String.format("%.3f", s.getWinPct())
+                    String.format("%.3f", s.getWinPct()),
+                    String.format("%+d", s.pointDifferential)
             });
         }
+        rulesLabel.setText("Ranked by: " + leagueController.getTiebreakers(leagueName) + ", then name");
+    }
+
+    /**
+     * One drop-down per rule slot, first slot first; "(none)" ends the list.
+     */
+    private void editTiebreakers() {
+        Ranking.Tiebreaker[] all = Ranking.Tiebreaker.values();
+        List<Ranking.Tiebreaker> current = leagueController.getTiebreakers(leagueName);
+
+        JPanel form = new JPanel(new GridLayout(0, 2, 6, 6));
+        List<JComboBox<Object>> slots = new ArrayList<>();
+        for (int i = 0; i < all.length; i++) {
+            JComboBox<Object> box = new JComboBox<>();
+            box.addItem("(none)");
+            for (Ranking.Tiebreaker t : all) box.addItem(t);
+            if (i < current.size()) box.setSelectedItem(current.get(i));
+            form.add(new JLabel("Rule " + (i + 1) + ":"));
+            form.add(box);
+            slots.add(box);
+        }
+
+        int choice = JOptionPane.showConfirmDialog(this, form,
+                "Tiebreakers — " + leagueName, JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) return;
+
+        List<Ranking.Tiebreaker> rules = new ArrayList<>();
+        for (JComboBox<Object> box : slots) {
+            Object sel = box.getSelectedItem();
+            if (!(sel instanceof Ranking.Tiebreaker)) break;
+            if (!rules.contains(sel)) rules.add((Ranking.Tiebreaker) sel);
+        }
+
+        if (!leagueController.setTiebreakers(leagueName, rules)) {
+            JOptionPane.showMessageDialog(this, "League not found: " + leagueName,
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        loadStandings();
     }
 }
@@ -4,7 +4,6 @@ import javax.swing.*;
 import java.awt.*;
 import edu.vsu.lms.controller.LeagueController;
 import edu.vsu.lms.persistence.AppState;
-import edu.vsu.lms.model.League;
 
 public class LeaguesPanel extends JPanel {
     private final LeagueController ctrl = new LeagueController();
@@ -93,10 +92,8 @@ public class LeaguesPanel extends JPanel {
 
         if (confirm != JOptionPane.YES_OPTION) return;
 
-        var state = AppState.getInstance();
-        League league = state.getLeagues().remove(selected);
-        if (league != null) {
-            state.save();
+        // force = true: deleting from this panel also removes the league's teams
+        if (ctrl.deleteLeague(selected, true)) {
             JOptionPane.showMessageDialog(this,
                     "League '" + selected + "' deleted successfully.");
         } else {
@@ -18,6 +18,9 @@ public class MainFrame extends JFrame {
     // Load persisted singleton so we can save on exit
     private final AppState state = AppState.getInstance();
 
+    // The signed-in user's dashboard; dropped on logout
+    private JComponent dashboard;
+
     public MainFrame() {
         super("LMS — Sprint 1");
 
@@ -36,8 +39,9 @@ public class MainFrame extends JFrame {
                     JOptionPane.YES_NO_OPTION
             );
             if (choice == JOptionPane.YES_OPTION) {
-                // Save state before quitting
+                // Save state before quitting (waits for the background saver)
                 state.save();
+                state.flush();
                 dispose();          // close the frame
                 System.exit(0);     // end the JVM
             }
@@ -93,17 +97,20 @@ public class MainFrame extends JFrame {
         try {
             if (current.getRole() == Role.LA) {
                 nextPanel = new AdminDashboardPanel(auth, this::onLogout);
+                dashboard = nextPanel;
                 root.add(nextPanel, "admin");
                 cards.show(root, "admin");
             }
 
             else if (current.getRole() == Role.LO) {
                 nextPanel = new LeagueOfficialPanel(this::onLogout); // pass logout callback
+                dashboard = nextPanel;
                 root.add(nextPanel, "leagueOfficial");
                 cards.show(root, "leagueOfficial");
             }
              else if (current.getRole() == Role.TO) { // assuming TO = Team Official
                 nextPanel = new TeamOfficialPanel(this::onLogout); // pass logout callback
+                dashboard = nextPanel;
                  root.add(nextPanel, "teamOfficial");
                 cards.show(root, "teamOfficial");
             }
@@ -126,7 +133,12 @@ public class MainFrame extends JFrame {
 
     // Called by AdminDashboardPanel via the Runnable we passed in
     private void onLogout() {
-        state.save();
         cards.show(root, "login");
+        if (dashboard != null) {
+            root.remove(dashboard); // it holds League objects we are about to unload
+            dashboard = null;
+        }
+        // Saves, then unloads the leagues this session touched
+        state.evictLeagues();
     }
 }
@@ -3,13 +3,14 @@ package edu.vsu.lms.view;
 import edu.vsu.lms.controller.GameStatsController;
 import edu.vsu.lms.model.*;
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.StatsArchive;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 
 /**
  * PlayerStatsPanel
@@ -17,7 +18,9 @@ import java.util.Map;
  * "View Player Stats" user story.
  *
  * Shows totals and per-game averages of a player's stats
- * across all games in a league.
+ * across all games in a league, for the current season or
+ * an archived one (read from its StatsArchive). Totals come
+ * from the season's SeasonAggregates.
  *
  * Roles: League Admin, League Official, Team Official.
  */
@@ -29,7 +32,12 @@ public class PlayerStatsPanel extends JPanel {
     private final League league;
     private final GameStatsController statsController;
 
+    // Archived seasons, newest first; null selection = current season
+    private final List<StatsArchive> archives;
+    private StatsArchive archive;
+
     // UI
+    private final JComboBox<String> seasonCombo = new JComboBox<>();
     private final JComboBox<String> teamCombo = new JComboBox<>();
     private final JComboBox<Player> playerCombo = new JComboBox<>();
     private final JTextArea statsArea = new JTextArea();
@@ -48,6 +56,9 @@ public class PlayerStatsPanel extends JPanel {
                 ? statsController
                 : state.getGameStatsController();
 
+        this.archives = new ArrayList<>(state.getArchivedSeasons(leagueName));
+        Collections.reverse(archives);
+
         initUI();
         loadTeams();
     }
@@ -68,13 +79,24 @@ public class PlayerStatsPanel extends JPanel {
         gc.anchor = GridBagConstraints.WEST;
 
         gc.gridx = 0; gc.gridy = 0;
+        selectors.add(new JLabel("Season:"), gc);
+
+        gc.gridx = 1;
+        seasonCombo.addItem("Current season");
+        for (StatsArchive a : archives) {
+            seasonCombo.addItem(a.getLabel());
+        }
+        seasonCombo.setPreferredSize(new Dimension(200, seasonCombo.getPreferredSize().height));
+        selectors.add(seasonCombo, gc);
+
+        gc.gridx = 0; gc.gridy = 1;
         selectors.add(new JLabel("Team:"), gc);
 
         gc.gridx = 1;
         teamCombo.setPreferredSize(new Dimension(200, teamCombo.getPreferredSize().height));
         selectors.add(teamCombo, gc);
 
-        gc.gridx = 0; gc.gridy = 1;
+        gc.gridx = 0; gc.gridy = 2;
         selectors.add(new JLabel("Player:"), gc);
 
         gc.gridx = 1;
@@ -89,6 +111,11 @@ public class PlayerStatsPanel extends JPanel {
         add(new JScrollPane(statsArea), BorderLayout.CENTER);
 
         // ---- LISTENERS ----
+        seasonCombo.addActionListener(e -> {
+            int i = seasonCombo.getSelectedIndex();
+            archive = (i <= 0) ? null : archives.get(i - 1);
+            loadTeams();
+        });
         teamCombo.addActionListener(e -> loadPlayersForSelectedTeam());
         playerCombo.addActionListener(e -> recomputeStats());
     }
@@ -96,7 +123,9 @@ public class PlayerStatsPanel extends JPanel {
     private void loadTeams() {
         teamCombo.removeAllItems();
 
-        List<String> teamNames = new ArrayList<>(league.getTeams().keySet());
+        List<String> teamNames = (archive != null)
+                ? archive.getTeamNames()
+                : new ArrayList<>(league.getTeams().keySet());
         teamNames.sort(String.CASE_INSENSITIVE_ORDER);
 
         for (String name : teamNames) {
@@ -118,13 +147,17 @@ public class PlayerStatsPanel extends JPanel {
             return;
         }
 
-        Team team = league.getTeams().get(teamName);
-        if (team == null) {
-            statsArea.setText("No such team: " + teamName);
-            return;
+        List<Player> players;
+        if (archive != null) {
+            players = archive.getPlayersForTeam(teamName);
+        } else {
+            Team team = league.getTeams().get(teamName);
+            if (team == null) {
+                statsArea.setText("No such team: " + teamName);
+                return;
+            }
+            players = new ArrayList<>(team.getPlayers());
         }
-
-        List<Player> players = new ArrayList<>(team.getPlayers());
         players.sort(Comparator
                 .comparing(Player::getLastName, String.CASE_INSENSITIVE_ORDER)
                 .thenComparing(Player::getFirstName, String.CASE_INSENSITIVE_ORDER)
@@ -151,39 +184,15 @@ public class PlayerStatsPanel extends JPanel {
             return;
         }
 
-        // Accumulators
-        int gamesPlayed = 0;
-
-        int ftAtt = 0, ftMade = 0;
-        int twoAtt = 0, twoMade = 0;
-        int threeAtt = 0, threeMade = 0;
-        int assists = 0;
-        int fouls = 0;
-
-        for (Game g : league.getGames()) {
-            GameStats gs = statsController.getOrCreateGameStats(g);
-            PlayerGameStats s = gs.getOrCreatePlayerStats(player, teamName);
-
-            // Treat "all zeros" as didn't play in that game
-            boolean played = s.getFreeThrowsAttempted() > 0 ||
-                             s.getTwoPointersAttempted() > 0 ||
-                             s.getThreePointersAttempted() > 0 ||
-                             s.getAssists() > 0 ||
-                             s.getFouls() > 0;
-
-            if (!played) continue;
-
-            gamesPlayed++;
-
-            ftAtt    += s.getFreeThrowsAttempted();
-            ftMade   += s.getFreeThrowsMade();
-            twoAtt   += s.getTwoPointersAttempted();
-            twoMade  += s.getTwoPointersMade();
-            threeAtt += s.getThreePointersAttempted();
-            threeMade+= s.getThreePointersMade();
-            assists  += s.getAssists();
-            fouls    += s.getFouls();
-        }
+        // Running season totals; no per-game scan needed
+        SeasonAggregates.Totals t = aggregates().getPlayerTotals(player);
+
+        int gamesPlayed = t.getGamesPlayed();
+        int ftAtt = t.getFreeThrowsAttempted(), ftMade = t.getFreeThrowsMade();
+        int twoAtt = t.getTwoPointersAttempted(), twoMade = t.getTwoPointersMade();
+        int threeAtt = t.getThreePointersAttempted(), threeMade = t.getThreePointersMade();
+        int assists = t.getAssists();
+        int fouls = t.getFouls();
 
         int totalPoints = ftMade * 1 + twoMade * 2 + threeMade * 3;
 
@@ -199,6 +208,9 @@ public class PlayerStatsPanel extends JPanel {
         StringBuilder sb = new StringBuilder();
         sb.append("Player: ").append(player.toString()).append("\n");
         sb.append("Team:   ").append(teamName).append("\n");
+        if (archive != null) {
+            sb.append("Season: ").append(archive.getLabel()).append("\n");
+        }
         sb.append("Games with stats: ").append(gamesPlayed).append("\n\n");
 
         sb.append(String.format("%-20s %8s %10s%n", "STAT", "TOTAL", "PER GAME"));
@@ -226,4 +238,10 @@ public class PlayerStatsPanel extends JPanel {
         statsArea.setText(sb.toString());
         statsArea.setCaretPosition(0);
     }
+
+    // ---------- Season source: live league or archived season ----------
+
+    private SeasonAggregates aggregates() {
+        return (archive != null) ? archive.getAggregates() : statsController.getSeasonAggregates(league);
+    }
 }
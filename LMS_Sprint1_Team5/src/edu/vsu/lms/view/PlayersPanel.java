@@ -174,12 +174,11 @@ public class PlayersPanel extends JPanel {
 
         try {
             int number = Integer.parseInt(numberField.getText().trim());
-            // use controller update (safer) if you adopted it; otherwise this direct approach:
-            p.setFirstName(first.getText().trim());
-            p.setLastName(last.getText().trim());
-            p.setPosition(position.getText().trim());
-            p.setNumber(number);
-            state.save();
+            boolean updated = ctrl.updatePlayer(leagueName, teamName, p.getNumber(),
+                    first.getText().trim(), last.getText().trim(), position.getText().trim(), number);
+            if (!updated) {
+                JOptionPane.showMessageDialog(this, "Duplicate number or invalid data.");
+            }
             refresh();
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Invalid jersey number.");
@@ -204,8 +203,7 @@ public class PlayersPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
         if (confirm != JOptionPane.YES_OPTION) return;
 
-        team.getPlayers().remove(p);
-        state.save();
+        ctrl.removePlayer(leagueName, teamName, p.getNumber());
         refresh();
     }
 
@@ -246,9 +244,10 @@ public class PlayersPanel extends JPanel {
             return;
         }
 
-        sourceTeam.getPlayers().remove(p);
-        destTeam.addPlayer(p);
-        state.save();
+        if (!ctrl.movePlayer(leagueName, teamName, dest, p.getNumber())) {
+            JOptionPane.showMessageDialog(this, "Failed to move player to " + dest);
+            return;
+        }
         JOptionPane.showMessageDialog(this, "Player moved to " + dest);
         refresh();
     }
@@ -0,0 +1,156 @@
+package edu.vsu.lms.view;
+
+import edu.vsu.lms.controller.PlayoffOddsEngine;
+import edu.vsu.lms.model.League;
+import edu.vsu.lms.persistence.AppState;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+
+/**
+ * PlayoffOddsPanel
+ * ----------------
+ * Each team's chances to make the playoffs, reach the final and win the
+ * title, from PlayoffOddsEngine. The league is read when "Run" is pressed;
+ * the simulations run in the background with a progress bar.
+ *
+ * Before a bracket exists the user picks how many teams make it; after
+ * that the bracket's own field and results are used.
+ */
+public class PlayoffOddsPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String leagueName;
+    private final JSpinner teamsSpinner;
+    private final JSpinner simsSpinner;
+    private final JButton runBtn = new JButton("Run");
+    private final JProgressBar progress = new JProgressBar(0, 1000);
+    private final JLabel status = new JLabel(" ");
+    private final DefaultTableModel model;
+
+    public PlayoffOddsPanel(String leagueName) {
+        this.leagueName = leagueName;
+
+        League league = AppState.getInstance().getLeagues().get(leagueName);
+        if (league == null) {
+            throw new IllegalArgumentException("League not found: " + leagueName);
+        }
+
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        // ===== TOP: title + options =====
+        JLabel title = new JLabel("Playoff Odds — " + leagueName);
+        title.setFont(title.getFont().deriveFont(Font.BOLD, 18f));
+
+        int teamCount = Math.max(2, league.getTeams().size());
+        teamsSpinner = new JSpinner(new SpinnerNumberModel(Math.min(8, teamCount), 2, teamCount, 1));
+        teamsSpinner.setEnabled(!league.hasBracket());
+        simsSpinner = new JSpinner(new SpinnerNumberModel(100_000, 1_000, 5_000_000, 10_000));
+
+        JPanel options = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        options.add(new JLabel(league.hasBracket() ? "Playoff teams (from bracket):" : "Playoff teams:"));
+        options.add(teamsSpinner);
+        options.add(new JLabel("Simulations:"));
+        options.add(simsSpinner);
+        options.add(runBtn);
+
+        JPanel header = new JPanel(new BorderLayout());
+        header.add(title, BorderLayout.NORTH);
+        header.add(options, BorderLayout.SOUTH);
+        add(header, BorderLayout.NORTH);
+
+        // ===== CENTER: table =====
+        model = new DefaultTableModel(
+                new Object[]{"Team", "W", "L", "Proj. W", "Playoffs", "Final", "Champion"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;  // read-only
+            }
+        };
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(0).setPreferredWidth(180);
+        DefaultTableCellRenderer right = new DefaultTableCellRenderer();
+        right.setHorizontalAlignment(SwingConstants.RIGHT);
+        for (int c = 1; c < model.getColumnCount(); c++) {
+            table.getColumnModel().getColumn(c).setCellRenderer(right);
+        }
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        // ===== BOTTOM: progress + status =====
+        JPanel bottom = new JPanel(new BorderLayout(10, 0));
+        bottom.add(progress, BorderLayout.WEST);
+        bottom.add(status, BorderLayout.CENTER);
+        add(bottom, BorderLayout.SOUTH);
+
+        runBtn.addActionListener(e -> runOdds());
+    }
+
+    private void runOdds() {
+        int playoffTeams = (Integer) teamsSpinner.getValue();
+        int simulations = (Integer) simsSpinner.getValue();
+
+        PlayoffOddsEngine engine = new PlayoffOddsEngine();
+        PlayoffOddsEngine.Setup setup;
+        try {
+            setup = engine.prepare(leagueName, playoffTeams); // reads the league, so on the EDT
+        } catch (RuntimeException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Playoff Odds", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        runBtn.setEnabled(false);
+        progress.setValue(0);
+        status.setText("Simulating " + setup.getRemainingGames() + " remaining game(s) and a "
+                + setup.getPlayoffTeams() + "-team bracket…");
+
+        SwingWorker<PlayoffOddsEngine.Odds, Void> worker = new SwingWorker<>() {
+            @Override
+            protected PlayoffOddsEngine.Odds doInBackground() {
+                return engine.run(setup, simulations, (done, total) -> {
+                    int permille = (int) (done * 1000 / total);
+                    SwingUtilities.invokeLater(() -> progress.setValue(permille));
+                });
+            }
+
+            @Override
+            protected void done() {
+                runBtn.setEnabled(true);
+                try {
+                    showOdds(get());
+                } catch (Exception ex) {
+                    Throwable cause = (ex instanceof java.util.concurrent.ExecutionException && ex.getCause() != null)
+                            ? ex.getCause() : ex;
+                    cause.printStackTrace();
+                    status.setText(" ");
+                    JOptionPane.showMessageDialog(PlayoffOddsPanel.this,
+                            "Error computing playoff odds:\n" + cause.getMessage(),
+                            "Playoff Odds",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void showOdds(PlayoffOddsEngine.Odds odds) {
+        model.setRowCount(0);
+        for (PlayoffOddsEngine.TeamOdds t : odds.getTeams()) {
+            model.addRow(new Object[]{
+                    t.getTeamName(),
+                    t.getWins(),
+                    t.getLosses(),
+                    String.format("%.1f", t.getProjectedWins()),
+                    String.format("%.1f%%", t.getPlayoffPercent()),
+                    String.format("%.1f%%", t.getFinalsPercent()),
+                    String.format("%.1f%%", t.getChampionPercent())
+            });
+        }
+        progress.setValue(progress.getMaximum());
+        status.setText(odds.toString());
+    }
+}
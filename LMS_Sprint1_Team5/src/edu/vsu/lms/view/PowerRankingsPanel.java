@@ -9,7 +9,6 @@ import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -21,7 +20,8 @@ import java.util.List;
  * pts / asst / foul are per-game averages over all games.
  * Accuracy columns are season-long percentages.
  *
- * Rows ordered by: wins desc, %win desc, team name.
+ * Rows in league ranking order (League.getRanking()), the same order as
+ * the standings and bracket seeding.
  */
 public class PowerRankingsPanel extends JPanel {
 
@@ -60,7 +60,8 @@ public class PowerRankingsPanel extends JPanel {
         title.setFont(title.getFont().deriveFont(Font.BOLD, 18f));
 
         JLabel subtitle = new JLabel(
-                "pts / asst / foul = per-game averages · Ordered by wins, then %Win");
+                "pts / asst / foul = per-game averages · Ordered by "
+                        + league.getTiebreakers() + ", then name");
         subtitle.setFont(subtitle.getFont().deriveFont(Font.ITALIC, 11f));
 
         JPanel header = new JPanel(new BorderLayout());
@@ -102,41 +103,28 @@ public class PowerRankingsPanel extends JPanel {
 
     private PowerTableModel buildModel() {
         List<TeamRow> rows = new ArrayList<>();
+        SeasonAggregates season = statsController.getSeasonAggregates(league);
 
-        // aggregate stats per team
-        for (Team team : league.getTeams().values()) {
+        // aggregate stats per team, already in ranking order
+        for (Standings.Row record : league.getRanking().getRows()) {
+            Team team = league.getTeams().get(record.getTeamName());
+            if (team == null) continue; // no longer in the league
             TeamRow r = new TeamRow();
             r.name   = team.getName();
-            r.wins   = team.getWins();
-            r.losses = team.getLosses();
+            r.wins   = record.getWins();
+            r.losses = record.getLosses();
             r.games  = r.wins + r.losses;
             r.winPct = (r.games == 0) ? 0.0 : (r.wins * 100.0 / r.games);
 
-            int ftAtt = 0, ftMade = 0;
-            int twoAtt = 0, twoMade = 0;
-            int threeAtt = 0, threeMade = 0;
-            int assists = 0, fouls = 0;
-
-            for (Game g : league.getGames()) {
-                boolean playsInGame = r.name.equals(g.getHomeTeam()) ||
-                                      r.name.equals(g.getAwayTeam());
-                if (!playsInGame) continue;
-
-                GameStats gs = statsController.getOrCreateGameStats(g);
-
-                for (Player p : team.getPlayers()) {
-                    PlayerGameStats s = gs.getOrCreatePlayerStats(p, r.name);
-
-                    ftAtt    += s.getFreeThrowsAttempted();
-                    ftMade   += s.getFreeThrowsMade();
-                    twoAtt   += s.getTwoPointersAttempted();
-                    twoMade  += s.getTwoPointersMade();
-                    threeAtt += s.getThreePointersAttempted();
-                    threeMade+= s.getThreePointersMade();
-                    assists  += s.getAssists();
-                    fouls    += s.getFouls();
-                }
+            // sum of the roster's running totals over this team's games
+            SeasonAggregates.Totals sum = new SeasonAggregates.Totals();
+            for (Player p : team.getPlayers()) {
+                sum.addCounters(season.getPlayerTotals(r.name, p));
             }
+            int ftAtt = sum.getFreeThrowsAttempted(), ftMade = sum.getFreeThrowsMade();
+            int twoAtt = sum.getTwoPointersAttempted(), twoMade = sum.getTwoPointersMade();
+            int threeAtt = sum.getThreePointersAttempted(), threeMade = sum.getThreePointersMade();
+            int assists = sum.getAssists(), fouls = sum.getFouls();
 
             double games = (r.games == 0) ? 1.0 : r.games;
             int totalPoints = ftMade + 2 * twoMade + 3 * threeMade;
@@ -152,12 +140,6 @@ public class PowerRankingsPanel extends JPanel {
             rows.add(r);
         }
 
-        // sort: wins desc, %win desc, name asc
-        rows.sort(Comparator
-                .comparingInt((TeamRow r) -> r.wins).reversed()
-                .thenComparingDouble((TeamRow r) -> r.winPct).reversed()
-                .thenComparing(r -> r.name, String.CASE_INSENSITIVE_ORDER));
-
         return new PowerTableModel(rows);
     }
 
@@ -3,18 +3,15 @@ package edu.vsu.lms.view;
 import edu.vsu.lms.model.Game;
 import edu.vsu.lms.model.League;
 import edu.vsu.lms.model.Team;
-import edu.vsu.lms.model.Player;
 import edu.vsu.lms.persistence.AppState;
-import edu.vsu.lms.controller.GameStatsController;
-import edu.vsu.lms.model.GameStats;
-import edu.vsu.lms.model.PlayerGameStats;
+import edu.vsu.lms.persistence.JournalRecord;
+import edu.vsu.lms.controller.SimulationEngine;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * RecordResultPanel
@@ -36,7 +33,6 @@ public class RecordResultPanel extends JPanel {
 
     private final String leagueName;
     private final League league;
-    private final GameStatsController statsController;
 
     private final JComboBox<Game> gameBox;
     private final JTextField homeScoreField;
@@ -48,7 +44,6 @@ public class RecordResultPanel extends JPanel {
         this.leagueName = leagueName;
         AppState state = AppState.getInstance();
         this.league = state.getLeagues().get(leagueName);
-        this.statsController = state.getGameStatsController();
 
         if (league == null) {
             throw new IllegalArgumentException("League not found: " + leagueName);
@@ -220,7 +215,7 @@ public class RecordResultPanel extends JPanel {
             return;
         }
 
-        applyResultToLeague(g, homeScore, awayScore, false);
+        applyResultToLeague(g, homeScore, awayScore);
 
         JOptionPane.showMessageDialog(this,
                 "Result saved:\n" +
@@ -242,10 +237,18 @@ public class RecordResultPanel extends JPanel {
             return;
         }
 
-        int[] scores = simulateSingleGame(g);
-        if (scores == null) {
-            return; // error already shown
+        SimulationEngine engine = new SimulationEngine();
+        SimulationEngine.Batch batch = engine.prepare(leagueName, List.of(g));
+        if (batch.getGameCount() == 0) {
+            JOptionPane.showMessageDialog(this,
+                    "One or both teams not found in league.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
         }
+        engine.run(batch, null);
+        engine.apply(batch);
+        int[] scores = batch.getScores(0);
 
         int homeScore = scores[0];
         int awayScore = scores[1];
@@ -262,37 +265,6 @@ public class RecordResultPanel extends JPanel {
                 JOptionPane.INFORMATION_MESSAGE);
     }
 
-    /**
-     * Simulate a single game (team scores + player stats) and return
-     * [homeScore, awayScore].
-     */
-    private int[] simulateSingleGame(Game g) {
-        if (g == null) return null;
-
-        // Simple random scoring: 80–120 per team
-        int homeScore = ThreadLocalRandom.current().nextInt(80, 121);
-        int awayScore = ThreadLocalRandom.current().nextInt(80, 121);
-
-        // Avoid ties
-        if (homeScore == awayScore) {
-            if (ThreadLocalRandom.current().nextBoolean()) {
-                homeScore++;
-            } else {
-                awayScore++;
-            }
-        }
-
-        // Apply result to league/teams (includes winner + W/L update)
-        if (!applyResultToLeague(g, homeScore, awayScore, true)) {
-            return null; // something went wrong (e.g. tie or missing team)
-        }
-
-        // Simulate player box scores
-        simulatePlayerStatsForGame(g, homeScore, awayScore);
-
-        return new int[]{homeScore, awayScore};
-    }
-
     // ===================== Simulate Up To Date =====================
 
     /**
@@ -321,21 +293,49 @@ public class RecordResultPanel extends JPanel {
             return;
         }
 
-        int simulatedCount = 0;
-        for (Game g : league.getGames()) {
-            if (!g.hasResult() && !g.getDate().isAfter(cutoff)) {
-                int[] scores = simulateSingleGame(g);
-                if (scores != null) {
-                    simulatedCount++;
-                }
+        SimulationEngine engine = new SimulationEngine();
+        SimulationEngine.Batch batch = engine.prepare(leagueName, cutoff);
+
+        // Simulate off the EDT; results and stats are applied in done()
+        ProgressMonitor monitor = new ProgressMonitor(this,
+                "Simulating games up to " + cutoff, "", 0, Math.max(1, batch.getGameCount()));
+        monitor.setMillisToDecideToPopup(200);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() {
+                engine.run(batch, (date, done, total) -> SwingUtilities.invokeLater(() -> {
+                    monitor.setProgress(done);
+                    monitor.setNote(date + " (" + done + " of " + total + " games)");
+                }));
+                return null;
             }
-        }
 
-        JOptionPane.showMessageDialog(this,
-                "Simulated " + simulatedCount +
-                        " game(s) on or before " + cutoff + ".",
-                "Simulation Complete",
-                JOptionPane.INFORMATION_MESSAGE);
+            @Override
+            protected void done() {
+                monitor.close();
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    get();
+                    SimulationEngine.Report report = engine.apply(batch);
+                    JOptionPane.showMessageDialog(RecordResultPanel.this,
+                            "Simulated " + report.getGamesSimulated() +
+                                    " game(s) on or before " + cutoff + ".\n" + report,
+                            "Simulation Complete",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    Throwable cause = (ex instanceof java.util.concurrent.ExecutionException && ex.getCause() != null)
+                            ? ex.getCause() : ex;
+                    cause.printStackTrace();
+                    JOptionPane.showMessageDialog(RecordResultPanel.this,
+                            "Error simulating games:\n" + cause.getMessage(),
+                            "Simulation Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
     }
 
     // ===================== League / Team Updates =====================
@@ -344,7 +344,7 @@ public class RecordResultPanel extends JPanel {
      * Applies result to the Game and updates team W/L records.
      * Returns false if result is invalid (e.g. tie or missing teams).
      */
-    private boolean applyResultToLeague(Game g, int homeScore, int awayScore, boolean simulated) {
+    private boolean applyResultToLeague(Game g, int homeScore, int awayScore) {
         String homeName = g.getHomeTeam();
         String awayName = g.getAwayTeam();
 
@@ -369,113 +369,12 @@ public class RecordResultPanel extends JPanel {
 
         String winner = (homeScore > awayScore) ? homeName : awayName;
 
-        // Update Game model
+        // Update Game model; the league's standings (and team W/L) take
+        // any previous result back out and count this one
         g.setResult(winner, homeScore, awayScore);
 
-        // Update team records (no undo of previous result here)
-        if (winner.equals(homeName)) {
-            homeTeam.addWin();
-            awayTeam.addLoss();
-        } else {
-            awayTeam.addWin();
-            homeTeam.addLoss();
-        }
-
+        AppState.getInstance().record(JournalRecord.recordResult(
+                leagueName, g.getDate(), homeName, awayName, homeScore, awayScore));
         return true;
     }
-
-    // ===================== Player Stat Simulation =====================
-
-    private void simulatePlayerStatsForGame(Game g, int homeScore, int awayScore) {
-        if (statsController == null) {
-            System.err.println("GameStatsController is null – cannot simulate player stats.");
-            return;
-        }
-
-        GameStats gameStats = statsController.getOrCreateGameStats(g);
-
-        Team homeTeam = league.getTeams().get(g.getHomeTeam());
-        Team awayTeam = league.getTeams().get(g.getAwayTeam());
-
-        if (homeTeam == null || awayTeam == null) {
-            System.err.println("Teams not found for game when simulating stats: " + g);
-            return;
-        }
-
-        java.util.List<Player> homePlayers = new java.util.ArrayList<>(homeTeam.getPlayers());
-        java.util.List<Player> awayPlayers = new java.util.ArrayList<>(awayTeam.getPlayers());
-
-        if (homePlayers.isEmpty() && awayPlayers.isEmpty()) {
-            System.err.println("No players found to simulate stats for.");
-            return;
-        }
-
-        simulateTeamPlayerStats(gameStats, g.getHomeTeam(), homePlayers, homeScore);
-        simulateTeamPlayerStats(gameStats, g.getAwayTeam(), awayPlayers, awayScore);
-    }
-
-    private void simulateTeamPlayerStats(GameStats gameStats,
-                                         String teamName,
-                                         java.util.List<Player> players,
-                                         int teamPoints) {
-        if (players == null || players.isEmpty()) return;
-
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
-
-        // Assign random "weights" to decide who scores more
-        double[] weights = new double[players.size()];
-        double sum = 0.0;
-        for (int i = 0; i < players.size(); i++) {
-            double w = 0.5 + rnd.nextDouble(); // 0.5–1.5
-            weights[i] = w;
-            sum += w;
-        }
-
-        for (int i = 0; i < players.size(); i++) {
-            Player p = players.get(i);
-            PlayerGameStats s = gameStats.getOrCreatePlayerStats(p, teamName);
-
-            double share = weights[i] / sum;
-            int pointsTarget = (int) Math.round(teamPoints * share);
-
-            // Random shot profile
-            int threeAtt = rnd.nextInt(0, 8); // 0–7 threes
-            int threeMade = (int) Math.round(threeAtt * (0.30 + rnd.nextDouble() * 0.15));
-            if (threeMade > threeAtt) threeMade = threeAtt;
-
-            int twoAtt = rnd.nextInt(2, 16); // 2–15 twos
-            int twoMade = (int) Math.round(twoAtt * (0.40 + rnd.nextDouble() * 0.20));
-            if (twoMade > twoAtt) twoMade = twoAtt;
-
-            int ftAtt = rnd.nextInt(0, 7); // 0–6 FTs
-            int ftMade = (int) Math.round(ftAtt * (0.65 + rnd.nextDouble() * 0.20));
-            if (ftMade > ftAtt) ftMade = ftAtt;
-
-            int points = 2 * twoMade + 3 * threeMade + ftMade;
-
-            // If far under target, bump with extra FTs a bit
-            if (points < pointsTarget - 4) {
-                int extra = Math.min(pointsTarget - points, 4);
-                ftAtt += extra;
-                ftMade += extra;
-                points += extra;
-            }
-
-            int assists = rnd.nextInt(0, 8); // 0–7 assists
-
-            int fouls = rnd.nextInt(0, 6);   // 0–5
-            if (rnd.nextDouble() < 0.05) {   // small chance of foul out
-                fouls = 6;
-            }
-
-            // Save into stats
-            s.setFreeThrowStats(ftAtt, ftMade);
-            s.setTwoPointStats(twoAtt, twoMade);
-            s.setThreePointStats(threeAtt, threeMade);
-            s.setAssists(assists);
-            s.setFouls(fouls);
-        }
-        // Note: total sum of player points won't be perfectly equal to teamPoints,
-        // but that's fine for a simulation.
-    }
 }
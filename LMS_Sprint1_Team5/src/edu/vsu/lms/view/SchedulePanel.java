@@ -6,6 +6,7 @@ import java.time.*;
 import java.util.*;
 import java.util.List;
 import edu.vsu.lms.controller.ScheduleController;
+import edu.vsu.lms.controller.ScheduleEngine;
 
 public class SchedulePanel extends JPanel {
     private final ScheduleController ctrl = new ScheduleController();
@@ -26,32 +27,74 @@ public class SchedulePanel extends JPanel {
 
         JPanel bottom = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         JButton generate = new JButton("Generate Schedule");
+        JButton reschedule = new JButton("Reschedule Unplayed");
         JButton view = new JButton("View Schedule");
         bottom.add(generate);
+        bottom.add(reschedule);
         bottom.add(view);
         add(bottom, BorderLayout.SOUTH);
 
         generate.addActionListener(e -> onGenerate());
+        reschedule.addActionListener(e -> onReschedule());
         view.addActionListener(e -> onView());
     }
 
     private void onGenerate() {
+        ScheduleEngine.Options options = askOptions("Play Days");
+        if (options == null) return;
+
+        boolean created = ctrl.generateSchedule(leagueName, options);
+        if (created) JOptionPane.showMessageDialog(this, "Schedule created successfully!");
+        else JOptionPane.showMessageDialog(this, "Schedule already exists or not enough teams.");
+    }
+
+    /** Keeps played games; plans the rest of the season again from a date. */
+    private void onReschedule() {
+        ScheduleEngine.Options options = askOptions("Reschedule Unplayed Games");
+        if (options == null) return;
+
+        String msg = ctrl.rescheduleUnplayed(leagueName, options);
+        JOptionPane.showMessageDialog(this, msg);
+        if (!msg.startsWith("ERROR")) onView();
+    }
+
+    /** Play days, round-robins, rest days and start date; null if cancelled. */
+    private ScheduleEngine.Options askOptions(String title) {
         JCheckBox tue = new JCheckBox("Tuesday", true);
         JCheckBox sat = new JCheckBox("Saturday", true);
+        JSpinner rounds = new JSpinner(new SpinnerNumberModel(2, 1, 10, 1));
+        JSpinner rest = new JSpinner(new SpinnerNumberModel(0, 0, 14, 1));
+        JTextField start = new JTextField(LocalDate.now().toString(), 10);
         JPanel p = new JPanel(new GridLayout(0,1));
         p.add(new JLabel("Select play days:"));
         p.add(tue);
         p.add(sat);
-        int ok = JOptionPane.showConfirmDialog(this, p, "Play Days", JOptionPane.OK_CANCEL_OPTION);
-        if (ok != JOptionPane.OK_OPTION) return;
+        p.add(new JLabel("Times each pair of teams meets:"));
+        p.add(rounds);
+        p.add(new JLabel("Rest days after a game (1 = no back-to-backs):"));
+        p.add(rest);
+        p.add(new JLabel("First game date (YYYY-MM-DD):"));
+        p.add(start);
+        int ok = JOptionPane.showConfirmDialog(this, p, title, JOptionPane.OK_CANCEL_OPTION);
+        if (ok != JOptionPane.OK_OPTION) return null;
+
+        LocalDate startDate;
+        try {
+            startDate = LocalDate.parse(start.getText().trim());
+        } catch (DateTimeException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid date format. Use YYYY-MM-DD.");
+            return null;
+        }
 
         List<DayOfWeek> days = new ArrayList<>();
         if (tue.isSelected()) days.add(DayOfWeek.TUESDAY);
         if (sat.isSelected()) days.add(DayOfWeek.SATURDAY);
 
-        boolean created = ctrl.generateSchedule(leagueName, days, LocalDate.now());
-        if (created) JOptionPane.showMessageDialog(this, "Schedule created successfully!");
-        else JOptionPane.showMessageDialog(this, "Schedule already exists or not enough teams.");
+        return new ScheduleEngine.Options()
+                .setPlayDays(days)
+                .setStartDate(startDate)
+                .setRounds((Integer) rounds.getValue())
+                .setMinRestDays((Integer) rest.getValue());
     }
 
     private void onView() {
@@ -3,10 +3,12 @@ package edu.vsu.lms.view;
 import edu.vsu.lms.controller.GameStatsController;
 import edu.vsu.lms.model.*;
 import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.StatsArchive;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
@@ -16,7 +18,8 @@ import java.util.List;
  * "View Team Stats" user story.
  *
  * Shows per-game averages for the team and each player
- * across all games in the selected league.
+ * across all games in the selected league, for the current
+ * season or an archived one (read from its StatsArchive).
  */
 public class TeamStatsPanel extends JPanel {
 
@@ -26,6 +29,11 @@ public class TeamStatsPanel extends JPanel {
     private final League league;
     private final GameStatsController statsController;
 
+    // Archived seasons, newest first; null selection = current season
+    private final List<StatsArchive> archives;
+    private StatsArchive archive;
+
+    private final JComboBox<String> seasonCombo = new JComboBox<>();
     private final JComboBox<String> teamCombo = new JComboBox<>();
     private final JTextArea statsArea = new JTextArea();
 
@@ -43,6 +51,9 @@ public class TeamStatsPanel extends JPanel {
                 ? statsController
                 : state.getGameStatsController();
 
+        this.archives = new ArrayList<>(state.getArchivedSeasons(leagueName));
+        Collections.reverse(archives);
+
         initUI();
         loadTeams();
     }
@@ -65,6 +76,18 @@ public class TeamStatsPanel extends JPanel {
 
         gc.gridx = 0;
         gc.gridy = 0;
+        left.add(new JLabel("Season:"), gc);
+
+        gc.gridx = 1;
+        seasonCombo.addItem("Current season");
+        for (StatsArchive a : archives) {
+            seasonCombo.addItem(a.getLabel());
+        }
+        seasonCombo.setPreferredSize(new Dimension(220, seasonCombo.getPreferredSize().height));
+        left.add(seasonCombo, gc);
+
+        gc.gridx = 0;
+        gc.gridy = 1;
         left.add(new JLabel("Team:"), gc);
 
         gc.gridx = 1;
@@ -78,12 +101,19 @@ public class TeamStatsPanel extends JPanel {
         statsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
         add(new JScrollPane(statsArea), BorderLayout.CENTER);
 
+        seasonCombo.addActionListener(e -> {
+            int i = seasonCombo.getSelectedIndex();
+            archive = (i <= 0) ? null : archives.get(i - 1);
+            loadTeams();
+        });
         teamCombo.addActionListener(e -> recomputeStats());
     }
 
     private void loadTeams() {
         teamCombo.removeAllItems();
-        List<String> names = new ArrayList<>(league.getTeams().keySet());
+        List<String> names = (archive != null)
+                ? archive.getTeamNames()
+                : new ArrayList<>(league.getTeams().keySet());
         names.sort(String.CASE_INSENSITIVE_ORDER);
 
         for (String n : names) {
@@ -121,82 +151,46 @@ public class TeamStatsPanel extends JPanel {
             return;
         }
 
-        Team team = league.getTeams().get(teamName);
-        if (team == null) {
+        Team team = (archive != null) ? null : league.getTeams().get(teamName);
+        if (archive == null && team == null) {
             statsArea.setText("Team not found: " + teamName);
             return;
         }
 
         // --- per-player aggregation ---
-        List<Player> players = new ArrayList<>(team.getPlayers());
+        List<Player> players = (archive != null)
+                ? archive.getPlayersForTeam(teamName)
+                : new ArrayList<>(team.getPlayers());
         players.sort(Comparator
                 .comparing(Player::getLastName, String.CASE_INSENSITIVE_ORDER)
                 .thenComparing(Player::getFirstName, String.CASE_INSENSITIVE_ORDER)
                 .thenComparingInt(Player::getNumber));
 
+        SeasonAggregates season = aggregates();
+
         List<PlayerAgg> rows = new ArrayList<>();
         for (Player p : players) {
             PlayerAgg agg = new PlayerAgg();
             agg.name = p.getFirstName() + " " + p.getLastName();
 
-            // loop all games in league; only ones where this team participates
-            for (Game g : league.getGames()) {
-                boolean isHome = teamName.equals(g.getHomeTeam());
-                boolean isAway = teamName.equals(g.getAwayTeam());
-                if (!isHome && !isAway) continue;
-
-                GameStats gs = statsController.getOrCreateGameStats(g);
-                PlayerGameStats s = gs.getOrCreatePlayerStats(p, teamName);
-
-                int sum =
-                        s.getFreeThrowsAttempted() +
-                        s.getTwoPointersAttempted() +
-                        s.getThreePointersAttempted() +
-                        s.getAssists() +
-                        s.getFouls();
-
-                // count as "played" only if they did something
-                if (sum > 0) {
-                    agg.gamesPlayed++;
-                    agg.ftAtt    += s.getFreeThrowsAttempted();
-                    agg.ftMade   += s.getFreeThrowsMade();
-                    agg.twoAtt   += s.getTwoPointersAttempted();
-                    agg.twoMade  += s.getTwoPointersMade();
-                    agg.threeAtt += s.getThreePointersAttempted();
-                    agg.threeMade+= s.getThreePointersMade();
-                    agg.assists  += s.getAssists();
-                    agg.fouls    += s.getFouls();
-                }
-            }
+            // totals over the games this team played in
+            SeasonAggregates.Totals t = season.getPlayerTotals(teamName, p);
+            agg.gamesPlayed = t.getGamesPlayed();
+            agg.ftAtt     = t.getFreeThrowsAttempted();
+            agg.ftMade    = t.getFreeThrowsMade();
+            agg.twoAtt    = t.getTwoPointersAttempted();
+            agg.twoMade   = t.getTwoPointersMade();
+            agg.threeAtt  = t.getThreePointersAttempted();
+            agg.threeMade = t.getThreePointersMade();
+            agg.assists   = t.getAssists();
+            agg.fouls     = t.getFouls();
 
             rows.add(agg);
         }
 
         // --- team totals (sum of players) ---
-        int teamGamesWithStats = 0;
-        // count games where at least one player has non-zero stats
-        for (Game g : league.getGames()) {
-            boolean isHome = teamName.equals(g.getHomeTeam());
-            boolean isAway = teamName.equals(g.getAwayTeam());
-            if (!isHome && !isAway) continue;
-
-            boolean anyStats = false;
-            for (Player p : players) {
-                GameStats gs = statsController.getOrCreateGameStats(g);
-                PlayerGameStats s = gs.getOrCreatePlayerStats(p, teamName);
-                int sum =
-                        s.getFreeThrowsAttempted() +
-                        s.getTwoPointersAttempted() +
-                        s.getThreePointersAttempted() +
-                        s.getAssists() +
-                        s.getFouls();
-                if (sum > 0) {
-                    anyStats = true;
-                    break;
-                }
-            }
-            if (anyStats) teamGamesWithStats++;
-        }
+        // games where at least one player has non-zero stats
+        int teamGamesWithStats = season.getTeamGamesWithStats(teamName);
 
         int teamFtAtt = 0, teamFtMade = 0;
         int teamTwoAtt = 0, teamTwoMade = 0;
@@ -227,8 +221,8 @@ public class TeamStatsPanel extends JPanel {
         double teamThreePct= pct(teamThreeMade, teamThreeAtt);
 
         // record & win %
-        int wins = team.getWins();
-        int losses = team.getLosses();
+        int wins = (archive != null) ? archive.getWins(teamName) : team.getWins();
+        int losses = (archive != null) ? archive.getLosses(teamName) : team.getLosses();
         int recordGames = wins + losses;
         double winPct = (recordGames == 0) ? 0.0 : (wins * 100.0 / recordGames);
 
@@ -302,4 +296,10 @@ public class TeamStatsPanel extends JPanel {
     private static String fmtPct(double p) {
         return String.format("%.1f%%", p);
     }
+
+    // ---------- Season source: live league or archived season ----------
+
+    private SeasonAggregates aggregates() {
+        return (archive != null) ? archive.getAggregates() : statsController.getSeasonAggregates(league);
+    }
 }
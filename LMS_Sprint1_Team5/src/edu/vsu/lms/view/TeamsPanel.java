@@ -29,7 +29,7 @@ public class TeamsPanel extends JPanel {
 
     // UI bits
     private JLabel headerLabel;
-    private JButton addBtn, deleteBtn, refreshBtn, reloadLeaguesBtn, playersBtn;
+    private JButton addBtn, renameBtn, deleteBtn, refreshBtn, reloadLeaguesBtn, playersBtn;
     private JComboBox<String> leagueBox;
     private JPanel headerRight;
 
@@ -130,20 +130,24 @@ public class TeamsPanel extends JPanel {
         // ---- Bottom actions ----
         JPanel bottom = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
         addBtn = new JButton("Add Team");
+        renameBtn = new JButton("Rename");
         deleteBtn = new JButton("Delete Selected");
         playersBtn = new JButton("Players");
         bottom.add(playersBtn);
         bottom.add(addBtn);
+        bottom.add(renameBtn);
         bottom.add(deleteBtn);
         add(bottom, BorderLayout.SOUTH);
 
         if (readOnly) {
             addBtn.setVisible(false);
+            renameBtn.setVisible(false);
             deleteBtn.setVisible(false);
         }
 
         // Actions / shortcuts
         addBtn.addActionListener(e -> onAddTeam());
+        renameBtn.addActionListener(e -> onRenameTeam());
         deleteBtn.addActionListener(e -> onDeleteTeam());
         refreshBtn.addActionListener(e -> refresh(true));
         playersBtn.addActionListener(e -> onViewPlayers());
@@ -193,6 +197,7 @@ public class TeamsPanel extends JPanel {
         playersBtn.setEnabled(hasTeam);
         if (!readOnly) {
             deleteBtn.setEnabled(hasTeam && list.isEnabled());
+            renameBtn.setEnabled(hasTeam && list.isEnabled());
             addBtn.setEnabled(currentLeague != null && !currentLeague.isBlank());
         }
         if (refreshBtn != null) refreshBtn.setEnabled(true);
@@ -264,6 +269,32 @@ public class TeamsPanel extends JPanel {
         selectByName(name);
     }
 
+    private void onRenameTeam() {
+        String selected = getSelectedTeam();
+        if (selected == null) {
+            JOptionPane.showMessageDialog(this, "Select a team to rename.");
+            return;
+        }
+
+        String input = JOptionPane.showInputDialog(this, "New name for '" + selected + "':", selected);
+        if (input == null) return;
+        String name = input.trim().replaceAll("\\s{2,}", " ");
+        if (name.isEmpty() || name.equals(selected)) return;
+        if (!isValidTeamName(name)) {
+            JOptionPane.showMessageDialog(this,
+                    "Team name must be 3–30 characters (letters, numbers, spaces, - ' &).",
+                    "Invalid Name", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        boolean ok = ctrl.renameTeam(currentLeague, selected, name);
+        if (!ok) {
+            JOptionPane.showMessageDialog(this, "Duplicate or invalid team name.");
+        }
+        refresh(false);
+        selectByName(ok ? name : selected);
+    }
+
     private void onDeleteTeam() {
         String selected = list.getSelectedValue();
         if (selected == null || isPlaceholder(selected)) {
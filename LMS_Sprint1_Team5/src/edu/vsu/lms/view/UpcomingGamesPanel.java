@@ -39,10 +39,9 @@ public class UpcomingGamesPanel extends JPanel {
             return;
         }
 
-        // Filter and sort by date ascending
-        List<Game> upcoming = league.getGames().stream()
+        // Unplayed games, by date ascending
+        List<Game> upcoming = league.getGamesBetween(null, null).stream()
                 .filter(g -> !g.hasResult())
-                .sorted(Comparator.comparing(Game::getDate))
                 .toList();
 
         if (upcoming.isEmpty()) {
@@ -0,0 +1,35 @@
+package edu.vsu.lms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * TestState
+ * ---------
+ * AppState keeps its store, journal and archives under user.dir, read
+ * once when the class is first used. Tests that touch AppState call
+ * useTempDir() first (in @BeforeAll), so they run against an empty
+ * store of their own and never read or write the project's saves.
+ */
+public final class TestState {
+
+    private static Path dir;
+
+    private TestState() {}
+
+    /** Points user.dir at a fresh temp directory (once per JVM) and returns it. */
+    public static synchronized Path useTempDir() {
+        if (dir == null) {
+            try {
+                dir = Files.createTempDirectory("lms-test");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.setProperty("user.dir", dir.toString());
+            System.setProperty("java.awt.headless", "true");
+        }
+        return dir;
+    }
+}
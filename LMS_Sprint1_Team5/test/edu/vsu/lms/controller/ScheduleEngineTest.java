@@ -0,0 +1,149 @@
+package edu.vsu.lms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ScheduleEngineTest
+ * ------------------
+ * Pairings, rest days, shared and closed venues, and the per-day cap.
+ */
+class ScheduleEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 10, 6); // a Monday
+    private static final List<String> TEAMS = List.of("A", "B", "C", "D", "E", "F");
+
+    private final ScheduleEngine engine = new ScheduleEngine();
+
+    @Test
+    void everyPairMeetsHomeAndAway() {
+        ScheduleEngine.Schedule s = engine.generate(TEAMS, everyDay().setRounds(2));
+
+        assertEquals(TEAMS.size() * (TEAMS.size() - 1), s.getGameCount());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < s.getGameCount(); i++) {
+            assertNotEquals(s.getHomeTeam(i), s.getAwayTeam(i));
+            assertTrue(seen.add(s.getHomeTeam(i) + "-" + s.getAwayTeam(i)), "home/away pairing repeated");
+        }
+    }
+
+    @Test
+    void withoutConstraintsEachRoundHasItsOwnPlayDay() {
+        ScheduleEngine.Options o = new ScheduleEngine.Options()
+                .setStartDate(START)
+                .setPlayDays(List.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY))
+                .setRounds(1);
+        ScheduleEngine.Schedule s = engine.generate(TEAMS, o);
+
+        Map<LocalDate, Integer> perDay = new HashMap<>();
+        for (int i = 0; i < s.getGameCount(); i++) {
+            LocalDate d = s.getDate(i);
+            assertTrue(d.getDayOfWeek() == DayOfWeek.MONDAY || d.getDayOfWeek() == DayOfWeek.THURSDAY, d.toString());
+            perDay.merge(d, 1, Integer::sum);
+        }
+        // Five rounds of three games: Mon, Thu, Mon, Thu, Mon
+        assertEquals(5, perDay.size());
+        for (int games : perDay.values()) assertEquals(3, games);
+        assertEquals(START.plusWeeks(2), s.getLastDate());
+    }
+
+    @Test
+    void teamsGetTheirRestDays() {
+        int rest = 2;
+        ScheduleEngine.Schedule s = engine.generate(TEAMS, everyDay().setRounds(2).setMinRestDays(rest));
+
+        Map<String, List<LocalDate>> byTeam = datesByTeam(s);
+        for (Map.Entry<String, List<LocalDate>> e : byTeam.entrySet()) {
+            List<LocalDate> dates = e.getValue();
+            for (int i = 1; i < dates.size(); i++) {
+                long gap = ChronoUnit.DAYS.between(dates.get(i - 1), dates.get(i));
+                assertTrue(gap > rest, e.getKey() + " plays " + dates.get(i - 1) + " and " + dates.get(i));
+            }
+        }
+    }
+
+    @Test
+    void teamsSharingAVenueNeverHostTheSameDay() {
+        ScheduleEngine.Options o = everyDay().setRounds(2)
+                .setVenue("A", "Arena")
+                .setVenue("B", "Arena");
+        ScheduleEngine.Schedule s = engine.generate(TEAMS, o);
+
+        Set<LocalDate> arenaDays = new HashSet<>();
+        int arenaGames = 0;
+        for (int i = 0; i < s.getGameCount(); i++) {
+            String home = s.getHomeTeam(i);
+            if (home.equals("A") || home.equals("B")) {
+                arenaGames++;
+                assertTrue(arenaDays.add(s.getDate(i)), "Arena used twice on " + s.getDate(i));
+            }
+        }
+        assertEquals(2 * (TEAMS.size() - 1), arenaGames);
+    }
+
+    @Test
+    void noHomeGamesOnClosedDates() {
+        LocalDate closed1 = START, closed2 = START.plusDays(1);
+        ScheduleEngine.Options o = everyDay().setRounds(2)
+                .setVenue("A", "Arena")
+                .addClosedDate("Arena", closed1)
+                .addClosedDate("Arena", closed2)
+                .addClosedDate("C", closed1);       // C has no venue: its own name is one
+        ScheduleEngine.Schedule s = engine.generate(TEAMS, o);
+
+        for (int i = 0; i < s.getGameCount(); i++) {
+            LocalDate d = s.getDate(i);
+            if (s.getHomeTeam(i).equals("A")) {
+                assertFalse(d.equals(closed1) || d.equals(closed2), "A hosts on closed " + d);
+            }
+            if (s.getHomeTeam(i).equals("C")) {
+                assertNotEquals(closed1, d, "C hosts on closed " + d);
+            }
+        }
+    }
+
+    @Test
+    void noDayGoesOverTheCap() {
+        ScheduleEngine.Schedule s = engine.generate(TEAMS, everyDay().setRounds(2).setMaxGamesPerDay(2));
+
+        Map<LocalDate, Integer> perDay = new HashMap<>();
+        for (int i = 0; i < s.getGameCount(); i++) perDay.merge(s.getDate(i), 1, Integer::sum);
+        for (Map.Entry<LocalDate, Integer> e : perDay.entrySet()) {
+            assertTrue(e.getValue() <= 2, e.getValue() + " games on " + e.getKey());
+        }
+        assertEquals(TEAMS.size() * (TEAMS.size() - 1), s.getGameCount());
+    }
+
+    // ---------- Helpers ----------
+
+    private static ScheduleEngine.Options everyDay() {
+        return new ScheduleEngine.Options()
+                .setStartDate(START)
+                .setPlayDays(List.of(DayOfWeek.values()));
+    }
+
+    /** Each team's game dates, in order. */
+    private static Map<String, List<LocalDate>> datesByTeam(ScheduleEngine.Schedule s) {
+        Map<String, List<LocalDate>> byTeam = new HashMap<>();
+        for (int i = 0; i < s.getGameCount(); i++) {
+            byTeam.computeIfAbsent(s.getHomeTeam(i), k -> new ArrayList<>()).add(s.getDate(i));
+            byTeam.computeIfAbsent(s.getAwayTeam(i), k -> new ArrayList<>()).add(s.getDate(i));
+        }
+        for (List<LocalDate> dates : byTeam.values()) dates.sort(null);
+        return byTeam;
+    }
+}
@@ -0,0 +1,127 @@
+package edu.vsu.lms.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import static edu.vsu.lms.model.Ranking.Tiebreaker.HEAD_TO_HEAD;
+import static edu.vsu.lms.model.Ranking.Tiebreaker.POINT_DIFFERENTIAL;
+import static edu.vsu.lms.model.Ranking.Tiebreaker.WINS;
+
+/**
+ * RankingTest
+ * -----------
+ * Head-to-head groups: only games between the tied teams count, teams
+ * that never met stay level, and a group still tied after head-to-head
+ * goes on to the next rule.
+ */
+class RankingTest {
+
+    private League league;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        league = new League("Test");
+        day = LocalDate.of(2025, 10, 1);
+    }
+
+    @Test
+    void headToHeadCountsOnlyGamesInsideTheGroup() {
+        teams("A", "B", "C", "D", "E");
+        // A, B and C end on 2 wins; inside that group C is 2-0, A 1-1, B 0-2,
+        // although C lost both of its games outside it
+        play("C", "A", 90, 80);
+        play("C", "B", 90, 80);
+        play("A", "B", 90, 80);
+        play("D", "C", 90, 80);
+        play("E", "C", 90, 80);
+        play("A", "D", 90, 80);
+        play("B", "D", 90, 80);
+        play("B", "E", 90, 80);
+
+        assertEquals(List.of("A", "B", "C", "E", "D"), names(league.getRanking().getRows()));
+
+        league.setTiebreakers(List.of(WINS, HEAD_TO_HEAD));
+        // D and E never met: they stay in standings order (E is 1-1, D 1-2)
+        assertEquals(List.of("C", "A", "B", "E", "D"), names(league.getRanking().getRows()));
+        assertEquals(1, league.getRanking().getRank("C"));
+        assertEquals(5, league.getRanking().getRank("D"));
+    }
+
+    @Test
+    void circularHeadToHeadFallsThroughToTheNextRule() {
+        teams("A", "B", "C");
+        // Each beat one and lost to one: head-to-head cannot split them
+        play("A", "B", 100, 99);
+        play("B", "C", 110, 90);
+        play("C", "A", 105, 95);
+        league.setTiebreakers(List.of(WINS, HEAD_TO_HEAD, POINT_DIFFERENTIAL));
+
+        // Point differential: B +19, C -10 (+15 / -20), A -9 (+1 / -10)
+        assertEquals(List.of("B", "A", "C"), names(league.getRanking().getRows()));
+    }
+
+    @Test
+    void headToHeadSplitsWhatIsLeftOfAnEarlierRule() {
+        teams("A", "B", "C", "D");
+        // A, B and C on one win and level on point differential (0);
+        // of the three, only A and B met
+        play("B", "A", 85, 80);
+        play("A", "D", 85, 80);
+        play("C", "D", 90, 80);
+        play("D", "C", 90, 80);
+        play("D", "B", 85, 80);
+        league.setTiebreakers(List.of(WINS, POINT_DIFFERENTIAL, HEAD_TO_HEAD));
+
+        // D is 2-2 with +0 and goes first on wins; B's win over A counts,
+        // C met neither and stays neutral between them
+        assertEquals(List.of("D", "B", "C", "A"), names(league.getRanking().getRows()));
+    }
+
+    @Test
+    void rankingIsCachedUntilAResultOrTheRulesChange() {
+        teams("A", "B");
+        Game g = play("A", "B", 90, 80);
+
+        Ranking first = league.getRanking();
+        assertSame(first, league.getRanking());
+
+        g.setResult("B", 80, 90);
+        Ranking second = league.getRanking();
+        assertNotSame(first, second);
+        assertEquals(List.of("B", "A"), names(second.getRows()));
+
+        league.setTiebreakers(List.of(HEAD_TO_HEAD));
+        assertNotSame(second, league.getRanking());
+        assertEquals(List.of(HEAD_TO_HEAD), league.getRanking().getRules());
+    }
+
+    // ---------- Helpers ----------
+
+    private void teams(String... names) {
+        for (String name : names) league.addTeam(new Team(name));
+    }
+
+    /** Adds a regular-season game the first team (at home) won. */
+    private Game play(String winner, String loser, int winScore, int loseScore) {
+        Game g = new Game(day, winner, loser);
+        day = day.plusDays(1);
+        league.addGame(g);
+        g.setResult(winner, winScore, loseScore);
+        return g;
+    }
+
+    private static List<String> names(List<Standings.Row> rows) {
+        List<String> names = new ArrayList<>(rows.size());
+        for (Standings.Row r : rows) names.add(r.getTeamName());
+        return names;
+    }
+}
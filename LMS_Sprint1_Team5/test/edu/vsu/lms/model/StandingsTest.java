@@ -0,0 +1,153 @@
+package edu.vsu.lms.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * StandingsTest
+ * -------------
+ * First results, corrections and reversals, each checked against
+ * standings rebuilt from scratch and against the teams' own W/L.
+ */
+class StandingsTest {
+
+    private League league;
+    private Game ab, bc, ca;
+
+    @BeforeEach
+    void setUp() {
+        league = new League("Test");
+        for (String name : new String[]{"Alpha", "Bravo", "Charlie"}) {
+            league.addTeam(new Team(name));
+        }
+        LocalDate day = LocalDate.of(2025, 10, 1);
+        ab = new Game(day, "Alpha", "Bravo");
+        bc = new Game(day.plusDays(1), "Bravo", "Charlie");
+        ca = new Game(day.plusDays(2), "Charlie", "Alpha");
+        league.addGame(ab);
+        league.addGame(bc);
+        league.addGame(ca);
+    }
+
+    @Test
+    void firstResultsAreCounted() {
+        ab.setResult("Alpha", 100, 90);
+        bc.setResult("Bravo", 80, 70);
+
+        Standings s = league.getStandings();
+        assertRow(s, "Alpha", 1, 0, 100, 90);
+        assertRow(s, "Bravo", 1, 1, 170, 170);
+        assertRow(s, "Charlie", 0, 1, 70, 80);
+        assertEquals(List.of("Alpha", "Bravo", "Charlie"), names(s.getRows()));
+        assertMatchesRebuild();
+    }
+
+    @Test
+    void correctionMovesTheWinAndThePoints() {
+        ab.setResult("Alpha", 100, 90);
+        Standings s = league.getStandings();
+        int version = s.getVersion();
+
+        // Scores were entered the wrong way round
+        ab.setResult("Bravo", 90, 100);
+
+        assertRow(s, "Alpha", 0, 1, 90, 100);
+        assertRow(s, "Bravo", 1, 0, 100, 90);
+        assertEquals("Bravo", s.getRows().get(0).getTeamName());
+        assertEquals(1, s.getRank("Bravo"));
+        assertEquals(version + 1, s.getVersion());
+        assertMatchesRebuild();
+    }
+
+    @Test
+    void correctionOfTheScoreOnlyKeepsTheRecord() {
+        ab.setResult("Alpha", 100, 90);
+        ab.setResult("Alpha", 105, 90);
+
+        Standings s = league.getStandings();
+        assertRow(s, "Alpha", 1, 0, 105, 90);
+        assertRow(s, "Bravo", 0, 1, 90, 105);
+        assertMatchesRebuild();
+    }
+
+    @Test
+    void reversalTakesTheResultBackOut() {
+        ab.setResult("Alpha", 100, 90);
+        bc.setResult("Charlie", 70, 80);
+        ca.setResult("Charlie", 95, 85);
+
+        ca.clearResult();
+
+        Standings s = league.getStandings();
+        assertRow(s, "Alpha", 1, 0, 100, 90);
+        assertRow(s, "Charlie", 1, 0, 80, 70);
+        assertRow(s, "Bravo", 0, 2, 160, 180);
+        assertMatchesRebuild();
+
+        // Clearing twice changes nothing
+        int version = s.getVersion();
+        ca.clearResult();
+        assertEquals(version, s.getVersion());
+    }
+
+    @Test
+    void teamsWithoutGamesAreListedAtZero() {
+        ab.setResult("Alpha", 100, 90);
+        league.addTeam(new Team("Delta"));
+
+        Standings s = league.getStandings();
+        assertRow(s, "Delta", 0, 0, 0, 0);
+        assertEquals(0.0, s.getRow("Delta").getWinPercent());
+        assertEquals(4, s.getRows().size());
+    }
+
+    @Test
+    void playoffGamesAreNotCounted() {
+        ab.setResult("Alpha", 100, 90);
+        Game playoff = new Game(LocalDate.of(2026, 4, 1), "Alpha", "Bravo");
+        league.register(playoff);
+        playoff.setResult("Bravo", 80, 99);
+
+        assertRow(league.getStandings(), "Bravo", 0, 1, 90, 100);
+    }
+
+    // ---------- Helpers ----------
+
+    private void assertRow(Standings s, String team, int wins, int losses, int pointsFor, int pointsAgainst) {
+        Standings.Row r = s.getRow(team);
+        assertEquals(wins, r.getWins(), team + " wins");
+        assertEquals(losses, r.getLosses(), team + " losses");
+        assertEquals(pointsFor, r.getPointsFor(), team + " points for");
+        assertEquals(pointsAgainst, r.getPointsAgainst(), team + " points against");
+        Team t = league.getTeams().get(team);
+        assertEquals(wins, t.getWins(), team + " W written through");
+        assertEquals(losses, t.getLosses(), team + " L written through");
+    }
+
+    /** The incremental standings must equal a build from every result. */
+    private void assertMatchesRebuild() {
+        List<Standings.Row> kept = league.getStandings().getRows();
+        List<Standings.Row> built = Standings.build(league, false).getRows();
+        assertEquals(names(built), names(kept));
+        for (int i = 0; i < built.size(); i++) {
+            Standings.Row a = built.get(i), b = kept.get(i);
+            assertEquals(a.getWins(), b.getWins());
+            assertEquals(a.getLosses(), b.getLosses());
+            assertEquals(a.getPointsFor(), b.getPointsFor());
+            assertEquals(a.getPointsAgainst(), b.getPointsAgainst());
+            assertEquals(a.getRank(), b.getRank());
+        }
+    }
+
+    private static List<String> names(List<Standings.Row> rows) {
+        List<String> names = new ArrayList<>(rows.size());
+        for (Standings.Row r : rows) names.add(r.getTeamName());
+        return names;
+    }
+}
@@ -0,0 +1,204 @@
+package edu.vsu.lms.persistence;
+
+import edu.vsu.lms.TestState;
+import edu.vsu.lms.model.Game;
+import edu.vsu.lms.model.League;
+import edu.vsu.lms.model.Player;
+import edu.vsu.lms.model.Ranking;
+import edu.vsu.lms.model.Role;
+import edu.vsu.lms.model.Team;
+import edu.vsu.lms.model.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JournalReplayTest
+ * -----------------
+ * Records written to a Journal come back intact (a torn last frame is
+ * dropped, and cut off before anything new is appended), and replaying them into a fresh AppState rebuilds the
+ * state, also when each record is applied a second time.
+ */
+class JournalReplayTest {
+
+    private static final String LEAGUE = "Replay";
+    private static final LocalDate DAY = LocalDate.of(2025, 10, 1);
+
+    private static File dir;
+
+    @BeforeAll
+    static void tempState() throws IOException {
+        dir = Files.createTempDirectory(TestState.useTempDir(), "journal").toFile();
+    }
+
+    @Test
+    void recordsReadBackInOrder() throws IOException {
+        File file = new File(dir, "order.journal");
+        List<JournalRecord> written = records();
+        try (Journal j = new Journal(file)) {
+            for (int i = 0; i < written.size(); i++) j.append(i + 1, written.get(i));
+        }
+
+        List<Journal.Entry> read = new Journal(file).readAll();
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(i + 1, read.get(i).seq);
+            assertEquals(written.get(i).toString(), read.get(i).record.toString());
+        }
+    }
+
+    @Test
+    void tornLastRecordIsDropped() throws IOException {
+        File file = new File(dir, "torn.journal");
+        try (Journal j = new Journal(file)) {
+            j.append(1, JournalRecord.addTeam(LEAGUE, "Alpha"));
+            j.append(2, JournalRecord.addTeam(LEAGUE, "Bravo"));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);     // crash halfway through the second
+        }
+
+        List<Journal.Entry> read = new Journal(file).readAll();
+        assertEquals(1, read.size());
+        assertEquals("Alpha", read.get(0).record.text(1));
+    }
+
+    @Test
+    void appendAfterATornTailIsReadBack() throws IOException {
+        File file = new File(dir, "torn-append.journal");
+        try (Journal j = new Journal(file)) {
+            j.append(1, JournalRecord.addTeam(LEAGUE, "Alpha"));
+        }
+        long intact;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            intact = raf.length();
+            raf.setLength(intact - 3);
+        }
+
+        // What load() does: read, cut the tail, then keep appending
+        try (Journal j = new Journal(file)) {
+            assertEquals(0, j.readAll().size());
+            assertEquals(0, j.getValidLength());
+            assertEquals(intact - 3, j.dropBadTail());
+            j.append(2, JournalRecord.addTeam(LEAGUE, "Bravo"));
+            j.append(3, JournalRecord.addTeam(LEAGUE, "Charlie"));
+            assertEquals(0, j.dropBadTail(), "appended records are not a bad tail");
+        }
+
+        List<Journal.Entry> read = new Journal(file).readAll();
+        assertEquals(2, read.size());
+        assertEquals(2, read.get(0).seq);
+        assertEquals("Charlie", read.get(1).record.text(1));
+    }
+
+    @Test
+    void truncateKeepsRecordsNewerThanTheSnapshot() throws IOException {
+        File file = new File(dir, "truncate.journal");
+        try (Journal j = new Journal(file)) {
+            j.append(1, JournalRecord.addTeam(LEAGUE, "Alpha"));
+            j.append(2, JournalRecord.addTeam(LEAGUE, "Bravo"));
+
+            assertFalse(j.truncateUpTo(1), "seq 2 is not in the snapshot yet");
+            assertEquals(2, new Journal(file).readAll().size());
+
+            assertTrue(j.truncateUpTo(2));
+            assertEquals(0, j.getRecordCount());
+        }
+        assertEquals(0, new Journal(file).readAll().size());
+    }
+
+    @Test
+    void replayRebuildsTheStateAndIsIdempotent() throws IOException {
+        File file = new File(dir, "replay.journal");
+        List<JournalRecord> written = records();
+        try (Journal j = new Journal(file)) {
+            for (int i = 0; i < written.size(); i++) j.append(i + 1, written.get(i));
+        }
+        List<Journal.Entry> entries = new Journal(file).readAll();
+
+        AppState once = new AppState();
+        replay(once, entries, 1);
+        assertReplayed(once);
+
+        // A record the snapshot already holds is applied on top of itself
+        AppState twice = new AppState();
+        replay(twice, entries, 2);
+        assertReplayed(twice);
+    }
+
+    // ---------- Helpers ----------
+
+    /**
+     * The schedule itself is not journaled (it goes out with a full save),
+     * so the game is added by hand once the teams exist.
+     */
+    private static void replay(AppState state, List<Journal.Entry> entries, int times) {
+        for (Journal.Entry e : entries) {
+            if (e.record.getOp() == JournalRecord.Op.RECORD_RESULT) {
+                League lg = state.getLeagues().get(LEAGUE);
+                if (lg.findGame(DAY, "Alpha", "Charlie") == null) {
+                    lg.addGame(new Game(DAY, "Alpha", "Charlie"));
+                }
+            }
+            for (int i = 0; i < times; i++) state.apply(e.record);
+        }
+    }
+
+    private static List<JournalRecord> records() {
+        List<JournalRecord> r = new ArrayList<>();
+        r.add(JournalRecord.createLeague(LEAGUE));
+        r.add(JournalRecord.addTeam(LEAGUE, "Alpha"));
+        r.add(JournalRecord.addTeam(LEAGUE, "Bravo"));
+        r.add(JournalRecord.addTeam(LEAGUE, "Gone"));
+        r.add(JournalRecord.deleteTeam(LEAGUE, "Gone"));
+        r.add(JournalRecord.renameTeam(LEAGUE, "Bravo", "Charlie"));
+        r.add(JournalRecord.addPlayer(LEAGUE, "Alpha", "Ann", "Archer", "G", 7));
+        r.add(JournalRecord.addPlayer(LEAGUE, "Alpha", "Bo", "Baker", "F", 9));
+        r.add(JournalRecord.updatePlayer(LEAGUE, "Alpha", 7, "Ann", "Archer", "C", 17));
+        r.add(JournalRecord.movePlayer(LEAGUE, "Alpha", "Charlie", 9));
+        r.add(JournalRecord.recordResult(LEAGUE, DAY, "Alpha", "Charlie", 88, 95));
+        r.add(JournalRecord.setTiebreakers(LEAGUE,
+                List.of(Ranking.Tiebreaker.HEAD_TO_HEAD, Ranking.Tiebreaker.WINS)));
+        r.add(JournalRecord.putUser(new User("coach", "Cal", "Coach", Role.LO, "hash", false)));
+        return r;
+    }
+
+    private static void assertReplayed(AppState state) {
+        League lg = state.getLeagues().get(LEAGUE);
+        assertNotNull(lg);
+        assertEquals(List.of("Alpha", "Charlie"), new ArrayList<>(new TreeSet<>(lg.getTeams().keySet())));
+
+        Team alpha = lg.getTeams().get("Alpha");
+        Team charlie = lg.getTeams().get("Charlie");
+        assertEquals(1, alpha.getPlayers().size());
+        assertNull(alpha.findPlayerByNumber(7));
+        Player ann = alpha.findPlayerByNumber(17);
+        assertNotNull(ann);
+        assertEquals("C", ann.getPosition());
+        assertNotNull(charlie.findPlayerByNumber(9));
+
+        assertEquals(1, lg.getGames().size());
+        Game g = lg.getGames().get(0);
+        assertEquals("Charlie", g.getWinner());
+        assertEquals(0, alpha.getWins());
+        assertEquals(1, alpha.getLosses());
+        assertEquals(1, charlie.getWins());
+
+        assertEquals(List.of(Ranking.Tiebreaker.HEAD_TO_HEAD, Ranking.Tiebreaker.WINS), lg.getTiebreakers());
+        assertEquals(Role.LO, state.getUsers().get("coach").getRole());
+    }
+}
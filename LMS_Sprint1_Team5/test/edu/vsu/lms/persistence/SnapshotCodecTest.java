@@ -0,0 +1,198 @@
+package edu.vsu.lms.persistence;
+
+import edu.vsu.lms.TestState;
+import edu.vsu.lms.controller.GameStatsController;
+import edu.vsu.lms.model.BracketRound;
+import edu.vsu.lms.model.Game;
+import edu.vsu.lms.model.League;
+import edu.vsu.lms.model.Player;
+import edu.vsu.lms.model.PlayerGameStats;
+import edu.vsu.lms.model.Ranking;
+import edu.vsu.lms.model.Role;
+import edu.vsu.lms.model.Team;
+import edu.vsu.lms.model.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SnapshotCodecTest
+ * -----------------
+ * A league written by SnapshotWriter and read back by SnapshotReader has
+ * the same teams, players, games, bracket, tiebreakers and stat lines,
+ * ids included, and encodes to the same bytes again. The manifest keeps
+ * users, journal position and segment ids.
+ */
+class SnapshotCodecTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 10, 1);
+
+    @BeforeAll
+    static void tempState() {
+        TestState.useTempDir();
+    }
+
+    @Test
+    void leagueRoundTrip() throws IOException {
+        GameStatsController stats = new GameStatsController();
+        League lg = sampleLeague(stats);
+
+        byte[] bytes = new SnapshotWriter().writeLeague(lg, stats);
+        assertTrue(SnapshotReader.isBinarySnapshot(bytes));
+        assertEquals(SnapshotWriter.FORMAT_VERSION, bytes[4], "varint version right after the magic");
+
+        GameStatsController readStats = new GameStatsController();
+        League read = new SnapshotReader().readLeagueSegment(bytes, readStats);
+
+        assertEquals(lg.getName(), read.getName());
+        assertEquals(lg.isScheduleCreated(), read.isScheduleCreated());
+        assertEquals(lg.getTiebreakers(), read.getTiebreakers());
+
+        assertEquals(lg.getTeams().keySet(), read.getTeams().keySet());
+        for (Team t : lg.getTeams().values()) {
+            Team r = read.getTeams().get(t.getName());
+            assertEquals(t.getWins(), r.getWins(), t.getName());
+            assertEquals(t.getLosses(), r.getLosses(), t.getName());
+            assertEquals(t.getPlayers().size(), r.getPlayers().size(), t.getName());
+            for (Player p : t.getPlayers()) {
+                Player q = r.findPlayerByNumber(p.getNumber());
+                assertNotNull(q, p.toString());
+                assertEquals(p.getId(), q.getId());
+                assertEquals(p.getFirstName(), q.getFirstName());
+                assertEquals(p.getLastName(), q.getLastName());
+                assertEquals(p.getPosition(), q.getPosition());
+                assertSame(read, q.getLeague());
+            }
+        }
+
+        assertEquals(lg.getGames().size(), read.getGames().size());
+        for (int i = 0; i < lg.getGames().size(); i++) {
+            assertSameGame(lg.getGames().get(i), read.getGames().get(i));
+        }
+
+        List<BracketRound> rounds = lg.getBracket().getRounds();
+        List<BracketRound> readRounds = read.getBracket().getRounds();
+        assertEquals(rounds.size(), readRounds.size());
+        for (int r = 0; r < rounds.size(); r++) {
+            List<Game> games = rounds.get(r).getGames();
+            List<Game> readGames = readRounds.get(r).getGames();
+            assertEquals(games.size(), readGames.size());
+            for (int i = 0; i < games.size(); i++) assertSameGame(games.get(i), readGames.get(i));
+        }
+
+        // Stat lines, the released player's included
+        Game played = lg.getGames().get(0);
+        Game readPlayed = read.getGame(played.getId());
+        for (PlayerGameStats s : stats.getGameStats(played).getAllPlayerStats()) {
+            PlayerGameStats r = readStats.getGameStats(readPlayed).getAllPlayerStats().stream()
+                    .filter(x -> x.getPlayer().getId() == s.getPlayer().getId())
+                    .findFirst().orElseThrow();
+            assertArrayEquals(s.getCounters(), r.getCounters(), s.getPlayer().toString());
+        }
+        assertEquals(stats.getTeamTotalPoints(played, "Alpha"), readStats.getTeamTotalPoints(readPlayed, "Alpha"));
+
+        // Nothing lost or reordered: the copy encodes to the same bytes
+        assertArrayEquals(bytes, new SnapshotWriter().writeLeague(read, readStats));
+    }
+
+    @Test
+    void manifestRoundTrip() throws IOException {
+        List<User> users = List.of(
+                new User("admin", "Lee", "Admin", Role.LA, "h1", false),
+                new User("ref", "Rae", "Ref", Role.LO, "h2", true));
+        Map<String, Integer> segments = new LinkedHashMap<>();
+        segments.put("North", 1);
+        segments.put("South", 7);
+
+        byte[] bytes = new SnapshotWriter().writeManifest(1234567890123L, users, segments);
+        AppState state = new AppState();
+        Map<String, Integer> read = new SnapshotReader().readManifest(bytes, state);
+
+        assertEquals(segments, read);
+        assertEquals(1234567890123L, state.getJournalSeq());
+        for (User u : users) {
+            User r = state.getUsers().get(u.getId());
+            assertEquals(u.getFirstName(), r.getFirstName());
+            assertEquals(u.getLastName(), r.getLastName());
+            assertEquals(u.getRole(), r.getRole());
+            assertEquals(u.getPasswordHash(), r.getPasswordHash());
+            assertEquals(u.isSuspended(), r.isSuspended());
+        }
+    }
+
+    @Test
+    void newerVersionIsRefused() throws IOException {
+        byte[] bytes = new SnapshotWriter().writeLeague(new League("Empty"), new GameStatsController());
+        bytes[4] = (byte) (SnapshotWriter.FORMAT_VERSION + 1);
+        assertThrows(IOException.class,
+                () -> new SnapshotReader().readLeagueSegment(bytes, new GameStatsController()));
+    }
+
+    // ---------- Helpers ----------
+
+    /** Four teams, a played and unplayed schedule, a bracket, custom tiebreakers and stats. */
+    private static League sampleLeague(GameStatsController stats) {
+        League lg = new League("Codec");
+        String[] names = {"Alpha", "Bravo", "Charlie", "Delta"};
+        for (String name : names) {
+            Team t = new Team(name);
+            for (int n = 1; n <= 3; n++) {
+                t.addPlayer(lg.register(new Player(name.substring(0, 1) + n, "Last" + n, n * 10, (n == 3) ? null : "G")));
+            }
+            lg.getTeams().put(name, t);
+        }
+        LocalDate d = DAY;
+        for (int i = 0; i < names.length; i++) {
+            for (int j = 0; j < names.length; j++) {
+                if (i != j) {
+                    lg.addGame(new Game(d, names[i], names[j]));
+                    d = d.plusDays(1);
+                }
+            }
+        }
+        lg.setScheduleCreated(true);
+        List<Game> games = lg.getGames();
+        for (int i = 0; i < games.size() / 2; i++) {
+            Game g = games.get(i);
+            boolean homeWins = i % 3 != 0;
+            g.setResult(homeWins ? g.getHomeTeam() : g.getAwayTeam(), homeWins ? 101 : 88, homeWins ? 90 : 97 + i);
+        }
+        lg.setTiebreakers(List.of(Ranking.Tiebreaker.HEAD_TO_HEAD, Ranking.Tiebreaker.POINT_DIFFERENTIAL));
+        lg.generateBracket(d.plusDays(7));
+
+        Game first = games.get(0);
+        Team alpha = lg.getTeams().get("Alpha");
+        Player released = alpha.findPlayerByNumber(30);
+        stats.recordTwoPointers(first, "Alpha", alpha.findPlayerByNumber(10), 12, 7);
+        stats.recordThreePointers(first, "Alpha", alpha.findPlayerByNumber(20), 5, 2);
+        stats.recordFreeThrows(first, "Alpha", released, 4, 3);
+        stats.recordAssists(first, "Alpha", released, 6);
+        stats.recordFouls(first, "Bravo", lg.getTeams().get("Bravo").findPlayerByNumber(10), 3);
+        alpha.removePlayer(released);
+        return lg;
+    }
+
+    private static void assertSameGame(Game g, Game r) {
+        String what = g + " " + Arrays.asList(g.getHomeScore(), g.getAwayScore());
+        assertEquals(g.getId(), r.getId(), what);
+        assertEquals(g.getDate(), r.getDate(), what);
+        assertEquals(g.getHomeTeam(), r.getHomeTeam(), what);
+        assertEquals(g.getAwayTeam(), r.getAwayTeam(), what);
+        assertEquals(g.getWinner(), r.getWinner(), what);
+        assertEquals(g.getHomeScore(), r.getHomeScore(), what);
+        assertEquals(g.getAwayScore(), r.getAwayScore(), what);
+    }
+}
@@ -0,0 +1,311 @@
+package edu.vsu.lms.server;
+
+import edu.vsu.lms.TestState;
+import edu.vsu.lms.controller.GameStatsController;
+import edu.vsu.lms.controller.LeagueController;
+import edu.vsu.lms.controller.PlayerController;
+import edu.vsu.lms.controller.ScheduleController;
+import edu.vsu.lms.controller.ScheduleEngine;
+import edu.vsu.lms.controller.TeamController;
+import edu.vsu.lms.model.Game;
+import edu.vsu.lms.model.League;
+import edu.vsu.lms.model.Player;
+import edu.vsu.lms.model.Standings;
+import edu.vsu.lms.persistence.AppState;
+import edu.vsu.lms.persistence.SaveScheduler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpRequest;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ConcurrencyStressTest
+ * ---------------------
+ * Races one writer against many readers on a league of its own and
+ * checks that no reader ever sees a change half made. Runs 3 s with 4
+ * readers; -Dlms.stress.seconds and -Dlms.stress.readers make it longer.
+ *
+ * The writer stands in for the EDT: results, corrected results, stat
+ * lines and roster moves through the controllers, with a save requested
+ * every so often. Readers take turns at three kinds of read:
+ *  - the model under League.read: games with a result = wins = losses
+ *    in the standings, and a box score's team totals = its lines;
+ *  - the API server: the same checks on /standings and /games/{id};
+ *  - the background saver, which encodes the league under its read lock.
+ *
+ * Runs against a temp directory (see TestState) and fails on the first
+ * broken check, exception or failed save. Writer latencies are printed
+ * too: readers hold a league's read lock only while copying out, so
+ * they stay low.
+ */
+class ConcurrencyStressTest {
+
+    private static final String LEAGUE = "Stress";
+    private static final int PLAYERS = 10;
+
+    private static final Pattern WINS = Pattern.compile("\"wins\":(\\d+)");
+    private static final Pattern LOSSES = Pattern.compile("\"losses\":(\\d+)");
+    private static final Pattern DIFF = Pattern.compile("\"pointDifferential\":(-?\\d+)");
+    private static final Pattern TEAM_LINES =
+            Pattern.compile("\"team\":\"[^\"]*\",\"points\":(\\d+),.*?\"players\":\\[(.*?)]");
+    private static final Pattern POINTS = Pattern.compile("\"points\":(\\d+)");
+
+    private final AtomicLong reads = new AtomicLong(), writes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicReference<String> firstFailure = new AtomicReference<>();
+    private volatile boolean running = true;
+
+    @BeforeAll
+    static void tempState() {
+        TestState.useTempDir();
+    }
+
+    @Test
+    void readersNeverSeeAChangeHalfMade() throws Exception {
+        int seconds = Integer.getInteger("lms.stress.seconds", 3);
+        int readerCount = Integer.getInteger("lms.stress.readers", 4);
+        int teamCount = 30;
+
+        AppState state = AppState.getInstance();
+        League league = setUp(teamCount);
+        System.out.println("ℹ️ " + league.getGames().size() + " games, " + teamCount + " teams, "
+                + readerCount + " reader(s), " + seconds + " s in " + System.getProperty("user.dir"));
+
+        LeagueApiServer server = new LeagueApiServer("127.0.0.1", 0, Math.max(2, readerCount));
+        server.start();
+        String base = "http://127.0.0.1:" + server.getPort() + "/api/leagues/" + LEAGUE;
+
+        List<Thread> threads = new ArrayList<>();
+        long[][] writerLatency = new long[1][];
+        threads.add(new Thread(() -> writerLatency[0] = write(league, state), "writer"));
+        for (int r = 0; r < readerCount; r++) {
+            int reader = r;
+            threads.add(new Thread(() -> read(league, base, reader), "reader-" + r));
+        }
+        for (Thread t : threads) {
+            t.setUncaughtExceptionHandler((t1, e) -> fail(t1.getName() + " died", e));
+            t.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        running = false;
+        for (Thread t : threads) t.join();
+        server.stop(0);
+
+        assertTrue(state.flush(), "last save failed");
+        SaveScheduler.Metrics m = state.getSaveMetrics();
+
+        System.out.printf("✅ %d write(s), %d read(s) in %d s; %d save(s); %d failure(s)%n",
+                writes.get(), reads.get(), seconds, m.saveCount, failures.get());
+        long[] lat = (writerLatency[0] == null) ? new long[0] : writerLatency[0];
+        if (lat.length > 0) {
+            Arrays.sort(lat);
+            System.out.printf("   writer latency p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    pct(lat, 50), pct(lat, 99), lat[lat.length - 1] / 1e6);
+        }
+
+        assertNull(firstFailure.get(), failures.get() + " failure(s), first");
+        assertEquals(0, m.failedCount, "failed saves");
+        assertTrue(writes.get() > 0 && reads.get() > 0, "nothing was written or read");
+    }
+
+    /** A league with teamCount teams of PLAYERS players, two rounds scheduled. */
+    private League setUp(int teamCount) {
+        new LeagueController().createLeague(LEAGUE);
+        TeamController teams = new TeamController();
+        PlayerController players = new PlayerController();
+        for (int t = 0; t < teamCount; t++) {
+            String team = "Team " + (t + 1);
+            teams.createTeam(LEAGUE, team);
+            for (int p = 0; p < PLAYERS; p++) {
+                players.addPlayer(LEAGUE, team, "P" + p, team.replace(' ', '_'), "G", p);
+            }
+        }
+        new ScheduleController().generateSchedule(LEAGUE, new ScheduleEngine.Options()
+                .setStartDate(LocalDate.of(2025, 10, 1))
+                .setPlayDays(List.of(DayOfWeek.values()))
+                .setRounds(2));
+        return AppState.getInstance().getLeagues().get(LEAGUE);
+    }
+
+    // ---------- Writer ----------
+
+    /** Changes the league until told to stop; returns each change's duration. */
+    private long[] write(League league, AppState state) {
+        Random rnd = new Random(1);
+        ScheduleController schedule = new ScheduleController();
+        PlayerController players = new PlayerController();
+        GameStatsController stats = state.getGameStatsController();
+        List<Game> games = new ArrayList<>(league.getGames());
+        List<String> teamNames = new ArrayList<>(league.getTeams().keySet());
+        long[] lat = new long[1 << 16];
+        int n = 0;
+
+        while (running) {
+            Game g = games.get(rnd.nextInt(games.size()));
+            long t0 = System.nanoTime();
+            switch (rnd.nextInt(4)) {
+                case 0: { // a result, or a corrected one
+                    int home = 80 + rnd.nextInt(40);
+                    int away = home + 1 + rnd.nextInt(20);
+                    if (rnd.nextBoolean()) { int x = home; home = away; away = x; }
+                    schedule.recordResult(LEAGUE, g.getDate(), g.getHomeTeam(), g.getAwayTeam(), home, away);
+                    break;
+                }
+                case 1: { // box score events
+                    String team = rnd.nextBoolean() ? g.getHomeTeam() : g.getAwayTeam();
+                    Player p = league.getTeams().get(team).findPlayerByNumber(rnd.nextInt(PLAYERS));
+                    if (p == null) break; // moved away
+                    stats.recordTwoPointers(g, team, p, 2, rnd.nextInt(3));
+                    stats.recordAssists(g, team, p, 1);
+                    break;
+                }
+                case 2: { // a stat line corrected at once
+                    String team = g.getHomeTeam();
+                    Player p = league.getTeams().get(team).findPlayerByNumber(rnd.nextInt(PLAYERS));
+                    if (p == null) break;
+                    int made = rnd.nextInt(6);
+                    stats.getOrCreateGameStats(g).getOrCreatePlayerStats(p, team)
+                            .setCounters(new int[]{made, made, made + 1, made, 2, 1, rnd.nextInt(5), rnd.nextInt(7)});
+                    break;
+                }
+                default: { // a player moves to another team and back later
+                    String from = teamNames.get(rnd.nextInt(teamNames.size()));
+                    String to = teamNames.get(rnd.nextInt(teamNames.size()));
+                    int number = rnd.nextInt(PLAYERS);
+                    if (!players.movePlayer(LEAGUE, from, to, number)) {
+                        players.movePlayer(LEAGUE, to, from, number);
+                    }
+                }
+            }
+            if (n == lat.length) lat = Arrays.copyOf(lat, n * 2);
+            lat[n++] = System.nanoTime() - t0;
+            if (writes.incrementAndGet() % 500 == 0) state.save();
+            Thread.yield(); // as fast as it goes, but let readers in on a small machine
+        }
+        return Arrays.copyOf(lat, n);
+    }
+
+    // ---------- Readers ----------
+
+    private void read(League league, String base, int reader) {
+        Random rnd = new Random(100 + reader);
+        HttpClient http = HttpClient.newHttpClient();
+        GameStatsController stats = AppState.getInstance().getGameStatsController();
+        int gameCount = league.read(() -> league.getGames().size());
+
+        while (running) {
+            try {
+                int id = 1 + rnd.nextInt(gameCount);
+                switch (rnd.nextInt(4)) {
+                    case 0:
+                        league.read(() -> { checkStandings(league); return null; });
+                        break;
+                    case 1:
+                        league.read(() -> { checkBoxScore(league.getGame(id), stats); return null; });
+                        break;
+                    case 2:
+                        checkStandings(get(http, base + "/standings"));
+                        break;
+                    default:
+                        checkBoxScore(id, get(http, base + "/games/" + id));
+                }
+                reads.incrementAndGet();
+            } catch (Exception e) {
+                fail(Thread.currentThread().getName(), e);
+            }
+        }
+    }
+
+    /** Every result is one win and one loss, and all of them are in the standings. */
+    private void checkStandings(League league) {
+        int results = 0, wins = 0, losses = 0;
+        for (Game g : league.getGames()) {
+            if (g.hasResult()) results++;
+        }
+        for (Standings.Row r : league.getStandings().getRows()) {
+            wins += r.getWins();
+            losses += r.getLosses();
+        }
+        if (wins != results || losses != results) {
+            fail("standings", new IllegalStateException(results + " results but " + wins + " W / " + losses + " L"));
+        }
+    }
+
+    private void checkStandings(String json) {
+        int wins = sum(WINS, json), losses = sum(LOSSES, json), diff = sum(DIFF, json);
+        if (wins != losses || diff != 0) {
+            fail("/standings", new IllegalStateException(wins + " W / " + losses + " L, point differential " + diff));
+        }
+    }
+
+    /** A team's box-score totals are the sum of its lines. */
+    private void checkBoxScore(Game g, GameStatsController stats) {
+        for (String team : new String[]{g.getHomeTeam(), g.getAwayTeam()}) {
+            int total = stats.getTeamTotalPoints(g, team);
+            int lines = stats.getSortedStatsForTeam(g, team).stream().mapToInt(s -> s.getTotalPoints()).sum();
+            if (total != lines) {
+                fail("box score", new IllegalStateException("game " + g.getId() + " " + team
+                        + ": " + total + " points, lines add up to " + lines));
+            }
+        }
+    }
+
+    private void checkBoxScore(int id, String json) {
+        Matcher m = TEAM_LINES.matcher(json);
+        int teams = 0;
+        while (m.find()) {
+            teams++;
+            int total = Integer.parseInt(m.group(1));
+            int lines = sum(POINTS, m.group(2));
+            if (total != lines) {
+                fail("/games/" + id, new IllegalStateException(total + " points, lines add up to " + lines));
+            }
+        }
+        if (teams != 2) fail("/games/" + id, new IllegalStateException("unexpected body: " + json));
+    }
+
+    // ---------- Helpers ----------
+
+    private static String get(HttpClient http, String url) throws Exception {
+        HttpResponse<String> r = http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (r.statusCode() != 200) throw new IllegalStateException(url + " answered " + r.statusCode());
+        return r.body();
+    }
+
+    private static int sum(Pattern p, String text) {
+        int total = 0;
+        for (Matcher m = p.matcher(text); m.find(); ) total += Integer.parseInt(m.group(1));
+        return total;
+    }
+
+    private void fail(String where, Throwable e) {
+        firstFailure.compareAndSet(null, where + ": " + e);
+        // Only the first few, or a broken build floods the console
+        if (failures.incrementAndGet() <= 10) {
+            System.err.println("❌ " + where + ": " + e);
+        }
+    }
+
+    private static double pct(long[] sorted, int p) {
+        int i = (int) Math.min(sorted.length - 1, (long) sorted.length * p / 100);
+        return sorted[i] / 1e6;
+    }
+}
@@ -0,0 +1,131 @@
+package edu.vsu.lms.server;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LoadTest
+ * --------
+ * Polls a running LeagueApiServer the way scoreboards do and reports
+ * throughput, status counts and latency percentiles:
+ *
+ *   java edu.vsu.lms.server.LoadTest [http://127.0.0.1:8080] [clients] [seconds] [conditional%]
+ *
+ * Each client walks the league list, standings, schedule, bracket and a
+ * few box scores of every league. conditional% of the requests send the
+ * ETag last seen for that URL (default 80), so most of them should be
+ * answered 304.
+ *
+ * A tool, not part of the application: it lives in the test source
+ * folder and is run from there against a separately started ServerMain.
+ */
+public class LoadTest {
+
+    private static final Pattern GAME_ID = Pattern.compile("\"id\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String base = (args.length > 0) ? args[0] : "http://127.0.0.1:8080";
+        int clients = (args.length > 1) ? Integer.parseInt(args[1]) : 16;
+        int seconds = (args.length > 2) ? Integer.parseInt(args[2]) : 10;
+        int conditional = (args.length > 3) ? Integer.parseInt(args[3]) : 80;
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<String> urls = discover(http, base);
+        System.out.println("ℹ️ " + urls.size() + " URL(s), " + clients + " client(s), "
+                + seconds + " s, " + conditional + "% conditional");
+
+        AtomicLong ok = new AtomicLong(), notModified = new AtomicLong(), failed = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        long[][] latencies = new long[clients][];
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+
+        Thread[] threads = new Thread[clients];
+        for (int c = 0; c < clients; c++) {
+            final int client = c;
+            threads[c] = new Thread(() -> {
+                Map<String, String> etags = new HashMap<>();
+                long[] lat = new long[1 << 16];
+                int n = 0;
+                int i = client; // clients start at different URLs
+                while (System.nanoTime() < end) {
+                    String url = urls.get(i++ % urls.size());
+                    HttpRequest.Builder rb = HttpRequest.newBuilder(URI.create(url)).GET();
+                    String etag = etags.get(url);
+                    if (etag != null && (i * 37 % 100) < conditional) rb.header("If-None-Match", etag);
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> r = http.send(rb.build(), HttpResponse.BodyHandlers.ofByteArray());
+                        if (r.statusCode() == 200) {
+                            ok.incrementAndGet();
+                            bytes.addAndGet(r.body().length);
+                            r.headers().firstValue("ETag").ifPresent(t -> etags.put(url, t));
+                        } else if (r.statusCode() == 304) {
+                            notModified.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                    if (n == lat.length) lat = Arrays.copyOf(lat, n * 2);
+                    lat[n++] = System.nanoTime() - t0;
+                }
+                latencies[client] = Arrays.copyOf(lat, n);
+            }, "load-" + c);
+            threads[c].start();
+        }
+        for (Thread t : threads) t.join();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long total = ok.get() + notModified.get() + failed.get();
+        System.out.printf("✅ %d request(s) in %d s = %.0f req/s; 200: %d, 304: %d, failed: %d, %.1f MB%n",
+                total, seconds, total / (double) seconds, ok.get(), notModified.get(), failed.get(),
+                bytes.get() / 1e6);
+        if (all.length > 0) {
+            System.out.printf("   latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    pct(all, 50), pct(all, 90), pct(all, 99), all[all.length - 1] / 1e6);
+        }
+    }
+
+    /** The URLs to poll: per league its pages and up to 5 box scores. */
+    private static List<String> discover(HttpClient http, String base) throws Exception {
+        List<String> urls = new ArrayList<>();
+        urls.add(base + "/api/leagues");
+        String list = get(http, base + "/api/leagues");
+        Matcher m = Pattern.compile("\"leagues\":\\[(.*)]").matcher(list);
+        if (!m.find() || m.group(1).isEmpty()) return urls;
+        for (String quoted : m.group(1).split(",")) {
+            String name = quoted.substring(1, quoted.length() - 1);
+            String league = base + "/api/leagues/" + URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20");
+            urls.add(league + "/standings");
+            urls.add(league + "/schedule");
+            urls.add(league + "/bracket");
+            Matcher ids = GAME_ID.matcher(get(http, league + "/schedule"));
+            for (int k = 0; k < 5 && ids.find(); k++) urls.add(league + "/games/" + ids.group(1));
+        }
+        return urls;
+    }
+
+    private static String get(HttpClient http, String url) throws Exception {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        return http.send(req, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static double pct(long[] sorted, int p) {
+        int i = (int) Math.min(sorted.length - 1, (long) sorted.length * p / 100);
+        return sorted[i] / 1e6;
+    }
+}